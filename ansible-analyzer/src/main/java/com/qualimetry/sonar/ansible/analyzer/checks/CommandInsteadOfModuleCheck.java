@@ -16,6 +16,7 @@
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.text.KeywordMatcher;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
@@ -39,6 +40,10 @@ public class CommandInsteadOfModuleCheck extends BaseCheck {
             new CommandSuggestion("touch ", "file with state: touch")
     );
 
+    /** The suggestion prefixes, numbered as in {@link #SUGGESTIONS}. */
+    private static final KeywordMatcher PREFIXES = KeywordMatcher.of(
+            SUGGESTIONS.stream().map(CommandSuggestion::prefix).toArray(String[]::new));
+
     @Override
     public void visitTask(Task task) {
         String moduleKey = task.moduleKey();
@@ -51,13 +56,14 @@ public class CommandInsteadOfModuleCheck extends BaseCheck {
         String cmd = getCommandString(attrs);
         if (cmd == null || cmd.isBlank()) return;
 
-        String normalized = cmd.stripLeading().toLowerCase();
-        for (CommandSuggestion s : SUGGESTIONS) {
-            if (normalized.startsWith(s.prefix)) {
-                addLineIssue(task.line(), "Prefer the " + s.suggestion + " module instead of command: " + s.prefix.trim() + " ....");
-                return;
-            }
+        int start = 0;
+        while (start < cmd.length() && Character.isWhitespace(cmd.charAt(start))) {
+            start++;
         }
+        int match = PREFIXES.prefix(cmd, start);
+        if (match == KeywordMatcher.NONE) return;
+        CommandSuggestion s = SUGGESTIONS.get(match);
+        addLineIssue(task.line(), "Prefer the " + s.suggestion + " module instead of command: " + s.prefix.trim() + " ....");
     }
 
     @SuppressWarnings("unchecked")
@@ -16,11 +16,10 @@
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AttributePath;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-import java.util.Map;
-
 /**
  * Tasks with many attributes or complex when/loop may be hard to maintain.
  */
@@ -29,22 +28,26 @@ public class ComplexityCheck extends BaseCheck {
 
     private static final int MAX_ATTRS = 15;
 
+    /** Keys of the current task's attributes and of the maps nested in them. */
+    private int count;
+
     @Override
     public void visitTask(Task task) {
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        int count = countKeys(attrs);
-        if (count > MAX_ATTRS) {
-            addLineIssue(task.line(), "Task has " + count + " attributes; consider splitting or simplifying (max " + MAX_ATTRS + ").");
+        count = 0;
+    }
+
+    @Override
+    public void visitAttribute(AttributePath path, String key, Object value, int line) {
+        // Maps inside lists, e.g. loop items, are data rather than task structure.
+        if (!path.inSequence()) {
+            count++;
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static int countKeys(Map<String, Object> map) {
-        int n = map.size();
-        for (Object v : map.values()) {
-            if (v instanceof Map<?, ?> m) n += countKeys((Map<String, Object>) m);
+    @Override
+    public void leaveTask(Task task) {
+        if (count > MAX_ATTRS) {
+            addLineIssue(task.line(), "Task has " + count + " attributes; consider splitting or simplifying (max " + MAX_ATTRS + ").");
         }
-        return n;
     }
 }
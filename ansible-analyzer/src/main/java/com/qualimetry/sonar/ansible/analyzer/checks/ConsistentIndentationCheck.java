@@ -15,40 +15,39 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
-import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.text.TextLine;
+import com.qualimetry.sonar.ansible.analyzer.visitor.TextCheck;
 import org.sonar.check.Rule;
 
 /**
  * Use consistent indentation (2 or 4 spaces); do not mix or use odd widths.
  */
 @Rule(key = "qa-even-spaces-indent")
-public class ConsistentIndentationCheck extends BaseCheck {
+public class ConsistentIndentationCheck extends TextCheck {
+
+    private Integer indentWidth; // 2 or 4
+
+    @Override
+    public void startFile() {
+        indentWidth = null;
+    }
 
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {
-        String content = getContext().getRawContent();
-        if (content == null) return;
-        String[] lines = content.split("\\r?\\n", -1);
-        Integer indentWidth = null; // 2 or 4
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
-            String trimmed = line.stripLeading();
-            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
-            int spaces = line.length() - trimmed.length();
-            if (spaces == 0) continue;
-            if (spaces % 2 != 0) {
-                addLineIssue(i + 1, "Use an even number of spaces for indentation (2 or 4).");
-                continue;
-            }
-            int width = spaces;
-            // Detect step: first non-zero indent or subsequent line with same step
-            if (indentWidth == null) {
-                indentWidth = (width >= 4 && width % 4 == 0) ? 4 : 2;
-            }
-            if (width % indentWidth != 0) {
-                addLineIssue(i + 1, "Keep indentation consistent (this file uses " + indentWidth + "-space indent).");
-            }
+    public void endLine(TextLine line) {
+        if (line.firstChar() == TextLine.NONE || line.firstChar() == '#') return;
+        int spaces = line.indent();
+        if (spaces == 0) return;
+        if (spaces % 2 != 0) {
+            addLineIssue(line.number(), "Use an even number of spaces for indentation (2 or 4).");
+            return;
+        }
+        int width = spaces;
+        // Detect step: first non-zero indent or subsequent line with same step
+        if (indentWidth == null) {
+            indentWidth = (width >= 4 && width % 4 == 0) ? 4 : 2;
+        }
+        if (width % indentWidth != 0) {
+            addLineIssue(line.number(), "Keep indentation consistent (this file uses " + indentWidth + "-space indent).");
         }
     }
 }
@@ -3,14 +3,56 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.index.ProjectSymbols;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleRef;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-/** Use role defaults not vars. Placeholder. */
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Use role defaults, not vars, for values callers override. Reported where a role is applied
+ * when its {@code vars/} files set a variable that group_vars, host_vars or an inventory also
+ * sets: role vars take precedence, so the inventory value is silently ignored. Reports nothing
+ * when the analysis has no project index.
+ */
 @Rule(key = "qa-role-defaults-dir")
 public class DefaultsNotVarsCheck extends BaseCheck {
 
+    private static final List<String> ROLE_TASK_KEYS = List.of(
+            "include_role", "import_role", "ansible.builtin.include_role", "ansible.builtin.import_role");
+
+    @Override
+    public boolean usesProjectSymbols() {
+        return true;
+    }
+
+    @Override
+    public void visitRoleRef(RoleRef roleRef) {
+        check(roleRef.roleName(), roleRef.line());
+    }
+
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {}
+    public void visitTask(Task task) {
+        if (task.attributes() == null) return;
+        for (String key : ROLE_TASK_KEYS) {
+            if (task.attributes().get(key) instanceof Map<?, ?> args && args.get("name") instanceof String role) {
+                check(role, task.line());
+                return;
+            }
+        }
+    }
+
+    private void check(String role, int line) {
+        ProjectSymbols symbols = getContext().getProjectSymbols();
+        if (symbols == null || role == null) return;
+        String name = role.strip();
+        name = name.substring(name.lastIndexOf('/') + 1);
+        if (symbols.roleVarsShadowInventory(name)) {
+            addLineIssue(line, "Move the overridable variables of role \"" + name + "\" from vars/ to defaults/;"
+                    + " the values group_vars and host_vars set for them are ignored.");
+        }
+    }
 }
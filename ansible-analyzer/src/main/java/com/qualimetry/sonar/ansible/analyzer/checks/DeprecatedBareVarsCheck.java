@@ -20,7 +20,6 @@ import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
 import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * Avoid bare variable syntax (e.g. when: "{{ x }}") in when/loop; use the bare variable (when: x) instead.
@@ -28,9 +27,6 @@ import java.util.regex.Pattern;
 @Rule(key = "qa-bare-var-in-condition")
 public class DeprecatedBareVarsCheck extends BaseCheck {
 
-    /** Matches {{ varname }} or {{ varname }} with optional whitespace (bare var only, no filters). */
-    private static final Pattern BARE_VAR = Pattern.compile("^\\s*\\{\\{\\s*([a-zA-Z_][a-zA-Z0-9_]*)\\s*\\}\\}\\s*$");
-
     @Override
     public void visitTask(Task task) {
         Map<String, Object> attrs = task.attributes();
@@ -42,15 +38,20 @@ public class DeprecatedBareVarsCheck extends BaseCheck {
 
     private void checkWhen(Map<String, Object> attrs, int line) {
         Object when = attrs.get("when");
-        if (when instanceof String s && BARE_VAR.matcher(s).matches()) {
+        if (when instanceof String s && isBareVariable(s)) {
             addLineIssue(line, "Use the bare variable in \"when\" (e.g. when: var) instead of when: \"{{ var }}\".");
         }
     }
 
     private void checkLoop(Map<String, Object> attrs, int line) {
         Object loop = attrs.get("loop");
-        if (loop instanceof String s && BARE_VAR.matcher(s).matches()) {
+        if (loop instanceof String s && isBareVariable(s)) {
             addLineIssue(line, "Use the bare variable in \"loop\" (e.g. loop: items) instead of loop: \"{{ items }}\".");
         }
     }
+
+    /** True for {{ varname }} with optional whitespace (bare var only, no filters). */
+    private boolean isBareVariable(String value) {
+        return getContext().getJinja().template(value).bareVariable() != null;
+    }
 }
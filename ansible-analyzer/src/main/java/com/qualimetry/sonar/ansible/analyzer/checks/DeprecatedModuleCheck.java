@@ -15,33 +15,39 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.modules.ModuleCatalog;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.ModuleRef;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-import java.util.Set;
-
 /**
  * Flag use of deprecated Ansible modules. Prefer the recommended alternatives.
+ * A module is deprecated when it, or a name it redirects to, is deprecated or removed in the
+ * {@link ModuleCatalog}.
  */
 @Rule(key = "qa-replace-deprecated-module")
 public class DeprecatedModuleCheck extends BaseCheck {
 
-    /** Short or FQCN module names that are deprecated (with suggested replacement). */
-    private static final Set<String> DEPRECATED = Set.of(
-            "include"  // use import_playbook or include_tasks
-    );
-
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        String actionPart = moduleKey.contains(":") ? moduleKey.substring(0, moduleKey.indexOf(':')) : moduleKey;
-        String baseName = actionPart.contains(".") ? actionPart.substring(actionPart.lastIndexOf('.') + 1) : actionPart;
-        if (!DEPRECATED.contains(baseName)) return;
-        String suggestion = "include".equals(baseName)
-                ? "Use import_playbook or include_tasks instead of include."
-                : "This module is deprecated; use the recommended alternative.";
-        addLineIssue(task.line(), suggestion);
+        ModuleRef module = task.module();
+        if (module == null) return;
+        ModuleCatalog catalog = ModuleCatalog.get();
+        ModuleCatalog.Entry deprecated = catalog.deprecation(module.fqcn());
+        if (deprecated == null) return;
+        addLineIssue(task.line(), message(module, deprecated, catalog.resolve(deprecated.fqcn())));
+    }
+
+    private static String message(ModuleRef module, ModuleCatalog.Entry deprecated, ModuleCatalog.Entry target) {
+        if (deprecated.message() != null) {
+            return deprecated.message();
+        }
+        String what = deprecated.status() == ModuleCatalog.Status.REMOVED ? "removed" : "deprecated";
+        String when = deprecated.version() != null ? " in " + deprecated.version() : "";
+        if (target != null && target != deprecated && target.status() == ModuleCatalog.Status.ACTIVE) {
+            return module.name() + " is " + what + when + "; use " + target.fqcn() + " instead.";
+        }
+        return "This module is " + what + when + "; use the recommended alternative.";
     }
 }
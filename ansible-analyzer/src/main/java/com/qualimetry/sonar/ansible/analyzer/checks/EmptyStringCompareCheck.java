@@ -15,12 +15,14 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaExpression;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Compare;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
 import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * Prefer when: var over when: var == "" or when: var != "".
@@ -28,15 +30,29 @@ import java.util.regex.Pattern;
 @Rule(key = "qa-check-length-not-empty")
 public class EmptyStringCompareCheck extends BaseCheck {
 
-    private static final Pattern EMPTY_COMPARE = Pattern.compile("==\\s*[\"']?[\"']\\s*|!=\\s*[\"']?[\"']\\s*", Pattern.CASE_INSENSITIVE);
-
     @Override
     public void visitTask(Task task) {
         Map<String, Object> attrs = task.attributes();
         if (attrs == null) return;
         Object when = attrs.get("when");
-        if (when instanceof String s && EMPTY_COMPARE.matcher(s).find()) {
+        if (when instanceof String s && comparesToEmptyString(s)) {
             addLineIssue(task.line(), "Prefer when: var over when: var == \"\" (or != \"\").");
         }
     }
+
+    private boolean comparesToEmptyString(String condition) {
+        for (JinjaExpression expression : getContext().getJinja().condition(condition)) {
+            for (Compare compare : expression.comparisons()) {
+                if (("==".equals(compare.operator()) || "!=".equals(compare.operator()))
+                        && (isEmptyString(compare.left()) || isEmptyString(compare.right()))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEmptyString(JinjaNode node) {
+        return node instanceof JinjaNode.Literal literal && "".equals(literal.value());
+    }
 }
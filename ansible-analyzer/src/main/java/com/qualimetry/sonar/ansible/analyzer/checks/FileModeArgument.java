@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.checks;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AttributePath;
+
+import java.util.Set;
+
+/**
+ * Finds the {@code mode} of a file module task among the attributes the walker visits.
+ */
+final class FileModeArgument {
+
+    private static final Set<String> FILE_MODULES = Set.of("copy", "file", "template", "assemble");
+
+    private FileModeArgument() {
+    }
+
+    /**
+     * Returns true if the task runs a builtin file module ({@code copy}, {@code file},
+     * {@code template} or {@code assemble}), written short or as {@code ansible.builtin.*}.
+     */
+    static boolean isFileModule(Task task) {
+        return task.module() != null && task.module().isBuiltin() && FILE_MODULES.contains(task.module().shortName());
+    }
+
+    /**
+     * Returns true if the attribute is the task's file mode: the {@code mode} argument of its
+     * module, or a task-level {@code mode} when the module takes no argument map.
+     */
+    static boolean isMode(Task task, AttributePath path, String key) {
+        if (task == null || !"mode".equals(key)) return false;
+        if (path.depth() == 2) return task.module().name().equals(path.root());
+        return path.depth() == 1 && task.moduleArgs() == null;
+    }
+}
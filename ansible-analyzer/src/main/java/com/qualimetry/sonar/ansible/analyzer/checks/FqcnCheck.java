@@ -15,24 +15,29 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.modules.ModuleCatalog;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.ModuleRef;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
 /**
  * Use fully qualified collection names (FQCN) for modules, e.g. ansible.builtin.copy instead of copy.
+ * The suggested name follows the {@link ModuleCatalog} redirects, so a short name that moved out of
+ * ansible.builtin suggests the collection module Ansible actually runs.
  */
 @Rule(key = "qa-full-module-name")
 public class FqcnCheck extends BaseCheck {
 
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
+        ModuleRef module = task.module();
+        if (module == null || module.isQualified()) return;
         // Skip include/import_playbook etc (not module FQCNs)
-        if (moduleKey.startsWith("include") || moduleKey.startsWith("import_")) return;
-        String actionPart = moduleKey.contains(":") ? moduleKey.substring(0, moduleKey.indexOf(':')) : moduleKey;
-        if (actionPart.contains(".")) return; // Already FQCN
-        addLineIssue(task.line(), "Use FQCN for modules (e.g. ansible.builtin." + actionPart + " instead of " + actionPart + ").");
+        String name = module.name();
+        if (name.startsWith("include") || name.startsWith("import_")) return;
+        ModuleCatalog.Entry target = ModuleCatalog.get().resolve(module.fqcn());
+        String fqcn = target != null ? target.fqcn() : module.fqcn();
+        addLineIssue(task.line(), "Use FQCN for modules (e.g. " + fqcn + " instead of " + name + ").");
     }
 }
@@ -16,31 +16,39 @@
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.text.LineIndex;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
+import java.util.regex.Pattern;
+
 /**
  * Handlers should have a name. This check scans raw content for handler tasks without a name.
  */
 @Rule(key = "qa-handler-has-name")
 public class HandlerNamingCheck extends BaseCheck {
 
+    private static final Pattern HANDLERS_KEY = Pattern.compile("\\s*handlers:\\s*");
+    private static final Pattern TOP_LEVEL_KEY = Pattern.compile("\\s*\\w+:.+");
+    private static final Pattern LIST_ITEM_KEY = Pattern.compile("\\s+-\\s+\\w+:.*");
+
     @Override
     public void visitPlaybookFile(PlaybookFile file) {
         String content = getContext() != null ? getContext().getRawContent() : null;
         if (content == null) return;
         if (!content.contains("handlers:")) return;
-        String[] lines = content.split("\\r?\\n", -1);
+        LineIndex lines = getContext().getLineIndex();
         boolean inHandlers = false;
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
-            if (line.matches("\\s*handlers:\\s*")) {
+        for (int line = 1; line <= lines.lineCount(); line++) {
+            checkCancelled();
+            CharSequence text = lines.line(line);
+            if (HANDLERS_KEY.matcher(text).matches()) {
                 inHandlers = true;
                 continue;
             }
-            if (inHandlers && line.matches("\\s*\\w+:.+")) break;
-            if (inHandlers && line.matches("\\s+-\\s+\\w+:.*") && !line.contains("name:")) {
-                addLineIssue(i + 1, "Handlers should have a name.");
+            if (inHandlers && TOP_LEVEL_KEY.matcher(text).matches()) break;
+            if (inHandlers && LIST_ITEM_KEY.matcher(text).matches() && lines.indexOf(line, "name:") < 0) {
+                addLineIssue(line, "Handlers should have a name.");
                 return;
             }
         }
@@ -16,29 +16,29 @@
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AttributePath;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-import java.util.Map;
-
 /**
  * Avoid inline environment variables when a list of dicts is clearer (e.g. env: { VAR: value }).
  */
 @Rule(key = "qa-env-block-not-inline")
 public class InlineEnvVarCheck extends BaseCheck {
 
+    private boolean reported;
+
     @Override
     public void visitTask(Task task) {
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        Object env = attrs.get("env");
-        if (!(env instanceof Map<?, ?> envMap)) return;
-        if (envMap.isEmpty()) return;
-        for (Object v : envMap.values()) {
-            if (v instanceof String s && s.contains("{{")) {
-                addLineIssue(task.line(), "Prefer explicit env list over inline Jinja in env.");
-                return;
-            }
+        reported = false;
+    }
+
+    @Override
+    public void visitAttribute(AttributePath path, String key, Object value, int line) {
+        if (reported || path.depth() != 2 || key == null || !"env".equals(path.root())) return;
+        if (value instanceof String s && !getContext().getJinja().template(s).expressions().isEmpty()) {
+            addLineIssue(line, "Prefer explicit env list over inline Jinja in env.");
+            reported = true;
         }
     }
 }
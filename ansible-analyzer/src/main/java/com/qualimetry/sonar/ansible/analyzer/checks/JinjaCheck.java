@@ -3,32 +3,60 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
-import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.text.TextLine;
+import com.qualimetry.sonar.ansible.analyzer.visitor.TextCheck;
 import org.sonar.check.Rule;
 
-import java.util.regex.Pattern;
-
 /**
  * Flags Jinja2 style issues: require spaces inside {{ }} and {% %} (e.g. {{ foo }} not {{foo}}).
  */
 @Rule(key = "qa-jinja-format")
-public class JinjaCheck extends BaseCheck {
+public class JinjaCheck extends TextCheck {
+
+    private static final int NONE = -1;
+
+    // Last two characters of the current line, NONE at line start.
+    private int prev2;
+    private int prev1;
+    private boolean bad;
+
+    @Override
+    public void startFile() {
+        resetLine();
+    }
+
+    @Override
+    public boolean usesCharacters() {
+        return true;
+    }
 
-    private static final Pattern NO_SPACE_AFTER_OPEN = Pattern.compile("\\{\\{[^ \\t}]|\\{%[^ %]");
-    private static final Pattern NO_SPACE_BEFORE_CLOSE = Pattern.compile("[^ \\t]\\}\\}|[^ %]%\\}");
+    /**
+     * Flags "{{" or "{%" not followed by a space (nor "}" / "%" respectively), and
+     * "}}" or "%}" not preceded by a space (nor a tab / "%" respectively).
+     */
+    @Override
+    public void character(char c) {
+        if (!bad) {
+            bad = (prev2 == '{' && prev1 == '{' && c != ' ' && c != '\t' && c != '}')
+                    || (prev2 == '{' && prev1 == '%' && c != ' ' && c != '%')
+                    || (prev2 != NONE && prev2 != ' ' && prev2 != '\t' && prev1 == '}' && c == '}')
+                    || (prev2 != NONE && prev2 != ' ' && prev2 != '%' && prev1 == '%' && c == '}');
+        }
+        prev2 = prev1;
+        prev1 = c;
+    }
 
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {
-        String content = getContext().getRawContent();
-        if (content == null) return;
-        String[] lines = content.split("\\r?\\n", -1);
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
-            boolean bad = NO_SPACE_AFTER_OPEN.matcher(line).find() || NO_SPACE_BEFORE_CLOSE.matcher(line).find();
-            if (bad) {
-                addLineIssue(i + 1, "Use spaces inside Jinja delimiters (e.g. {{ expr }} not {{expr}}).");
-            }
+    public void endLine(TextLine line) {
+        if (bad) {
+            addLineIssue(line.number(), "Use spaces inside Jinja delimiters (e.g. {{ expr }} not {{expr}}).");
         }
+        resetLine();
+    }
+
+    private void resetLine() {
+        prev2 = NONE;
+        prev1 = NONE;
+        bad = false;
     }
 }
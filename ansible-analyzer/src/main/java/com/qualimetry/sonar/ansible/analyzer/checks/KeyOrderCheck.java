@@ -37,10 +37,9 @@ public class KeyOrderCheck extends BaseCheck {
     public void visitTask(Task task) {
         Map<String, Object> attrs = task.attributes();
         if (attrs == null || attrs.isEmpty()) return;
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        // Resolve module key (e.g. "command" from task; include might be "include: path")
-        String actionKey = moduleKey.contains(":") ? moduleKey.substring(0, moduleKey.indexOf(':')) : moduleKey;
+        if (task.module() == null) return;
+        // Module name as written (e.g. "command"; an "include: path" task gives "include")
+        String actionKey = task.module().name();
         if (META_KEYS.contains(actionKey)) return;
 
         List<String> keys = new ArrayList<>(attrs.keySet());
@@ -15,12 +15,16 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaExpression;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Compare;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
+import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 /**
  * Prefer when: var over when: var == "yes" (or "true", "no", "false"); the literal compare is redundant.
@@ -28,9 +32,7 @@ import java.util.regex.Pattern;
 @Rule(key = "qa-avoid-literal-bool-compare")
 public class LiteralCompareCheck extends BaseCheck {
 
-    private static final Pattern LITERAL_COMPARE = Pattern.compile(
-            "==\\s*[\"']?(?:yes|true|no|false)[\"']?|!=\\s*[\"']?(?:yes|true|no|false)[\"']?",
-            Pattern.CASE_INSENSITIVE);
+    private static final Set<String> BOOLEAN_WORDS = Set.of("yes", "true", "no", "false");
 
     @Override
     public void visitTask(Task task) {
@@ -39,16 +41,37 @@ public class LiteralCompareCheck extends BaseCheck {
         Object whenObj = attrs.get("when");
         if (whenObj == null) return;
         if (whenObj instanceof String s) {
-            if (LITERAL_COMPARE.matcher(s).find()) {
+            if (comparesToLiteral(s)) {
                 addLineIssue(task.line(), "Prefer when: var over when: var == \"yes\" (or similar literal).");
             }
         } else if (whenObj instanceof java.util.List<?> list) {
             for (Object item : list) {
-                if (item instanceof String str && LITERAL_COMPARE.matcher(str).find()) {
+                if (item instanceof String str && comparesToLiteral(str)) {
                     addLineIssue(task.line(), "Prefer when: var over when: var == \"yes\" (or similar literal).");
                     return;
                 }
             }
         }
     }
+
+    /** True if the condition has an == or != with a yes/true/no/false operand, quoted or not. */
+    private boolean comparesToLiteral(String condition) {
+        for (JinjaExpression expression : getContext().getJinja().condition(condition)) {
+            for (Compare compare : expression.comparisons()) {
+                if (("==".equals(compare.operator()) || "!=".equals(compare.operator()))
+                        && (isBooleanWord(compare.left()) || isBooleanWord(compare.right()))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBooleanWord(JinjaNode node) {
+        if (node instanceof JinjaNode.Literal literal) {
+            return literal.value() instanceof Boolean
+                    || literal.value() instanceof String s && BOOLEAN_WORDS.contains(s.toLowerCase(Locale.ROOT));
+        }
+        return node instanceof JinjaNode.Name name && BOOLEAN_WORDS.contains(name.name().toLowerCase(Locale.ROOT));
+    }
 }
@@ -3,6 +3,9 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.index.Include;
+import com.qualimetry.sonar.ansible.analyzer.index.ProjectSymbols;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleRef;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import com.qualimetry.sonar.ansible.analyzer.visitor.PathResolver;
@@ -11,15 +14,41 @@ import org.sonar.check.Rule;
 import java.util.List;
 
 /**
- * Reports when include_tasks, import_tasks, or import_playbook references a path that does not exist in the project.
+ * Reports when include_tasks, import_tasks, or import_playbook references a path that does not exist in the project,
+ * and, with the project index, when an include or role leads back to the including file.
  */
 @Rule(key = "qa-includes-resolve")
 public class LoadFailureCheck extends BaseCheck {
 
     private static final List<String> INCLUDE_KEYS = List.of("include_tasks", "import_tasks", "import_playbook");
 
+    @Override
+    public boolean usesProjectSymbols() {
+        return true;
+    }
+
     @Override
     public void visitTask(Task task) {
+        checkPath(task);
+        checkCycle(Include.ofTask(task.attributes()), task.line());
+    }
+
+    @Override
+    public void visitRoleRef(RoleRef roleRef) {
+        checkCycle(new Include(Include.Type.ROLE, roleRef.roleName(), null), roleRef.line());
+    }
+
+    private void checkCycle(Include include, int line) {
+        ProjectSymbols symbols = getContext().getProjectSymbols();
+        if (symbols == null || include == null) return;
+
+        List<String> cycle = symbols.includeCycle(include);
+        if (!cycle.isEmpty()) {
+            addLineIssue(line, "Include cycle: " + String.join(" -> ", cycle));
+        }
+    }
+
+    private void checkPath(Task task) {
         PathResolver resolver = getContext().getPathResolver();
         if (resolver == null) return;
 
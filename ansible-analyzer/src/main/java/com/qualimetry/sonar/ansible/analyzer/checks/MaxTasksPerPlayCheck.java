@@ -15,23 +15,55 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.index.Include;
+import com.qualimetry.sonar.ansible.analyzer.index.IncludeSummary;
+import com.qualimetry.sonar.ansible.analyzer.index.ProjectSymbols;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Play;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleRef;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
 /**
  * A play should not contain an excessive number of tasks; split into multiple plays or use roles.
+ * With the project index, included task files and roles count with the tasks they run.
  */
 @Rule(key = "qa-limit-tasks-per-play")
 public class MaxTasksPerPlayCheck extends BaseCheck {
 
     private static final int DEFAULT_MAX_TASKS = 50;
 
+    @Override
+    public boolean usesProjectSymbols() {
+        return true;
+    }
+
     @Override
     public void visitPlay(Play play) {
-        int count = play.tasks().size();
+        ProjectSymbols symbols = getContext().getProjectSymbols();
+        long count = 0;
+        for (Task task : play.tasks()) {
+            count += tasksOf(task, symbols);
+        }
+        if (symbols != null) {
+            for (RoleRef role : play.roles()) {
+                IncludeSummary summary = symbols.includeSummary(new Include(Include.Type.ROLE, role.roleName(), null));
+                if (summary != null) {
+                    count += summary.tasks();
+                }
+            }
+        }
         if (count > DEFAULT_MAX_TASKS) {
-            addLineIssue(play.line(), "Play has " + count + " tasks; consider splitting (max " + DEFAULT_MAX_TASKS + ").");
+            String included = count > play.tasks().size() ? " including included files and roles" : "";
+            addLineIssue(play.line(), "Play has " + count + " tasks" + included + "; consider splitting (max "
+                    + DEFAULT_MAX_TASKS + ").");
         }
     }
+
+    /** Tasks a task runs: those of the file or role it includes when known, otherwise itself. */
+    private static long tasksOf(Task task, ProjectSymbols symbols) {
+        Include include = symbols != null ? Include.ofTask(task.attributes()) : null;
+        IncludeSummary summary = include != null ? symbols.includeSummary(include) : null;
+        return summary != null ? summary.tasks() : 1;
+    }
 }
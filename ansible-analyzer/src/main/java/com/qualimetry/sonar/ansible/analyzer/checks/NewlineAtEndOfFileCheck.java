@@ -15,21 +15,27 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
-import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.text.TextLine;
+import com.qualimetry.sonar.ansible.analyzer.visitor.TextCheck;
 import org.sonar.check.Rule;
 
 /**
  * Reports when the file does not end with a newline character.
  */
 @Rule(key = "qa-file-ends-newline")
-public class NewlineAtEndOfFileCheck extends BaseCheck {
+public class NewlineAtEndOfFileCheck extends TextCheck {
 
+    private int lastLineLength;
+
+    @Override
+    public void endLine(TextLine line) {
+        lastLineLength = line.length();
+    }
+
+    /** The content ends with a newline exactly when its last line is empty. */
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {
-        String content = getContext().getRawContent();
-        if (content == null || content.isEmpty()) return;
-        if (!content.endsWith("\n") && !content.endsWith("\r\n")) {
+    public void endFile() {
+        if (lastLineLength > 0) {
             addFileIssue("Add a newline at the end of this file.");
         }
     }
@@ -3,14 +3,50 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.index.ProjectSymbols;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-/** Tasks that notify should have matching handler. Placeholder. */
+import java.util.List;
+
+/**
+ * Tasks that notify should have a matching handler: a handler with that name, or one that
+ * listens to it as a topic, anywhere in the project. {@code role : handler} names are also
+ * matched on the handler part; templated names are skipped. Reports nothing when the analysis
+ * has no project index.
+ */
 @Rule(key = "qa-handler-for-notify")
 public class NoHandlerCheck extends BaseCheck {
 
+    private static final String ROLE_SEPARATOR = " : ";
+
     @Override
-    public void visitTask(Task task) {}
+    public boolean usesProjectSymbols() {
+        return true;
+    }
+
+    @Override
+    public void visitTask(Task task) {
+        ProjectSymbols symbols = getContext().getProjectSymbols();
+        if (symbols == null || task.attributes() == null) return;
+        Object notify = task.attributes().get("notify");
+        if (notify instanceof String name) {
+            check(task, name, symbols);
+        } else if (notify instanceof List<?> names) {
+            for (Object name : names) {
+                if (name instanceof String s) {
+                    check(task, s, symbols);
+                }
+            }
+        }
+    }
+
+    private void check(Task task, String name, ProjectSymbols symbols) {
+        String handler = name.strip();
+        if (handler.isEmpty() || handler.contains("{{") || symbols.isHandlerDefined(handler)) return;
+        int separator = handler.indexOf(ROLE_SEPARATOR);
+        if (separator > 0 && symbols.isHandlerDefined(handler.substring(separator + ROLE_SEPARATOR.length()))) return;
+        addLineIssue(task.line(), "Define a handler named or listening to \"" + handler + "\".");
+    }
 }
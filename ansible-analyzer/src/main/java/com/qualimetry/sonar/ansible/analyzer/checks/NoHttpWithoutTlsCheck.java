@@ -16,10 +16,11 @@
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AttributePath;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -29,6 +30,9 @@ import java.util.regex.Pattern;
 public class NoHttpWithoutTlsCheck extends BaseCheck {
 
     private static final Pattern HTTP_URL = Pattern.compile("https?://[^\\s'\"]+", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> URL_MODULES = Set.of("get_url", "uri");
+
+    private boolean reported;
 
     private static boolean hasPlainHttp(String s) {
         if (s == null) return false;
@@ -40,29 +44,20 @@ public class NoHttpWithoutTlsCheck extends BaseCheck {
         return false;
     }
 
-    private static boolean checkValue(Object value) {
-        if (value == null) return false;
-        if (value instanceof String s) return hasPlainHttp(s);
-        return false;
+    @Override
+    public void visitTask(Task task) {
+        reported = false;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public void visitTask(Task task) {
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        if (checkValue(attrs.get("url")) || checkValue(attrs.get("dest"))) {
-            addLineIssue(task.line(), "Use HTTPS instead of HTTP for URLs.");
-            return;
-        }
-        for (String key : new String[]{"get_url", "uri"}) {
-            Object args = attrs.get(key);
-            if (args instanceof Map<?, ?> m) {
-                if (checkValue(m.get("url"))) {
-                    addLineIssue(task.line(), "Use HTTPS instead of HTTP for URLs.");
-                    return;
-                }
-            }
+    public void visitAttribute(AttributePath path, String key, Object value, int line) {
+        if (reported || !(value instanceof String s)) return;
+        boolean urlAttribute = path.depth() == 1
+                ? "url".equals(key) || "dest".equals(key)
+                : path.depth() == 2 && "url".equals(key) && URL_MODULES.contains(path.root());
+        if (urlAttribute && hasPlainHttp(s)) {
+            addLineIssue(line, "Use HTTPS instead of HTTP for URLs.");
+            reported = true;
         }
     }
 }
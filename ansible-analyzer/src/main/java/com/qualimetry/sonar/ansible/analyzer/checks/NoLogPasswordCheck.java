@@ -16,6 +16,8 @@
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.text.KeywordMatcher;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AttributePath;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
@@ -27,6 +29,16 @@ import java.util.Map;
 @Rule(key = "qa-no-log-secrets")
 public class NoLogPasswordCheck extends BaseCheck {
 
+    /** Keys containing password or secret, or equal to token, in any case. */
+    private static final KeywordMatcher SECRET_KEYS = KeywordMatcher.builder()
+            .add("password")
+            .add("secret")
+            .addWhole("token")
+            .build();
+
+    /** Whether the current task has a secret-like key in its attributes or nested maps. */
+    private boolean secretKey;
+
     private static boolean isNoLogTrue(Object value) {
         if (value == null) return false;
         if (value instanceof Boolean b) return b;
@@ -35,30 +47,26 @@ public class NoLogPasswordCheck extends BaseCheck {
     }
 
     private static boolean keySuggestsSecret(String key) {
-        if (key == null) return false;
-        String lower = key.toLowerCase();
-        return lower.contains("password") || lower.contains("secret") || lower.equals("token");
+        return key != null && SECRET_KEYS.containsAny(key);
     }
 
-    @SuppressWarnings("unchecked")
-    private static boolean hasSecretKeyIn(Map<String, Object> attrs) {
-        if (attrs == null) return false;
-        for (String key : attrs.keySet()) {
-            if (keySuggestsSecret(key)) return true;
-            Object val = attrs.get(key);
-            if (val instanceof Map) {
-                if (hasSecretKeyIn((Map<String, Object>) val)) return true;
-            }
+    @Override
+    public void visitTask(Task task) {
+        secretKey = false;
+    }
+
+    @Override
+    public void visitAttribute(AttributePath path, String key, Object value, int line) {
+        if (!secretKey && !path.inSequence() && keySuggestsSecret(key)) {
+            secretKey = true;
         }
-        return false;
     }
 
     @Override
-    public void visitTask(Task task) {
+    public void leaveTask(Task task) {
+        if (!secretKey) return;
         Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        if (!hasSecretKeyIn(attrs)) return;
-        if (!isNoLogTrue(attrs.get("no_log"))) {
+        if (attrs == null || !isNoLogTrue(attrs.get("no_log"))) {
             addLineIssue(task.line(), "Set \"no_log: true\" when the task handles passwords or secrets.");
         }
     }
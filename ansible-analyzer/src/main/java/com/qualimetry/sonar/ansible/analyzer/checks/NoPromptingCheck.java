@@ -15,21 +15,38 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
-import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.text.TextLine;
+import com.qualimetry.sonar.ansible.analyzer.visitor.TextCheck;
 import org.sonar.check.Rule;
 
+import java.util.regex.Pattern;
+
 /**
  * Avoid vars_prompt; it makes playbooks non-idempotent and blocks automation.
  */
 @Rule(key = "qa-no-vars-prompt")
-public class NoPromptingCheck extends BaseCheck {
+public class NoPromptingCheck extends TextCheck {
+
+    /** A file holding nothing but the key, which has no line with {@code vars_prompt:} itself. */
+    private static final Pattern KEY_ONLY = Pattern.compile("\\s*vars_prompt\\s*:");
+
+    private boolean found;
+
+    @Override
+    public void startFile() {
+        found = false;
+    }
+
+    @Override
+    public void endLine(TextLine line) {
+        if (!found) {
+            found = getContext().getLineIndex().indexOf(line.number(), "vars_prompt:") >= 0;
+        }
+    }
 
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {
-        String content = getContext() != null ? getContext().getRawContent() : null;
-        if (content == null) return;
-        if (content.contains("vars_prompt:") || content.matches("(?m)^\\s*vars_prompt\\s*:")) {
+    public void endFile() {
+        if (found || KEY_ONLY.matcher(getContext().getRawContent()).matches()) {
             addFileIssue("Avoid vars_prompt; use extra vars or inventory instead.");
         }
     }
@@ -32,18 +32,13 @@ public class NoRelativePathsCheck extends BaseCheck {
 
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        String action = moduleKey.contains(".") ? moduleKey.substring(moduleKey.lastIndexOf('.') + 1) : moduleKey;
-        if (!MODULES.contains(action)) return;
+        if (task.module() == null || !MODULES.contains(task.module().shortName())) return;
 
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        Object moduleArgs = attrs.get(moduleKey);
-        if (moduleArgs == null) moduleArgs = attrs.get(action);
-        if (!(moduleArgs instanceof Map<?, ?> args)) return;
+        Map<String, Object> args = task.moduleArgs();
+        if (args == null) return;
         Object src = args.get("src");
-        if (src instanceof String path && (path.startsWith("./") || (path.length() > 1 && path.charAt(0) != '/' && !path.contains("{{")))) {
+        if (src instanceof String path && (path.startsWith("./")
+                || (path.length() > 1 && path.charAt(0) != '/' && !getContext().getJinja().template(path).isTemplated()))) {
             addLineIssue(task.line(), "Avoid relative paths for src; use absolute or role-relative paths.");
         }
     }
@@ -32,16 +32,10 @@ public class NoSameOwnerCheck extends BaseCheck {
 
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        String action = moduleKey.contains(".") ? moduleKey.substring(moduleKey.lastIndexOf('.') + 1) : moduleKey;
-        if (!MODULES.contains(action)) return;
+        if (task.module() == null || !MODULES.contains(task.module().shortName())) return;
 
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        Object moduleArgs = attrs.get(moduleKey);
-        if (moduleArgs == null) moduleArgs = attrs.get(action);
-        if (!(moduleArgs instanceof Map<?, ?> args)) return;
+        Map<String, Object> args = task.moduleArgs();
+        if (args == null) return;
         Object sameOwner = args.get("same_owner");
         if (sameOwner == null) return;
         if (Boolean.TRUE.equals(sameOwner) || "true".equals(String.valueOf(sameOwner).trim())) {
@@ -3,14 +3,73 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaTemplate;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.text.KeywordMatcher;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-/** Do not store secrets in plain vars; use vault. Placeholder. */
+import java.util.Map;
+
+/**
+ * Do not store secrets in plain vars; use vault. Reports task {@code vars} and {@code set_fact}
+ * entries whose name ends in a secret word and whose value is a literal string, neither
+ * templated nor vault-encrypted. The word must be whole {@code _}-separated segments at the end
+ * of the name, so {@code db_password} is a secret but {@code token_url} or {@code secret_name}
+ * is not.
+ */
 @Rule(key = "qa-secrets-not-in-vars")
 public class NoSecretsInVarsCheck extends BaseCheck {
 
+    private static final KeywordMatcher SECRET_NAMES = KeywordMatcher.builder()
+            .addWhole("password")
+            .addWhole("passwd")
+            .addWhole("secret")
+            .addWhole("token")
+            .addWhole("api_key")
+            .addWhole("apikey")
+            .addWhole("private_key")
+            .addWhole("access_key")
+            .build();
+
+    private static final String VAULT_HEADER = "$ANSIBLE_VAULT";
+
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {}
+    public void visitTask(Task task) {
+        Map<String, Object> attrs = task.attributes();
+        if (attrs == null) return;
+        checkVars(task, attrs.get("vars"));
+        if (task.module() != null && "set_fact".equals(task.module().shortName())) {
+            checkVars(task, task.moduleArgs());
+        }
+    }
+
+    private void checkVars(Task task, Object vars) {
+        if (!(vars instanceof Map<?, ?> map)) return;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (entry.getKey() instanceof String name && isSecretName(name) && isPlainSecret(entry.getValue())) {
+                addLineIssue(task.line(), "Move the secret \"" + name + "\" to Ansible Vault or a secrets manager.");
+            }
+        }
+    }
+
+    /** Returns true if a secret word runs from the start of some segment of the name to its end. */
+    private static boolean isSecretName(String name) {
+        int start = 0;
+        while (true) {
+            if (SECRET_NAMES.prefix(name, start) != KeywordMatcher.NONE) {
+                return true;
+            }
+            int underscore = name.indexOf('_', start);
+            if (underscore < 0) {
+                return false;
+            }
+            start = underscore + 1;
+        }
+    }
+
+    private static boolean isPlainSecret(Object value) {
+        return value instanceof String s && !s.isBlank() && !JinjaTemplate.mayBeTemplated(s)
+                && !s.stripLeading().startsWith(VAULT_HEADER);
+    }
 }
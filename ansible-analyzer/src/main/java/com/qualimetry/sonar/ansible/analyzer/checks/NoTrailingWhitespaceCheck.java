@@ -15,26 +15,20 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
-import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.text.TextLine;
+import com.qualimetry.sonar.ansible.analyzer.visitor.TextCheck;
 import org.sonar.check.Rule;
 
 /**
  * Reports lines that end with trailing whitespace (spaces or tabs).
  */
 @Rule(key = "qa-strip-trailing-whitespace")
-public class NoTrailingWhitespaceCheck extends BaseCheck {
+public class NoTrailingWhitespaceCheck extends TextCheck {
 
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {
-        String content = getContext().getRawContent();
-        if (content == null) return;
-        String[] lines = content.split("\\r?\\n", -1);
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
-            if (!line.isEmpty() && (line.endsWith(" ") || line.endsWith("\t"))) {
-                addLineIssue(i + 1, "Remove trailing whitespace.");
-            }
+    public void endLine(TextLine line) {
+        if (line.lastChar() == ' ' || line.lastChar() == '\t') {
+            addLineIssue(line.number(), "Remove trailing whitespace.");
         }
     }
 }
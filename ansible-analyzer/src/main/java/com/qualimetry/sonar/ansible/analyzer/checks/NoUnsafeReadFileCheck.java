@@ -29,18 +29,12 @@ public class NoUnsafeReadFileCheck extends BaseCheck {
 
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        String action = moduleKey.contains(".") ? moduleKey.substring(moduleKey.lastIndexOf('.') + 1) : moduleKey;
-        if (!"read_file".equals(action)) return;
+        if (task.module() == null || !"read_file".equals(task.module().shortName())) return;
 
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        Object moduleArgs = attrs.get(moduleKey);
-        if (moduleArgs == null) moduleArgs = attrs.get("read_file");
-        if (!(moduleArgs instanceof Map<?, ?> args)) return;
+        Map<String, Object> args = task.moduleArgs();
+        if (args == null) return;
         Object path = args.get("path") != null ? args.get("path") : args.get("src");
-        if (path instanceof String s && s.contains("{{")) {
+        if (path instanceof String s && !getContext().getJinja().template(s).expressions().isEmpty()) {
             addLineIssue(task.line(), "Avoid read_file with variable paths; can expose sensitive files.");
         }
     }
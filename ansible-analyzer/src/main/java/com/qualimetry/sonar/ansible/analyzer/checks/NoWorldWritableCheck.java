@@ -16,19 +16,18 @@
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AttributePath;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-import java.util.Map;
-import java.util.Set;
-
 /**
  * Avoid world-writable file modes (e.g. 0002, 0022) in copy, file, or template.
  */
 @Rule(key = "qa-restrict-world-write")
 public class NoWorldWritableCheck extends BaseCheck {
 
-    private static final Set<String> FILE_MODULE_KEYS = Set.of("copy", "file", "template", "assemble");
+    /** The current task when it runs a file module, else null. */
+    private Task fileTask;
 
     private static boolean isWorldWritable(Object value) {
         if (value == null) return false;
@@ -48,20 +47,15 @@ public class NoWorldWritableCheck extends BaseCheck {
         return (mode & 0002) != 0;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        String actionKey = moduleKey.contains(":") ? moduleKey.substring(0, moduleKey.indexOf(':')) : moduleKey;
-        if (!FILE_MODULE_KEYS.contains(actionKey)) return;
+        fileTask = FileModeArgument.isFileModule(task) ? task : null;
+    }
 
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        Object moduleArgs = attrs.get(actionKey);
-        Object mode = moduleArgs instanceof Map ? ((Map<String, Object>) moduleArgs).get("mode") : attrs.get("mode");
-        if (mode != null && isWorldWritable(mode)) {
-            addLineIssue(task.line(), "Avoid world-writable file mode (e.g. 0o002, 0o022).");
+    @Override
+    public void visitAttribute(AttributePath path, String key, Object value, int line) {
+        if (FileModeArgument.isMode(fileTask, path, key) && isWorldWritable(value)) {
+            addLineIssue(line, "Avoid world-writable file mode (e.g. 0o002, 0o022).");
         }
     }
 }
@@ -15,23 +15,34 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.modules.ModuleCatalog;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.ModuleRef;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
 /**
  * Use only ansible.builtin (builtin) modules; avoid community or other collections.
+ * Names are resolved through the {@link ModuleCatalog} redirects, so a short name that Ansible
+ * runs from a collection is reported too.
  */
 @Rule(key = "qa-builtin-modules-only")
 public class OnlyBuiltinsCheck extends BaseCheck {
 
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        if (moduleKey.startsWith("include") || moduleKey.startsWith("import_")) return;
-        if (moduleKey.startsWith("ansible.builtin.")) return;
-        if (!moduleKey.contains(".")) return; // short name is handled by fqcn
-        addLineIssue(task.line(), "Use only builtin modules (ansible.builtin.*); avoid " + moduleKey + ".");
+        ModuleRef module = task.module();
+        if (module == null) return;
+        String name = module.name();
+        if (name.startsWith("include") || name.startsWith("import_")) return;
+        ModuleCatalog.Entry target = ModuleCatalog.get().resolve(module.fqcn());
+        if (target != null) {
+            if (target.isBuiltin()) return;
+            addLineIssue(task.line(), "Use only builtin modules (ansible.builtin.*); avoid " + name
+                    + (name.equals(target.fqcn()) ? "." : " (runs " + target.fqcn() + ")."));
+            return;
+        }
+        if (!module.isQualified() || module.isBuiltin()) return; // unknown short name is handled by fqcn
+        addLineIssue(task.line(), "Use only builtin modules (ansible.builtin.*); avoid " + name + ".");
     }
 }
@@ -3,14 +3,100 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
-import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.text.KeywordMatcher;
+import com.qualimetry.sonar.ansible.analyzer.text.TextLine;
+import com.qualimetry.sonar.ansible.analyzer.visitor.TextCheck;
 import org.sonar.check.Rule;
 
-/** NOPASSWD in sudo. Placeholder. */
+/**
+ * NOPASSWD in sudo. Reports lines that grant sudo NOPASSWD for all commands, e.g. a sudoers line
+ * written by lineinfile, copy or template whose command list after {@code NOPASSWD:} is
+ * {@code ALL} or empty. NOPASSWD limited to specific commands is what the rule recommends and is
+ * not reported; comment lines are skipped.
+ */
 @Rule(key = "qa-sudo-nopasswd-limit")
-public class RestrictSudoNopasswdCheck extends BaseCheck {
+public class RestrictSudoNopasswdCheck extends TextCheck {
+
+    private static final KeywordMatcher NOPASSWD = KeywordMatcher.of("NOPASSWD");
+
+    private final StringBuilder commands = new StringBuilder();
+    private int state;
+    private boolean found;
+
+    @Override
+    public void startFile() {
+        reset();
+    }
+
+    @Override
+    public boolean usesCharacters() {
+        return true;
+    }
+
+    @Override
+    public void character(char c) {
+        if (found) {
+            commands.append(c);
+        } else {
+            state = NOPASSWD.next(state, c);
+            found = NOPASSWD.matchAt(state) != KeywordMatcher.NONE;
+        }
+    }
 
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {}
+    public void endLine(TextLine line) {
+        if (found && line.firstChar() != '#' && grantsAllCommands(commands)) {
+            addLineIssue(line.number(), "Limit sudo NOPASSWD to the commands that need it.");
+        }
+        reset();
+    }
+
+    private void reset() {
+        state = NOPASSWD.start();
+        found = false;
+        commands.setLength(0);
+    }
+
+    /**
+     * Reads what follows NOPASSWD on the line: a colon, optional further tags such as
+     * {@code SETENV:}, then the command list up to a comment or closing quote. Returns true if
+     * the list is empty or holds {@code ALL}.
+     */
+    private static boolean grantsAllCommands(CharSequence afterTag) {
+        String rest = afterTag.toString().strip();
+        if (!rest.startsWith(":")) return false;
+        rest = rest.substring(1).strip();
+        for (int colon = rest.indexOf(':'); colon > 0 && isTag(rest, colon); colon = rest.indexOf(':')) {
+            rest = rest.substring(colon + 1).strip();
+        }
+        int comment = rest.indexOf('#');
+        while (comment > 0 && !Character.isWhitespace(rest.charAt(comment - 1))) {
+            comment = rest.indexOf('#', comment + 1);
+        }
+        if (comment >= 0) {
+            rest = rest.substring(0, comment);
+        }
+        rest = rest.strip();
+        while (rest.endsWith("'") || rest.endsWith("\"")) {
+            rest = rest.substring(0, rest.length() - 1).strip();
+        }
+        if (rest.isEmpty()) return true;
+        for (String command : rest.split(",")) {
+            String spec = command.strip();
+            if (spec.startsWith("(") && spec.indexOf(')') > 0) {
+                // A Runas list before the command, e.g. (root) ALL.
+                spec = spec.substring(spec.indexOf(')') + 1).strip();
+            }
+            if (spec.equals("ALL")) return true;
+        }
+        return false;
+    }
+
+    private static boolean isTag(String text, int colon) {
+        for (int i = 0; i < colon; i++) {
+            char c = text.charAt(i);
+            if (!(c >= 'A' && c <= 'Z') && c != '_') return false;
+        }
+        return true;
+    }
 }
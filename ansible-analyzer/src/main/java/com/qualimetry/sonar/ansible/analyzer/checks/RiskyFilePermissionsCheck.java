@@ -16,19 +16,18 @@
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AttributePath;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-import java.util.Map;
-import java.util.Set;
-
 /**
  * Avoid overly permissive file modes (e.g. 0777, 0666) in copy, file, or template.
  */
 @Rule(key = "qa-restrict-file-mode")
 public class RiskyFilePermissionsCheck extends BaseCheck {
 
-    private static final Set<String> FILE_MODULE_KEYS = Set.of("copy", "file", "template", "assemble");
+    /** The current task when it runs a file module, else null. */
+    private Task fileTask;
 
     private static boolean isRiskyMode(Object value) {
         if (value == null) return false;
@@ -47,20 +46,15 @@ public class RiskyFilePermissionsCheck extends BaseCheck {
         return false;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        String actionKey = moduleKey.contains(":") ? moduleKey.substring(0, moduleKey.indexOf(':')) : moduleKey;
-        if (!FILE_MODULE_KEYS.contains(actionKey)) return;
+        fileTask = FileModeArgument.isFileModule(task) ? task : null;
+    }
 
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        Object moduleArgs = attrs.get(actionKey);
-        Object mode = moduleArgs instanceof Map ? ((Map<String, Object>) moduleArgs).get("mode") : attrs.get("mode");
-        if (isRiskyMode(mode)) {
-            addLineIssue(task.line(), "Avoid overly permissive file mode (e.g. 0777, 0666).");
+    @Override
+    public void visitAttribute(AttributePath path, String key, Object value, int line) {
+        if (FileModeArgument.isMode(fileTask, path, key) && isRiskyMode(value)) {
+            addLineIssue(line, "Avoid overly permissive file mode (e.g. 0777, 0666).");
         }
     }
 }
@@ -16,34 +16,28 @@
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AttributePath;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-import java.util.Map;
-import java.util.Set;
-
 /**
  * mode should not be a string octal (e.g. "0777") which can be misinterpreted; use a decimal or quoted octal.
  */
 @Rule(key = "qa-numeric-file-mode")
 public class RiskyOctalCheck extends BaseCheck {
 
-    private static final Set<String> FILE_MODULE_KEYS = Set.of("copy", "file", "template", "assemble");
+    /** The current task when it runs a file module, else null. */
+    private Task fileTask;
 
-    @SuppressWarnings("unchecked")
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        String actionKey = moduleKey.contains(":") ? moduleKey.substring(0, moduleKey.indexOf(':')) : moduleKey;
-        if (!FILE_MODULE_KEYS.contains(actionKey)) return;
+        fileTask = FileModeArgument.isFileModule(task) ? task : null;
+    }
 
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        Object moduleArgs = attrs.get(actionKey);
-        Object mode = moduleArgs instanceof Map ? ((Map<String, Object>) moduleArgs).get("mode") : attrs.get("mode");
-        if (mode instanceof String s && s.length() >= 3 && s.charAt(0) == '0' && s.chars().skip(1).allMatch(Character::isDigit)) {
-            addLineIssue(task.line(), "Use numeric mode (e.g. 0755) or explicit octal string to avoid misinterpretation.");
+    @Override
+    public void visitAttribute(AttributePath path, String key, Object value, int line) {
+        if (FileModeArgument.isMode(fileTask, path, key) && value instanceof String s && s.length() >= 3 && s.charAt(0) == '0' && s.chars().skip(1).allMatch(Character::isDigit)) {
+            addLineIssue(line, "Use numeric mode (e.g. 0755) or explicit octal string to avoid misinterpretation.");
         }
     }
 }
@@ -3,10 +3,10 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlDocument;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
-import org.yaml.snakeyaml.Yaml;
 
 import java.util.List;
 import java.util.Map;
@@ -20,14 +20,19 @@ public class SchemaCheck extends BaseCheck {
 
     private static final List<String> PLAY_KEYS = List.of("hosts", "tasks", "roles", "vars");
 
+    @Override
+    public boolean usesDocument() {
+        return true;
+    }
+
     @Override
     public void visitPlaybookFile(PlaybookFile file) {
         if (file.parseError() != null) return;
-        String content = getContext().getRawContent();
-        if (content == null || content.isBlank()) return;
+        YamlDocument document = getContext().getDocument();
+        if (document == null || document.parseError() != null) return;
         Object root;
         try {
-            root = new Yaml().load(content);
+            root = document.data();
         } catch (Exception e) {
             return;
         }
@@ -3,14 +3,69 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.index.ProjectSymbols;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaExpression;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaTemplate;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AttributePath;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-/** Use of undefined variables. Placeholder. */
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Variables read in a task's {@code {{ }}} expressions should be defined somewhere in the project.
+ * Names are looked up in the project index; magic variables, facts ({@code ansible_*}) and
+ * expressions guarded with {@code default} or an {@code is defined} test are not reported.
+ * Reports nothing when the analysis has no project index.
+ */
 @Rule(key = "qa-define-referenced-vars")
 public class UndefinedVarsCheck extends BaseCheck {
 
+    private static final Set<String> MAGIC_VARS = Set.of(
+            "item", "omit", "hostvars", "groups", "group_names", "inventory_hostname", "inventory_hostname_short",
+            "inventory_dir", "inventory_file", "play_hosts", "playbook_dir", "role_path", "role_name", "role_names",
+            "environment", "vars", "loop", "lookup", "query", "q", "range", "dict", "lipsum", "cycler", "joiner",
+            "namespace", "now", "undef");
+    private static final Set<String> GUARD_FILTERS = Set.of("default", "d", "ansible.builtin.default");
+    private static final Set<String> GUARD_TESTS = Set.of("defined", "undefined", "ansible.builtin.defined",
+            "ansible.builtin.undefined");
+
+    @Override
+    public boolean usesProjectSymbols() {
+        return true;
+    }
+
+    private final Set<String> reported = new HashSet<>();
+    private ProjectSymbols symbols;
+
+    @Override
+    public void visitTask(Task task) {
+        symbols = getContext().getProjectSymbols();
+        reported.clear();
+    }
+
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {}
+    public void visitAttribute(AttributePath path, String key, Object value, int line) {
+        if (symbols == null || !(value instanceof String s) || !JinjaTemplate.mayBeTemplated(s)) return;
+        for (JinjaExpression expression : getContext().getJinja().template(s).expressions()) {
+            if (isGuarded(expression)) continue;
+            for (String name : expression.variables()) {
+                if (!isMagic(name) && !symbols.isVariableDefined(name) && reported.add(name)) {
+                    addLineIssue(line, "Define variable \"" + name + "\" or pass it with -e; it is not set"
+                            + " anywhere in the project.");
+                }
+            }
+        }
+    }
+
+    private static boolean isGuarded(JinjaExpression expression) {
+        return expression.filters().stream().anyMatch(GUARD_FILTERS::contains)
+                || expression.tests().stream().anyMatch(GUARD_TESTS::contains);
+    }
+
+    private static boolean isMagic(String name) {
+        return name.startsWith("ansible_") || MAGIC_VARS.contains(name);
+    }
 }
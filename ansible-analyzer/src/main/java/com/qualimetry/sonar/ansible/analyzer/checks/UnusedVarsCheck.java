@@ -3,14 +3,63 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.index.ProjectSymbols;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import org.sonar.check.Rule;
 
-/** Variables defined but not used. Placeholder. */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Variables a task defines (task {@code vars}, {@code register}, {@code set_fact}) should be
+ * referenced somewhere in the project, in a playbook, role or template. Facts and connection
+ * settings ({@code ansible_*}) are read by Ansible itself and never reported. Reports nothing
+ * when the analysis has no project index.
+ */
 @Rule(key = "qa-remove-unused-vars")
 public class UnusedVarsCheck extends BaseCheck {
 
+    private static final List<String> SET_FACT_KEYS = List.of(
+            "set_fact", "ansible.builtin.set_fact", "ansible.legacy.set_fact");
+
     @Override
-    public void visitPlaybookFile(PlaybookFile file) {}
+    public boolean usesProjectSymbols() {
+        return true;
+    }
+
+    @Override
+    public void visitTask(Task task) {
+        ProjectSymbols symbols = getContext().getProjectSymbols();
+        Map<String, Object> attrs = task.attributes();
+        if (symbols == null || attrs == null) return;
+        List<String> defined = new ArrayList<>();
+        if (attrs.get("vars") instanceof Map<?, ?> vars) {
+            addKeys(vars, defined);
+        }
+        if (attrs.get("register") instanceof String register) {
+            defined.add(register.strip());
+        }
+        for (String key : SET_FACT_KEYS) {
+            if (attrs.get(key) instanceof Map<?, ?> facts) {
+                addKeys(facts, defined);
+            }
+        }
+        for (String name : defined) {
+            if (!name.isEmpty() && !name.equals("cacheable") && !name.startsWith("ansible_")
+                    && !symbols.isVariableReferenced(name)) {
+                addLineIssue(task.line(), "Remove variable \"" + name + "\" or use it; it is not referenced"
+                        + " anywhere in the project.");
+            }
+        }
+    }
+
+    private static void addKeys(Map<?, ?> map, List<String> out) {
+        for (Object key : map.keySet()) {
+            if (key instanceof String s) {
+                out.add(s);
+            }
+        }
+    }
 }
@@ -32,15 +32,10 @@ public class VarNamingCheck extends BaseCheck {
 
     @Override
     public void visitTask(Task task) {
-        String moduleKey = task.moduleKey();
-        if (moduleKey == null) return;
-        String base = moduleKey.contains(".") ? moduleKey.substring(moduleKey.lastIndexOf('.') + 1) : moduleKey;
-        if (!"set_fact".equals(base)) return;
+        if (task.module() == null || !"set_fact".equals(task.module().shortName())) return;
 
-        Map<String, Object> attrs = task.attributes();
-        if (attrs == null) return;
-        Object setFactVal = attrs.get(moduleKey);
-        if (!(setFactVal instanceof Map<?, ?> facts)) return;
+        Map<String, Object> facts = task.moduleArgs();
+        if (facts == null) return;
         for (Object k : facts.keySet()) {
             if (k instanceof String name && !VALID_VAR_NAME.matcher(name).matches()) {
                 addLineIssue(task.line(), "Variable name should be lowercase with only letters, numbers, and underscores: " + name);
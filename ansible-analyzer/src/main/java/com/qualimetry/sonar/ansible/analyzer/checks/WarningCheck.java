@@ -10,6 +10,7 @@ import org.sonar.check.RuleProperty;
 
 /**
  * Configurable diagnostic warning. When the rule parameter "message" is set, reports that message once per file.
+ * Also reports files the analyzer skipped, such as files that ran over their time budget.
  */
 @Rule(key = "qa-diagnostic-warning")
 public class WarningCheck extends BaseCheck {
@@ -24,6 +25,15 @@ public class WarningCheck extends BaseCheck {
         this.message = message;
     }
 
+    /**
+     * Reports why the analyzer skipped the current file, whatever the "message" parameter.
+     *
+     * @param reason why the file was not analyzed
+     */
+    public void reportSkippedFile(String reason) {
+        addFileIssue(reason);
+    }
+
     @Override
     public void visitPlaybookFile(PlaybookFile file) {
         if (message != null && !message.isBlank()) {
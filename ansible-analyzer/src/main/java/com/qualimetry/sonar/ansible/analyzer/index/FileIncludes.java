@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What one file contributes to the {@link IncludeGraph}: its includes, imports and roles, and
+ * the tasks, tags and {@code become} it has itself.
+ *
+ * @param includes what the file references, in file order
+ * @param tasks    tasks of the file, not counting blocks, plays and the includes themselves
+ * @param tags     distinct tags the file sets
+ * @param become   true if a play, task or role entry of the file sets {@code become}
+ */
+public record FileIncludes(List<Include> includes, int tasks, List<String> tags, boolean become) {
+
+    public static final FileIncludes NONE = new FileIncludes(List.of(), 0, List.of(), false);
+
+    public FileIncludes {
+        Objects.requireNonNull(includes, "includes must not be null");
+        includes = List.copyOf(includes);
+        Objects.requireNonNull(tags, "tags must not be null");
+        tags = List.copyOf(tags);
+    }
+}
@@ -0,0 +1,632 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlLimits;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnalysisCancelledException;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CancellationToken;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * What one project file contributes to the {@link SymbolIndex}: hashes of the variables it
+ * defines, the names it references and the handler names and topics it declares, and the
+ * {@link FileIncludes} it contributes to the {@link IncludeGraph}. The top-level keys of a YAML
+ * file are variables only in group_vars, host_vars, inventories and role defaults and vars; in
+ * any other file they are kept apart and count once a {@code vars_files} entry or
+ * {@code include_vars} task loads the file. YAML is read as a SnakeYAML
+ * event stream, so no node tree is built; INI inventories and Jinja templates are scanned as
+ * text. Names are kept as hashes, so a file's symbols can be cached and replayed without
+ * reading the file again.
+ */
+public final class FileSymbols {
+
+    /** Keys whose values are bare Jinja expressions rather than text with {@code {{ }}}. */
+    private static final Set<String> CONDITION_KEYS = Set.of(
+            "when", "changed_when", "failed_when", "until", "that", "var");
+    private static final Set<String> SET_FACT_KEYS = Set.of(
+            "set_fact", "ansible.builtin.set_fact", "ansible.legacy.set_fact");
+    private static final Set<String> DEFINITION_KEYS = Set.of("register", "loop_var", "index_var");
+    private static final Set<String> INCLUDE_VARS_KEYS = Set.of(
+            "include_vars", "ansible.builtin.include_vars", "ansible.legacy.include_vars");
+    /** Keys of a {@code roles:} entry that are keywords rather than role parameters. */
+    private static final Set<String> ROLE_KEYWORDS = Set.of(
+            "role", "name", "tags", "when", "vars", "become", "become_user", "become_method", "delegate_to",
+            "environment", "ignore_errors", "no_log", "check_mode", "diff", "run_once", "connection",
+            "remote_user", "module_defaults", "collections", "any_errors_fatal", "throttle", "timeout", "debugger");
+    private static final Set<String> INVENTORY_DIRECTORIES = Set.of(
+            "group_vars", "host_vars", "inventory", "inventories");
+    private static final Set<String> INVENTORY_FILES = Set.of(
+            "hosts", "hosts.yml", "hosts.yaml", "hosts.ini", "inventory", "inventory.yml", "inventory.yaml",
+            "inventory.ini");
+    /** Keys of a play or task whose value is a list of tasks. */
+    private static final Set<String> TASK_LIST_KEYS = Set.of(
+            "tasks", "pre_tasks", "post_tasks", "block", "rescue", "always");
+    /** Keys that make an item of a task list a play or block rather than a task. */
+    private static final Set<String> NOT_TASK_KEYS = Set.of(
+            "block", "hosts", "roles", "tasks", "pre_tasks", "post_tasks", "handlers", "vars_prompt");
+    private static final Set<String> TRUE_VALUES = Set.of("true", "yes", "on");
+
+    private enum Format { YAML, INI, TEMPLATE }
+
+    /** What a YAML node is to Ansible, decided by its key and the node it sits in. */
+    private enum Kind {
+        PLAIN, VARS, FILE_VARS, VARS_FILES, INCLUDE_VARS, SET_FACT, DEFINITION, CONDITION, HANDLERS, HANDLER, HANDLER_NAME, ROLES, ROLE, PROMPTS, PROMPT,
+        TASKS, TASK, INCLUDE, ROLE_NAME, TASKS_FROM, TAGS, BECOME
+    }
+
+    private final String path;
+    private final long[] variables;
+    private final long[] references;
+    private final long[] handlers;
+    private final FileIncludes includes;
+    private final long[] fileVariables;
+    private final List<String> varsFiles;
+
+    /**
+     * @param path       normalized relative path of the file
+     * @param variables  hashes of the variables the file defines
+     * @param references hashes of the names the file references
+     * @param handlers   hashes of the handler names and topics the file declares
+     */
+    public FileSymbols(String path, long[] variables, long[] references, long[] handlers) {
+        this(path, variables, references, handlers, FileIncludes.NONE);
+    }
+
+    /**
+     * @param path       normalized relative path of the file
+     * @param variables  hashes of the variables the file defines
+     * @param references hashes of the names the file references
+     * @param handlers   hashes of the handler names and topics the file declares
+     * @param includes   what the file includes, with its own tasks, tags and {@code become}
+     */
+    public FileSymbols(String path, long[] variables, long[] references, long[] handlers, FileIncludes includes) {
+        this(path, variables, references, handlers, includes, new long[0], List.of());
+    }
+
+    /**
+     * @param path          normalized relative path of the file
+     * @param variables     hashes of the variables the file defines
+     * @param references    hashes of the names the file references
+     * @param handlers      hashes of the handler names and topics the file declares
+     * @param includes      what the file includes, with its own tasks, tags and {@code become}
+     * @param fileVariables hashes of the top-level keys of a file outside the variable locations
+     * @param varsFiles     variable files the file loads, as written
+     */
+    public FileSymbols(String path, long[] variables, long[] references, long[] handlers, FileIncludes includes,
+                       long[] fileVariables, List<String> varsFiles) {
+        this.path = path;
+        this.variables = variables;
+        this.references = references;
+        this.handlers = handlers;
+        this.includes = includes;
+        this.fileVariables = fileVariables;
+        this.varsFiles = List.copyOf(varsFiles);
+    }
+
+    public String path() {
+        return path;
+    }
+
+    /** Hashes of the defined variables; not to be modified. */
+    public long[] variables() {
+        return variables;
+    }
+
+    /** Hashes of the referenced names; not to be modified. */
+    public long[] references() {
+        return references;
+    }
+
+    /** Hashes of the handler names and topics; not to be modified. */
+    public long[] handlers() {
+        return handlers;
+    }
+
+    public FileIncludes includes() {
+        return includes;
+    }
+
+    /**
+     * Hashes of the top-level keys of a YAML file outside group_vars, host_vars, inventories and
+     * role defaults and vars: variables only when another file loads this one. Not to be modified.
+     */
+    public long[] fileVariables() {
+        return fileVariables;
+    }
+
+    /** Targets of the file's {@code vars_files} entries and {@code include_vars} tasks, as written. */
+    public List<String> varsFiles() {
+        return varsFiles;
+    }
+
+    /**
+     * Returns true if files at this path contribute symbols: YAML files, Jinja templates, INI
+     * inventories and the extensionless or JSON files of group_vars and host_vars.
+     */
+    public static boolean isIndexed(String relativePath) {
+        return formatOf(relativePath) != null;
+    }
+
+    /**
+     * Scans the content of the file at the given path. YAML beyond the limits, or invalid from
+     * some point on, contributes what was read before that point.
+     */
+    public static FileSymbols scan(String relativePath, String content, YamlLimits limits) {
+        return scan(relativePath, content, limits, CancellationToken.NONE);
+    }
+
+    /**
+     * Same as {@link #scan(String, String, YamlLimits)}, polling the token while YAML and INI
+     * content is read.
+     *
+     * @throws AnalysisCancelledException when the token is cancelled before the scan is done
+     */
+    public static FileSymbols scan(String relativePath, String content, YamlLimits limits, CancellationToken token) {
+        Scanner scanner = new Scanner(relativePath, limits, token);
+        Format format = formatOf(relativePath);
+        if (content != null && format != null) {
+            switch (format) {
+                case YAML -> scanner.yaml(content);
+                case INI -> scanner.ini(content);
+                case TEMPLATE -> JinjaNames.forEachReference(content, scanner::reference);
+            }
+        }
+        return new FileSymbols(relativePath, toArray(scanner.variables), toArray(scanner.references),
+                toArray(scanner.handlers), scanner.includes(), toArray(scanner.fileVariables), scanner.varsFiles);
+    }
+
+    /** Role of a path inside {@code roles/<role>/}, or null. */
+    static String roleOf(String path) {
+        String[] segments = segments(path);
+        for (int i = segments.length - 3; i >= 0; i--) {
+            if (segments[i].equals("roles")) {
+                return segments[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /** Directory {@code .../roles/<role>} of a path inside a role, or null. */
+    static String roleDirectoryOf(String path) {
+        String[] segments = segments(path);
+        for (int i = segments.length - 3; i >= 0; i--) {
+            if (segments[i].equals("roles")) {
+                return String.join("/", Arrays.copyOf(segments, i + 2));
+            }
+        }
+        return null;
+    }
+
+    /** Returns true for a file in a role's {@code vars/} directory. */
+    static boolean isRoleVars(String path) {
+        String[] segments = segments(path);
+        for (int i = segments.length - 4; i >= 0; i--) {
+            if (segments[i].equals("roles")) {
+                return segments[i + 2].equals("vars");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true for files whose top-level keys Ansible loads as variables: group_vars,
+     * host_vars and inventory files, and the defaults and vars of a role.
+     */
+    static boolean isVariableFile(String path) {
+        if (isInventory(path)) {
+            return true;
+        }
+        String[] segments = segments(path);
+        for (int i = segments.length - 4; i >= 0; i--) {
+            if (segments[i].equals("roles")) {
+                return segments[i + 2].equals("defaults") || segments[i + 2].equals("vars");
+            }
+        }
+        return false;
+    }
+
+    /** Returns true for group_vars, host_vars and inventory files. */
+    static boolean isInventory(String path) {
+        String[] segments = segments(path);
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (INVENTORY_DIRECTORIES.contains(segments[i])) {
+                return true;
+            }
+        }
+        return segments.length > 0 && INVENTORY_FILES.contains(segments[segments.length - 1]);
+    }
+
+    private static Format formatOf(String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        String[] segments = segments(path);
+        String name = segments[segments.length - 1].toLowerCase(Locale.ROOT);
+        if (name.endsWith(".j2")) {
+            return Format.TEMPLATE;
+        }
+        if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+            return Format.YAML;
+        }
+        boolean noExtension = name.indexOf('.') < 0;
+        for (int i = 0; i < segments.length - 1; i++) {
+            if ((segments[i].equals("group_vars") || segments[i].equals("host_vars"))
+                    && (noExtension || name.endsWith(".json"))) {
+                return Format.YAML;
+            }
+        }
+        if (name.endsWith(".ini") || (noExtension && isInventory(path))) {
+            return Format.INI;
+        }
+        return null;
+    }
+
+    private static String[] segments(String path) {
+        return path.replace('\\', '/').split("/");
+    }
+
+    private static long[] toArray(LongHashSet set) {
+        long[] out = new long[set.size()];
+        int[] i = {0};
+        set.forEach(v -> out[i[0]++] = v);
+        return out;
+    }
+
+    /** Reads one file; not thread-safe. */
+    private static final class Scanner {
+
+        private final LongHashSet variables = new LongHashSet();
+        private final LongHashSet references = new LongHashSet();
+        private final LongHashSet handlers = new LongHashSet();
+        private final LongHashSet fileVariables = new LongHashSet();
+        private final List<String> varsFiles = new ArrayList<>();
+        private final List<Include> includes = new ArrayList<>();
+        private final Set<String> tags = new LinkedHashSet<>();
+        private final boolean handlerFile;
+        private final boolean metaFile;
+        private final boolean variableFile;
+        private final YamlLimits limits;
+        private final CancellationToken token;
+        private Iterator<Event> events;
+        private Event peeked;
+        private int tasks;
+        private boolean become;
+        /** Include type of the task key being read, and the role and tasks_from of the entry being read. */
+        private Include.Type includeType;
+        private String role;
+        private String tasksFrom;
+
+        Scanner(String path, YamlLimits limits, CancellationToken token) {
+            this.limits = limits;
+            this.token = token;
+            String[] segments = segments(path);
+            boolean inHandlers = false;
+            for (int i = 0; i < segments.length - 1; i++) {
+                inHandlers |= segments[i].equals("handlers");
+            }
+            this.handlerFile = inHandlers;
+            this.metaFile = segments.length > 1 && segments[segments.length - 2].equals("meta");
+            this.variableFile = isVariableFile(path);
+        }
+
+        FileIncludes includes() {
+            if (includes.isEmpty() && tasks == 0 && tags.isEmpty() && !become) {
+                return FileIncludes.NONE;
+            }
+            return new FileIncludes(includes, tasks, List.copyOf(tags), become);
+        }
+
+        void define(String name) {
+            if (name != null && !name.isBlank()) {
+                variables.add(LongHashSet.hash(name.strip()));
+            }
+        }
+
+        void reference(String name) {
+            references.add(LongHashSet.hash(name));
+        }
+
+        void handler(String name) {
+            if (name != null && !name.isBlank()) {
+                handlers.add(LongHashSet.hash(name.strip()));
+            }
+        }
+
+        void yaml(String content) {
+            events = new Yaml(limits.loaderOptions()).parse(new StringReader(content)).iterator();
+            try {
+                while (!(peek() instanceof StreamEndEvent)) {
+                    Event event = peek();
+                    if (event instanceof MappingStartEvent) {
+                        node(variableFile ? Kind.VARS : Kind.FILE_VARS, 0);
+                    } else if (event instanceof SequenceStartEvent) {
+                        node(handlerFile ? Kind.HANDLERS : Kind.TASKS, 0);
+                    } else if (event instanceof ScalarEvent) {
+                        node(Kind.PLAIN, 0);
+                    } else {
+                        next();
+                    }
+                }
+            } catch (YAMLException e) {
+                // keep what was read before the error
+            }
+        }
+
+        /** Inventory lines: {@code host key=value ...}, and {@code key=value} in {@code [group:vars]}. */
+        void ini(String content) {
+            boolean varsSection = false;
+            for (String line : content.split("\n")) {
+                token.throwIfCancelled();
+                String text = line.strip();
+                if (text.isEmpty() || text.startsWith("#") || text.startsWith(";")) {
+                    continue;
+                }
+                if (text.startsWith("[")) {
+                    varsSection = text.endsWith(":vars]");
+                    continue;
+                }
+                if (varsSection) {
+                    int eq = text.indexOf('=');
+                    if (eq > 0) {
+                        define(text.substring(0, eq));
+                        JinjaNames.forEachReference(text.substring(eq + 1), this::reference);
+                    }
+                    continue;
+                }
+                for (String token : text.split("\\s+")) {
+                    int eq = token.indexOf('=');
+                    if (eq > 0) {
+                        define(token.substring(0, eq));
+                    }
+                }
+            }
+        }
+
+        private void node(Kind kind, int depth) {
+            token.throwIfCancelled();
+            if (depth > limits.maxNestingDepth()) {
+                throw new YAMLException("Nesting Depth exceeded max " + limits.maxNestingDepth());
+            }
+            Event event = next();
+            if (event instanceof ScalarEvent scalar) {
+                scalar(kind, scalar.getValue());
+            } else if (event instanceof SequenceStartEvent) {
+                Kind item = itemKind(kind);
+                while (!(peek() instanceof SequenceEndEvent)) {
+                    node(item, depth + 1);
+                }
+                next();
+            } else if (event instanceof MappingStartEvent) {
+                mapping(kind, depth);
+            }
+            // An alias repeats a node that was read where it was anchored.
+        }
+
+        private void mapping(Kind kind, int depth) {
+            Include.Type outerType = includeType;
+            String outerRole = role;
+            String outerTasksFrom = tasksFrom;
+            role = null;
+            tasksFrom = null;
+            boolean task = kind == Kind.TASK;
+            boolean empty = true;
+            while (!(peek() instanceof MappingEndEvent)) {
+                String key = entry(kind, depth + 1);
+                empty = false;
+                if (key != null && (NOT_TASK_KEYS.contains(key) || Include.typeOf(key) != null)) {
+                    task = false;
+                }
+            }
+            next();
+            if (task && !empty) {
+                tasks++;
+            }
+            if (role != null && kind == Kind.ROLE) {
+                includes.add(new Include(Include.Type.ROLE, role, null));
+            } else if (role != null && kind == Kind.INCLUDE && includeType == Include.Type.ROLE_TASKS) {
+                includes.add(new Include(Include.Type.ROLE_TASKS, role, tasksFrom));
+            }
+            includeType = outerType;
+            role = outerRole;
+            tasksFrom = outerTasksFrom;
+        }
+
+        /** Reads one mapping entry and returns its key, or null for a key that is not a scalar. */
+        private String entry(Kind kind, int depth) {
+            if (!(peek() instanceof ScalarEvent keyEvent)) {
+                node(Kind.PLAIN, depth);
+                node(Kind.PLAIN, depth);
+                return null;
+            }
+            next();
+            String key = keyEvent.getValue();
+            switch (kind) {
+                case VARS -> define(key);
+                case FILE_VARS -> {
+                    if (!key.isBlank()) {
+                        fileVariables.add(LongHashSet.hash(key.strip()));
+                    }
+                }
+                case SET_FACT -> {
+                    if (!key.equals("cacheable")) {
+                        define(key);
+                    }
+                }
+                case ROLE -> {
+                    if (!ROLE_KEYWORDS.contains(key)) {
+                        define(key);
+                    }
+                }
+                case TASK -> {
+                    Include.Type type = Include.typeOf(key);
+                    if (type != null) {
+                        includeType = type;
+                    }
+                }
+                default -> {
+                }
+            }
+            node(valueKind(kind, key), depth);
+            return key;
+        }
+
+        private void scalar(Kind kind, String value) {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            switch (kind) {
+                case CONDITION -> JinjaNames.forEachName(value, this::reference);
+                case DEFINITION -> define(value);
+                case HANDLER_NAME -> handler(value);
+                case VARS_FILES, INCLUDE_VARS -> varsFiles.add(value.strip());
+                case INCLUDE -> {
+                    if (includeType != null && includeType != Include.Type.ROLE_TASKS) {
+                        includes.add(new Include(includeType, value.strip(), null));
+                    }
+                }
+                case ROLE -> includes.add(new Include(Include.Type.ROLE, value.strip(), null));
+                case ROLE_NAME -> role = value.strip();
+                case TASKS_FROM -> tasksFrom = value.strip();
+                case TAGS -> {
+                    for (String tag : value.split(",")) {
+                        if (!tag.isBlank() && tag.indexOf('{') < 0) {
+                            tags.add(tag.strip());
+                        }
+                    }
+                }
+                case BECOME -> become |= TRUE_VALUES.contains(value.strip().toLowerCase(Locale.ROOT));
+                case SET_FACT -> {
+                    for (String token : value.split("\\s+")) {
+                        int eq = token.indexOf('=');
+                        if (eq > 0) {
+                            define(token.substring(0, eq));
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+            if (kind != Kind.CONDITION && value.indexOf('{') >= 0) {
+                JinjaNames.forEachReference(value, this::reference);
+            }
+        }
+
+        private Kind valueKind(Kind parent, String key) {
+            if (parent == Kind.HANDLER) {
+                if (key.equals("name") || key.equals("listen")) {
+                    return Kind.HANDLER_NAME;
+                }
+                if (key.equals("block") || key.equals("rescue") || key.equals("always")) {
+                    return Kind.HANDLERS;
+                }
+            }
+            if ((parent == Kind.TASK || parent == Kind.ROLE) && (key.equals("tags") || key.equals("become"))) {
+                return key.equals("tags") ? Kind.TAGS : Kind.BECOME;
+            }
+            if (parent == Kind.TASK && TASK_LIST_KEYS.contains(key)) {
+                return Kind.TASKS;
+            }
+            if (parent == Kind.TASK && Include.typeOf(key) != null) {
+                return Kind.INCLUDE;
+            }
+            if (parent == Kind.INCLUDE && key.equals("file")) {
+                return Kind.INCLUDE;
+            }
+            if (parent == Kind.TASK && key.equals("vars_files")) {
+                return Kind.VARS_FILES;
+            }
+            if (parent == Kind.TASK && INCLUDE_VARS_KEYS.contains(key)) {
+                return Kind.INCLUDE_VARS;
+            }
+            if (parent == Kind.INCLUDE_VARS) {
+                return key.equals("file") ? Kind.INCLUDE_VARS : Kind.PLAIN;
+            }
+            if (parent == Kind.INCLUDE && key.equals("tasks_from")) {
+                return Kind.TASKS_FROM;
+            }
+            if ((parent == Kind.INCLUDE && key.equals("name"))
+                    || (parent == Kind.ROLE && (key.equals("role") || key.equals("name")))) {
+                return Kind.ROLE_NAME;
+            }
+            if ((parent == Kind.VARS || parent == Kind.FILE_VARS) && metaFile && key.equals("dependencies")) {
+                return Kind.ROLES;
+            }
+            if (parent == Kind.VARS || parent == Kind.FILE_VARS || parent == Kind.SET_FACT) {
+                return Kind.PLAIN;
+            }
+            if (parent == Kind.PROMPT && key.equals("name")) {
+                return Kind.DEFINITION;
+            }
+            if (SET_FACT_KEYS.contains(key)) {
+                return Kind.SET_FACT;
+            }
+            if (DEFINITION_KEYS.contains(key)) {
+                return Kind.DEFINITION;
+            }
+            if (CONDITION_KEYS.contains(key) || key.startsWith("with_")) {
+                return Kind.CONDITION;
+            }
+            return switch (key) {
+                case "vars" -> Kind.VARS;
+                case "handlers" -> Kind.HANDLERS;
+                case "roles" -> Kind.ROLES;
+                case "vars_prompt" -> Kind.PROMPTS;
+                default -> Kind.PLAIN;
+            };
+        }
+
+        private static Kind itemKind(Kind kind) {
+            return switch (kind) {
+                case HANDLERS -> Kind.HANDLER;
+                case ROLES -> Kind.ROLE;
+                case PROMPTS -> Kind.PROMPT;
+                case TASKS -> Kind.TASK;
+                case CONDITION, HANDLER_NAME, VARS, VARS_FILES, TAGS -> kind;
+                default -> Kind.PLAIN;
+            };
+        }
+
+        private Event peek() {
+            if (peeked == null) {
+                peeked = events.next();
+            }
+            return peeked;
+        }
+
+        private Event next() {
+            Event event = peek();
+            peeked = null;
+            return event;
+        }
+    }
+}
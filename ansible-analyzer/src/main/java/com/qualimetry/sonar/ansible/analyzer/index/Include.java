@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import java.util.Map;
+
+/**
+ * One reference from a file to content Ansible loads with it: a tasks file, a playbook or a role.
+ *
+ * @param type      what is referenced
+ * @param target    the path as written, relative to the referencing file, or the role name
+ * @param tasksFrom for a role, the {@code tasks_from} file, or null for {@code tasks/main}
+ */
+public record Include(Type type, String target, String tasksFrom) {
+
+    public enum Type {
+        /** {@code include_tasks}, {@code import_tasks} or the legacy {@code include}. */
+        TASKS,
+        /** {@code import_playbook}. */
+        PLAYBOOK,
+        /** A task running a role: {@code include_role} or {@code import_role}. */
+        ROLE_TASKS,
+        /** An entry of a play's {@code roles:} or of a role's meta {@code dependencies:}. */
+        ROLE
+    }
+
+    /** The include or import type of a task key, or null for any other key. */
+    public static Type typeOf(String key) {
+        if (key == null) {
+            return null;
+        }
+        String name = key.startsWith("ansible.builtin.") ? key.substring("ansible.builtin.".length()) : key;
+        return switch (name) {
+            case "include_tasks", "import_tasks", "include" -> Type.TASKS;
+            case "import_playbook" -> Type.PLAYBOOK;
+            case "include_role", "import_role" -> Type.ROLE_TASKS;
+            default -> null;
+        };
+    }
+
+    /**
+     * The include or import a task performs, from its attributes, or null when the task
+     * includes nothing or names its target in a form that is not a plain string.
+     */
+    public static Include ofTask(Map<String, Object> attributes) {
+        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+            Type type = typeOf(entry.getKey());
+            if (type == null) {
+                continue;
+            }
+            Object value = entry.getValue();
+            if (type == Type.ROLE_TASKS) {
+                if (value instanceof Map<?, ?> args && args.get("name") instanceof String role) {
+                    Object from = args.get("tasks_from");
+                    return new Include(type, role.strip(), from instanceof String s ? s.strip() : null);
+                }
+                return null;
+            }
+            if (value instanceof Map<?, ?> args) {
+                value = args.get("file");
+            }
+            return value instanceof String path && !path.isBlank() ? new Include(type, path.strip(), null) : null;
+        }
+        return null;
+    }
+
+    /** Returns true if the target is computed by a Jinja expression and cannot be resolved statically. */
+    public boolean isTemplated() {
+        return target.contains("{{") || target.contains("{%")
+                || (tasksFrom != null && (tasksFrom.contains("{{") || tasksFrom.contains("{%")));
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Immutable graph of what project files pull in through {@code include_tasks},
+ * {@code import_tasks}, {@code import_playbook}, {@code include_role}, {@code import_role},
+ * {@code roles:} and role meta dependencies. Nodes are project files and roles; a role node
+ * leads to its {@code tasks/main} and {@code meta/main} files.
+ * <p>
+ * Building the graph finds its strongly connected components with Tarjan's algorithm and
+ * computes every node's {@link IncludeSummary} once, components in reverse topological order,
+ * so a tasks file shared by hundreds of playbooks is summarized once and looked up in O(1).
+ * The files of one component form an include cycle and share one summary.
+ */
+public final class IncludeGraph {
+
+    private static final int UNRESOLVED = -1;
+
+    private final Map<String, Integer> files;
+    private final Map<String, Integer> roles;
+    private final Map<String, String> roleDirectories;
+    private final String[] names;
+    private final int[][] edges;
+    private final int[] components;
+    private final IncludeSummary[] summaries;
+
+    private IncludeGraph(Map<String, Integer> files, Map<String, Integer> roles, Map<String, String> roleDirectories,
+                         String[] names, int[][] edges, int[] components, IncludeSummary[] summaries) {
+        this.files = files;
+        this.roles = roles;
+        this.roleDirectories = roleDirectories;
+        this.names = names;
+        this.edges = edges;
+        this.components = components;
+        this.summaries = summaries;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Summary of a project file, or null when the file is not in the graph. */
+    public IncludeSummary summary(String path) {
+        Integer node = files.get(path);
+        return node == null ? null : summaries[node];
+    }
+
+    /**
+     * Summary of what an include of the given file pulls in, or null when its target is
+     * templated or not in the project.
+     */
+    public IncludeSummary summary(String fromPath, Include include) {
+        int node = resolve(fromPath, include);
+        return node == UNRESOLVED ? null : summaries[node];
+    }
+
+    /**
+     * The include cycle the target of an include of the given file is on, from the target back
+     * to it through the files and roles of the cycle; empty when the target is on no cycle.
+     */
+    public List<String> cycle(String fromPath, Include include) {
+        int start = resolve(fromPath, include);
+        if (start == UNRESOLVED || !summaries[start].cyclic()) {
+            return List.of();
+        }
+        int[] previous = new int[names.length];
+        Arrays.fill(previous, UNRESOLVED);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        previous[start] = start;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int next : edges[node]) {
+                if (next == start) {
+                    List<String> path = new ArrayList<>();
+                    for (int n = node; n != start; n = previous[n]) {
+                        path.add(names[n]);
+                    }
+                    path.add(names[start]);
+                    Collections.reverse(path);
+                    path.add(names[start]);
+                    return List.copyOf(path);
+                }
+                if (components[next] == components[start] && previous[next] == UNRESOLVED) {
+                    previous[next] = node;
+                    queue.add(next);
+                }
+            }
+        }
+        return List.of();
+    }
+
+    /** Number of files and roles in the graph. */
+    public int size() {
+        return names.length;
+    }
+
+    /** Number of include cycles, counting each strongly connected component once. */
+    public int cycles() {
+        boolean[] seen = new boolean[names.length];
+        int cycles = 0;
+        for (int node = 0; node < names.length; node++) {
+            if (summaries[node].cyclic() && !seen[components[node]]) {
+                seen[components[node]] = true;
+                cycles++;
+            }
+        }
+        return cycles;
+    }
+
+    private int resolve(String fromPath, Include include) {
+        if (include == null || include.isTemplated()) {
+            return UNRESOLVED;
+        }
+        return switch (include.type()) {
+            case TASKS, PLAYBOOK -> nodeOf(normalize(directoryOf(fromPath), include.target()));
+            case ROLE, ROLE_TASKS -> {
+                String role = roleName(include.target());
+                if (include.tasksFrom() == null) {
+                    Integer node = roles.get(role);
+                    yield node == null ? UNRESOLVED : node;
+                }
+                String directory = roleDirectories.get(role);
+                yield directory == null ? UNRESOLVED : taskFile(directory, include.tasksFrom());
+            }
+        };
+    }
+
+    private int nodeOf(String path) {
+        Integer node = path == null ? null : files.get(path);
+        return node == null ? UNRESOLVED : node;
+    }
+
+    private int taskFile(String roleDirectory, String name) {
+        String base = roleDirectory + "/tasks/" + name;
+        if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+            return nodeOf(normalize("", base));
+        }
+        int node = nodeOf(normalize("", base + ".yml"));
+        return node != UNRESOLVED ? node : nodeOf(normalize("", base + ".yaml"));
+    }
+
+    /** Role name of a {@code roles:} entry or {@code include_role}: the last path segment. */
+    private static String roleName(String target) {
+        String name = target.replace('\\', '/');
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    static String directoryOf(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+
+    /** Joins a relative path to a directory, resolving "." and ".."; null for a path leaving the project. */
+    static String normalize(String directory, String relative) {
+        String path = relative.replace('\\', '/');
+        if (path.startsWith("/")) {
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        for (String segment : (directory.isEmpty() ? path : directory + "/" + path).split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                if (parts.isEmpty()) {
+                    return null;
+                }
+                parts.remove(parts.size() - 1);
+                continue;
+            }
+            parts.add(segment);
+        }
+        return String.join("/", parts);
+    }
+
+    /** Collects the includes of project files; not thread-safe. */
+    public static final class Builder {
+
+        private final Map<String, FileIncludes> files = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /** Adds a project file with what it includes; a file added again replaces the earlier one. */
+        public Builder add(String path, FileIncludes includes) {
+            files.put(path, includes);
+            return this;
+        }
+
+        public IncludeGraph build() {
+            Map<String, Integer> fileIds = new HashMap<>();
+            List<String> names = new ArrayList<>();
+            for (String path : files.keySet()) {
+                fileIds.put(path, names.size());
+                names.add(path);
+            }
+            // A role name found in several directories resolves to the first in path order.
+            Map<String, String> roleDirectories = new HashMap<>();
+            for (String path : files.keySet()) {
+                String directory = FileSymbols.roleDirectoryOf(path);
+                if (directory != null) {
+                    roleDirectories.merge(roleName(directory), directory, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+                }
+            }
+            Map<String, Integer> roleIds = new HashMap<>();
+            for (String role : roleDirectories.keySet()) {
+                roleIds.put(role, names.size());
+                names.add("role " + role);
+            }
+            IncludeGraph graph = new IncludeGraph(fileIds, roleIds, roleDirectories, names.toArray(String[]::new),
+                    new int[names.size()][], new int[names.size()], new IncludeSummary[names.size()]);
+
+            int[] localTasks = new int[names.size()];
+            List<List<String>> localTags = new ArrayList<>(Collections.nCopies(names.size(), List.of()));
+            boolean[] localBecome = new boolean[names.size()];
+            for (Map.Entry<String, FileIncludes> file : files.entrySet()) {
+                int node = fileIds.get(file.getKey());
+                FileIncludes includes = file.getValue();
+                int[] targets = new int[includes.includes().size()];
+                int count = 0;
+                long tasks = includes.tasks();
+                for (Include include : includes.includes()) {
+                    int target = graph.resolve(file.getKey(), include);
+                    if (target != UNRESOLVED) {
+                        targets[count++] = target;
+                    } else if (include.type() == Include.Type.TASKS || include.type() == Include.Type.ROLE_TASKS) {
+                        tasks++;
+                    }
+                }
+                graph.edges[node] = Arrays.copyOf(targets, count);
+                localTasks[node] = (int) Math.min(tasks, Integer.MAX_VALUE);
+                localTags.set(node, includes.tags());
+                localBecome[node] = includes.become();
+            }
+            for (Map.Entry<String, String> role : roleDirectories.entrySet()) {
+                String directory = role.getValue();
+                int[] targets = {graph.taskFile(directory, "main"),
+                        graph.nodeOf(directory + "/meta/main.yml"), graph.nodeOf(directory + "/meta/main.yaml")};
+                graph.edges[roleIds.get(role.getKey())] = Arrays.stream(targets).filter(t -> t != UNRESOLVED).toArray();
+            }
+            new Summarizer(graph, localTasks, localTags, localBecome).run();
+            return graph;
+        }
+    }
+
+    /** Tarjan's strongly connected components, iterative so long include chains cannot overflow the stack. */
+    private static final class Summarizer {
+
+        private final IncludeGraph graph;
+        private final int[] localTasks;
+        private final List<List<String>> localTags;
+        private final boolean[] localBecome;
+        private final int[] order;
+        private final int[] low;
+        private final boolean[] onStack;
+        private final int[] stack;
+        private int stackSize;
+        private int counter;
+        private int componentCount;
+        /** Identical tag lists are shared; most files of a project carry one of a few tag sets. */
+        private final Map<List<String>, List<String>> tagLists = new HashMap<>();
+
+        Summarizer(IncludeGraph graph, int[] localTasks, List<List<String>> localTags, boolean[] localBecome) {
+            int size = graph.names.length;
+            this.graph = graph;
+            this.localTasks = localTasks;
+            this.localTags = localTags;
+            this.localBecome = localBecome;
+            this.order = new int[size];
+            this.low = new int[size];
+            this.onStack = new boolean[size];
+            this.stack = new int[size];
+            Arrays.fill(order, -1);
+        }
+
+        void run() {
+            int size = graph.names.length;
+            int[] calls = new int[size];
+            int[] nextEdge = new int[size];
+            for (int root = 0; root < size; root++) {
+                if (order[root] != -1) {
+                    continue;
+                }
+                int depth = 0;
+                calls[depth++] = root;
+                visit(root);
+                while (depth > 0) {
+                    int node = calls[depth - 1];
+                    int[] targets = graph.edges[node];
+                    if (nextEdge[node] < targets.length) {
+                        int next = targets[nextEdge[node]++];
+                        if (order[next] == -1) {
+                            visit(next);
+                            calls[depth++] = next;
+                        } else if (onStack[next]) {
+                            low[node] = Math.min(low[node], order[next]);
+                        }
+                        continue;
+                    }
+                    depth--;
+                    if (low[node] == order[node]) {
+                        component(node);
+                    }
+                    if (depth > 0) {
+                        int parent = calls[depth - 1];
+                        low[parent] = Math.min(low[parent], low[node]);
+                    }
+                }
+            }
+        }
+
+        private void visit(int node) {
+            order[node] = counter;
+            low[node] = counter++;
+            stack[stackSize++] = node;
+            onStack[node] = true;
+        }
+
+        /** Pops the component rooted at the node; every component it leads to is already summarized. */
+        private void component(int root) {
+            int id = componentCount++;
+            int start = stackSize;
+            do {
+                start--;
+                onStack[stack[start]] = false;
+                graph.components[stack[start]] = id;
+            } while (stack[start] != root);
+
+            long tasks = 0;
+            boolean become = false;
+            boolean cyclic = stackSize - start > 1;
+            TreeSet<String> tags = new TreeSet<>();
+            for (int i = start; i < stackSize; i++) {
+                int node = stack[i];
+                tasks = saturatedAdd(tasks, localTasks[node]);
+                tags.addAll(localTags.get(node));
+                become |= localBecome[node];
+                for (int next : graph.edges[node]) {
+                    if (graph.components[next] == id) {
+                        cyclic = true;
+                        continue;
+                    }
+                    IncludeSummary included = graph.summaries[next];
+                    tasks = saturatedAdd(tasks, included.tasks());
+                    tags.addAll(included.tags());
+                    become |= included.become();
+                }
+            }
+            List<String> tagList = tagLists.computeIfAbsent(List.copyOf(tags), list -> list);
+            IncludeSummary summary = new IncludeSummary(tasks, tagList, become, cyclic);
+            for (int i = start; i < stackSize; i++) {
+                graph.summaries[stack[i]] = summary;
+            }
+            stackSize = start;
+        }
+
+        private static long saturatedAdd(long a, long b) {
+            long sum = a + b;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What a file or role pulls in once its includes, imports and roles are followed, computed
+ * once per node of the {@link IncludeGraph}.
+ *
+ * @param tasks  tasks Ansible runs for it, counting each include of a shared file again;
+ *               an include whose target is not in the project counts as one task
+ * @param tags   tags set on its plays, tasks and roles or on content it includes, sorted
+ * @param become true if it or content it includes sets {@code become}
+ * @param cyclic true if it is on an include cycle; the files of the cycle are then counted once
+ */
+public record IncludeSummary(long tasks, List<String> tags, boolean become, boolean cyclic) {
+
+    public IncludeSummary {
+        Objects.requireNonNull(tags, "tags must not be null");
+        tags = List.copyOf(tags);
+    }
+}
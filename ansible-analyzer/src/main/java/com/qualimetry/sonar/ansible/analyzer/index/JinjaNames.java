@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import java.util.function.Consumer;
+
+/**
+ * Finds variable names in Jinja2 text without a full Jinja parser. It errs on the side of
+ * reporting too many names, for "is it used anywhere" questions; the names an expression
+ * actually reads as variables come from
+ * {@link com.qualimetry.sonar.ansible.analyzer.jinja.JinjaExpression#variables()}.
+ */
+public final class JinjaNames {
+
+    private JinjaNames() {
+    }
+
+    /**
+     * Calls the sink with every identifier inside the {@code {{ }}} and {@code {% %}} regions of the
+     * text, and with string literals there that look like identifiers (as in {@code vars['name']}).
+     */
+    public static void forEachReference(String text, Consumer<String> sink) {
+        int from = 0;
+        while (true) {
+            int open = indexOfOpening(text, from);
+            if (open < 0) {
+                return;
+            }
+            String closing = text.charAt(open + 1) == '{' ? "}}" : "%}";
+            int close = text.indexOf(closing, open + 2);
+            int end = close < 0 ? text.length() : close;
+            forEachName(text.substring(open + 2, end), sink);
+            if (close < 0) {
+                return;
+            }
+            from = close + 2;
+        }
+    }
+
+    private static int indexOfOpening(String text, int from) {
+        int expression = text.indexOf("{{", from);
+        int statement = text.indexOf("{%", from);
+        if (expression < 0) return statement;
+        if (statement < 0) return expression;
+        return Math.min(expression, statement);
+    }
+
+    /** Calls the sink with every identifier of the expression and every identifier-like string literal. */
+    public static void forEachName(String expression, Consumer<String> sink) {
+        int i = 0;
+        int n = expression.length();
+        while (i < n) {
+            char c = expression.charAt(i);
+            if (c == '\'' || c == '"') {
+                int end = endOfString(expression, i);
+                String literal = expression.substring(i + 1, Math.max(i + 1, end - 1));
+                if (isIdentifier(literal)) {
+                    sink.accept(literal);
+                }
+                i = end;
+            } else if (isIdentifierStart(c)) {
+                int end = endOfIdentifier(expression, i);
+                sink.accept(expression.substring(i, end));
+                i = end;
+            } else if (Character.isDigit(c)) {
+                i = endOfIdentifier(expression, i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static boolean isIdentifier(String s) {
+        if (s.isEmpty() || !isIdentifierStart(s.charAt(0))) {
+            return false;
+        }
+        return endOfIdentifier(s, 0) == s.length();
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static int endOfIdentifier(String s, int from) {
+        int i = from;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (!isIdentifierStart(c) && !(c >= '0' && c <= '9')) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /** Index just past the closing quote of the string literal at {@code from}, or the end. */
+    private static int endOfString(String s, int from) {
+        char quote = s.charAt(from);
+        int i = from + 1;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == quote) {
+                return i + 1;
+            }
+            i++;
+        }
+        return s.length();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing set of 64-bit symbol hashes; 0 is stored as 1 so it can mark empty slots.
+ * About 16 bytes per entry at the maximum load of one half.
+ */
+final class LongHashSet {
+
+    private long[] table = new long[16];
+    private int size;
+
+    /** Hash of a name: FNV-1a over its chars, finished with the SplitMix64 mixer. */
+    static long hash(CharSequence name) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            h ^= name.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    boolean add(long value) {
+        long v = value == 0 ? 1 : value;
+        if ((size + 1) * 2 > table.length) {
+            grow();
+        }
+        int mask = table.length - 1;
+        int i = (int) v & mask;
+        while (table[i] != 0) {
+            if (table[i] == v) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = v;
+        size++;
+        return true;
+    }
+
+    boolean contains(long value) {
+        long v = value == 0 ? 1 : value;
+        int mask = table.length - 1;
+        int i = (int) v & mask;
+        while (table[i] != 0) {
+            if (table[i] == v) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(LongConsumer action) {
+        for (long v : table) {
+            if (v != 0) {
+                action.accept(v);
+            }
+        }
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        size = 0;
+        for (long v : old) {
+            if (v != 0) {
+                add(v);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import java.util.List;
+
+/**
+ * Project-wide questions about Ansible names and includes that one file cannot answer on its
+ * own. Supplied by the Sensor for the file being analyzed from a {@link SymbolIndex} of the
+ * whole project when available.
+ */
+public interface ProjectSymbols {
+
+    /**
+     * Returns true if some project file defines the variable: in role defaults or vars,
+     * group_vars, host_vars, an inventory, a {@code vars} section, {@code set_fact},
+     * {@code register}, a loop variable, a prompt or a role parameter.
+     */
+    boolean isVariableDefined(String name);
+
+    /** Returns true if some project file or template reads the variable. */
+    boolean isVariableReferenced(String name);
+
+    /** Returns true if some project handler has the given name or listens to it as a topic. */
+    boolean isHandlerDefined(String nameOrTopic);
+
+    /** Returns true if the project has a {@code roles/<role>} directory. */
+    boolean isRoleDefined(String role);
+
+    /**
+     * Returns true if the role's {@code vars/} files set a variable that group_vars, host_vars
+     * or an inventory also sets; role vars take precedence, so the inventory value is ignored.
+     */
+    boolean roleVarsShadowInventory(String role);
+
+    /**
+     * Returns what an include, import or role of the current file pulls in, following nested
+     * includes, or null when its target is templated or not in the project.
+     */
+    IncludeSummary includeSummary(Include include);
+
+    /**
+     * Returns the include cycle the target of an include, import or role of the current file is
+     * on, from the target back to it, or an empty list when the target is on no cycle.
+     */
+    List<String> includeCycle(Include include);
+}
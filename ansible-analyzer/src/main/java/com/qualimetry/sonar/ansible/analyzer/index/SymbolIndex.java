@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlLimits;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable project-wide index of Ansible names, built once per analysis from the
+ * {@link FileSymbols} of every project file and then shared by all analysis threads.
+ * <p>
+ * Names are held as 64-bit hashes in open-addressing sets, about 16 bytes per distinct name
+ * and kind whatever the name's length, so the index of a 50,000-file project stays in the
+ * low megabytes. Lookups are O(1). Two different names collide with negligible probability;
+ * a collision can only hide an issue, never raise one.
+ * <p>
+ * Top-level keys of YAML files outside the variable locations count as variables only when a
+ * {@code vars_files} entry or {@code include_vars} task loads the file, resolved relative to the
+ * loading file, its role's {@code vars/} directory or the project root; a templated part of the
+ * path matches any file name.
+ * <p>
+ * The index also holds the project's {@link IncludeGraph}. Checks ask their questions through
+ * {@link #forFile(String)}, which resolves includes relative to the file being analyzed.
+ */
+public final class SymbolIndex {
+
+    private final LongHashSet variables;
+    private final LongHashSet references;
+    private final LongHashSet handlers;
+    private final LongHashSet roles;
+    private final LongHashSet shadowingRoles;
+    private final IncludeGraph includes;
+    private final int files;
+
+    private SymbolIndex(Builder builder, LongHashSet shadowingRoles, IncludeGraph includes) {
+        this.variables = builder.variables;
+        this.references = builder.references;
+        this.handlers = builder.handlers;
+        this.roles = builder.roles;
+        this.shadowingRoles = shadowingRoles;
+        this.includes = includes;
+        this.files = builder.files;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** See {@link ProjectSymbols#isVariableDefined(String)}. */
+    public boolean isVariableDefined(String name) {
+        return name != null && variables.contains(LongHashSet.hash(name));
+    }
+
+    /** See {@link ProjectSymbols#isVariableReferenced(String)}. */
+    public boolean isVariableReferenced(String name) {
+        return name != null && references.contains(LongHashSet.hash(name));
+    }
+
+    /** See {@link ProjectSymbols#isHandlerDefined(String)}. */
+    public boolean isHandlerDefined(String nameOrTopic) {
+        return nameOrTopic != null && handlers.contains(LongHashSet.hash(nameOrTopic.strip()));
+    }
+
+    /** See {@link ProjectSymbols#isRoleDefined(String)}. */
+    public boolean isRoleDefined(String role) {
+        return role != null && roles.contains(LongHashSet.hash(role));
+    }
+
+    /** See {@link ProjectSymbols#roleVarsShadowInventory(String)}. */
+    public boolean roleVarsShadowInventory(String role) {
+        return role != null && shadowingRoles.contains(LongHashSet.hash(role));
+    }
+
+    /** Includes, imports and roles between project files. */
+    public IncludeGraph includes() {
+        return includes;
+    }
+
+    /** The project questions of one file, with includes resolved relative to its path. */
+    public ProjectSymbols forFile(String relativePath) {
+        return new FileView(Objects.requireNonNull(relativePath));
+    }
+
+    /** Number of files the index was built from. */
+    public int files() {
+        return files;
+    }
+
+    @Override
+    public String toString() {
+        return files + " files, " + variables.size() + " variables, " + references.size() + " referenced names, "
+                + handlers.size() + " handlers, " + roles.size() + " roles, " + includes.cycles() + " include cycles";
+    }
+
+    private final class FileView implements ProjectSymbols {
+
+        private final String path;
+
+        FileView(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public boolean isVariableDefined(String name) {
+            return SymbolIndex.this.isVariableDefined(name);
+        }
+
+        @Override
+        public boolean isVariableReferenced(String name) {
+            return SymbolIndex.this.isVariableReferenced(name);
+        }
+
+        @Override
+        public boolean isHandlerDefined(String nameOrTopic) {
+            return SymbolIndex.this.isHandlerDefined(nameOrTopic);
+        }
+
+        @Override
+        public boolean isRoleDefined(String role) {
+            return SymbolIndex.this.isRoleDefined(role);
+        }
+
+        @Override
+        public boolean roleVarsShadowInventory(String role) {
+            return SymbolIndex.this.roleVarsShadowInventory(role);
+        }
+
+        @Override
+        public IncludeSummary includeSummary(Include include) {
+            return includes.summary(path, include);
+        }
+
+        @Override
+        public List<String> includeCycle(Include include) {
+            return includes.cycle(path, include);
+        }
+    }
+
+    /** Collects the symbols of project files; not thread-safe. */
+    public static final class Builder {
+
+        private final LongHashSet variables = new LongHashSet();
+        private final LongHashSet references = new LongHashSet();
+        private final LongHashSet handlers = new LongHashSet();
+        private final LongHashSet roles = new LongHashSet();
+        private final LongHashSet inventory = new LongHashSet();
+        private final IncludeGraph.Builder includes = IncludeGraph.builder();
+        /** Variables of role vars/ files, only resolved against the inventory once every file is in. */
+        private final List<RoleVars> roleVars = new ArrayList<>();
+        /** Top-level keys of other YAML files, by path, defined once a loaded file is resolved. */
+        private final Map<String, long[]> fileVariables = new HashMap<>();
+        private final List<VarsFile> varsFiles = new ArrayList<>();
+        private int files;
+        private boolean built;
+
+        private Builder() {
+        }
+
+        public Builder add(FileSymbols symbols) {
+            if (built) {
+                throw new IllegalStateException("Index already built");
+            }
+            files++;
+            String path = symbols.path();
+            includes.add(path, symbols.includes());
+            boolean inventoryFile = FileSymbols.isInventory(path);
+            for (long v : symbols.variables()) {
+                variables.add(v);
+                if (inventoryFile) {
+                    inventory.add(v);
+                }
+            }
+            for (long v : symbols.references()) {
+                references.add(v);
+            }
+            for (long v : symbols.handlers()) {
+                handlers.add(v);
+            }
+            if (symbols.fileVariables().length > 0) {
+                fileVariables.put(path, symbols.fileVariables());
+            }
+            for (String target : symbols.varsFiles()) {
+                varsFiles.add(new VarsFile(path, target));
+            }
+            String role = FileSymbols.roleOf(path);
+            if (role != null) {
+                long roleHash = LongHashSet.hash(role);
+                roles.add(roleHash);
+                if (FileSymbols.isRoleVars(path) && symbols.variables().length > 0) {
+                    roleVars.add(new RoleVars(roleHash, symbols.variables()));
+                }
+            }
+            return this;
+        }
+
+        /** Scans the content within the default YAML limits and adds it. */
+        public Builder add(String relativePath, String content) {
+            return add(FileSymbols.scan(relativePath, content, YamlLimits.defaults()));
+        }
+
+        /** Builds the index, which takes over this builder's sets; no file can be added afterwards. */
+        public SymbolIndex build() {
+            built = true;
+            for (VarsFile varsFile : varsFiles) {
+                defineLoaded(varsFile);
+            }
+            varsFiles.clear();
+            fileVariables.clear();
+            LongHashSet shadowing = new LongHashSet();
+            for (RoleVars vars : roleVars) {
+                for (long v : vars.variables()) {
+                    if (inventory.contains(v)) {
+                        shadowing.add(vars.role());
+                        break;
+                    }
+                }
+            }
+            roleVars.clear();
+            return new SymbolIndex(this, shadowing, includes.build());
+        }
+
+        /** Defines the top-level keys of the files one {@code vars_files} entry or {@code include_vars} loads. */
+        private void defineLoaded(VarsFile varsFile) {
+            String target = TEMPLATE.matcher(varsFile.target()).replaceAll("\0");
+            List<String> directories = new ArrayList<>(List.of(IncludeGraph.directoryOf(varsFile.from()), ""));
+            String roleDirectory = FileSymbols.roleDirectoryOf(varsFile.from());
+            if (roleDirectory != null) {
+                directories.add(roleDirectory + "/vars");
+            }
+            for (String directory : directories) {
+                String path = IncludeGraph.normalize(directory, target);
+                if (path == null) {
+                    continue;
+                }
+                if (path.indexOf('\0') < 0) {
+                    define(fileVariables.get(path));
+                    continue;
+                }
+                StringBuilder regex = new StringBuilder();
+                for (String literal : path.split("\0", -1)) {
+                    if (!regex.isEmpty()) {
+                        regex.append("[^/]*");
+                    }
+                    regex.append(Pattern.quote(literal));
+                }
+                Pattern pattern = Pattern.compile(regex.toString());
+                fileVariables.forEach((file, keys) -> {
+                    if (pattern.matcher(file).matches()) {
+                        define(keys);
+                    }
+                });
+            }
+        }
+
+        private void define(long[] keys) {
+            if (keys != null) {
+                for (long v : keys) {
+                    variables.add(v);
+                }
+            }
+        }
+    }
+
+    /** Jinja expression or statement in a loaded file's path. */
+    private static final Pattern TEMPLATE = Pattern.compile("\\{\\{.*?}}|\\{%.*?%}");
+
+    private record RoleVars(long role, long[] variables) {
+    }
+
+    private record VarsFile(String from, String target) {
+    }
+}
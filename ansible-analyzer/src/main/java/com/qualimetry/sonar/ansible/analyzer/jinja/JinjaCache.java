@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Parsed Jinja2 expressions and templates keyed by their text, shared by every check and
+ * analysis thread of an analysis. The same {@code when} conditions, {@code {{ item }}} loops
+ * and path templates recur across tasks and files, so each distinct text is lexed and parsed
+ * once.
+ * <p>
+ * The cache is bounded: it is split into segments, each a small LRU map behind its own lock,
+ * and texts longer than the maximum length are parsed but not kept. Safe to use from several
+ * threads.
+ */
+public final class JinjaCache {
+
+    public static final int DEFAULT_CAPACITY = 16_384;
+    public static final int DEFAULT_MAX_LENGTH = 4_096;
+
+    private static final int SEGMENTS = 16;
+    private static final JinjaCache NONE = new JinjaCache(0, 0);
+
+    private final Lru<JinjaExpression> expressions;
+    private final Lru<JinjaTemplate> templates;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JinjaCache() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * @param capacity  most expressions kept, and most templates kept
+     * @param maxLength longest text kept
+     */
+    public JinjaCache(int capacity, int maxLength) {
+        this.expressions = new Lru<>(capacity);
+        this.templates = new Lru<>(capacity);
+        this.maxLength = maxLength;
+    }
+
+    /** A cache that keeps nothing; every call parses its text. */
+    public static JinjaCache none() {
+        return NONE;
+    }
+
+    /** The parsed expression, such as the text inside {@code {{ }}}; null for null. */
+    public JinjaExpression expression(String text) {
+        if (text == null) {
+            return null;
+        }
+        return lookup(expressions, text, JinjaExpression::parse);
+    }
+
+    /** The parsed template of a string value; null for null. Strings without markup are not kept. */
+    public JinjaTemplate template(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (!JinjaTemplate.mayBeTemplated(text)) {
+            return JinjaTemplate.plain(text);
+        }
+        return lookup(templates, text, t -> JinjaTemplate.parse(t, this::expression));
+    }
+
+    /**
+     * The expressions of a conditional such as {@code when}, {@code changed_when} or
+     * {@code failed_when}: Ansible evaluates a plain value as a bare expression, and a value
+     * with {@code {{ }}} as a template.
+     */
+    public List<JinjaExpression> condition(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return text.contains("{{") ? template(text).expressions() : List.of(expression(text.strip()));
+    }
+
+    /** Lookups answered from the cache. */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /** Lookups that had to parse. */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /** Number of expressions and templates kept. */
+    public int size() {
+        return expressions.size() + templates.size();
+    }
+
+    @Override
+    public String toString() {
+        return size() + " Jinja entries, " + hits() + " hits, " + misses() + " misses";
+    }
+
+    private <V> V lookup(Lru<V> lru, String text, Function<String, V> parser) {
+        if (text.length() > maxLength || lru.capacity == 0) {
+            misses.increment();
+            return parser.apply(text);
+        }
+        V value = lru.get(text);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        // Parsed outside the segment lock; two threads may parse the same text, and the first kept wins.
+        return lru.putIfAbsent(text, parser.apply(text));
+    }
+
+    /** Segmented LRU map; each segment evicts its least recently used entry when full. */
+    private static final class Lru<V> {
+
+        private final int capacity;
+        private final List<Segment<V>> segments;
+
+        Lru(int capacity) {
+            this.capacity = capacity;
+            int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+            List<Segment<V>> segments = new ArrayList<>(SEGMENTS);
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments.add(new Segment<>(perSegment));
+            }
+            this.segments = List.copyOf(segments);
+        }
+
+        V get(String key) {
+            Segment<V> segment = segmentOf(key);
+            synchronized (segment) {
+                return segment.get(key);
+            }
+        }
+
+        V putIfAbsent(String key, V value) {
+            Segment<V> segment = segmentOf(key);
+            synchronized (segment) {
+                V existing = segment.putIfAbsent(key, value);
+                return existing != null ? existing : value;
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (Segment<V> segment : segments) {
+                synchronized (segment) {
+                    size += segment.size();
+                }
+            }
+            return size;
+        }
+
+        private Segment<V> segmentOf(String key) {
+            int h = key.hashCode();
+            return segments.get((h ^ (h >>> 16)) & (SEGMENTS - 1));
+        }
+    }
+
+    private static final class Segment<V> extends LinkedHashMap<String, V> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Attribute;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Binary;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Call;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Compare;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Conditional;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Dict;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Filter;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Item;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Keyword;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Name;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Sequence;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Test;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Unary;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A parsed Jinja2 expression: the text inside {@code {{ }}}, or a bare {@code when} condition.
+ * <p>
+ * The variables, filters and tests the expression uses are collected once when it is parsed,
+ * so instances shared through a {@link JinjaCache} answer every check without walking the tree
+ * again. An expression that does not parse keeps its text and error and has no root.
+ */
+public final class JinjaExpression {
+
+    private final String text;
+    private final JinjaNode root;
+    private final String error;
+    private final List<String> variables;
+    private final Set<String> filters;
+    private final Set<String> tests;
+
+    private JinjaExpression(String text, JinjaNode root, String error) {
+        this.text = text;
+        this.root = root;
+        this.error = error;
+        Set<String> names = new LinkedHashSet<>();
+        Set<String> filterNames = new LinkedHashSet<>();
+        Set<String> testNames = new LinkedHashSet<>();
+        if (root != null) {
+            collect(root, names, filterNames, testNames);
+        }
+        this.variables = List.copyOf(names);
+        this.filters = Set.copyOf(filterNames);
+        this.tests = Set.copyOf(testNames);
+    }
+
+    /** Parses an expression; never throws, see {@link #isValid()}. Prefer {@link JinjaCache#expression(String)}. */
+    public static JinjaExpression parse(String text) {
+        try {
+            return new JinjaExpression(text, JinjaParser.parse(text), null);
+        } catch (JinjaSyntaxException e) {
+            return new JinjaExpression(text, null, e.getMessage());
+        }
+    }
+
+    public String text() {
+        return text;
+    }
+
+    /** The root node, or null if the expression does not parse. */
+    public JinjaNode root() {
+        return root;
+    }
+
+    public boolean isValid() {
+        return root != null;
+    }
+
+    /** The syntax error, or null if the expression parses. */
+    public String error() {
+        return error;
+    }
+
+    /**
+     * The variables the expression reads, in order of first use: every name except called
+     * functions such as {@code lookup} or {@code range}. Attributes and subscripts are not
+     * listed, so {@code item.name} contributes {@code item}.
+     */
+    public List<String> variables() {
+        return variables;
+    }
+
+    /** Names of the filters applied anywhere in the expression. */
+    public Set<String> filters() {
+        return filters;
+    }
+
+    /** Names of the tests ({@code is defined}, {@code is not none}) applied anywhere in the expression. */
+    public Set<String> tests() {
+        return tests;
+    }
+
+    /** The variable name if the whole expression is a single name such as {@code my_var}, else null. */
+    public String bareVariable() {
+        return root instanceof Name name ? name.name() : null;
+    }
+
+    /** Visits every node of the expression, parents before children. */
+    public void visit(Consumer<JinjaNode> visitor) {
+        if (root != null) {
+            walk(root, visitor);
+        }
+    }
+
+    /** All comparisons in the expression, outermost first. */
+    public List<Compare> comparisons() {
+        List<Compare> comparisons = new ArrayList<>();
+        visit(node -> {
+            if (node instanceof Compare compare) {
+                comparisons.add(compare);
+            }
+        });
+        return comparisons;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static void collect(JinjaNode node, Set<String> names, Set<String> filters, Set<String> tests) {
+        if (node instanceof Name name) {
+            names.add(name.name());
+            return;
+        }
+        if (node instanceof Filter filter) {
+            filters.add(filter.name());
+        } else if (node instanceof Test test) {
+            tests.add(test.name());
+        } else if (node instanceof Call call && call.target() instanceof Name) {
+            // A called name such as lookup or range is a function, not a variable.
+            call.arguments().forEach(argument -> collect(argument, names, filters, tests));
+            call.keywords().forEach(keyword -> collect(keyword.value(), names, filters, tests));
+            return;
+        }
+        forEachChild(node, child -> collect(child, names, filters, tests));
+    }
+
+    private static void walk(JinjaNode node, Consumer<JinjaNode> visitor) {
+        visitor.accept(node);
+        forEachChild(node, child -> walk(child, visitor));
+    }
+
+    private static void forEachChild(JinjaNode node, Consumer<JinjaNode> action) {
+        if (node instanceof Attribute attribute) {
+            action.accept(attribute.target());
+        } else if (node instanceof Item item) {
+            action.accept(item.target());
+            if (item.key() != null) {
+                action.accept(item.key());
+            }
+        } else if (node instanceof Call call) {
+            action.accept(call.target());
+            call.arguments().forEach(action);
+            call.keywords().stream().map(Keyword::value).forEach(action);
+        } else if (node instanceof Filter filter) {
+            action.accept(filter.target());
+            filter.arguments().forEach(action);
+            filter.keywords().stream().map(Keyword::value).forEach(action);
+        } else if (node instanceof Test test) {
+            action.accept(test.target());
+            test.arguments().forEach(action);
+        } else if (node instanceof Compare compare) {
+            action.accept(compare.left());
+            action.accept(compare.right());
+        } else if (node instanceof Binary binary) {
+            action.accept(binary.left());
+            action.accept(binary.right());
+        } else if (node instanceof Unary unary) {
+            action.accept(unary.operand());
+        } else if (node instanceof Conditional conditional) {
+            action.accept(conditional.then());
+            action.accept(conditional.test());
+            if (conditional.otherwise() != null) {
+                action.accept(conditional.otherwise());
+            }
+        } else if (node instanceof Sequence sequence) {
+            sequence.items().forEach(action);
+        } else if (node instanceof Dict dict) {
+            for (int i = 0; i < dict.keys().size(); i++) {
+                action.accept(dict.keys().get(i));
+                action.accept(dict.values().get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits a Jinja2 expression into names, literals and operators.
+ */
+final class JinjaLexer {
+
+    enum Type { NAME, STRING, INTEGER, FLOAT, OPERATOR, END }
+
+    /** A token; for a string, the text is the unescaped value. */
+    record Token(Type type, String text, int position) {
+
+        boolean is(String operatorOrName) {
+            return (type == Type.OPERATOR || type == Type.NAME) && text.equals(operatorOrName);
+        }
+    }
+
+    private static final Set<String> TWO_CHARACTER_OPERATORS = Set.of("**", "//", "==", "!=", "<=", ">=");
+    private static final String OPERATORS = "+-*/%~<>()[]{},.:|=";
+
+    private JinjaLexer() {
+    }
+
+    /**
+     * Returns the tokens of the expression, ending with an {@link Type#END} token.
+     *
+     * @throws JinjaSyntaxException on a character that cannot start a token or an unterminated string
+     */
+    static List<Token> tokenize(String expression) {
+        List<Token> tokens = new ArrayList<>();
+        int n = expression.length();
+        int i = 0;
+        while (i < n) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'' || c == '"') {
+                i = string(expression, i, tokens);
+            } else if (isNameStart(c)) {
+                int end = i + 1;
+                while (end < n && isNamePart(expression.charAt(end))) {
+                    end++;
+                }
+                tokens.add(new Token(Type.NAME, expression.substring(i, end), i));
+                i = end;
+            } else if (c >= '0' && c <= '9') {
+                i = number(expression, i, tokens);
+            } else if (i + 1 < n && TWO_CHARACTER_OPERATORS.contains(expression.substring(i, i + 2))) {
+                tokens.add(new Token(Type.OPERATOR, expression.substring(i, i + 2), i));
+                i += 2;
+            } else if (OPERATORS.indexOf(c) >= 0) {
+                tokens.add(new Token(Type.OPERATOR, String.valueOf(c), i));
+                i++;
+            } else {
+                throw new JinjaSyntaxException("Unexpected character '" + c + "'", i);
+            }
+        }
+        tokens.add(new Token(Type.END, "", n));
+        return tokens;
+    }
+
+    private static int string(String expression, int start, List<Token> tokens) {
+        char quote = expression.charAt(start);
+        StringBuilder value = new StringBuilder();
+        int i = start + 1;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (c == quote) {
+                tokens.add(new Token(Type.STRING, value.toString(), start));
+                return i + 1;
+            }
+            if (c == '\\' && i + 1 < expression.length()) {
+                char escaped = expression.charAt(i + 1);
+                value.append(switch (escaped) {
+                    case 'n' -> '\n';
+                    case 't' -> '\t';
+                    case 'r' -> '\r';
+                    default -> escaped;
+                });
+                i += 2;
+                continue;
+            }
+            value.append(c);
+            i++;
+        }
+        throw new JinjaSyntaxException("Unterminated string", start);
+    }
+
+    private static int number(String expression, int start, List<Token> tokens) {
+        int n = expression.length();
+        int i = start;
+        while (i < n && (Character.isDigit(expression.charAt(i)) || expression.charAt(i) == '_')) {
+            i++;
+        }
+        boolean fraction = i + 1 < n && expression.charAt(i) == '.' && Character.isDigit(expression.charAt(i + 1));
+        if (fraction) {
+            i++;
+            while (i < n && Character.isDigit(expression.charAt(i))) {
+                i++;
+            }
+        }
+        if (i < n && (expression.charAt(i) == 'e' || expression.charAt(i) == 'E')) {
+            int exponent = i + 1;
+            if (exponent < n && (expression.charAt(exponent) == '+' || expression.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < n && Character.isDigit(expression.charAt(exponent))) {
+                fraction = true;
+                i = exponent;
+                while (i < n && Character.isDigit(expression.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        tokens.add(new Token(fraction ? Type.FLOAT : Type.INTEGER, expression.substring(start, i).replace("_", ""),
+                start));
+        return i;
+    }
+
+    private static boolean isNameStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isNamePart(char c) {
+        return isNameStart(c) || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Node of a parsed Jinja2 expression. Nodes are immutable and may be shared between threads.
+ */
+public sealed interface JinjaNode {
+
+    /** A variable or function name. */
+    record Name(String name) implements JinjaNode {
+    }
+
+    /** A string, number, boolean or {@code none}; the value is a String, Long, Double, Boolean or null. */
+    record Literal(Object value) implements JinjaNode {
+    }
+
+    /** {@code target.name}. */
+    record Attribute(JinjaNode target, String name) implements JinjaNode {
+    }
+
+    /** {@code target[key]}; a slice has a null key. */
+    record Item(JinjaNode target, JinjaNode key) implements JinjaNode {
+    }
+
+    /** {@code target(args, name=value)}. */
+    record Call(JinjaNode target, List<JinjaNode> arguments, List<Keyword> keywords) implements JinjaNode {
+        public Call {
+            arguments = List.copyOf(arguments);
+            keywords = List.copyOf(keywords);
+        }
+    }
+
+    /** {@code target | name(args, name=value)}. */
+    record Filter(JinjaNode target, String name, List<JinjaNode> arguments, List<Keyword> keywords) implements JinjaNode {
+        public Filter {
+            arguments = List.copyOf(arguments);
+            keywords = List.copyOf(keywords);
+        }
+    }
+
+    /** {@code target is [not] name(args)}. */
+    record Test(JinjaNode target, String name, boolean negated, List<JinjaNode> arguments) implements JinjaNode {
+        public Test {
+            arguments = List.copyOf(arguments);
+        }
+    }
+
+    /** {@code left operator right} for {@code == != < <= > >= in} and {@code not in}. */
+    record Compare(String operator, JinjaNode left, JinjaNode right) implements JinjaNode {
+    }
+
+    /** {@code left operator right} for {@code and or + - * / // % ** ~}. */
+    record Binary(String operator, JinjaNode left, JinjaNode right) implements JinjaNode {
+    }
+
+    /** {@code not operand}, {@code -operand} or {@code +operand}. */
+    record Unary(String operator, JinjaNode operand) implements JinjaNode {
+    }
+
+    /** {@code then if test else otherwise}; otherwise is null when there is no else. */
+    record Conditional(JinjaNode test, JinjaNode then, JinjaNode otherwise) implements JinjaNode {
+    }
+
+    /** A list or tuple literal. */
+    record Sequence(List<JinjaNode> items, boolean tuple) implements JinjaNode {
+        public Sequence {
+            items = List.copyOf(items);
+        }
+    }
+
+    /** A dict literal. */
+    record Dict(List<JinjaNode> keys, List<JinjaNode> values) implements JinjaNode {
+        public Dict {
+            keys = List.copyOf(keys);
+            values = List.copyOf(values);
+        }
+    }
+
+    /** A keyword argument {@code name=value} of a call or filter. */
+    record Keyword(String name, JinjaNode value) {
+        public Keyword {
+            Objects.requireNonNull(name, "name must not be null");
+        }
+    }
+}
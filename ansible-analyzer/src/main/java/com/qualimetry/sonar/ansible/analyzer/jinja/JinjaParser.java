@@ -0,0 +1,484 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaLexer.Token;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaLexer.Type;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Attribute;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Binary;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Call;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Compare;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Conditional;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Dict;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Filter;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Item;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Keyword;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Literal;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Name;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Sequence;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Test;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Unary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recursive-descent parser for the Jinja2 expression grammar, from conditional expressions
+ * down to filters, tests, calls, subscripts and literals. The depth of the tree, counting
+ * chained operators, filters and subscripts, is bounded so a hostile expression cannot
+ * exhaust the stack of the parser or of the walks over its result.
+ */
+final class JinjaParser {
+
+    static final int MAX_DEPTH = 200;
+
+    private static final Set<String> COMPARISONS = Set.of("==", "!=", "<", "<=", ">", ">=");
+    private static final Set<String> ADDITIVE = Set.of("+", "-");
+    private static final Set<String> MULTIPLICATIVE = Set.of("*", "/", "//", "%");
+
+    private final List<Token> tokens;
+    private int index;
+    private int depth;
+
+    private JinjaParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses a whole expression.
+     *
+     * @throws JinjaSyntaxException if the expression is not valid Jinja2 or nests too deeply
+     */
+    static JinjaNode parse(String expression) {
+        JinjaParser parser = new JinjaParser(JinjaLexer.tokenize(expression));
+        JinjaNode root = parser.tuple();
+        Token end = parser.peek();
+        if (end.type() != Type.END) {
+            throw new JinjaSyntaxException("Unexpected '" + end.text() + "'", end.position());
+        }
+        return root;
+    }
+
+    /** An expression, or a tuple when commas separate several at the top level. */
+    private JinjaNode tuple() {
+        JinjaNode first = expression();
+        if (!peek().is(",")) {
+            return first;
+        }
+        List<JinjaNode> items = new ArrayList<>();
+        items.add(first);
+        while (accept(",")) {
+            if (peek().type() == Type.END) {
+                break;
+            }
+            items.add(expression());
+        }
+        return new Sequence(items, true);
+    }
+
+    private JinjaNode expression() {
+        enter();
+        JinjaNode node = or();
+        if (acceptName("if")) {
+            JinjaNode test = or();
+            JinjaNode otherwise = acceptName("else") ? expression() : null;
+            node = new Conditional(test, node, otherwise);
+        }
+        depth--;
+        return node;
+    }
+
+    private JinjaNode or() {
+        JinjaNode node = and();
+        int mark = depth;
+        while (acceptName("or")) {
+            enter();
+            node = new Binary("or", node, and());
+        }
+        depth = mark;
+        return node;
+    }
+
+    private JinjaNode and() {
+        JinjaNode node = not();
+        int mark = depth;
+        while (acceptName("and")) {
+            enter();
+            node = new Binary("and", node, not());
+        }
+        depth = mark;
+        return node;
+    }
+
+    private JinjaNode not() {
+        if (acceptName("not")) {
+            enter();
+            JinjaNode operand = not();
+            depth--;
+            return new Unary("not", operand);
+        }
+        return compare();
+    }
+
+    private JinjaNode compare() {
+        JinjaNode node = additive();
+        int mark = depth;
+        while (true) {
+            enter();
+            Token token = peek();
+            if (token.type() == Type.OPERATOR && COMPARISONS.contains(token.text())) {
+                index++;
+                node = new Compare(token.text(), node, additive());
+            } else if (token.is("in") && token.type() == Type.NAME) {
+                index++;
+                node = new Compare("in", node, additive());
+            } else if (token.is("not") && peek(1).is("in") && peek(1).type() == Type.NAME) {
+                index += 2;
+                node = new Compare("not in", node, additive());
+            } else {
+                depth = mark;
+                return node;
+            }
+        }
+    }
+
+    private JinjaNode additive() {
+        JinjaNode node = concat();
+        int mark = depth;
+        while (isOperator(ADDITIVE)) {
+            enter();
+            String operator = next().text();
+            node = new Binary(operator, node, concat());
+        }
+        depth = mark;
+        return node;
+    }
+
+    private JinjaNode concat() {
+        JinjaNode node = multiplicative();
+        int mark = depth;
+        while (accept("~")) {
+            enter();
+            node = new Binary("~", node, multiplicative());
+        }
+        depth = mark;
+        return node;
+    }
+
+    private JinjaNode multiplicative() {
+        JinjaNode node = power();
+        int mark = depth;
+        while (isOperator(MULTIPLICATIVE)) {
+            enter();
+            String operator = next().text();
+            node = new Binary(operator, node, power());
+        }
+        depth = mark;
+        return node;
+    }
+
+    private JinjaNode power() {
+        JinjaNode node = unary();
+        int mark = depth;
+        while (accept("**")) {
+            enter();
+            node = new Binary("**", node, unary());
+        }
+        depth = mark;
+        return node;
+    }
+
+    private JinjaNode unary() {
+        if (peek().type() == Type.OPERATOR && (peek().is("-") || peek().is("+"))) {
+            String operator = next().text();
+            enter();
+            JinjaNode operand = unary();
+            depth--;
+            return new Unary(operator, operand);
+        }
+        return filtersAndTests(postfix(primary()));
+    }
+
+    private JinjaNode filtersAndTests(JinjaNode node) {
+        int mark = depth;
+        while (true) {
+            enter();
+            if (accept("|")) {
+                String name = dottedName();
+                List<JinjaNode> arguments = new ArrayList<>();
+                List<Keyword> keywords = new ArrayList<>();
+                if (accept("(")) {
+                    arguments(arguments, keywords);
+                }
+                node = new Filter(node, name, arguments, keywords);
+            } else if (acceptName("is")) {
+                boolean negated = acceptName("not");
+                String name = dottedName();
+                List<JinjaNode> arguments = new ArrayList<>();
+                if (accept("(")) {
+                    arguments(arguments, new ArrayList<>());
+                } else if (startsTestArgument(peek())) {
+                    arguments.add(postfix(primary()));
+                }
+                node = new Test(node, name, negated, arguments);
+            } else {
+                depth = mark;
+                return node;
+            }
+        }
+    }
+
+    /** Jinja takes a bare argument after a test name unless the next token continues the expression. */
+    private static boolean startsTestArgument(Token token) {
+        return switch (token.type()) {
+            case STRING, INTEGER, FLOAT -> true;
+            case NAME -> !Set.of("else", "or", "and", "is", "in", "if", "not").contains(token.text());
+            case OPERATOR -> token.is("[") || token.is("{");
+            default -> false;
+        };
+    }
+
+    private JinjaNode postfix(JinjaNode node) {
+        int mark = depth;
+        while (true) {
+            enter();
+            if (accept(".")) {
+                Token name = next();
+                if (name.type() != Type.NAME && name.type() != Type.INTEGER) {
+                    throw unexpected(name);
+                }
+                node = new Attribute(node, name.text());
+            } else if (accept("[")) {
+                enter();
+                node = new Item(node, subscript());
+                depth--;
+                expect("]");
+            } else if (accept("(")) {
+                List<JinjaNode> arguments = new ArrayList<>();
+                List<Keyword> keywords = new ArrayList<>();
+                arguments(arguments, keywords);
+                node = new Call(node, arguments, keywords);
+            } else {
+                depth = mark;
+                return node;
+            }
+        }
+    }
+
+    /** The key of a subscript, or null for a slice such as {@code [1:]}. */
+    private JinjaNode subscript() {
+        JinjaNode key = peek().is(":") ? null : expression();
+        if (!peek().is(":")) {
+            return key;
+        }
+        while (accept(":")) {
+            if (!peek().is(":") && !peek().is("]")) {
+                expression();
+            }
+        }
+        return null;
+    }
+
+    /** Reads arguments after an opening parenthesis, up to and including the closing one. */
+    private void arguments(List<JinjaNode> arguments, List<Keyword> keywords) {
+        enter();
+        while (!accept(")")) {
+            if (!arguments.isEmpty() || !keywords.isEmpty()) {
+                expect(",");
+                if (accept(")")) {
+                    break;
+                }
+            }
+            if (peek().type() == Type.NAME && peek(1).is("=") && peek(1).type() == Type.OPERATOR) {
+                String name = next().text();
+                index++;
+                keywords.add(new Keyword(name, expression()));
+            } else if (peek().type() == Type.OPERATOR && (peek().is("*") || peek().is("**"))) {
+                String operator = next().text();
+                arguments.add(new Unary(operator, expression()));
+            } else {
+                arguments.add(expression());
+            }
+        }
+        depth--;
+    }
+
+    private JinjaNode primary() {
+        Token token = next();
+        switch (token.type()) {
+            case NAME:
+                return switch (token.text()) {
+                    case "true", "True" -> new Literal(Boolean.TRUE);
+                    case "false", "False" -> new Literal(Boolean.FALSE);
+                    case "none", "None" -> new Literal(null);
+                    default -> new Name(token.text());
+                };
+            case STRING:
+                StringBuilder value = new StringBuilder(token.text());
+                while (peek().type() == Type.STRING) {
+                    value.append(next().text());
+                }
+                return new Literal(value.toString());
+            case INTEGER:
+                try {
+                    return new Literal(Long.parseLong(token.text()));
+                } catch (NumberFormatException e) {
+                    return new Literal(Double.parseDouble(token.text()));
+                }
+            case FLOAT:
+                return new Literal(Double.parseDouble(token.text()));
+            case OPERATOR:
+                if (token.is("(")) {
+                    return parenthesized();
+                }
+                if (token.is("[")) {
+                    return list();
+                }
+                if (token.is("{")) {
+                    return dict();
+                }
+                throw unexpected(token);
+            default:
+                throw unexpected(token);
+        }
+    }
+
+    private JinjaNode parenthesized() {
+        enter();
+        JinjaNode node;
+        if (accept(")")) {
+            node = new Sequence(List.of(), true);
+        } else {
+            JinjaNode first = expression();
+            if (peek().is(",")) {
+                List<JinjaNode> items = new ArrayList<>();
+                items.add(first);
+                while (accept(",") && !peek().is(")")) {
+                    items.add(expression());
+                }
+                node = new Sequence(items, true);
+            } else {
+                node = first;
+            }
+            expect(")");
+        }
+        depth--;
+        return node;
+    }
+
+    private JinjaNode list() {
+        enter();
+        List<JinjaNode> items = new ArrayList<>();
+        while (!accept("]")) {
+            if (!items.isEmpty()) {
+                expect(",");
+                if (accept("]")) {
+                    break;
+                }
+            }
+            items.add(expression());
+        }
+        depth--;
+        return new Sequence(items, false);
+    }
+
+    private JinjaNode dict() {
+        enter();
+        List<JinjaNode> keys = new ArrayList<>();
+        List<JinjaNode> values = new ArrayList<>();
+        while (!accept("}")) {
+            if (!keys.isEmpty()) {
+                expect(",");
+                if (accept("}")) {
+                    break;
+                }
+            }
+            keys.add(expression());
+            expect(":");
+            values.add(expression());
+        }
+        depth--;
+        return new Dict(keys, values);
+    }
+
+    /** A filter or test name, which may be a collection-qualified name such as {@code ansible.builtin.bool}. */
+    private String dottedName() {
+        Token token = next();
+        if (token.type() != Type.NAME) {
+            throw unexpected(token);
+        }
+        StringBuilder name = new StringBuilder(token.text());
+        while (peek().is(".") && peek(1).type() == Type.NAME) {
+            index++;
+            name.append('.').append(next().text());
+        }
+        return name.toString();
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw new JinjaSyntaxException("Expression nests deeper than " + MAX_DEPTH, peek().position());
+        }
+    }
+
+    private Token peek() {
+        return tokens.get(index);
+    }
+
+    private Token peek(int ahead) {
+        return tokens.get(Math.min(index + ahead, tokens.size() - 1));
+    }
+
+    private Token next() {
+        Token token = tokens.get(index);
+        if (token.type() != Type.END) {
+            index++;
+        }
+        return token;
+    }
+
+    private boolean accept(String operator) {
+        if (peek().type() == Type.OPERATOR && peek().text().equals(operator)) {
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptName(String name) {
+        if (peek().type() == Type.NAME && peek().text().equals(name)) {
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isOperator(Set<String> operators) {
+        return peek().type() == Type.OPERATOR && operators.contains(peek().text());
+    }
+
+    private void expect(String operator) {
+        if (!accept(operator)) {
+            throw unexpected(peek());
+        }
+    }
+
+    private static JinjaSyntaxException unexpected(Token token) {
+        return new JinjaSyntaxException(token.type() == Type.END ? "Unexpected end of expression"
+                : "Unexpected '" + token.text() + "'", token.position());
+    }
+}
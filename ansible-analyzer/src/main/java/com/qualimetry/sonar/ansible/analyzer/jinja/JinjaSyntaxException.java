@@ -0,0 +1,27 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+/**
+ * Thrown by the Jinja lexer and parser for an expression they cannot read. Carries no stack
+ * trace; the parser throws it for every invalid expression.
+ */
+final class JinjaSyntaxException extends RuntimeException {
+
+    JinjaSyntaxException(String message, int position) {
+        super(message + " at offset " + position, null, false, false);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A string that may hold Jinja2 markup, split into its {@code {{ }}} expressions. Statements
+ * ({@code {% %}}) mark the string as templated; comments ({@code {# #}}) and {@code raw} blocks
+ * are skipped. An unclosed expression runs to the end of the string.
+ */
+public final class JinjaTemplate {
+
+    private static final JinjaTemplate EMPTY = new JinjaTemplate("", List.of(), false, false);
+
+    private final String text;
+    private final List<JinjaExpression> expressions;
+    private final boolean statements;
+    private final boolean singleExpression;
+
+    private JinjaTemplate(String text, List<JinjaExpression> expressions, boolean statements,
+                          boolean singleExpression) {
+        this.text = text;
+        this.expressions = expressions;
+        this.statements = statements;
+        this.singleExpression = singleExpression;
+    }
+
+    /** Parses the template; never throws. Prefer {@link JinjaCache#template(String)}. */
+    public static JinjaTemplate parse(String text) {
+        return parse(text, JinjaExpression::parse);
+    }
+
+    /** A template with no markup, for strings that cannot hold any. */
+    static JinjaTemplate plain(String text) {
+        return text.isEmpty() ? EMPTY : new JinjaTemplate(text, List.of(), false, false);
+    }
+
+    /** Returns true if the text may hold Jinja markup; a cheap test that needs no parsing. */
+    public static boolean mayBeTemplated(String text) {
+        return text != null && (text.contains("{{") || text.contains("{%"));
+    }
+
+    static JinjaTemplate parse(String text, Function<String, JinjaExpression> expressionParser) {
+        if (!mayBeTemplated(text)) {
+            return plain(text);
+        }
+        List<JinjaExpression> expressions = new ArrayList<>();
+        boolean statements = false;
+        int outside = 0;
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            int open = text.indexOf('{', i);
+            if (open < 0 || open + 1 >= n) {
+                outside += nonBlank(text, i, n);
+                break;
+            }
+            outside += nonBlank(text, i, open);
+            char kind = text.charAt(open + 1);
+            if (kind == '{') {
+                int start = open + 2;
+                int close = closeOfExpression(text, start);
+                int end = close < 0 ? n : close;
+                expressions.add(expressionParser.apply(trimControl(text.substring(start, end))));
+                i = close < 0 ? n : close + 2;
+            } else if (kind == '%') {
+                statements = true;
+                int close = text.indexOf("%}", open + 2);
+                if (close < 0) {
+                    break;
+                }
+                String tag = trimControl(text.substring(open + 2, close)).strip();
+                i = close + 2;
+                if (tag.equals("raw")) {
+                    int endRaw = indexOfTag(text, i, "endraw");
+                    outside += endRaw < 0 ? 1 : nonBlank(text, i, endRaw);
+                    i = endRaw < 0 ? n : text.indexOf("%}", endRaw) + 2;
+                }
+            } else if (kind == '#') {
+                int close = text.indexOf("#}", open + 2);
+                i = close < 0 ? n : close + 2;
+            } else {
+                outside++;
+                i = open + 1;
+            }
+        }
+        return new JinjaTemplate(text, List.copyOf(expressions), statements,
+                expressions.size() == 1 && !statements && outside == 0);
+    }
+
+    public String text() {
+        return text;
+    }
+
+    /** The {@code {{ }}} expressions, in order; invalid ones included. */
+    public List<JinjaExpression> expressions() {
+        return expressions;
+    }
+
+    /** Returns true if the string has an expression or a statement, so Ansible templates it. */
+    public boolean isTemplated() {
+        return statements || !expressions.isEmpty();
+    }
+
+    /** Returns true if the string is one {@code {{ }}} expression with nothing but whitespace around it. */
+    public boolean isSingleExpression() {
+        return singleExpression;
+    }
+
+    /** The variable name if the string is exactly {@code {{ name }}}, else null. */
+    public String bareVariable() {
+        return singleExpression ? expressions.get(0).bareVariable() : null;
+    }
+
+    /** Variables read by all expressions, in order of first use. */
+    public List<String> variables() {
+        if (expressions.size() == 1) {
+            return expressions.get(0).variables();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (JinjaExpression expression : expressions) {
+            names.addAll(expression.variables());
+        }
+        return List.copyOf(names);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * Index of the closing braces of an expression starting at {@code from}, skipping string
+     * literals and braces of dict literals; -1 if there is none.
+     */
+    private static int closeOfExpression(String text, int from) {
+        int depth = 0;
+        int n = text.length();
+        for (int i = from; i < n; i++) {
+            char c = text.charAt(i);
+            if (c == '\'' || c == '"') {
+                int j = i + 1;
+                while (j < n && text.charAt(j) != c) {
+                    j += text.charAt(j) == '\\' ? 2 : 1;
+                }
+                i = j;
+            } else if (c == '{' || c == '[' || c == '(') {
+                depth++;
+            } else if ((c == ']' || c == ')') && depth > 0) {
+                depth--;
+            } else if (c == '}') {
+                if (depth > 0) {
+                    depth--;
+                } else if (i + 1 < n && text.charAt(i + 1) == '}') {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfTag(String text, int from, String name) {
+        int i = from;
+        while (true) {
+            int open = text.indexOf("{%", i);
+            if (open < 0) {
+                return -1;
+            }
+            int close = text.indexOf("%}", open + 2);
+            if (close < 0) {
+                return -1;
+            }
+            if (trimControl(text.substring(open + 2, close)).strip().equals(name)) {
+                return open;
+            }
+            i = close + 2;
+        }
+    }
+
+    /** Drops the {@code -} and {@code +} whitespace-control markers next to the delimiters. */
+    private static String trimControl(String inner) {
+        int start = 0;
+        int end = inner.length();
+        if (start < end && (inner.charAt(start) == '-' || inner.charAt(start) == '+')) {
+            start++;
+        }
+        if (end > start && inner.charAt(end - 1) == '-') {
+            end--;
+        }
+        return inner.substring(start, end);
+    }
+
+    private static int nonBlank(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+}
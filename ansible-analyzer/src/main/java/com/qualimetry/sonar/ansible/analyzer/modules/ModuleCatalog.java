@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.modules;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Catalog of {@code ansible.builtin} modules and common collection modules, with the redirect and
+ * deprecation routing of their {@code meta/runtime.yml}.
+ * <p>
+ * The catalog is written as text in {@code modules.txt} and compiled at build time by
+ * {@link ModuleCatalogCompiler} into {@code modules.bin}: a minimal perfect-hash table in which
+ * every listed name has its own slot. The table is read once per JVM, on first use. A lookup
+ * hashes the name, reads the bucket's displacement and compares the name with the one entry of
+ * its slot, so it runs in constant time and allocates nothing. When the binary table is missing,
+ * as when running from an IDE without the build step, the text is compiled on first use instead.
+ */
+public final class ModuleCatalog {
+
+    static final int MAGIC = 0x414E4D43;
+    static final int VERSION = 1;
+    static final int FLAG_DEPRECATED = 1;
+    static final int FLAG_REMOVED = 2;
+    static final int FLAG_REDIRECT = 4;
+    static final int FLAG_VERSION = 8;
+    static final int FLAG_MESSAGE = 16;
+
+    /** Longest redirect chain followed; the compiler rejects cycles, so this only bounds bad input. */
+    private static final int MAX_HOPS = 8;
+
+    private final int[] displacements;
+    private final Entry[] slots;
+
+    private ModuleCatalog(int[] displacements, Entry[] slots) {
+        this.displacements = displacements;
+        this.slots = slots;
+    }
+
+    /** The catalog shipped with the analyzer, loaded on first call. */
+    public static ModuleCatalog get() {
+        return Holder.INSTANCE;
+    }
+
+    /** Life cycle of a catalog entry. */
+    public enum Status { ACTIVE, DEPRECATED, REMOVED }
+
+    /**
+     * A module name of the catalog.
+     *
+     * @param fqcn     the name
+     * @param redirect the name Ansible runs instead, or null
+     * @param status   whether the name is deprecated or removed (a tombstone)
+     * @param version  version the name is or was removed in, or null
+     * @param message  what to use instead, or null
+     */
+    public record Entry(String fqcn, String redirect, Status status, String version, String message) {
+
+        public boolean isBuiltin() {
+            return fqcn.startsWith("ansible.builtin.");
+        }
+    }
+
+    /** The entry for the exact name, or null if the catalog does not list it. */
+    public Entry lookup(String fqcn) {
+        if (fqcn == null || slots.length == 0) {
+            return null;
+        }
+        Entry entry = slots[slotOf(fqcn, displacements, slots.length)];
+        return entry.fqcn().equals(fqcn) ? entry : null;
+    }
+
+    /** The entry Ansible ends up running for the name, following redirects; null if not listed. */
+    public Entry resolve(String fqcn) {
+        Entry entry = lookup(fqcn);
+        for (int hop = 0; entry != null && entry.redirect() != null && hop < MAX_HOPS; hop++) {
+            Entry next = lookup(entry.redirect());
+            if (next == null) {
+                break;
+            }
+            entry = next;
+        }
+        return entry;
+    }
+
+    /** The first deprecated or removed entry on the name's redirect route, or null. */
+    public Entry deprecation(String fqcn) {
+        Entry entry = lookup(fqcn);
+        for (int hop = 0; entry != null && hop <= MAX_HOPS; hop++) {
+            if (entry.status() != Status.ACTIVE) {
+                return entry;
+            }
+            entry = entry.redirect() != null ? lookup(entry.redirect()) : null;
+        }
+        return null;
+    }
+
+    /** Number of names in the catalog. */
+    public int size() {
+        return slots.length;
+    }
+
+    /** Bucket of a name in a table with the given number of buckets. */
+    static int bucketOf(String name, int buckets) {
+        return hash(name, 0) % buckets;
+    }
+
+    static int slotOf(String name, int[] displacements, int slots) {
+        return hash(name, displacements[bucketOf(name, displacements.length)]) % slots;
+    }
+
+    /** Seeded FNV-1a over the characters with a final avalanche; non-negative. */
+    static int hash(String name, int seed) {
+        int h = 0x811C9DC5 ^ (seed * 0x9E3779B9);
+        for (int i = 0; i < name.length(); i++) {
+            h ^= name.charAt(i);
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h & 0x7FFFFFFF;
+    }
+
+    /** Reads a table written by {@link ModuleCatalogCompiler#write}. */
+    static ModuleCatalog read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC || data.readUnsignedByte() != VERSION) {
+            throw new IOException("Not a module catalog of version " + VERSION);
+        }
+        int size = data.readInt();
+        int[] displacements = new int[data.readInt()];
+        for (int i = 0; i < displacements.length; i++) {
+            displacements[i] = data.readInt();
+        }
+        Entry[] slots = new Entry[size];
+        for (int i = 0; i < size; i++) {
+            String fqcn = data.readUTF();
+            int flags = data.readUnsignedByte();
+            String redirect = (flags & FLAG_REDIRECT) != 0 ? data.readUTF() : null;
+            String version = (flags & FLAG_VERSION) != 0 ? data.readUTF() : null;
+            String message = (flags & FLAG_MESSAGE) != 0 ? data.readUTF() : null;
+            Status status = (flags & FLAG_REMOVED) != 0 ? Status.REMOVED
+                    : (flags & FLAG_DEPRECATED) != 0 ? Status.DEPRECATED : Status.ACTIVE;
+            slots[i] = new Entry(fqcn, redirect, status, version, message);
+        }
+        return new ModuleCatalog(displacements, slots);
+    }
+
+    private static ModuleCatalog load() {
+        try (InputStream binary = ModuleCatalog.class.getResourceAsStream("modules.bin")) {
+            if (binary != null) {
+                return read(binary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the module catalog", e);
+        }
+        try (InputStream text = ModuleCatalog.class.getResourceAsStream("modules.txt")) {
+            if (text == null) {
+                throw new IllegalStateException("Module catalog is missing");
+            }
+            Reader reader = new InputStreamReader(text, StandardCharsets.UTF_8);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ModuleCatalogCompiler.write(ModuleCatalogCompiler.parse(reader), out);
+            return read(new ByteArrayInputStream(out.toByteArray()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compile the module catalog", e);
+        }
+    }
+
+    private static final class Holder {
+        static final ModuleCatalog INSTANCE = load();
+    }
+}
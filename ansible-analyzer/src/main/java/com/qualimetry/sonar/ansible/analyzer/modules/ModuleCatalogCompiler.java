@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.modules;
+
+import com.qualimetry.sonar.ansible.analyzer.modules.ModuleCatalog.Entry;
+import com.qualimetry.sonar.ansible.analyzer.modules.ModuleCatalog.Status;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles the text module catalog into the binary table read by {@link ModuleCatalog}. Run by
+ * the build with the text file and the output file as arguments.
+ * <p>
+ * The table is a minimal perfect hash built with hash-and-displace: names are spread over
+ * buckets, and from the largest bucket down each bucket gets the first seed that sends all its
+ * names to free slots. Slots equal names, so the table has no empty space.
+ */
+public final class ModuleCatalogCompiler {
+
+    /** Average names per bucket; smaller buckets find a free seed faster. */
+    private static final int BUCKET_SIZE = 2;
+    private static final int MAX_SEED = 10_000_000;
+
+    private ModuleCatalogCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ModuleCatalogCompiler <modules.txt> <modules.bin>");
+        }
+        List<Entry> entries;
+        try (Reader reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            entries = parse(reader);
+        }
+        Path output = Path.of(args[1]);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(output)) {
+            write(entries, out);
+        }
+    }
+
+    /**
+     * Reads catalog lines of the form {@code <fqcn> [-> <fqcn>] [deprecated <version> | removed
+     * <version>] [: <message>]}; blank lines and {@code #} comments are skipped.
+     *
+     * @throws IllegalArgumentException on a malformed line, a repeated name, a redirect to a name
+     *                                  the catalog does not list, or a redirect cycle
+     */
+    static List<Entry> parse(Reader reader) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            String text = line.strip();
+            if (text.isEmpty() || text.startsWith("#")) {
+                continue;
+            }
+            entries.add(parseLine(text, number));
+        }
+        validate(entries);
+        return entries;
+    }
+
+    private static Entry parseLine(String text, int number) {
+        String message = null;
+        int colon = text.indexOf(':');
+        if (colon >= 0) {
+            message = text.substring(colon + 1).strip();
+            text = text.substring(0, colon).strip();
+        }
+        String[] words = text.split("\\s+");
+        String fqcn = words[0];
+        String redirect = null;
+        Status status = Status.ACTIVE;
+        String version = null;
+        int i = 1;
+        if (i < words.length && words[i].equals("->")) {
+            if (i + 1 >= words.length) {
+                throw malformed(number, "redirect without a target");
+            }
+            redirect = words[i + 1];
+            i += 2;
+        }
+        if (i < words.length) {
+            status = switch (words[i]) {
+                case "deprecated" -> Status.DEPRECATED;
+                case "removed" -> Status.REMOVED;
+                default -> throw malformed(number, "unexpected '" + words[i] + "'");
+            };
+            if (i + 1 >= words.length) {
+                throw malformed(number, words[i] + " without a version");
+            }
+            version = words[i + 1];
+            i += 2;
+        }
+        if (i < words.length || fqcn.indexOf('.') < 0) {
+            throw malformed(number, "expected <collection>.<module>");
+        }
+        return new Entry(fqcn, redirect, status, version, message == null || message.isEmpty() ? null : message);
+    }
+
+    private static void validate(List<Entry> entries) {
+        Map<String, Entry> byName = new HashMap<>();
+        for (Entry entry : entries) {
+            if (byName.put(entry.fqcn(), entry) != null) {
+                throw new IllegalArgumentException("Module listed twice: " + entry.fqcn());
+            }
+        }
+        for (Entry entry : entries) {
+            Set<String> seen = new HashSet<>();
+            Entry current = entry;
+            while (current.redirect() != null) {
+                if (!seen.add(current.fqcn())) {
+                    throw new IllegalArgumentException("Redirect cycle through " + entry.fqcn());
+                }
+                Entry next = byName.get(current.redirect());
+                if (next == null) {
+                    throw new IllegalArgumentException(current.fqcn() + " redirects to unlisted " + current.redirect());
+                }
+                current = next;
+            }
+        }
+    }
+
+    /** Writes the entries as a perfect-hash table. */
+    static void write(List<Entry> entries, OutputStream out) throws IOException {
+        int size = entries.size();
+        int buckets = Math.max(1, (size + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        List<List<Entry>> byBucket = new ArrayList<>();
+        for (int b = 0; b < buckets; b++) {
+            byBucket.add(new ArrayList<>());
+        }
+        for (Entry entry : entries) {
+            byBucket.get(ModuleCatalog.bucketOf(entry.fqcn(), buckets)).add(entry);
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int b = 0; b < buckets; b++) {
+            order.add(b);
+        }
+        order.sort(Comparator.comparingInt((Integer b) -> byBucket.get(b).size()).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        int[] displacements = new int[buckets];
+        Entry[] slots = new Entry[size];
+        for (int b : order) {
+            List<Entry> bucket = byBucket.get(b);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            displacements[b] = place(bucket, slots);
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(ModuleCatalog.MAGIC);
+        data.writeByte(ModuleCatalog.VERSION);
+        data.writeInt(size);
+        data.writeInt(buckets);
+        for (int displacement : displacements) {
+            data.writeInt(displacement);
+        }
+        for (Entry entry : slots) {
+            int flags = (entry.status() == Status.DEPRECATED ? ModuleCatalog.FLAG_DEPRECATED : 0)
+                    | (entry.status() == Status.REMOVED ? ModuleCatalog.FLAG_REMOVED : 0)
+                    | (entry.redirect() != null ? ModuleCatalog.FLAG_REDIRECT : 0)
+                    | (entry.version() != null ? ModuleCatalog.FLAG_VERSION : 0)
+                    | (entry.message() != null ? ModuleCatalog.FLAG_MESSAGE : 0);
+            data.writeUTF(entry.fqcn());
+            data.writeByte(flags);
+            if (entry.redirect() != null) {
+                data.writeUTF(entry.redirect());
+            }
+            if (entry.version() != null) {
+                data.writeUTF(entry.version());
+            }
+            if (entry.message() != null) {
+                data.writeUTF(entry.message());
+            }
+        }
+        data.flush();
+    }
+
+    /** Finds the first seed that puts every name of the bucket in a distinct free slot, and fills them. */
+    private static int place(List<Entry> bucket, Entry[] slots) {
+        int[] chosen = new int[bucket.size()];
+        for (int seed = 1; seed < MAX_SEED; seed++) {
+            boolean free = true;
+            for (int i = 0; i < bucket.size() && free; i++) {
+                int slot = ModuleCatalog.hash(bucket.get(i).fqcn(), seed) % slots.length;
+                chosen[i] = slot;
+                if (slots[slot] != null) {
+                    free = false;
+                }
+                for (int j = 0; j < i && free; j++) {
+                    free = chosen[j] != slot;
+                }
+            }
+            if (free) {
+                for (int i = 0; i < bucket.size(); i++) {
+                    slots[chosen[i]] = bucket.get(i);
+                }
+                return seed;
+            }
+        }
+        throw new IllegalStateException("No perfect hash seed found for " + bucket.get(0).fqcn());
+    }
+
+    private static IllegalArgumentException malformed(int number, String reason) {
+        return new IllegalArgumentException("Module catalog line " + number + ": " + reason);
+    }
+}
@@ -15,25 +15,19 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.parser;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.ParseError;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Play;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleRef;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
-import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.error.Mark;
-import org.yaml.snakeyaml.error.MarkedYAMLException;
-import org.yaml.snakeyaml.error.YAMLException;
 import org.yaml.snakeyaml.nodes.MappingNode;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.NodeTuple;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 import org.yaml.snakeyaml.nodes.SequenceNode;
 
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +39,48 @@ import java.util.Map;
  */
 public class AnsibleParser {
 
+    /** How {@link #parse(String, String)} reads the content. */
+    public enum Mode {
+        /** Composes a SnakeYAML node tree first, as {@link YamlDocument} does. */
+        TREE,
+        /**
+         * Builds the model straight from the YAML events, keeping only what the model needs.
+         * Gives the same result as {@link #TREE} with a much smaller peak heap on large files.
+         */
+        STREAMING
+    }
+
+    private final Mode mode;
+    private final SymbolTable symbols;
+    private final YamlLimits limits;
+
+    public AnsibleParser() {
+        this(Mode.TREE);
+    }
+
+    public AnsibleParser(Mode mode) {
+        this(mode, SymbolTable.none());
+    }
+
+    /**
+     * @param mode    how content is read
+     * @param symbols table shared across the analysis for keys, module keys and short scalars
+     */
+    public AnsibleParser(Mode mode, SymbolTable symbols) {
+        this(mode, symbols, YamlLimits.defaults());
+    }
+
+    /**
+     * @param mode    how content is read
+     * @param symbols table shared across the analysis for keys, module keys and short scalars
+     * @param limits  alias, nesting, size and duplicate key budgets for {@link #parse(String, String)}
+     */
+    public AnsibleParser(Mode mode, SymbolTable symbols, YamlLimits limits) {
+        this.mode = mode;
+        this.symbols = symbols;
+        this.limits = limits;
+    }
+
     /**
      * Parses playbook content. Uses SnakeYAML to parse, detects plays and tasks,
      * attaches line (and column where available). On YAML parse failure returns
@@ -55,24 +91,27 @@ public class AnsibleParser {
      * @return parsed playbook, or playbook with parseError if parse failed
      */
     public PlaybookFile parse(String uri, String content) {
-        if (content == null || content.isBlank()) {
-            return new PlaybookFile(Collections.emptyList(), uri);
+        if (mode == Mode.STREAMING) {
+            return new StreamingPlaybookParser(limits.loaderOptions(), symbols).parse(uri, content);
         }
+        return parseDocument(uri, YamlDocument.parse(content, limits));
+    }
 
-        try {
-            Node root = new Yaml().compose(new StringReader(content));
-            if (root == null) {
-                return new PlaybookFile(Collections.emptyList(), uri);
-            }
-            return buildPlaybook(uri, root);
-        } catch (YAMLException e) {
-            int line = 0;
-            if (e instanceof MarkedYAMLException marked && marked.getProblemMark() != null) {
-                line = marked.getProblemMark().getLine() + 1; // SnakeYAML Mark is 0-based line
-            }
-            String message = e.getMessage() != null ? e.getMessage() : "YAML parse error";
-            return new PlaybookFile(Collections.emptyList(), uri, new ParseError(message, line));
+    /**
+     * Builds the playbook from an already composed document.
+     *
+     * @param uri      file URI or path
+     * @param document the file's composed YAML
+     * @return parsed playbook, or playbook with parseError if the document failed to parse
+     */
+    public PlaybookFile parseDocument(String uri, YamlDocument document) {
+        if (document.parseError() != null) {
+            return new PlaybookFile(Collections.emptyList(), uri, document.parseError());
         }
+        if (document.root() == null) {
+            return new PlaybookFile(Collections.emptyList(), uri);
+        }
+        return buildPlaybook(uri, document.root());
     }
 
     private static int lineOf(Node node) {
@@ -81,7 +120,7 @@ public class AnsibleParser {
         return mark != null ? mark.getLine() + 1 : 0;
     }
 
-    private static PlaybookFile buildPlaybook(String uri, Node root) {
+    private PlaybookFile buildPlaybook(String uri, Node root) {
         if (!(root instanceof SequenceNode seq)) {
             return new PlaybookFile(Collections.emptyList(), uri);
         }
@@ -110,7 +149,7 @@ public class AnsibleParser {
         return false;
     }
 
-    private static Play buildPlay(MappingNode mapNode) {
+    private Play buildPlay(MappingNode mapNode) {
         if (!looksLikePlay(mapNode)) {
             return null;
         }
@@ -125,7 +164,7 @@ public class AnsibleParser {
             if (key == null) continue;
             Node valueNode = tuple.getValueNode();
             switch (key) {
-                case "name" -> name = scalarValue(valueNode);
+                case "name" -> name = symbols.intern(scalarValue(valueNode));
                 case "tasks", "pre_tasks", "post_tasks" -> collectTasks(valueNode, tasks);
                 case "roles" -> collectRoles(valueNode, roles);
                 case "tags" -> tags = tagsFromValue(valueNode);
@@ -135,24 +174,24 @@ public class AnsibleParser {
         return new Play(name, tasks, roles, playLine, tags);
     }
 
-    private static List<String> tagsFromValue(Node node) {
+    private List<String> tagsFromValue(Node node) {
         if (node == null) return Collections.emptyList();
         if (node instanceof ScalarNode s) {
             String v = s.getValue();
-            return v == null || v.isBlank() ? Collections.emptyList() : List.of(v);
+            return v == null || v.isBlank() ? Collections.emptyList() : List.of(symbols.intern(v));
         }
         if (node instanceof SequenceNode seq) {
             List<String> out = new ArrayList<>();
             for (Node item : seq.getValue()) {
                 String v = scalarValue(item);
-                if (v != null && !v.isBlank()) out.add(v);
+                if (v != null && !v.isBlank()) out.add(symbols.intern(v));
             }
             return out;
         }
         return Collections.emptyList();
     }
 
-    private static void collectTasks(Node node, List<Task> out) {
+    private void collectTasks(Node node, List<Task> out) {
         if (node instanceof SequenceNode seq) {
             for (Node item : seq.getValue()) {
                 if (item instanceof MappingNode mapNode) {
@@ -179,22 +218,21 @@ public class AnsibleParser {
         return null;
     }
 
-    private static Task buildTask(MappingNode mapNode) {
+    private Task buildTask(MappingNode mapNode) {
         int line = lineOf(mapNode);
-        Map<String, Object> attributes = nodeToMap(mapNode);
-        if (attributes == null) attributes = new LinkedHashMap<>();
+        Map<String, Object> attributes = new NodeAttributes(mapNode, symbols);
         String name = (String) attributes.get("name");
-        String moduleKey = inferModuleKey(mapNode, attributes);
-        return new Task(name, moduleKey, line, attributes);
+        return new Task(name, symbols.module(inferModuleKey(mapNode, attributes)), line, attributes);
     }
 
     /**
-     * Infers the module key (FQCN or short name) from the task map.
+     * Infers the module key (FQCN or short name) from the task map, which the symbol table turns
+     * into the task's shared {@link com.qualimetry.sonar.ansible.analyzer.parser.model.ModuleRef}.
      * Ansible tasks are either one key (module: args) or have "name" + module key.
      */
-    private static String inferModuleKey(MappingNode mapNode, Map<String, Object> attributes) {
+    private String inferModuleKey(MappingNode mapNode, Map<String, Object> attributes) {
         for (NodeTuple tuple : mapNode.getValue()) {
-            String key = scalarKey(tuple.getKeyNode());
+            String key = symbols.intern(scalarKey(tuple.getKeyNode()));
             if (key == null) continue;
             if (key.equals("name") || key.equals("block") || key.equals("include_role") || key.equals("include_tasks")
                     || key.equals("import_role") || key.equals("import_tasks")) {
@@ -202,20 +240,20 @@ public class AnsibleParser {
             }
             if (key.equals("include") || key.equals("import_playbook")) {
                 Object val = attributes.get(key);
-                return key + (val != null ? ":" + val : "");
+                return symbols.intern(key + (val != null ? ":" + val : ""));
             }
             return key;
         }
         return null;
     }
 
-    private static void collectRoles(Node node, List<RoleRef> out) {
+    private void collectRoles(Node node, List<RoleRef> out) {
         if (!(node instanceof SequenceNode seq)) return;
         for (Node item : seq.getValue()) {
             if (item instanceof ScalarNode scalar) {
-                out.add(new RoleRef(scalar.getValue(), lineOf(item)));
+                out.add(new RoleRef(symbols.intern(scalar.getValue()), lineOf(item)));
             } else if (item instanceof MappingNode mapNode) {
-                String role = scalarValueFromMap(mapNode, "role");
+                String role = symbols.intern(scalarValueFromMap(mapNode, "role"));
                 if (role != null) {
                     out.add(new RoleRef(role, lineOf(item)));
                 }
@@ -241,42 +279,29 @@ public class AnsibleParser {
     }
 
     /**
-     * Converts a MappingNode to a Map for use as task attributes (no position info).
+     * Converts a node to strings, lists and maps; mapping entries with a non-scalar key are dropped.
+     * Keys and scalars go through the symbol table.
      */
-    private static Map<String, Object> nodeToMap(MappingNode node) {
-        Map<String, Object> map = new LinkedHashMap<>();
-        for (NodeTuple tuple : node.getValue()) {
-            String k = scalarKey(tuple.getKeyNode());
-            if (k != null) {
-                Object v = nodeToObject(tuple.getValueNode());
-                if (v != null) {
-                    map.put(k, v);
-                }
-            }
-        }
-        return map;
-    }
-
-    private static Object nodeToObject(Node node) {
+    static Object nodeToObject(Node node, SymbolTable symbols) {
         if (node == null) return null;
         return switch (node.getNodeId()) {
-            case scalar -> ((ScalarNode) node).getValue();
+            case scalar -> symbols.intern(((ScalarNode) node).getValue());
             case sequence -> {
                 List<Object> list = new ArrayList<>();
                 for (Node n : ((SequenceNode) node).getValue()) {
-                    list.add(nodeToObject(n));
+                    list.add(nodeToObject(n, symbols));
                 }
                 yield list;
             }
             case mapping -> {
-                Map<String, Object> map = new LinkedHashMap<>();
+                CompactMap.Builder<String, Object> map = CompactMap.builder();
                 for (NodeTuple tuple : ((MappingNode) node).getValue()) {
-                    String k = scalarKey(tuple.getKeyNode());
+                    String k = symbols.intern(scalarKey(tuple.getKeyNode()));
                     if (k != null) {
-                        map.put(k, nodeToObject(tuple.getValueNode()));
+                        map.put(k, nodeToObject(tuple.getValueNode(), symbols));
                     }
                 }
-                yield map;
+                yield map.build();
             }
             default -> null;
         };
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable, insertion-ordered map held in two parallel arrays. Small maps, the usual case for
+ * task mappings, are searched linearly; above {@link #LINEAR_MAX} entries an open-addressing
+ * index of array positions is added. Costs two arrays instead of a {@code LinkedHashMap}'s
+ * table and one linked entry object per key.
+ * <p>
+ * Keys must not be null; values may be. Build with {@link #builder()}.
+ */
+final class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    /** Largest size searched without a hash index. */
+    static final int LINEAR_MAX = 8;
+
+    private static final CompactMap<?, ?> EMPTY = new CompactMap<>(new Object[0], new Object[0], 0);
+
+    final Object[] keys;
+    final Object[] values;
+    final int[] slots;
+
+    private CompactMap(Object[] keys, Object[] values, int size) {
+        this.keys = size == keys.length ? keys : Arrays.copyOf(keys, size);
+        this.values = size == values.length ? values : Arrays.copyOf(values, size);
+        this.slots = size > LINEAR_MAX ? index(this.keys) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> CompactMap<K, V> of() {
+        return (CompactMap<K, V>) EMPTY;
+    }
+
+    static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /** Slots hold array position + 1; 0 is empty. The table is at least twice the size. */
+    static int[] index(Object[] keys) {
+        int[] slots = new int[Integer.highestOneBit(keys.length * 2 - 1) << 1];
+        int mask = slots.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = spread(keys[i].hashCode()) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+        return slots;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /** Position of the key in insertion order, or -1. */
+    int indexOf(Object key) {
+        return indexOf(keys, slots, key);
+    }
+
+    /** Position of the key in {@code keys}, searched linearly when {@code slots} is null. */
+    static int indexOf(Object[] keys, int[] slots, Object key) {
+        if (key == null) {
+            return -1;
+        }
+        if (slots == null) {
+            for (int i = 0; i < keys.length; i++) {
+                Object k = keys[i];
+                if (k == key || k.equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = slots.length - 1;
+        for (int slot = spread(key.hashCode()) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            Object k = keys[slots[slot] - 1];
+            if (k == key || k.equals(key)) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    K keyAt(int index) {
+        return (K) keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (Object v : values) {
+            if (Objects.equals(v, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key) {
+        int at = indexOf(key);
+        return at < 0 ? null : valueAt(at);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new ArrayIterator<>(keys.length, CompactMap.this::keyAt);
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ArrayIterator<>(values.length, CompactMap.this::valueAt);
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new ArrayIterator<>(keys.length, i -> new SimpleImmutableEntry<>(keyAt(i), valueAt(i)));
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    /** Read-only iterator over array positions. */
+    static final class ArrayIterator<T> implements Iterator<T> {
+
+        private final int size;
+        private final IntFunction<T> element;
+        private int next;
+
+        ArrayIterator(int size, IntFunction<T> element) {
+            this.size = size;
+            this.element = element;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public T next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            return element.apply(next++);
+        }
+    }
+
+    /**
+     * Collects entries in insertion order. Putting a key again replaces its value and keeps
+     * its first position, as {@code LinkedHashMap} does.
+     */
+    static final class Builder<K, V> {
+
+        private Object[] keys = new Object[4];
+        private Object[] values = new Object[4];
+        private int size;
+        private Map<Object, Integer> positions;
+        private boolean built;
+
+        private Builder() {
+        }
+
+        Builder<K, V> put(K key, V value) {
+            Objects.requireNonNull(key, "key");
+            if (built) {
+                throw new IllegalStateException("map already built");
+            }
+            int at = indexOf(key);
+            if (at >= 0) {
+                values[at] = value;
+                return this;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size] = value;
+            if (positions != null) {
+                positions.put(key, size);
+            } else if (size == LINEAR_MAX) {
+                positions = new HashMap<>();
+                for (int i = 0; i <= size; i++) {
+                    positions.put(keys[i], i);
+                }
+            }
+            size++;
+            return this;
+        }
+
+        private int indexOf(Object key) {
+            if (positions != null) {
+                Integer at = positions.get(key);
+                return at != null ? at : -1;
+            }
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /** Builds the map; the builder cannot be used afterwards, as the map may share its arrays. */
+        CompactMap<K, V> build() {
+            built = true;
+            return size == 0 ? of() : new CompactMap<>(keys, values, size);
+        }
+    }
+}
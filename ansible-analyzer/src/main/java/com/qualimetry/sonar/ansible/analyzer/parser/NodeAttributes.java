@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read-only task attributes backed by the task's {@link MappingNode}. Keys are read up front in
+ * document order; a value is converted to strings, lists and maps the first time it is read
+ * and then cached, so a check reading {@code when} does not pay for a large {@code vars} block.
+ * Keys are held and looked up as in {@link CompactMap}.
+ * <p>
+ * Same content as an eagerly built {@code LinkedHashMap}: mapping entries with a non-scalar key
+ * are dropped, and a repeated key keeps its first position with its last value.
+ */
+final class NodeAttributes extends AbstractMap<String, Object> {
+
+    private final Object[] keys;
+    private final int[] slots;
+    /** The value node until the value is first read, then the converted value. */
+    private final Object[] values;
+    private final SymbolTable symbols;
+
+    NodeAttributes(MappingNode mapping, SymbolTable symbols) {
+        this.symbols = symbols;
+        CompactMap.Builder<String, Node> builder = CompactMap.builder();
+        for (NodeTuple tuple : mapping.getValue()) {
+            if (tuple.getKeyNode() instanceof ScalarNode scalar) {
+                builder.put(symbols.intern(scalar.getValue()), tuple.getValueNode());
+            }
+        }
+        CompactMap<String, Node> nodes = builder.build();
+        this.keys = nodes.keys;
+        this.slots = nodes.slots;
+        this.values = nodes.values.clone();
+    }
+
+    private Object valueAt(int i) {
+        Object value = values[i];
+        if (value instanceof Node node) {
+            value = AnsibleParser.nodeToObject(node, symbols);
+            values[i] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return CompactMap.indexOf(keys, slots, key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int at = CompactMap.indexOf(keys, slots, key);
+        return at < 0 ? null : valueAt(at);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new CompactMap.ArrayIterator<>(keys.length, i -> (String) keys[i]);
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new CompactMap.ArrayIterator<>(keys.length, Entry::new);
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    /** Entry whose value is converted when first read. */
+    private final class Entry implements Map.Entry<String, Object> {
+
+        private final int index;
+
+        Entry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return (String) keys[index];
+        }
+
+        @Override
+        public Object getValue() {
+            return valueAt(index);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && getKey().equals(e.getKey())
+                    && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
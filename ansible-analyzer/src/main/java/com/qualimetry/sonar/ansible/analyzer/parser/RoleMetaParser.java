@@ -15,10 +15,7 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.parser;
 
-import com.qualimetry.sonar.ansible.analyzer.parser.model.ParseError;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleMeta;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.error.MarkedYAMLException;
 import org.yaml.snakeyaml.error.YAMLException;
 
 import java.util.ArrayList;
@@ -32,30 +29,55 @@ import java.util.Map;
  */
 public class RoleMetaParser {
 
+    private final SymbolTable symbols;
+    private final YamlLimits limits;
+
+    public RoleMetaParser() {
+        this(SymbolTable.none());
+    }
+
+    /**
+     * @param symbols table shared across the analysis for tag and link strings
+     */
+    public RoleMetaParser(SymbolTable symbols) {
+        this(symbols, YamlLimits.defaults());
+    }
+
+    /**
+     * @param symbols table shared across the analysis for tag and link strings
+     * @param limits  alias, nesting, size and duplicate key budgets for {@link #parse(String, String)}
+     */
+    public RoleMetaParser(SymbolTable symbols, YamlLimits limits) {
+        this.symbols = symbols;
+        this.limits = limits;
+    }
+
     /**
      * Parses meta/main.yml content. On YAML failure returns RoleMeta with parseError set.
      */
     public RoleMeta parse(String uri, String content) {
-        if (content == null || content.isBlank()) {
-            return RoleMeta.empty(uri);
+        return parseDocument(uri, YamlDocument.parse(content, limits));
+    }
+
+    /**
+     * Builds RoleMeta from an already composed document. On YAML failure returns RoleMeta with parseError set.
+     */
+    public RoleMeta parseDocument(String uri, YamlDocument document) {
+        if (document.parseError() != null) {
+            return RoleMeta.withParseError(uri, document.parseError());
         }
         try {
-            Object root = new Yaml().load(content);
+            Object root = document.data();
             if (root == null) {
                 return RoleMeta.empty(uri);
             }
             return buildRoleMeta(uri, root);
         } catch (YAMLException e) {
-            int line = 0;
-            if (e instanceof MarkedYAMLException marked && marked.getProblemMark() != null) {
-                line = marked.getProblemMark().getLine() + 1;
-            }
-            String message = e.getMessage() != null ? e.getMessage() : "YAML parse error";
-            return RoleMeta.withParseError(uri, new ParseError(message, line));
+            return RoleMeta.withParseError(uri, YamlDocument.toParseError(e));
         }
     }
 
-    private static RoleMeta buildRoleMeta(String uri, Object root) {
+    private RoleMeta buildRoleMeta(String uri, Object root) {
         if (!(root instanceof Map<?, ?> rootMap)) {
             return RoleMeta.empty(uri);
         }
@@ -92,12 +114,12 @@ public class RoleMetaParser {
         return List.of();
     }
 
-    private static List<String> toStringList(Object o) {
+    private List<String> toStringList(Object o) {
         if (o == null) return List.of();
         if (o instanceof List<?> list) {
             List<String> out = new ArrayList<>();
             for (Object item : list) {
-                if (item != null) out.add(item.toString());
+                if (item != null) out.add(symbols.intern(item.toString()));
             }
             return out;
         }
@@ -0,0 +1,526 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Play;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleRef;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.composer.ComposerException;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a {@link PlaybookFile} straight from SnakeYAML's event stream, without composing a
+ * node tree. Only task attributes are materialized (as plain maps, lists and strings); play
+ * vars and other keys the model does not use are read and dropped, and only the start line
+ * of each node is kept.
+ * <p>
+ * The result is the same as {@link AnsibleParser}'s tree mode: aliases are expanded from a
+ * compact recording of each anchored node, and the composer's checks (undefined aliases,
+ * alias and nesting limits, global tags, single document) are applied to the live events so
+ * the same content gives the same parse error. Kept keys and scalars go through the symbol table.
+ */
+final class StreamingPlaybookParser {
+
+    private final LoaderOptions options;
+    private final SymbolTable symbols;
+
+    StreamingPlaybookParser(LoaderOptions options, SymbolTable symbols) {
+        this.options = options;
+        this.symbols = symbols;
+    }
+
+    PlaybookFile parse(String uri, String content) {
+        if (content == null || content.isBlank()) {
+            return new PlaybookFile(Collections.emptyList(), uri);
+        }
+        try {
+            Events events = new Events(new Yaml(options).parse(new StringReader(content)).iterator(), options);
+            events.next(); // stream start
+            List<Play> plays = Collections.emptyList();
+            if (events.peek().id != Event.ID.StreamEnd) {
+                events.next(); // document start
+                plays = playbook(events);
+                events.next(); // document end
+                if (events.peek().id != Event.ID.StreamEnd) {
+                    throw new SingleDocumentException(events.rootMark, events.liveMark);
+                }
+            }
+            return new PlaybookFile(plays, uri);
+        } catch (YAMLException e) {
+            return new PlaybookFile(Collections.emptyList(), uri, YamlDocument.toParseError(e));
+        }
+    }
+
+    private List<Play> playbook(Events events) {
+        if (events.peek().id != Event.ID.SequenceStart) {
+            events.skip();
+            return Collections.emptyList();
+        }
+        events.next();
+        List<Play> plays = new ArrayList<>();
+        while (events.peek().id != Event.ID.SequenceEnd) {
+            if (events.peek().id == Event.ID.MappingStart) {
+                Play play = play(events);
+                if (play != null) {
+                    plays.add(play);
+                }
+            } else {
+                events.skip();
+            }
+        }
+        events.next();
+        return plays;
+    }
+
+    /** Reads a mapping and returns it as a play, or null if it has none of hosts, tasks, roles or vars. */
+    private Play play(Events events) {
+        int line = events.next().line;
+        boolean looksLikePlay = false;
+        String name = null;
+        List<Task> tasks = new ArrayList<>();
+        List<RoleRef> roles = new ArrayList<>();
+        List<String> tags = Collections.emptyList();
+        while (events.peek().id != Event.ID.MappingEnd) {
+            String key = key(events);
+            if (key == null) {
+                events.skip();
+                continue;
+            }
+            looksLikePlay |= key.equals("hosts") || key.equals("tasks") || key.equals("roles") || key.equals("vars");
+            switch (key) {
+                case "name" -> name = scalar(events);
+                case "tasks", "pre_tasks", "post_tasks" -> tasks(events, tasks);
+                case "roles" -> roles(events, roles);
+                case "tags" -> tags = tags(events);
+                default -> events.skip();
+            }
+        }
+        events.next();
+        return looksLikePlay ? new Play(symbols.intern(name), tasks, roles, line, tags) : null;
+    }
+
+    private void tasks(Events events, List<Task> out) {
+        if (events.peek().id != Event.ID.SequenceStart) {
+            events.skip();
+            return;
+        }
+        events.next();
+        while (events.peek().id != Event.ID.SequenceEnd) {
+            if (events.peek().id == Event.ID.MappingStart) {
+                taskOrBlock(events, out);
+            } else {
+                events.skip();
+            }
+        }
+        events.next();
+    }
+
+    /** Reads a task mapping; a mapping with a {@code block} key contributes its block's tasks instead. */
+    private void taskOrBlock(Events events, List<Task> out) {
+        int line = events.next().line;
+        CompactMap.Builder<String, Object> builder = CompactMap.builder();
+        List<Task> blockTasks = null;
+        String moduleCandidate = null;
+        while (events.peek().id != Event.ID.MappingEnd) {
+            String key = key(events);
+            if (key == null) {
+                events.skip();
+                continue;
+            }
+            if (moduleCandidate == null && !isNonModuleKey(key)) {
+                moduleCandidate = key;
+            }
+            if (key.equals("block") && blockTasks == null) {
+                blockTasks = new ArrayList<>();
+                tasks(events, blockTasks);
+                continue;
+            }
+            Object value = value(events);
+            if (value != null) {
+                builder.put(key, value);
+            }
+        }
+        events.next();
+        CompactMap<String, Object> attributes = builder.build();
+        if (blockTasks != null) {
+            out.addAll(blockTasks);
+            return;
+        }
+        String name = (String) attributes.get("name");
+        String moduleKey = moduleCandidate;
+        if (moduleKey != null && (moduleKey.equals("include") || moduleKey.equals("import_playbook"))) {
+            Object val = attributes.get(moduleKey);
+            moduleKey = symbols.intern(moduleKey + (val != null ? ":" + val : ""));
+        }
+        out.add(new Task(name, symbols.module(moduleKey), line, attributes));
+    }
+
+    private static boolean isNonModuleKey(String key) {
+        return key.equals("name") || key.equals("block") || key.equals("include_role") || key.equals("include_tasks")
+                || key.equals("import_role") || key.equals("import_tasks");
+    }
+
+    private void roles(Events events, List<RoleRef> out) {
+        if (events.peek().id != Event.ID.SequenceStart) {
+            events.skip();
+            return;
+        }
+        events.next();
+        while (events.peek().id != Event.ID.SequenceEnd) {
+            Ev item = events.peek();
+            if (item.id == Event.ID.Scalar) {
+                events.next();
+                out.add(new RoleRef(symbols.intern(item.value), item.line));
+            } else if (item.id == Event.ID.MappingStart) {
+                events.next();
+                String role = null;
+                boolean seen = false;
+                while (events.peek().id != Event.ID.MappingEnd) {
+                    String key = key(events);
+                    if (!seen && "role".equals(key)) {
+                        seen = true;
+                        role = symbols.intern(scalar(events));
+                    } else {
+                        events.skip();
+                    }
+                }
+                events.next();
+                if (role != null) {
+                    out.add(new RoleRef(role, item.line));
+                }
+            } else {
+                events.skip();
+            }
+        }
+        events.next();
+    }
+
+    private List<String> tags(Events events) {
+        Ev first = events.peek();
+        if (first.id == Event.ID.Scalar) {
+            events.next();
+            return first.value == null || first.value.isBlank() ? Collections.emptyList() : List.of(symbols.intern(first.value));
+        }
+        if (first.id != Event.ID.SequenceStart) {
+            events.skip();
+            return Collections.emptyList();
+        }
+        events.next();
+        List<String> out = new ArrayList<>();
+        while (events.peek().id != Event.ID.SequenceEnd) {
+            String v = scalar(events);
+            if (v != null && !v.isBlank()) out.add(symbols.intern(v));
+        }
+        events.next();
+        return out;
+    }
+
+    /** Reads a mapping key; returns its value when it is a scalar, else skips it and returns null. */
+    private String key(Events events) {
+        return symbols.intern(scalar(events));
+    }
+
+    /** Reads a node; returns its value when it is a scalar, else skips it and returns null. */
+    private static String scalar(Events events) {
+        if (events.peek().id == Event.ID.Scalar) {
+            return events.next().value;
+        }
+        events.skip();
+        return null;
+    }
+
+    /** Reads a node as strings, lists and maps; mapping entries with a non-scalar key are dropped. */
+    private Object value(Events events) {
+        Ev start = events.next();
+        switch (start.id) {
+            case Scalar -> {
+                return symbols.intern(start.value);
+            }
+            case SequenceStart -> {
+                List<Object> list = new ArrayList<>();
+                while (events.peek().id != Event.ID.SequenceEnd) {
+                    list.add(value(events));
+                }
+                events.next();
+                return list;
+            }
+            case MappingStart -> {
+                CompactMap.Builder<String, Object> map = CompactMap.builder();
+                while (events.peek().id != Event.ID.MappingEnd) {
+                    String key = key(events);
+                    if (key != null) {
+                        map.put(key, value(events));
+                    } else {
+                        events.skip();
+                    }
+                }
+                events.next();
+                return map.build();
+            }
+            default -> throw new IllegalStateException("Unexpected event " + start.id);
+        }
+    }
+
+    /** The parts of an event the model needs. Aliases never appear: they are expanded. */
+    private record Ev(Event.ID id, String value, int line) {
+    }
+
+    /**
+     * The event stream with aliases replaced by the events of their anchored node. Anchored
+     * nodes are recorded as they are read; the composer's checks are applied to live events.
+     */
+    private static final class Events {
+
+        /** Stands for an alias to a node that is still being read (a recursive structure). */
+        private static final List<Ev> RECURSIVE = List.of(new Ev(Event.ID.Scalar, null, 0));
+
+        private final Iterator<Event> live;
+        private final LoaderOptions options;
+        private final Deque<Iterator<Ev>> replays = new ArrayDeque<>();
+        private final Map<String, List<Ev>> anchors = new HashMap<>();
+        private final List<Recording> recordings = new ArrayList<>();
+        private final Set<String> open = new HashSet<>();
+        private Ev peeked;
+        private int depth;
+        private int collectionAliases;
+        private boolean inDocument;
+        private Mark rootMark;
+        private Mark liveMark;
+        /** Open collections, innermost first; only tracked when duplicate keys are not allowed. */
+        private final Deque<KeyFrame> frames;
+
+        Events(Iterator<Event> live, LoaderOptions options) {
+            this.live = live;
+            this.options = options;
+            this.frames = options.isAllowDuplicateKeys() ? null : new ArrayDeque<>();
+        }
+
+        Ev peek() {
+            if (peeked == null) {
+                peeked = read();
+            }
+            return peeked;
+        }
+
+        Ev next() {
+            Ev ev = peek();
+            peeked = null;
+            record(ev);
+            return ev;
+        }
+
+        /** Consumes one whole node. */
+        void skip() {
+            int nested = 0;
+            do {
+                Ev ev = next();
+                if (ev.id == Event.ID.SequenceStart || ev.id == Event.ID.MappingStart) {
+                    nested++;
+                } else if (ev.id == Event.ID.SequenceEnd || ev.id == Event.ID.MappingEnd) {
+                    nested--;
+                }
+            } while (nested > 0);
+        }
+
+        private Ev read() {
+            Ev ev = expand();
+            if (frames != null) {
+                checkDuplicateKey(ev);
+            }
+            return ev;
+        }
+
+        /** Tracks mapping keys in stream order, as tree mode does after composing. */
+        private void checkDuplicateKey(Ev ev) {
+            switch (ev.id) {
+                case Scalar, SequenceStart, MappingStart -> {
+                    KeyFrame parent = frames.peek();
+                    if (parent != null && parent.keys != null) {
+                        if (parent.expectKey && ev.id == Event.ID.Scalar && ev.value != null
+                                && !ev.value.equals("<<") && !parent.keys.add(ev.value)) {
+                            throw new DuplicateKeyError(parent.mark, ev.value, liveMark);
+                        }
+                        parent.expectKey = !parent.expectKey;
+                    }
+                    if (ev.id == Event.ID.SequenceStart) {
+                        frames.push(new KeyFrame(null, liveMark));
+                    } else if (ev.id == Event.ID.MappingStart) {
+                        frames.push(new KeyFrame(new HashSet<>(), liveMark));
+                    }
+                }
+                case SequenceEnd, MappingEnd -> frames.pop();
+                default -> {
+                }
+            }
+        }
+
+        private Ev expand() {
+            while (!replays.isEmpty()) {
+                Iterator<Ev> replay = replays.peek();
+                if (replay.hasNext()) {
+                    return replay.next();
+                }
+                replays.pop();
+            }
+            Event event = live.next();
+            liveMark = event.getStartMark();
+            if (event instanceof AliasEvent alias) {
+                replays.push(resolve(alias).iterator());
+                return expand();
+            }
+            Event.ID id = event.getEventId();
+            int line = event.getStartMark() != null ? event.getStartMark().getLine() + 1 : 0;
+            if (event instanceof NodeEvent node) {
+                checkNode(node);
+                if (inDocument) {
+                    inDocument = false;
+                    rootMark = event.getStartMark();
+                }
+                if (id != Event.ID.Scalar) {
+                    depth++;
+                }
+                String value = event instanceof ScalarEvent scalar ? scalar.getValue() : null;
+                Ev ev = new Ev(id, value, line);
+                if (node.getAnchor() != null) {
+                    open.add(node.getAnchor());
+                    recordings.add(new Recording(node.getAnchor()));
+                }
+                return ev;
+            }
+            if (id == Event.ID.SequenceEnd || id == Event.ID.MappingEnd) {
+                depth--;
+            } else if (id == Event.ID.DocumentStart) {
+                inDocument = true;
+            }
+            return new Ev(id, null, line);
+        }
+
+        /** Same checks, in the same order, as SnakeYAML's composer on a node event. */
+        private void checkNode(NodeEvent node) {
+            if (depth > options.getNestingDepthLimit()) {
+                throw new YAMLException("Nesting Depth exceeded max " + options.getNestingDepthLimit());
+            }
+            String tag = node instanceof ScalarEvent scalar ? scalar.getTag()
+                    : node instanceof CollectionStartEvent collection ? collection.getTag() : null;
+            if (tag != null && !tag.equals("!")) {
+                Tag nodeTag = new Tag(tag);
+                if (nodeTag.isCustomGlobal() && !options.getTagInspector().isGlobalTagAllowed(nodeTag)) {
+                    throw new GlobalTagException(tag, node.getStartMark());
+                }
+            }
+        }
+
+        private List<Ev> resolve(AliasEvent alias) {
+            String anchor = alias.getAnchor();
+            List<Ev> events;
+            if (open.contains(anchor)) {
+                events = RECURSIVE;
+            } else {
+                events = anchors.get(anchor);
+                if (events == null) {
+                    throw new UndefinedAliasException(anchor, alias.getStartMark());
+                }
+            }
+            if (events == RECURSIVE || events.get(0).id != Event.ID.Scalar) {
+                collectionAliases++;
+                if (collectionAliases > options.getMaxAliasesForCollections()) {
+                    throw new YAMLException("Number of aliases for non-scalar nodes exceeds the specified max="
+                            + options.getMaxAliasesForCollections());
+                }
+            }
+            return events;
+        }
+
+        /** Appends a consumed event to every open recording and closes those it completes. */
+        private void record(Ev ev) {
+            for (int i = recordings.size() - 1; i >= 0; i--) {
+                Recording recording = recordings.get(i);
+                recording.events.add(ev);
+                if (ev.id == Event.ID.SequenceStart || ev.id == Event.ID.MappingStart) {
+                    recording.nested++;
+                } else if (ev.id == Event.ID.SequenceEnd || ev.id == Event.ID.MappingEnd) {
+                    recording.nested--;
+                }
+                if (recording.nested == 0) {
+                    recordings.remove(i);
+                    open.remove(recording.anchor);
+                    anchors.put(recording.anchor, List.copyOf(recording.events));
+                }
+            }
+        }
+    }
+
+    private static final class KeyFrame {
+        final Set<String> keys;
+        final Mark mark;
+        boolean expectKey = true;
+
+        KeyFrame(Set<String> keys, Mark mark) {
+            this.keys = keys;
+            this.mark = mark;
+        }
+    }
+
+    private static final class Recording {
+        final String anchor;
+        final List<Ev> events = new ArrayList<>();
+        int nested;
+
+        Recording(String anchor) {
+            this.anchor = anchor;
+        }
+    }
+
+    private static final class UndefinedAliasException extends ComposerException {
+        UndefinedAliasException(String anchor, Mark mark) {
+            super(null, null, "found undefined alias " + anchor, mark);
+        }
+    }
+
+    private static final class GlobalTagException extends ComposerException {
+        GlobalTagException(String tag, Mark mark) {
+            super(null, null, "Global tag is not allowed: " + tag, mark);
+        }
+    }
+
+    private static final class SingleDocumentException extends ComposerException {
+        SingleDocumentException(Mark document, Mark another) {
+            super("expected a single document in the stream", document, "but found another document", another);
+        }
+    }
+}
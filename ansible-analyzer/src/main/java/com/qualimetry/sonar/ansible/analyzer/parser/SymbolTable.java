@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.ModuleRef;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances of the short strings that repeat across a project: mapping keys such as
+ * {@code name} or {@code when}, module keys and common scalars such as {@code "yes"}. One table
+ * is shared by every parser of an analysis, so each distinct string is held once however many
+ * files and tasks use it, and interned strings can be compared by identity.
+ * <p>
+ * The table is bounded: strings longer than the maximum length are never added, and once the
+ * table holds about {@code capacity} entries new strings are returned as they are. Safe to
+ * use from several threads.
+ * <p>
+ * The table also holds one {@link ModuleRef} per module key, within the same bounds.
+ */
+public final class SymbolTable {
+
+    public static final int DEFAULT_CAPACITY = 65_536;
+    public static final int DEFAULT_MAX_LENGTH = 32;
+
+    private static final SymbolTable NONE = new SymbolTable(0, 0);
+
+    private final ConcurrentHashMap<String, String> symbols = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ModuleRef> modules = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final int maxLength;
+
+    public SymbolTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    public SymbolTable(int capacity, int maxLength) {
+        this.capacity = capacity;
+        this.maxLength = maxLength;
+    }
+
+    /** A table that interns nothing; {@link #intern(String)} returns its argument. */
+    public static SymbolTable none() {
+        return NONE;
+    }
+
+    /**
+     * Returns the canonical instance of the given string, adding it if there is room.
+     *
+     * @return an equal string, the same instance for every call while the string is in the table;
+     *         null for null
+     */
+    public String intern(String s) {
+        if (s == null || s.length() > maxLength) {
+            return s;
+        }
+        String canonical = symbols.get(s);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (symbols.mappingCount() >= capacity) {
+            return s;
+        }
+        canonical = symbols.putIfAbsent(s, s);
+        return canonical != null ? canonical : s;
+    }
+
+    /**
+     * Returns the canonical module reference for the module key, splitting the key only the
+     * first time it is seen.
+     *
+     * @return the module reference, the same instance for every call while the key is in the
+     *         table; null for null
+     */
+    public ModuleRef module(String key) {
+        if (key == null) {
+            return null;
+        }
+        ModuleRef module = modules.get(key);
+        if (module != null) {
+            return module;
+        }
+        module = ModuleRef.of(intern(key));
+        if (key.length() > maxLength || modules.mappingCount() >= capacity) {
+            return module;
+        }
+        ModuleRef canonical = modules.putIfAbsent(module.key(), module);
+        return canonical != null ? canonical : module;
+    }
+
+    /** Number of strings in the table. */
+    public int size() {
+        return symbols.size();
+    }
+}
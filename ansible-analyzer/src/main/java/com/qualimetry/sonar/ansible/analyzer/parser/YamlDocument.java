@@ -0,0 +1,282 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.ParseError;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.ConstructorException;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A file's YAML composed once into a SnakeYAML {@link Node} tree. The playbook model, the role
+ * meta model and the plain-object view ({@link #data()}) are all derived from this tree, so a
+ * file is only scanned and parsed once however many of them are needed.
+ * <p>
+ * The node tree is never modified: {@link #data()} resolves merge keys and duplicate keys
+ * into new objects instead of rewriting the mappings as SnakeYAML's constructor does.
+ */
+public final class YamlDocument {
+
+    private static final YamlDocument EMPTY = new YamlDocument(null, null);
+
+    private final Node root;
+    private final ParseError parseError;
+    private Object data;
+    private RuntimeException dataFailure;
+    private boolean dataBuilt;
+
+    private YamlDocument(Node root, ParseError parseError) {
+        this.root = root;
+        this.parseError = parseError;
+    }
+
+    /**
+     * Composes the content into a node tree with the default {@link YamlLimits}. Never throws:
+     * a YAML syntax error is returned as {@link #parseError()}. Blank content gives an empty document.
+     */
+    public static YamlDocument parse(String content) {
+        return parse(content, YamlLimits.defaults());
+    }
+
+    /**
+     * Composes the content into a node tree within the given limits. Never throws: a YAML
+     * syntax error or an exceeded limit is returned as {@link #parseError()}.
+     */
+    public static YamlDocument parse(String content, YamlLimits limits) {
+        if (content == null || content.isBlank()) {
+            return EMPTY;
+        }
+        try {
+            Node root = new Yaml(limits.loaderOptions()).compose(new StringReader(content));
+            if (root != null && !limits.allowDuplicateKeys()) {
+                checkDuplicateKeys(root, Collections.newSetFromMap(new IdentityHashMap<>()));
+            }
+            return root == null ? EMPTY : new YamlDocument(root, null);
+        } catch (YAMLException e) {
+            return new YamlDocument(null, toParseError(e));
+        }
+    }
+
+    /** Throws at the first repeated scalar key in document order. Merge keys may repeat. */
+    private static void checkDuplicateKeys(Node node, Set<Node> seen) {
+        if (!seen.add(node)) {
+            return;
+        }
+        if (node instanceof MappingNode map) {
+            Set<String> keys = new HashSet<>();
+            for (NodeTuple tuple : map.getValue()) {
+                if (tuple.getKeyNode() instanceof ScalarNode key && !Tag.MERGE.equals(key.getTag())
+                        && !keys.add(key.getValue())) {
+                    throw new DuplicateKeyError(map.getStartMark(), key.getValue(), key.getStartMark());
+                }
+                checkDuplicateKeys(tuple.getKeyNode(), seen);
+                checkDuplicateKeys(tuple.getValueNode(), seen);
+            }
+        } else if (node instanceof SequenceNode seq) {
+            for (Node item : seq.getValue()) {
+                checkDuplicateKeys(item, seen);
+            }
+        }
+    }
+
+    /** Converts a SnakeYAML failure into a ParseError with its 1-based line (0 when unknown). */
+    static ParseError toParseError(YAMLException e) {
+        int line = 0;
+        if (e instanceof MarkedYAMLException marked && marked.getProblemMark() != null) {
+            line = marked.getProblemMark().getLine() + 1; // SnakeYAML Mark is 0-based line
+        }
+        String message = e.getMessage() != null ? e.getMessage() : "YAML parse error";
+        return new ParseError(message, line, YamlLimits.isLimitFailure(e));
+    }
+
+    /** Root node, or null when the content is blank, has no document, or failed to parse. */
+    public Node root() {
+        return root;
+    }
+
+    /** The YAML syntax error, or null when the content composed successfully. */
+    public ParseError parseError() {
+        return parseError;
+    }
+
+    /**
+     * Plain-object view of the document, as {@code new Yaml().load(content)} would return it
+     * (maps, lists, scalars resolved by tag), built on first use.
+     *
+     * @return the root object, or null for an empty or unparseable document
+     * @throws YAMLException if a node cannot be constructed (e.g. an unknown tag such as {@code !vault})
+     */
+    public Object data() {
+        if (!dataBuilt) {
+            dataBuilt = true;
+            try {
+                data = root == null ? null : new Converter().toObject(root);
+            } catch (RuntimeException e) {
+                dataFailure = e;
+            }
+        }
+        if (dataFailure != null) {
+            throw dataFailure;
+        }
+        return data;
+    }
+
+    /**
+     * Builds plain objects from nodes without modifying them. Scalars and non-standard
+     * collections are delegated to SnakeYAML's safe constructor.
+     */
+    private static final class Converter extends SafeConstructor {
+
+        private final Map<Node, Object> built = new IdentityHashMap<>();
+
+        Converter() {
+            super(new LoaderOptions());
+        }
+
+        Object toObject(Node node) {
+            Object existing = built.get(node);
+            if (existing != null || built.containsKey(node)) {
+                return existing;
+            }
+            if (node instanceof SequenceNode seq && Tag.SEQ.equals(seq.getTag())) {
+                List<Object> list = new ArrayList<>(seq.getValue().size());
+                built.put(node, list);
+                for (Node item : seq.getValue()) {
+                    list.add(toObject(item));
+                }
+                return list;
+            }
+            if (node instanceof MappingNode map && Tag.MAP.equals(map.getTag())) {
+                Map<Object, Object> result = new LinkedHashMap<>();
+                built.put(node, result);
+                fillMapping(map, result);
+                return result;
+            }
+            if (node instanceof MappingNode map && Tag.SET.equals(map.getTag())) {
+                Set<Object> result = new LinkedHashSet<>();
+                built.put(node, result);
+                Map<Object, Object> entries = new LinkedHashMap<>();
+                fillMapping(map, entries);
+                result.addAll(entries.keySet());
+                return result;
+            }
+            Object value = constructObject(node);
+            built.put(node, value);
+            return value;
+        }
+
+        private void fillMapping(MappingNode node, Map<Object, Object> out) {
+            if (!node.isMerged()) {
+                for (NodeTuple tuple : node.getValue()) {
+                    Object key = toObject(tuple.getKeyNode());
+                    // A repeated key keeps the last value at the position of its last occurrence.
+                    out.remove(key);
+                    out.put(key, toObject(tuple.getValueNode()));
+                }
+                return;
+            }
+            List<NodeTuple> own = withoutEarlierDuplicates(node.getValue());
+            List<Object> keys = new ArrayList<>();
+            List<Node> values = new ArrayList<>();
+            merge(node, own, true, new HashMap<>(), keys, values);
+            for (int i = 0; i < keys.size(); i++) {
+                out.put(keys.get(i), toObject(values.get(i)));
+            }
+        }
+
+        private List<NodeTuple> withoutEarlierDuplicates(List<NodeTuple> tuples) {
+            Map<Object, Integer> lastIndex = new HashMap<>();
+            for (int i = 0; i < tuples.size(); i++) {
+                Node keyNode = tuples.get(i).getKeyNode();
+                if (!Tag.MERGE.equals(keyNode.getTag())) {
+                    lastIndex.put(toObject(keyNode), i);
+                }
+            }
+            List<NodeTuple> kept = new ArrayList<>(tuples.size());
+            for (int i = 0; i < tuples.size(); i++) {
+                Node keyNode = tuples.get(i).getKeyNode();
+                if (Tag.MERGE.equals(keyNode.getTag()) || lastIndex.get(toObject(keyNode)) == i) {
+                    kept.add(tuples.get(i));
+                }
+            }
+            return kept;
+        }
+
+        /** Same precedence as SnakeYAML: explicit keys win over merged ones, earlier merges over later. */
+        private void merge(MappingNode node, List<NodeTuple> tuples, boolean preferred,
+                           Map<Object, Integer> index, List<Object> keys, List<Node> values) {
+            for (NodeTuple tuple : tuples) {
+                Node keyNode = tuple.getKeyNode();
+                Node valueNode = tuple.getValueNode();
+                if (Tag.MERGE.equals(keyNode.getTag())) {
+                    if (valueNode instanceof MappingNode source) {
+                        merge(source, source.getValue(), false, index, keys, values);
+                    } else if (valueNode instanceof SequenceNode sources) {
+                        for (Node source : sources.getValue()) {
+                            if (!(source instanceof MappingNode sourceMap)) {
+                                throw new MergeException(node.getStartMark(),
+                                        "expected a mapping for merging, but found " + source.getNodeId(), source.getStartMark());
+                            }
+                            merge(sourceMap, sourceMap.getValue(), false, index, keys, values);
+                        }
+                    } else {
+                        throw new MergeException(node.getStartMark(),
+                                "expected a mapping or list of mappings for merging, but found " + valueNode.getNodeId(),
+                                valueNode.getStartMark());
+                    }
+                    continue;
+                }
+                Object key = toObject(keyNode);
+                Integer at = index.get(key);
+                if (at == null) {
+                    index.put(key, keys.size());
+                    keys.add(key);
+                    values.add(valueNode);
+                } else if (preferred) {
+                    values.set(at, valueNode);
+                }
+            }
+        }
+    }
+
+    private static final class MergeException extends ConstructorException {
+        MergeException(Mark contextMark, String problem, Mark problemMark) {
+            super("while constructing a mapping", contextMark, problem, problemMark);
+        }
+    }
+}
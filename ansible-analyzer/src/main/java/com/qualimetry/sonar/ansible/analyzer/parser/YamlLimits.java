@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.error.YAMLException;
+
+/**
+ * Budgets applied whenever a file's YAML is read, so an alias bomb, a very deep document or a
+ * huge file ends in a {@link com.qualimetry.sonar.ansible.analyzer.parser.model.ParseError}
+ * instead of exhausting heap or stack. Every parser builds its SnakeYAML options from here.
+ */
+public final class YamlLimits {
+
+    /** Aliases to collections allowed in one file. */
+    public static final int DEFAULT_MAX_ALIASES = 50;
+    /** Nesting depth of collections allowed in one file. */
+    public static final int DEFAULT_MAX_NESTING_DEPTH = 50;
+    /** Code points read from one file before giving up (3 MiB). */
+    public static final int DEFAULT_MAX_CODE_POINTS = 3 * 1024 * 1024;
+
+    private static final YamlLimits DEFAULTS = new YamlLimits(
+            DEFAULT_MAX_ALIASES, DEFAULT_MAX_NESTING_DEPTH, DEFAULT_MAX_CODE_POINTS, true);
+
+    private final int maxAliases;
+    private final int maxNestingDepth;
+    private final int maxCodePoints;
+    private final boolean allowDuplicateKeys;
+
+    /**
+     * @param maxAliases         aliases to collections allowed per file
+     * @param maxNestingDepth    collection nesting depth allowed per file
+     * @param maxCodePoints      code points read per file
+     * @param allowDuplicateKeys when false, a mapping that repeats a key is a parse error
+     */
+    public YamlLimits(int maxAliases, int maxNestingDepth, int maxCodePoints, boolean allowDuplicateKeys) {
+        this.maxAliases = maxAliases;
+        this.maxNestingDepth = maxNestingDepth;
+        this.maxCodePoints = maxCodePoints;
+        this.allowDuplicateKeys = allowDuplicateKeys;
+    }
+
+    public static YamlLimits defaults() {
+        return DEFAULTS;
+    }
+
+    public int maxAliases() {
+        return maxAliases;
+    }
+
+    public int maxNestingDepth() {
+        return maxNestingDepth;
+    }
+
+    public int maxCodePoints() {
+        return maxCodePoints;
+    }
+
+    public boolean allowDuplicateKeys() {
+        return allowDuplicateKeys;
+    }
+
+    /** New SnakeYAML options with these limits; recursive keys are never allowed. */
+    public LoaderOptions loaderOptions() {
+        LoaderOptions options = new LoaderOptions();
+        options.setMaxAliasesForCollections(maxAliases);
+        options.setNestingDepthLimit(maxNestingDepth);
+        options.setCodePointLimit(maxCodePoints);
+        options.setAllowDuplicateKeys(allowDuplicateKeys);
+        options.setAllowRecursiveKeys(false);
+        return options;
+    }
+
+    /**
+     * Whether the failure is one of these budgets running out rather than a syntax error.
+     * SnakeYAML reports all three as a plain {@link YAMLException}, told apart by message.
+     */
+    static boolean isLimitFailure(YAMLException e) {
+        String message = e.getMessage();
+        return message != null && (message.startsWith("Number of aliases for non-scalar nodes exceeds")
+                || message.startsWith("Nesting Depth exceeded max")
+                || message.startsWith("The incoming YAML document exceeds the limit"));
+    }
+
+    @Override
+    public String toString() {
+        return "aliases=" + maxAliases + ",depth=" + maxNestingDepth + ",codePoints=" + maxCodePoints
+                + ",duplicateKeys=" + allowDuplicateKeys;
+    }
+}
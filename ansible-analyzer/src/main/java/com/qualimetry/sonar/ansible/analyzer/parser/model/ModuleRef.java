@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser.model;
+
+import com.qualimetry.sonar.ansible.analyzer.modules.ModuleCatalog;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The module of a task, split once when the task is parsed so checks read fields instead of
+ * slicing the module key. Instances are shared through the parser's symbol table, so every task
+ * using the same module key holds the same instance.
+ *
+ * @param key           module key as given by {@link Task#moduleKey()}, e.g. {@code ansible.builtin.copy}
+ *                      or {@code include:site.yml}
+ * @param name          module name as written in the task, without an include target,
+ *                      e.g. {@code ansible.builtin.copy}, {@code copy} or {@code include}
+ * @param collection    collection of a qualified name, e.g. {@code ansible.builtin}, or null
+ * @param shortName     name without its collection, e.g. {@code copy}
+ * @param fqcn          canonical name: the qualified name, with {@code ansible.legacy} read as
+ *                      {@code ansible.builtin}, or {@code ansible.builtin.<shortName>} for a short name
+ * @param includeTarget target of an {@code include} or {@code import_playbook} task, or null
+ */
+public record ModuleRef(String key, String name, String collection, String shortName, String fqcn,
+                        String includeTarget) {
+
+    private static final String BUILTIN = "ansible.builtin";
+    private static final String LEGACY = "ansible.legacy";
+
+    public ModuleRef {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(name, "name must not be null");
+        Objects.requireNonNull(shortName, "shortName must not be null");
+        Objects.requireNonNull(fqcn, "fqcn must not be null");
+    }
+
+    /** Splits a module key; prefer the interned instance from the parser's symbol table. */
+    public static ModuleRef of(String key) {
+        String name = key;
+        String includeTarget = null;
+        int colon = key.indexOf(':');
+        if (colon > 0 && (key.startsWith("include:") || key.startsWith("import_playbook:"))) {
+            name = key.substring(0, colon);
+            includeTarget = key.substring(colon + 1);
+        }
+        int dot = name.lastIndexOf('.');
+        String collection = dot > 0 ? name.substring(0, dot) : null;
+        String shortName = dot > 0 ? name.substring(dot + 1) : name;
+        String fqcn;
+        if (collection == null || collection.equals(LEGACY)) {
+            fqcn = BUILTIN + "." + shortName;
+        } else {
+            fqcn = name;
+        }
+        return new ModuleRef(key, name, collection, shortName, fqcn, includeTarget);
+    }
+
+    /** True if the task names the module with its collection. */
+    public boolean isQualified() {
+        return collection != null;
+    }
+
+    /**
+     * True if the module is an {@code ansible.builtin} module: a name qualified with
+     * {@code ansible.builtin} or {@code ansible.legacy}, or a short name the {@link ModuleCatalog}
+     * lists as builtin. A short name Ansible routes to a collection, such as {@code mount}, or
+     * that the catalog does not know, such as {@code docker_container}, is not builtin.
+     */
+    public boolean isBuiltin() {
+        if (collection != null) {
+            return collection.equals(BUILTIN) || collection.equals(LEGACY);
+        }
+        ModuleCatalog.Entry entry = ModuleCatalog.get().resolve(fqcn);
+        return entry != null && entry.isBuiltin();
+    }
+
+    /**
+     * The module's arguments in the task's attributes.
+     *
+     * @return the argument map, or null when the module takes free-form text or no arguments
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> args(Map<String, Object> attributes) {
+        Object args = attributes != null ? attributes.get(name) : null;
+        return args instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+    }
+}
@@ -18,13 +18,19 @@ package com.qualimetry.sonar.ansible.analyzer.parser.model;
 /**
  * Represents a YAML/playbook parse failure (message and optional line).
  *
- * @param message error message
- * @param line    1-based line where the error occurred, or 0 if unknown
+ * @param message       error message
+ * @param line          1-based line where the error occurred, or 0 if unknown
+ * @param limitExceeded true when parsing stopped because the file exceeded an alias, nesting
+ *                      or size budget rather than because of a syntax error
  */
-public record ParseError(String message, int line) {
+public record ParseError(String message, int line, boolean limitExceeded) {
     public ParseError {
         if (message == null) {
             throw new IllegalArgumentException("message must not be null");
         }
     }
+
+    public ParseError(String message, int line) {
+        this(message, line, false);
+    }
 }
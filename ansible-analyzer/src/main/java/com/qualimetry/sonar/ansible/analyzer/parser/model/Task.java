@@ -21,9 +21,24 @@ import java.util.Map;
  * Represents a single Ansible task (e.g. a map with name, module, args).
  *
  * @param name       task name, or null
- * @param moduleKey  FQCN or short module name, or null for raw/include
+ * @param module     the task's module, or null for raw/include
  * @param line       approximate line in the file (1-based)
- * @param attributes full task map for checks that need it
+ * @param attributes full task map for checks that need it, read-only and in document order
  */
-public record Task(String name, String moduleKey, int line, Map<String, Object> attributes) {
+public record Task(String name, ModuleRef module, int line, Map<String, Object> attributes) {
+
+    /** Creates a task from its module key (FQCN or short module name, or null for raw/include). */
+    public Task(String name, String moduleKey, int line, Map<String, Object> attributes) {
+        this(name, moduleKey != null ? ModuleRef.of(moduleKey) : null, line, attributes);
+    }
+
+    /** FQCN or short module name, {@code include:<target>} for an include, or null for raw/include. */
+    public String moduleKey() {
+        return module != null ? module.key() : null;
+    }
+
+    /** The module's argument map, or null when there is no module or its arguments are not a map. */
+    public Map<String, Object> moduleArgs() {
+        return module != null ? module.args(attributes) : null;
+    }
 }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeSet;
+
+/**
+ * Case-insensitive Aho-Corasick automaton over a fixed set of keywords. Build one per rule in a
+ * static field; it is immutable and safe to share between analysis threads.
+ * <p>
+ * The keywords are compiled into a complete transition table over the characters they use, so
+ * a scan reads each character of the text once, folds its case on the fly and follows one
+ * transition, whatever the number of keywords. Scanning allocates nothing.
+ * <p>
+ * Keywords are numbered in the order they were added. A keyword added with
+ * {@link Builder#addWhole(String)} only matches a whole scanned range, e.g. a map key equal to
+ * {@code token} but not {@code token_file}.
+ */
+public final class KeywordMatcher {
+
+    /** Returned when no keyword matches. */
+    public static final int NONE = -1;
+
+    private final String[] keywords;
+    private final int[] lengths;
+    private final boolean[] whole;
+    /** Case-folded characters used by the keywords, sorted; class i + 1 is alphabet[i]. */
+    private final char[] alphabet;
+    /** Class of each ASCII character; 0 for characters no keyword uses. */
+    private final int[] asciiClasses;
+    private final int classes;
+    /** Transition table: next[state * classes + class]. */
+    private final int[] next;
+    private final int[] depth;
+    /** Keyword that ends at each state, or NONE. */
+    private final int[] output;
+    /** Nearest state on the failure chain with an output, or NONE. */
+    private final int[] outputLink;
+
+    private KeywordMatcher(Builder builder) {
+        int count = builder.keywords.size();
+        keywords = builder.keywords.toArray(new String[0]);
+        whole = new boolean[count];
+        lengths = new int[count];
+        TreeSet<Character> chars = new TreeSet<>();
+        for (int k = 0; k < count; k++) {
+            whole[k] = builder.whole.get(k);
+            lengths[k] = keywords[k].length();
+            for (int i = 0; i < keywords[k].length(); i++) {
+                chars.add(keywords[k].charAt(i));
+            }
+        }
+        alphabet = new char[chars.size()];
+        int a = 0;
+        for (char c : chars) {
+            alphabet[a++] = c;
+        }
+        classes = alphabet.length + 1;
+        asciiClasses = new int[128];
+        for (int i = 0; i < alphabet.length && alphabet[i] < 128; i++) {
+            asciiClasses[alphabet[i]] = i + 1;
+        }
+
+        // Trie, with 0 as "no edge" since the root is never a target.
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(new int[classes]);
+        depths.add(0);
+        outputs.add(NONE);
+        for (int k = 0; k < count; k++) {
+            int state = 0;
+            for (int i = 0; i < keywords[k].length(); i++) {
+                int c = classOf(keywords[k].charAt(i));
+                if (trie.get(state)[c] == 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(new int[classes]);
+                    depths.add(i + 1);
+                    outputs.add(NONE);
+                }
+                state = trie.get(state)[c];
+            }
+            if (outputs.get(state) != NONE) {
+                throw new IllegalArgumentException("Duplicate keyword: " + keywords[k]);
+            }
+            outputs.set(state, k);
+        }
+
+        int states = trie.size();
+        next = new int[states * classes];
+        depth = new int[states];
+        output = new int[states];
+        outputLink = new int[states];
+        int[] failure = new int[states];
+        for (int s = 0; s < states; s++) {
+            depth[s] = depths.get(s);
+            output[s] = outputs.get(s);
+        }
+        outputLink[0] = NONE;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < classes; c++) {
+            int child = trie.get(0)[c];
+            next[c] = child;
+            if (child != 0) {
+                failure[child] = 0;
+                outputLink[child] = NONE;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.remove();
+            for (int c = 0; c < classes; c++) {
+                int child = trie.get(s)[c];
+                if (child == 0) {
+                    next[s * classes + c] = next[failure[s] * classes + c];
+                } else {
+                    next[s * classes + c] = child;
+                    int f = next[failure[s] * classes + c];
+                    failure[child] = f;
+                    outputLink[child] = output[f] != NONE ? f : outputLink[f];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** A matcher for keywords that match anywhere in the text. */
+    public static KeywordMatcher of(String... keywords) {
+        Builder builder = builder();
+        for (String keyword : keywords) {
+            builder.add(keyword);
+        }
+        return builder.build();
+    }
+
+    /** Number of keywords. */
+    public int size() {
+        return keywords.length;
+    }
+
+    /** The keyword with the given number, case-folded. */
+    public String keyword(int id) {
+        return keywords[id];
+    }
+
+    /** Returns true if a keyword occurs in the text. */
+    public boolean containsAny(CharSequence text) {
+        return find(text) != NONE;
+    }
+
+    /** The keyword that ends first in the text, or {@link #NONE}. */
+    public int find(CharSequence text) {
+        return text == null ? NONE : find(text, 0, text.length());
+    }
+
+    /**
+     * The keyword that ends first in the range, or {@link #NONE}. Of keywords ending at the same
+     * character, the longest wins.
+     */
+    public int find(CharSequence text, int from, int to) {
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            state = next(state, text.charAt(i));
+            for (int s = output[state] != NONE ? state : outputLink[state]; s != NONE; s = outputLink[s]) {
+                int k = output[s];
+                if (!whole[k] || (i + 1 == to && i + 1 - lengths[k] == from)) {
+                    return k;
+                }
+            }
+        }
+        return NONE;
+    }
+
+    /** The longest keyword the text starts with at {@code from}, or {@link #NONE}. */
+    public int prefix(CharSequence text, int from) {
+        int state = 0;
+        int found = NONE;
+        for (int i = from; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (depth[state] != i - from + 1) {
+                break;
+            }
+            int k = output[state];
+            if (k != NONE && (!whole[k] || i + 1 == text.length())) {
+                found = k;
+            }
+        }
+        return found;
+    }
+
+    /** State before the first character, for scanning a stream with {@link #next}. */
+    public int start() {
+        return 0;
+    }
+
+    /** State after reading one more character. */
+    public int next(int state, char c) {
+        return next[state * classes + classOf(fold(c))];
+    }
+
+    /**
+     * A keyword that ends at the state, or {@link #NONE}; whole keywords are ignored since a
+     * stream has no range.
+     */
+    public int matchAt(int state) {
+        for (int s = output[state] != NONE ? state : outputLink[state]; s != NONE; s = outputLink[s]) {
+            if (!whole[output[s]]) {
+                return output[s];
+            }
+        }
+        return NONE;
+    }
+
+    private int classOf(char folded) {
+        if (folded < 128) {
+            return asciiClasses[folded];
+        }
+        int i = Arrays.binarySearch(alphabet, folded);
+        return i >= 0 ? i + 1 : 0;
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /** Collects keywords; not thread-safe. */
+    public static final class Builder {
+
+        private final List<String> keywords = new ArrayList<>();
+        private final List<Boolean> whole = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /** Adds a keyword that matches anywhere in the scanned text. */
+        public Builder add(String keyword) {
+            return add(keyword, false);
+        }
+
+        /** Adds a keyword that only matches a whole scanned range. */
+        public Builder addWhole(String keyword) {
+            return add(keyword, true);
+        }
+
+        private Builder add(String keyword, boolean wholeRange) {
+            if (keyword == null || keyword.isEmpty()) {
+                throw new IllegalArgumentException("Keywords must not be empty");
+            }
+            StringBuilder folded = new StringBuilder(keyword.length());
+            for (int i = 0; i < keyword.length(); i++) {
+                folded.append(fold(keyword.charAt(i)));
+            }
+            keywords.add(folded.toString());
+            whole.add(wholeRange);
+            return this;
+        }
+
+        public KeywordMatcher build() {
+            return new KeywordMatcher(this);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.text;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Line-start offsets of a text, computed in a single pass.
+ * <p>
+ * Lines are split exactly like {@code content.split("\\r?\\n", -1)}: a line ends at each
+ * {@code \n}, a {@code \r} directly before it is not part of the line, and the text after
+ * the last {@code \n} is always a (possibly empty) last line. Lines are 1-based and
+ * line views share the underlying content instead of copying it.
+ */
+public final class LineIndex {
+
+    private final CharSequence content;
+    private final int[] lineStarts;
+    private final int lineCount;
+
+    public LineIndex(CharSequence content) {
+        this.content = Objects.requireNonNull(content);
+        int[] starts = new int[16];
+        int count = 1;
+        for (int i = 0, len = content.length(); i < len; i++) {
+            if (content.charAt(i) == '\n') {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = i + 1;
+            }
+        }
+        this.lineStarts = starts;
+        this.lineCount = count;
+    }
+
+    public CharSequence content() {
+        return content;
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /** Offset of the first character of the given line. */
+    public int lineStart(int line) {
+        checkLine(line);
+        return lineStarts[line - 1];
+    }
+
+    /** Offset just after the last character of the given line, excluding the line terminator. */
+    public int lineEnd(int line) {
+        checkLine(line);
+        if (line == lineCount) {
+            return content.length();
+        }
+        int end = lineStarts[line] - 1;
+        if (end > lineStarts[line - 1] && content.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return end;
+    }
+
+    public int lineLength(int line) {
+        return lineEnd(line) - lineStart(line);
+    }
+
+    /** Zero-copy view of the given line, without its terminator. */
+    public CharSequence line(int line) {
+        return CharBuffer.wrap(content, lineStart(line), lineEnd(line));
+    }
+
+    /** Returns the 1-based line containing the given offset; {@code content().length()} maps to the last line. */
+    public int lineOfOffset(int offset) {
+        if (offset < 0 || offset > content.length()) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " outside [0, " + content.length() + "]");
+        }
+        int idx = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+        return idx >= 0 ? idx + 1 : -idx - 1;
+    }
+
+    /** Returns the offset of the given 1-based line and 0-based column. */
+    public int offsetOf(int line, int column) {
+        int start = lineStart(line);
+        if (column < 0 || start + column > lineEnd(line)) {
+            throw new IndexOutOfBoundsException("Column " + column + " outside line " + line);
+        }
+        return start + column;
+    }
+
+    /** Returns the column of the first occurrence of {@code needle} in the given line, or -1. */
+    public int indexOf(int line, String needle) {
+        int start = lineStart(line);
+        int last = lineEnd(line) - needle.length();
+        outer:
+        for (int i = start; i <= last; i++) {
+            for (int j = 0; j < needle.length(); j++) {
+                if (content.charAt(i + j) != needle.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i - start;
+        }
+        return -1;
+    }
+
+    private void checkLine(int line) {
+        if (line < 1 || line > lineCount) {
+            throw new IndexOutOfBoundsException("Line " + line + " outside [1, " + lineCount + "]");
+        }
+    }
+}
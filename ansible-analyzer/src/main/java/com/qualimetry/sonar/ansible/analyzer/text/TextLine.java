@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.text;
+
+/**
+ * Facts about the line just scanned by {@link TextRuleEngine}. The engine reuses a single
+ * instance for every line, so rules must not keep a reference to it.
+ */
+public final class TextLine {
+
+    /** Returned by {@link #firstChar()} and {@link #lastChar()} when the line has no such character. */
+    public static final int NONE = -1;
+
+    private int number;
+    private int start;
+    private int end;
+    private int indent;
+    private int firstChar;
+    private int lastChar;
+    private boolean hasTab;
+
+    TextLine() {
+    }
+
+    void reset(int number, int start) {
+        this.number = number;
+        this.start = start;
+        this.end = start;
+        this.indent = 0;
+        this.firstChar = NONE;
+        this.lastChar = NONE;
+        this.hasTab = false;
+    }
+
+    void accept(char c) {
+        if (firstChar == NONE) {
+            if (Character.isWhitespace(c)) {
+                indent++;
+            } else {
+                firstChar = c;
+            }
+        }
+        if (c == '\t') {
+            hasTab = true;
+        }
+        lastChar = c;
+    }
+
+    void end(int end) {
+        this.end = end;
+    }
+
+    /** 1-based line number. */
+    public int number() {
+        return number;
+    }
+
+    /** Offset of the first character of the line. */
+    public int start() {
+        return start;
+    }
+
+    /** Offset just after the last character of the line, excluding the terminator. */
+    public int end() {
+        return end;
+    }
+
+    public int length() {
+        return end - start;
+    }
+
+    /** Number of leading whitespace characters ({@link Character#isWhitespace}). */
+    public int indent() {
+        return indent;
+    }
+
+    /** First non-whitespace character, or {@link #NONE} for a blank line. */
+    public int firstChar() {
+        return firstChar;
+    }
+
+    /** Last character, or {@link #NONE} for an empty line. */
+    public int lastChar() {
+        return lastChar;
+    }
+
+    public boolean hasTab() {
+        return hasTab;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.text;
+
+/**
+ * A raw-text rule run by {@link TextRuleEngine}. Rules are small state machines fed by a
+ * single forward pass over the content: per-character callbacks (optional) and one
+ * {@link #endLine} per line, using the same line splitting as {@link LineIndex}.
+ */
+public interface TextRule {
+
+    /** Called before the first character of a file; rules reset their per-file state here. */
+    default void startFile() {
+    }
+
+    /** Whether {@link #character} should be called for this rule. */
+    default boolean usesCharacters() {
+        return false;
+    }
+
+    /** Called for each character of a line, in order; line terminators are not passed. */
+    default void character(char c) {
+    }
+
+    /** Called at the end of every line, including an empty last line. */
+    default void endLine(TextLine line) {
+    }
+
+    /** Called after the last line of a file. */
+    default void endFile() {
+    }
+}
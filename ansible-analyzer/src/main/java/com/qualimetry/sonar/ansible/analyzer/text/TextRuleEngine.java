@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a fixed set of {@link TextRule}s over file content in one forward pass, without
+ * per-line allocation. Lines are split like {@link LineIndex}.
+ */
+public final class TextRuleEngine {
+
+    private final TextRule[] rules;
+    private final TextRule[] characterRules;
+    private final TextLine line = new TextLine();
+
+    public TextRuleEngine(List<? extends TextRule> rules) {
+        this.rules = rules.toArray(new TextRule[0]);
+        List<TextRule> withCharacters = new ArrayList<>();
+        for (TextRule rule : rules) {
+            if (rule.usesCharacters()) {
+                withCharacters.add(rule);
+            }
+        }
+        this.characterRules = withCharacters.toArray(new TextRule[0]);
+    }
+
+    public void scan(CharSequence content) {
+        for (TextRule rule : rules) {
+            rule.startFile();
+        }
+        int length = content.length();
+        line.reset(1, 0);
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            if (c == '\n') {
+                endLine(i > line.start() && content.charAt(i - 1) == '\r' ? i - 1 : i);
+                line.reset(line.number() + 1, i + 1);
+                continue;
+            }
+            if (c == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+                continue;
+            }
+            line.accept(c);
+            for (TextRule rule : characterRules) {
+                rule.character(c);
+            }
+        }
+        endLine(length);
+        for (TextRule rule : rules) {
+            rule.endFile();
+        }
+    }
+
+    private void endLine(int end) {
+        line.end(end);
+        for (TextRule rule : rules) {
+            rule.endLine(line);
+        }
+    }
+}
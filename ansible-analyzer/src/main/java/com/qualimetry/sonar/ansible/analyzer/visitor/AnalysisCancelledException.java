@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.visitor;
+
+/**
+ * Thrown by {@link CancellationToken#throwIfCancelled()} to abandon the analysis of a file.
+ * Checks let it propagate; the issues of the file so far are discarded.
+ */
+public final class AnalysisCancelledException extends RuntimeException {
+
+    private final boolean timedOut;
+
+    AnalysisCancelledException(boolean timedOut) {
+        super(timedOut ? "File analysis exceeded its time budget" : "Analysis cancelled", null, false, false);
+        this.timedOut = timedOut;
+    }
+
+    /** True when the file's time budget ran out, false when the whole analysis was cancelled. */
+    public boolean timedOut() {
+        return timedOut;
+    }
+}
@@ -15,7 +15,12 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.visitor;
 
+import com.qualimetry.sonar.ansible.analyzer.index.ProjectSymbols;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaCache;
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlDocument;
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlLimits;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.text.LineIndex;
 import org.sonar.api.batch.fs.InputFile;
 
 import java.util.ArrayList;
@@ -33,11 +38,26 @@ public class AnsibleContext {
     private final String rawContent;
     private final List<Issue> issues;
     private PathResolver pathResolver;
+    private ProjectSymbols projectSymbols;
+    private JinjaCache jinja = JinjaCache.none();
+    private LineIndex lineIndex;
+    private YamlDocument document;
+    private YamlLimits yamlLimits = YamlLimits.defaults();
+    private CancellationToken cancellation = CancellationToken.NONE;
 
     public AnsibleContext(PlaybookFile playbookFile, InputFile inputFile, String rawContent) {
+        this(playbookFile, inputFile, rawContent, null);
+    }
+
+    /**
+     * @param document the composed YAML the playbook was built from, shared with checks
+     *                 that need the node tree or plain-object view; may be null
+     */
+    public AnsibleContext(PlaybookFile playbookFile, InputFile inputFile, String rawContent, YamlDocument document) {
         this.playbookFile = Objects.requireNonNull(playbookFile);
         this.inputFile = inputFile;
         this.rawContent = rawContent;
+        this.document = document;
         this.issues = new ArrayList<>();
     }
 
@@ -57,6 +77,46 @@ public class AnsibleContext {
         return rawContent;
     }
 
+    /**
+     * Line index of the raw content, computed on first use and shared by all checks.
+     *
+     * @return the line index, or null when there is no raw content
+     */
+    public LineIndex getLineIndex() {
+        if (lineIndex == null && rawContent != null) {
+            lineIndex = new LineIndex(rawContent);
+        }
+        return lineIndex;
+    }
+
+    /**
+     * Composed YAML of the raw content. Returns the document given at construction, or composes
+     * the raw content on first use within the context's YAML limits.
+     *
+     * @return the document, or null when there is no raw content
+     */
+    public YamlDocument getDocument() {
+        if (document == null && rawContent != null) {
+            document = YamlDocument.parse(rawContent, yamlLimits);
+        }
+        return document;
+    }
+
+    /** Limits the raw content is composed within when no document was given; the defaults unless set. */
+    public YamlLimits getYamlLimits() {
+        return yamlLimits;
+    }
+
+    public void setYamlLimits(YamlLimits yamlLimits) {
+        this.yamlLimits = Objects.requireNonNull(yamlLimits);
+    }
+
+    /** Drops the cached document and line index once the file has been analyzed. */
+    public void releaseDocument() {
+        document = null;
+        lineIndex = null;
+    }
+
     public PathResolver getPathResolver() {
         return pathResolver;
     }
@@ -65,6 +125,33 @@ public class AnsibleContext {
         this.pathResolver = pathResolver;
     }
 
+    /** Project-wide names, or null when the analysis has no project index. */
+    public ProjectSymbols getProjectSymbols() {
+        return projectSymbols;
+    }
+
+    public void setProjectSymbols(ProjectSymbols projectSymbols) {
+        this.projectSymbols = projectSymbols;
+    }
+
+    /** Parsed Jinja expressions shared by the analysis; parses every time unless set. */
+    public JinjaCache getJinja() {
+        return jinja;
+    }
+
+    public void setJinja(JinjaCache jinja) {
+        this.jinja = Objects.requireNonNull(jinja);
+    }
+
+    /** Token checks poll while analyzing this file; never cancelled unless set. */
+    public CancellationToken getCancellation() {
+        return cancellation;
+    }
+
+    public void setCancellation(CancellationToken cancellation) {
+        this.cancellation = Objects.requireNonNull(cancellation);
+    }
+
     public void addIssue(Issue issue) {
         issues.add(Objects.requireNonNull(issue));
     }
@@ -38,12 +38,30 @@ public interface AnsibleVisitor {
     default void visitTask(Task task) {
     }
 
+    /**
+     * Called for every map entry and sequence element under a task's attributes, depth first,
+     * between {@link #visitTask} and {@link #leaveTask}. The walker traverses each task once for
+     * all subscribers, so checks that inspect nested values should subscribe here instead of
+     * recursing through {@link Task#attributes()} themselves.
+     *
+     * @param path  where the value sits, including its own segment; valid during this call only
+     * @param key   the map key of the value, or null for a sequence element
+     * @param value the value: a scalar, a map or a list
+     * @param line  line of the task; nested values carry no line of their own
+     */
+    default void visitAttribute(AttributePath path, String key, Object value, int line) {
+    }
+
     default void visitRoleRef(RoleRef roleRef) {
     }
 
     default void leavePlaybookFile(PlaybookFile file) {
     }
 
+    /** Called after {@link #visitTask} and all {@link #visitAttribute} calls of the task. */
+    default void leaveTask(Task task) {
+    }
+
     default void leavePlay(Play play) {
     }
 
@@ -20,21 +20,35 @@ import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleRef;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Walks a PlaybookFile tree and invokes the visitor callbacks.
+ * <p>
+ * Task attributes are traversed once per task, and only when the visitor subscribes to
+ * {@link AnsibleVisitor#visitAttribute}.
  */
 public final class AnsibleWalker {
 
+    /** Deepest attribute level visited; a YAML alias can make a value contain itself. */
+    static final int MAX_ATTRIBUTE_DEPTH = 64;
+
     private AnsibleWalker() {
     }
 
     public static void walk(PlaybookFile file, AnsibleVisitor visitor) {
+        AttributePath path = visitsAttributes(visitor) ? new AttributePath() : null;
         visitor.visitPlaybookFile(file);
 
         for (Play play : file.plays()) {
             visitor.visitPlay(play);
             for (Task task : play.tasks()) {
                 visitor.visitTask(task);
+                if (path != null && task.attributes() != null) {
+                    walkMap(task.attributes(), path, task.line(), visitor);
+                }
+                visitor.leaveTask(task);
             }
             for (RoleRef roleRef : play.roles()) {
                 visitor.visitRoleRef(roleRef);
@@ -45,4 +59,47 @@ public final class AnsibleWalker {
 
         visitor.leavePlaybookFile(file);
     }
+
+    /**
+     * Walks the tree once and delivers each callback to all visitors, in list order.
+     * Each visitor receives the same callbacks, in the same order, as with one walk per visitor.
+     */
+    public static void walk(PlaybookFile file, List<? extends AnsibleVisitor> visitors) {
+        walk(file, new CompositeVisitor(visitors));
+    }
+
+    private static boolean visitsAttributes(AnsibleVisitor visitor) {
+        if (visitor instanceof CompositeVisitor composite) {
+            return composite.visitsAttributes();
+        }
+        return CompositeVisitor.overriddenCallbacks(visitor.getClass()).contains(CompositeVisitor.Callback.VISIT_ATTRIBUTE);
+    }
+
+    private static void walkMap(Map<?, ?> map, AttributePath path, int line, AnsibleVisitor visitor) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            Object value = entry.getValue();
+            path.pushKey(key);
+            visitor.visitAttribute(path, key, value, line);
+            walkValue(value, path, line, visitor);
+            path.pop();
+        }
+    }
+
+    private static void walkValue(Object value, AttributePath path, int line, AnsibleVisitor visitor) {
+        if (path.depth() >= MAX_ATTRIBUTE_DEPTH) {
+            return;
+        }
+        if (value instanceof Map<?, ?> map) {
+            walkMap(map, path, line, visitor);
+        } else if (value instanceof List<?> list) {
+            for (int i = 0; i < list.size(); i++) {
+                Object element = list.get(i);
+                path.pushIndex(i);
+                visitor.visitAttribute(path, null, element, line);
+                walkValue(element, path, line, visitor);
+                path.pop();
+            }
+        }
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.visitor;
+
+import java.util.Arrays;
+
+/**
+ * Where a value sits in a task's attributes: one segment per level, each a map key or a
+ * sequence index, e.g. {@code uri.headers.Authorization} or {@code loop[0].name}.
+ * <p>
+ * The walker reuses one path per walk, so a path is only valid during the
+ * {@link AnsibleVisitor#visitAttribute} call it is passed to; keep {@link #toString()} to
+ * remember it.
+ */
+public final class AttributePath {
+
+    private static final int NO_INDEX = -1;
+
+    private String[] keys = new String[8];
+    private int[] indexes = new int[8];
+    private int depth;
+    private int sequences;
+
+    AttributePath() {
+    }
+
+    /** Number of segments; 1 for a top-level task attribute. */
+    public int depth() {
+        return depth;
+    }
+
+    /** The map key of segment {@code i}, or null when the segment is a sequence index. */
+    public String key(int i) {
+        checkSegment(i);
+        return keys[i];
+    }
+
+    /** The sequence index of segment {@code i}, or -1 when the segment is a map key. */
+    public int index(int i) {
+        checkSegment(i);
+        return indexes[i];
+    }
+
+    /** The top-level attribute the value is under, e.g. the module name or {@code vars}. */
+    public String root() {
+        return depth > 0 ? keys[0] : null;
+    }
+
+    /** The map key of the segment holding the value, or null at the top level or in a sequence. */
+    public String parentKey() {
+        return depth > 1 ? keys[depth - 2] : null;
+    }
+
+    /** Returns true if the value is reached through a sequence element. */
+    public boolean inSequence() {
+        return sequences > 0;
+    }
+
+    void pushKey(String key) {
+        push(key, NO_INDEX);
+    }
+
+    void pushIndex(int index) {
+        push(null, index);
+        sequences++;
+    }
+
+    void pop() {
+        depth--;
+        if (indexes[depth] != NO_INDEX) {
+            sequences--;
+        }
+        keys[depth] = null;
+    }
+
+    private void push(String key, int index) {
+        if (depth == keys.length) {
+            keys = Arrays.copyOf(keys, depth * 2);
+            indexes = Arrays.copyOf(indexes, depth * 2);
+        }
+        keys[depth] = key;
+        indexes[depth] = index;
+        depth++;
+    }
+
+    private void checkSegment(int i) {
+        if (i < 0 || i >= depth) {
+            throw new IndexOutOfBoundsException("Segment " + i + " of a path of depth " + depth);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            if (indexes[i] != NO_INDEX) {
+                text.append('[').append(indexes[i]).append(']');
+            } else {
+                if (i > 0) {
+                    text.append('.');
+                }
+                text.append(keys[i]);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -33,6 +33,34 @@ public abstract class BaseCheck implements AnsibleVisitor {
         return context;
     }
 
+    /**
+     * Whether this check reads {@link AnsibleContext#getDocument()}. When no active check does,
+     * playbooks are parsed in streaming mode without composing a node tree.
+     */
+    public boolean usesDocument() {
+        return false;
+    }
+
+    /**
+     * Whether this check reads {@link AnsibleContext#getProjectSymbols()}. The project index is
+     * only built when an active check does.
+     */
+    public boolean usesProjectSymbols() {
+        return false;
+    }
+
+    /**
+     * Stops the analysis of the file when its time budget ran out or the analysis was cancelled.
+     * Call from loops whose length depends on the input.
+     *
+     * @throws AnalysisCancelledException to abandon the file
+     */
+    protected void checkCancelled() {
+        if (context != null) {
+            context.getCancellation().throwIfCancelled();
+        }
+    }
+
     protected String getRuleKey() {
         Rule r = getClass().getAnnotation(Rule.class);
         return r != null ? r.key() : "unknown";
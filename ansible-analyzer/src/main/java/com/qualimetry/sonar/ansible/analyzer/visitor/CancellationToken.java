@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.visitor;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tells long-running analysis of one file to stop, either because its time budget ran out or
+ * because the whole analysis was cancelled. Checks that loop over input of unbounded size call
+ * {@link #throwIfCancelled()} now and then; the walk also polls it between callbacks.
+ */
+public final class CancellationToken {
+
+    /** A token that is never cancelled. */
+    public static final CancellationToken NONE = new CancellationToken(Long.MAX_VALUE, false, () -> false);
+
+    private final long deadline;
+    private final boolean hasDeadline;
+    private final BooleanSupplier cancelled;
+
+    private CancellationToken(long deadline, boolean hasDeadline, BooleanSupplier cancelled) {
+        this.deadline = deadline;
+        this.hasDeadline = hasDeadline;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * @param budgetNanos time allowed from now; 0 or less for no time limit
+     * @param cancelled   whether the whole analysis was cancelled
+     */
+    public static CancellationToken of(long budgetNanos, BooleanSupplier cancelled) {
+        if (budgetNanos <= 0) {
+            return new CancellationToken(Long.MAX_VALUE, false, cancelled);
+        }
+        return new CancellationToken(System.nanoTime() + budgetNanos, true, cancelled);
+    }
+
+    /** Whether the time budget ran out. */
+    public boolean isExpired() {
+        return hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+
+    /** Whether the time budget ran out or the analysis was cancelled. */
+    public boolean isCancelled() {
+        return isExpired() || cancelled.getAsBoolean();
+    }
+
+    /**
+     * @throws AnalysisCancelledException when the time budget ran out or the analysis was cancelled
+     */
+    public void throwIfCancelled() {
+        if (isExpired()) {
+            throw new AnalysisCancelledException(true);
+        }
+        if (cancelled.getAsBoolean()) {
+            throw new AnalysisCancelledException(false);
+        }
+    }
+}
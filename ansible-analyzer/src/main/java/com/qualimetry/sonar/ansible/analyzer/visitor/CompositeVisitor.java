@@ -0,0 +1,370 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.visitor;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Play;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleMeta;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleRef;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.text.TextRuleEngine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Visitor that forwards every callback to a fixed list of visitors, in list order.
+ * Walking once with a composite gives each visitor the same callback sequence as
+ * walking once per visitor.
+ * <p>
+ * Each callback is only delivered to the visitors whose class overrides it; the
+ * overridden callbacks are found by reflection once per visitor class. All
+ * {@link TextCheck}s are run together in one pass over the raw content, before the
+ * other {@code visitPlaybookFile} subscribers.
+ * <p>
+ * When created with {@link RuleTimings}, the time spent in each visitor's callbacks is
+ * accumulated there; without, callbacks are dispatched directly.
+ * <p>
+ * The {@link CancellationToken} set with {@link #setCancellation} is polled before every
+ * file-level callback of each visitor, once per play, task and role callback, and once every
+ * 256 attribute callbacks.
+ */
+public final class CompositeVisitor implements AnsibleVisitor {
+
+    /** The callbacks of {@link AnsibleVisitor}. */
+    enum Callback {
+        VISIT_PLAYBOOK_FILE("visitPlaybookFile", PlaybookFile.class),
+        VISIT_ROLE_META("visitRoleMeta", RoleMeta.class),
+        VISIT_PLAY("visitPlay", Play.class),
+        VISIT_TASK("visitTask", Task.class),
+        VISIT_ATTRIBUTE("visitAttribute", AttributePath.class, String.class, Object.class, int.class),
+        LEAVE_TASK("leaveTask", Task.class),
+        VISIT_ROLE_REF("visitRoleRef", RoleRef.class),
+        LEAVE_PLAYBOOK_FILE("leavePlaybookFile", PlaybookFile.class),
+        LEAVE_PLAY("leavePlay", Play.class),
+        LEAVE_ROLE_REF("leaveRoleRef", RoleRef.class);
+
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+
+        Callback(String methodName, Class<?>... parameterTypes) {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+    }
+
+    private static final ClassValue<Set<Callback>> OVERRIDDEN = new ClassValue<>() {
+        @Override
+        protected Set<Callback> computeValue(Class<?> type) {
+            EnumSet<Callback> callbacks = EnumSet.noneOf(Callback.class);
+            for (Callback callback : Callback.values()) {
+                try {
+                    if (type.getMethod(callback.methodName, callback.parameterTypes).getDeclaringClass() != AnsibleVisitor.class) {
+                        callbacks.add(callback);
+                    }
+                } catch (NoSuchMethodException e) {
+                    // Not an AnsibleVisitor method on this class: never subscribed.
+                }
+            }
+            return Collections.unmodifiableSet(callbacks);
+        }
+    };
+
+    /** Attribute callbacks between two cancellation polls; a power of two. */
+    private static final int ATTRIBUTES_PER_POLL = 256;
+
+    private final TextCheck[] textChecks;
+    private final TextRuleEngine textEngine;
+    private final RuleTimings timings;
+    private final AnsibleVisitor[] visitPlaybookFile;
+    private final AnsibleVisitor[] visitRoleMeta;
+    private final AnsibleVisitor[] visitPlay;
+    private final AnsibleVisitor[] visitTask;
+    private final AnsibleVisitor[] visitAttribute;
+    private final AnsibleVisitor[] leaveTask;
+    private final AnsibleVisitor[] visitRoleRef;
+    private final AnsibleVisitor[] leavePlaybookFile;
+    private final AnsibleVisitor[] leavePlay;
+    private final AnsibleVisitor[] leaveRoleRef;
+    private CancellationToken cancellation = CancellationToken.NONE;
+    private int attributes;
+
+    public CompositeVisitor(List<? extends AnsibleVisitor> visitors) {
+        this(visitors, null);
+    }
+
+    /**
+     * @param timings where to accumulate the time spent per visitor, sized for {@code visitors};
+     *                null to dispatch without measuring
+     */
+    public CompositeVisitor(List<? extends AnsibleVisitor> visitors, RuleTimings timings) {
+        if (timings != null && timings.size() != visitors.size()) {
+            throw new IllegalArgumentException("Timings sized for " + timings.size() + " visitors, got " + visitors.size());
+        }
+        this.timings = timings;
+        List<AnsibleVisitor> targets = new ArrayList<>(visitors.size());
+        for (int i = 0; i < visitors.size(); i++) {
+            targets.add(timings == null ? visitors.get(i) : new TimedVisitor(visitors.get(i), i, timings));
+        }
+        List<TextCheck> texts = new ArrayList<>();
+        List<AnsibleVisitor> others = new ArrayList<>();
+        for (int i = 0; i < visitors.size(); i++) {
+            AnsibleVisitor visitor = visitors.get(i);
+            if (!OVERRIDDEN.get(visitor.getClass()).contains(Callback.VISIT_PLAYBOOK_FILE)) {
+                continue;
+            }
+            if (visitor instanceof TextCheck textCheck) {
+                texts.add(textCheck);
+            } else {
+                others.add(targets.get(i));
+            }
+        }
+        textChecks = texts.toArray(new TextCheck[0]);
+        textEngine = texts.isEmpty() ? null : new TextRuleEngine(texts);
+        visitPlaybookFile = others.toArray(new AnsibleVisitor[0]);
+        visitRoleMeta = subscribers(visitors, targets, Callback.VISIT_ROLE_META);
+        visitPlay = subscribers(visitors, targets, Callback.VISIT_PLAY);
+        visitTask = subscribers(visitors, targets, Callback.VISIT_TASK);
+        visitAttribute = subscribers(visitors, targets, Callback.VISIT_ATTRIBUTE);
+        leaveTask = subscribers(visitors, targets, Callback.LEAVE_TASK);
+        visitRoleRef = subscribers(visitors, targets, Callback.VISIT_ROLE_REF);
+        leavePlaybookFile = subscribers(visitors, targets, Callback.LEAVE_PLAYBOOK_FILE);
+        leavePlay = subscribers(visitors, targets, Callback.LEAVE_PLAY);
+        leaveRoleRef = subscribers(visitors, targets, Callback.LEAVE_ROLE_REF);
+    }
+
+    /** Sets the token polled during the next walks; {@link CancellationToken#NONE} to never stop. */
+    public void setCancellation(CancellationToken cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    /** Whether some visitor subscribes to {@link #visitAttribute}, so task attributes need a traversal. */
+    boolean visitsAttributes() {
+        return visitAttribute.length > 0;
+    }
+
+    /** Returns the callbacks the given visitor class overrides. */
+    static Set<Callback> overriddenCallbacks(Class<? extends AnsibleVisitor> type) {
+        return OVERRIDDEN.get(type);
+    }
+
+    /** Returns the targets whose visitor overrides the given callback. */
+    private static AnsibleVisitor[] subscribers(List<? extends AnsibleVisitor> visitors,
+                                                List<AnsibleVisitor> targets, Callback callback) {
+        List<AnsibleVisitor> subscribers = new ArrayList<>();
+        for (int i = 0; i < visitors.size(); i++) {
+            if (OVERRIDDEN.get(visitors.get(i).getClass()).contains(callback)) {
+                subscribers.add(targets.get(i));
+            }
+        }
+        return subscribers.toArray(new AnsibleVisitor[0]);
+    }
+
+    @Override
+    public void visitPlaybookFile(PlaybookFile file) {
+        cancellation.throwIfCancelled();
+        if (textEngine != null) {
+            scanText(file);
+        }
+        for (AnsibleVisitor visitor : visitPlaybookFile) {
+            cancellation.throwIfCancelled();
+            visitor.visitPlaybookFile(file);
+        }
+    }
+
+    private void scanText(PlaybookFile file) {
+        if (timings == null) {
+            runTextChecks(file);
+            return;
+        }
+        long start = System.nanoTime();
+        runTextChecks(file);
+        timings.addTextPass(System.nanoTime() - start);
+    }
+
+    private void runTextChecks(PlaybookFile file) {
+        AnsibleContext context = textChecks[0].getContext();
+        for (TextCheck check : textChecks) {
+            if (check.getContext() != context) {
+                // Checks analyzing different contents cannot share a pass.
+                for (TextCheck each : textChecks) {
+                    each.visitPlaybookFile(file);
+                }
+                return;
+            }
+        }
+        if (context != null && context.getRawContent() != null) {
+            textEngine.scan(context.getRawContent());
+        }
+    }
+
+    @Override
+    public void visitRoleMeta(RoleMeta meta) {
+        for (AnsibleVisitor visitor : visitRoleMeta) {
+            cancellation.throwIfCancelled();
+            visitor.visitRoleMeta(meta);
+        }
+    }
+
+    @Override
+    public void visitPlay(Play play) {
+        cancellation.throwIfCancelled();
+        for (AnsibleVisitor visitor : visitPlay) {
+            visitor.visitPlay(play);
+        }
+    }
+
+    @Override
+    public void visitTask(Task task) {
+        cancellation.throwIfCancelled();
+        for (AnsibleVisitor visitor : visitTask) {
+            visitor.visitTask(task);
+        }
+    }
+
+    @Override
+    public void visitAttribute(AttributePath path, String key, Object value, int line) {
+        if ((++attributes & (ATTRIBUTES_PER_POLL - 1)) == 0) {
+            cancellation.throwIfCancelled();
+        }
+        for (AnsibleVisitor visitor : visitAttribute) {
+            visitor.visitAttribute(path, key, value, line);
+        }
+    }
+
+    @Override
+    public void leaveTask(Task task) {
+        for (AnsibleVisitor visitor : leaveTask) {
+            visitor.leaveTask(task);
+        }
+    }
+
+    @Override
+    public void visitRoleRef(RoleRef roleRef) {
+        cancellation.throwIfCancelled();
+        for (AnsibleVisitor visitor : visitRoleRef) {
+            visitor.visitRoleRef(roleRef);
+        }
+    }
+
+    @Override
+    public void leavePlaybookFile(PlaybookFile file) {
+        for (AnsibleVisitor visitor : leavePlaybookFile) {
+            cancellation.throwIfCancelled();
+            visitor.leavePlaybookFile(file);
+        }
+    }
+
+    @Override
+    public void leavePlay(Play play) {
+        for (AnsibleVisitor visitor : leavePlay) {
+            visitor.leavePlay(play);
+        }
+    }
+
+    @Override
+    public void leaveRoleRef(RoleRef roleRef) {
+        for (AnsibleVisitor visitor : leaveRoleRef) {
+            visitor.leaveRoleRef(roleRef);
+        }
+    }
+
+    /** Forwards to one visitor, adding the time spent to its slot in {@link RuleTimings}. */
+    private static final class TimedVisitor implements AnsibleVisitor {
+        private final AnsibleVisitor delegate;
+        private final int index;
+        private final RuleTimings timings;
+
+        TimedVisitor(AnsibleVisitor delegate, int index, RuleTimings timings) {
+            this.delegate = delegate;
+            this.index = index;
+            this.timings = timings;
+        }
+
+        @Override
+        public void visitPlaybookFile(PlaybookFile file) {
+            long start = System.nanoTime();
+            delegate.visitPlaybookFile(file);
+            timings.add(index, System.nanoTime() - start);
+        }
+
+        @Override
+        public void visitRoleMeta(RoleMeta meta) {
+            long start = System.nanoTime();
+            delegate.visitRoleMeta(meta);
+            timings.add(index, System.nanoTime() - start);
+        }
+
+        @Override
+        public void visitPlay(Play play) {
+            long start = System.nanoTime();
+            delegate.visitPlay(play);
+            timings.add(index, System.nanoTime() - start);
+        }
+
+        @Override
+        public void visitTask(Task task) {
+            long start = System.nanoTime();
+            delegate.visitTask(task);
+            timings.add(index, System.nanoTime() - start);
+        }
+
+        @Override
+        public void visitAttribute(AttributePath path, String key, Object value, int line) {
+            long start = System.nanoTime();
+            delegate.visitAttribute(path, key, value, line);
+            timings.add(index, System.nanoTime() - start);
+        }
+
+        @Override
+        public void leaveTask(Task task) {
+            long start = System.nanoTime();
+            delegate.leaveTask(task);
+            timings.add(index, System.nanoTime() - start);
+        }
+
+        @Override
+        public void visitRoleRef(RoleRef roleRef) {
+            long start = System.nanoTime();
+            delegate.visitRoleRef(roleRef);
+            timings.add(index, System.nanoTime() - start);
+        }
+
+        @Override
+        public void leavePlaybookFile(PlaybookFile file) {
+            long start = System.nanoTime();
+            delegate.leavePlaybookFile(file);
+            timings.add(index, System.nanoTime() - start);
+        }
+
+        @Override
+        public void leavePlay(Play play) {
+            long start = System.nanoTime();
+            delegate.leavePlay(play);
+            timings.add(index, System.nanoTime() - start);
+        }
+
+        @Override
+        public void leaveRoleRef(RoleRef roleRef) {
+            long start = System.nanoTime();
+            delegate.leaveRoleRef(roleRef);
+            timings.add(index, System.nanoTime() - start);
+        }
+    }
+}
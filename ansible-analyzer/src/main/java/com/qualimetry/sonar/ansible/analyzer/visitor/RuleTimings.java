@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.visitor;
+
+/**
+ * Cumulative time spent in the callbacks of each visitor of a {@link CompositeVisitor},
+ * indexed like the visitor list it was created with. The fused raw-text pass of all
+ * {@link TextCheck}s is measured as a whole. Not thread-safe: one instance per composite.
+ */
+public final class RuleTimings {
+
+    private final long[] nanos;
+    private long textPassNanos;
+
+    public RuleTimings(int visitorCount) {
+        this.nanos = new long[visitorCount];
+    }
+
+    void add(int index, long elapsed) {
+        nanos[index] += elapsed;
+    }
+
+    void addTextPass(long elapsed) {
+        textPassNanos += elapsed;
+    }
+
+    /** Nanoseconds spent in the callbacks of the visitor at the given index. */
+    public long nanos(int index) {
+        return nanos[index];
+    }
+
+    /** Nanoseconds spent in fused raw-text passes. */
+    public long textPassNanos() {
+        return textPassNanos;
+    }
+
+    public int size() {
+        return nanos.length;
+    }
+}
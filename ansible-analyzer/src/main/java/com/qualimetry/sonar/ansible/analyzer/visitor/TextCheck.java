@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.visitor;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.text.TextRule;
+import com.qualimetry.sonar.ansible.analyzer.text.TextRuleEngine;
+
+import java.util.List;
+
+/**
+ * Base class for checks on the raw file content, implemented as a {@link TextRule}.
+ * Walked alone, a text check scans the content by itself; a {@link CompositeVisitor} runs
+ * all of its text checks together in a single pass.
+ */
+public abstract class TextCheck extends BaseCheck implements TextRule {
+
+    @Override
+    public final void visitPlaybookFile(PlaybookFile file) {
+        String content = getContext() != null ? getContext().getRawContent() : null;
+        if (content == null) return;
+        new TextRuleEngine(List.of(this)).scan(content);
+    }
+}
@@ -47,4 +47,48 @@ class ComplexityCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenManyNestedKeys_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Call
+                  uri:
+                    url: https://example.com
+                    method: POST
+                    headers:
+                      a: 1
+                      b: 2
+                      c: 3
+                    body:
+                      d: 4
+                      e: 5
+                      f: 6
+                      g: 7
+                      h: 8
+                      i: 9
+                      j: 10
+                      k: 11
+                      l: 12
+            """;
+        AnsibleContext context = runCheck(yaml);
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).message()).contains("18 attributes");
+    }
+
+    @Test
+    void whenKeysAreInLoopItems_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Users
+                  user:
+                    name: "{{ item.name }}"
+                  loop:
+                    - {name: a, uid: 1, shell: sh, home: /a, group: g, groups: x, comment: c, state: present}
+                    - {name: b, uid: 2, shell: sh, home: /b, group: g, groups: x, comment: c, state: present}
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
 import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
 import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
@@ -29,8 +30,16 @@ class DefaultsNotVarsCheckTest {
     private final AnsibleParser parser = new AnsibleParser();
 
     private AnsibleContext runCheck(String yaml) {
+        return runCheck(yaml, null);
+    }
+
+    /** Runs the check with an index of the playbook itself (as play.yml) and the other files. */
+    private AnsibleContext runCheck(String yaml, SymbolIndex.Builder project) {
         PlaybookFile file = parser.parse(URI, yaml);
         AnsibleContext context = new AnsibleContext(file, null, yaml);
+        if (project != null) {
+            context.setProjectSymbols(project.add("play.yml", yaml).build().forFile("play.yml"));
+        }
         DefaultsNotVarsCheck check = new DefaultsNotVarsCheck();
         check.setContext(context);
         AnsibleWalker.walk(file, check);
@@ -47,4 +56,37 @@ class DefaultsNotVarsCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void roleVarsAlsoSetInInventory_isReportedWhereRoleIsApplied() {
+        String yaml = """
+            - hosts: all
+              roles:
+                - app
+              tasks:
+                - name: Apply app role
+                  include_role:
+                    name: app
+            """;
+        SymbolIndex.Builder project = SymbolIndex.builder()
+                .add("roles/app/vars/main.yml", "app_port: 8080\n")
+                .add("group_vars/web.yml", "app_port: 9090\n");
+        AnsibleContext context = runCheck(yaml, project);
+        assertThat(context.getIssues()).extracting(issue -> issue.line()).containsExactlyInAnyOrder(3, 5);
+        assertThat(context.getIssues().get(0).message()).contains("\"app\"");
+    }
+
+    @Test
+    void roleDefaultsSetInInventory_isNotReported() {
+        String yaml = """
+            - hosts: all
+              roles:
+                - app
+            """;
+        SymbolIndex.Builder project = SymbolIndex.builder()
+                .add("roles/app/defaults/main.yml", "app_port: 8080\n")
+                .add("roles/app/vars/main.yml", "app_internal: 1\n")
+                .add("group_vars/web.yml", "app_port: 9090\n");
+        assertThat(runCheck(yaml, project).getIssues()).isEmpty();
+    }
 }
@@ -74,4 +74,28 @@ class DeprecatedModuleCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenRemovedCollectionModule_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Compose
+                  community.docker.docker_compose:
+                    project_src: .
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
+
+    @Test
+    void whenRedirectedToActiveModule_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Install
+                  ansible.builtin.yum:
+                    name: git
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
 }
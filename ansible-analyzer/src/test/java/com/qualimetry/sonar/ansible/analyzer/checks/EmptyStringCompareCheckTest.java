@@ -47,4 +47,23 @@ class EmptyStringCompareCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenComparedToEmptyString_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Run when set
+                  debug:
+                    msg: ok
+                  when: my_var != ''
+                - name: Run when not a quote
+                  debug:
+                    msg: ok
+                  when: my_var != '""'
+            """;
+        AnsibleContext context = runCheck(yaml);
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).line()).isEqualTo(3);
+    }
 }
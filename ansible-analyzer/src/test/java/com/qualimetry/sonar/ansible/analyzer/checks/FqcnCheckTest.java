@@ -93,4 +93,18 @@ class FqcnCheckTest {
         assertThat(context.getIssues().get(0).ruleKey()).isEqualTo("qa-full-module-name");
         assertThat(context.getIssues().get(1).ruleKey()).isEqualTo("qa-full-module-name");
     }
+
+    @Test
+    void whenShortNameMovedToCollection_suggestsCollectionModule() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Run
+                  docker_container:
+                    name: web
+            """;
+        AnsibleContext context = runCheck(yaml);
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).message()).contains("community.docker.docker_container");
+    }
 }
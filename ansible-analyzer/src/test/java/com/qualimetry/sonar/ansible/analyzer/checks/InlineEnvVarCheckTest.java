@@ -47,4 +47,18 @@ class InlineEnvVarCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenEnvValueIsTemplated_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Run
+                  command: make
+                  env:
+                    PATH: "{{ ansible_env.PATH }}:/opt/bin"
+                    LANG: C
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
 }
@@ -75,4 +75,23 @@ class LiteralCompareCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenComparedToOtherStringOrTemplatedBool_reportsOnlyTheBool() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Run on day
+                  debug:
+                    msg: ok
+                  when: day == "yesterday"
+                - name: Run when enabled
+                  debug:
+                    msg: ok
+                  when: "{{ my_feature != True }}"
+            """;
+        AnsibleContext context = runCheck(yaml);
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).line()).isEqualTo(7);
+    }
 }
@@ -15,10 +15,12 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
 import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
 import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
 import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleWalker;
+import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
 import com.qualimetry.sonar.ansible.analyzer.visitor.PathResolver;
 import org.junit.jupiter.api.Test;
 
@@ -34,11 +36,18 @@ class LoadFailureCheckTest {
     }
 
     private AnsibleContext runCheck(String yaml, PathResolver pathResolver) {
+        return runCheck(yaml, pathResolver, null);
+    }
+
+    private AnsibleContext runCheck(String yaml, PathResolver pathResolver, SymbolIndex.Builder project) {
         PlaybookFile file = parser.parse(URI, yaml);
         AnsibleContext context = new AnsibleContext(file, null, yaml);
         if (pathResolver != null) {
             context.setPathResolver(pathResolver);
         }
+        if (project != null) {
+            context.setProjectSymbols(project.add("play.yml", yaml).build().forFile("play.yml"));
+        }
         LoadFailureCheck check = new LoadFailureCheck();
         check.setContext(context);
         AnsibleWalker.walk(file, check);
@@ -90,4 +99,43 @@ class LoadFailureCheckTest {
         PathResolver resolver = path -> "tasks/foo.yml".equals(path);
         assertThat(runCheck(yaml, resolver).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenIncludedFileIsOnIncludeCycle_reportsCycle() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - include_tasks: tasks/a.yml
+                - include_role:
+                    name: web
+            """;
+        SymbolIndex.Builder project = SymbolIndex.builder()
+                .add("tasks/a.yml", "- name: A\n  ping:\n- include_tasks: b.yml\n")
+                .add("tasks/b.yml", "- import_tasks: a.yml\n")
+                .add("roles/web/tasks/main.yml", "- name: Web\n  ping:\n");
+
+        AnsibleContext context = runCheck(yaml, null, project);
+
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).line()).isEqualTo(3);
+        assertThat(context.getIssues().get(0).message())
+                .isEqualTo("Include cycle: tasks/a.yml -> tasks/b.yml -> tasks/a.yml");
+    }
+
+    @Test
+    void whenRoleIncludesItself_reportsCycle() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - import_role:
+                    name: web
+            """;
+        SymbolIndex.Builder project = SymbolIndex.builder()
+                .add("roles/web/tasks/main.yml", "- include_role:\n    name: web\n");
+
+        AnsibleContext context = runCheck(yaml, null, project);
+
+        assertThat(context.getIssues()).extracting(Issue::message)
+                .containsExactly("Include cycle: role web -> roles/web/tasks/main.yml -> role web");
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
 import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Play;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
@@ -35,7 +36,14 @@ class MaxTasksPerPlayCheckTest {
     private final AnsibleParser parser = new AnsibleParser();
 
     private AnsibleContext runCheck(PlaybookFile file) {
+        return runCheck(file, null);
+    }
+
+    private AnsibleContext runCheck(PlaybookFile file, SymbolIndex project) {
         AnsibleContext context = new AnsibleContext(file);
+        if (project != null) {
+            context.setProjectSymbols(project.forFile("play.yml"));
+        }
         MaxTasksPerPlayCheck check = new MaxTasksPerPlayCheck();
         check.setContext(context);
         AnsibleWalker.walk(file, check);
@@ -69,4 +77,48 @@ class MaxTasksPerPlayCheckTest {
         assertThat(context.getIssues().get(0).ruleKey()).isEqualTo("qa-limit-tasks-per-play");
         assertThat(context.getIssues().get(0).message()).contains("51");
     }
+
+    @Test
+    void withProjectIndex_countsTasksOfIncludedFilesAndRoles() {
+        String yaml = """
+            - hosts: all
+              roles:
+                - web
+              tasks:
+                - include_tasks: tasks/many.yml
+                - include_tasks: tasks/many.yml
+                - name: Ping
+                  ping:
+            """;
+        StringBuilder many = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            many.append("- name: Step ").append(i).append("\n  ping:\n");
+        }
+        SymbolIndex project = SymbolIndex.builder()
+                .add("play.yml", yaml)
+                .add("tasks/many.yml", many.toString())
+                .add("roles/web/tasks/main.yml", many.toString())
+                .build();
+
+        AnsibleContext context = runCheck(parser.parse(URI, yaml), project);
+
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).message())
+                .isEqualTo("Play has 61 tasks including included files and roles; consider splitting (max 50).");
+    }
+
+    @Test
+    void withProjectIndex_unresolvedIncludesCountAsOneTask() {
+        String yaml = """
+            - hosts: all
+              roles:
+                - unknown
+              tasks:
+                - include_tasks: "{{ ansible_os_family }}.yml"
+                - include_tasks: missing.yml
+            """;
+        SymbolIndex project = SymbolIndex.builder().add("play.yml", yaml).build();
+
+        assertThat(runCheck(parser.parse(URI, yaml), project).getIssues()).isEmpty();
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
 import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
 import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
@@ -29,8 +30,16 @@ class NoHandlerCheckTest {
     private final AnsibleParser parser = new AnsibleParser();
 
     private AnsibleContext runCheck(String yaml) {
+        return runCheck(yaml, null);
+    }
+
+    /** Runs the check with an index of the playbook itself (as play.yml) and the other files. */
+    private AnsibleContext runCheck(String yaml, SymbolIndex.Builder project) {
         PlaybookFile file = parser.parse(URI, yaml);
         AnsibleContext context = new AnsibleContext(file, null, yaml);
+        if (project != null) {
+            context.setProjectSymbols(project.add("play.yml", yaml).build().forFile("play.yml"));
+        }
         NoHandlerCheck check = new NoHandlerCheck();
         check.setContext(context);
         AnsibleWalker.walk(file, check);
@@ -47,4 +56,70 @@ class NoHandlerCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void notifyWithoutHandler_isReported() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Edit config
+                  template:
+                    src: a.conf.j2
+                    dest: /etc/a.conf
+                  notify:
+                    - Restart app
+                    - Reload app
+              handlers:
+                - name: Restart app
+                  service:
+                    name: app
+                    state: restarted
+            """;
+        AnsibleContext context = runCheck(yaml, SymbolIndex.builder());
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).line()).isEqualTo(3);
+        assertThat(context.getIssues().get(0).message()).contains("\"Reload app\"");
+    }
+
+    @Test
+    void handlerInRoleOrListenTopic_isNotReported() {
+        String yaml = """
+            - hosts: all
+              roles:
+                - web
+              tasks:
+                - name: Edit config
+                  template:
+                    src: a.conf.j2
+                    dest: /etc/a.conf
+                  notify: web : Reload nginx
+                - name: Edit site
+                  copy:
+                    src: site
+                    dest: /srv/site
+                  notify: web changed
+            """;
+        SymbolIndex.Builder project = SymbolIndex.builder().add("roles/web/handlers/main.yml", """
+                - name: Reload nginx
+                  listen: web changed
+                  service:
+                    name: nginx
+                    state: reloaded
+                """);
+        assertThat(runCheck(yaml, project).getIssues()).isEmpty();
+    }
+
+    @Test
+    void withoutProjectIndex_reportsNothing() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Edit config
+                  copy:
+                    src: a
+                    dest: /etc/a
+                  notify: Restart app
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
 }
@@ -75,4 +75,18 @@ class NoHttpWithoutTlsCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenTopLevelAndModuleUrlAreHttp_reportsOneIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Download
+                  get_url:
+                    url: http://example.com/a.tgz
+                    dest: /tmp/a.tgz
+                  url: http://example.com/b.tgz
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
 }
@@ -76,4 +76,31 @@ class NoLogPasswordCheckTest {
         assertThat(context.getIssues()).hasSize(1);
         assertThat(context.getIssues().get(0).ruleKey()).isEqualTo("qa-no-log-secrets");
     }
+
+    @Test
+    void whenTokenIsPartOfLongerKey_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Call
+                  uri:
+                    url: https://example.com
+                    token_file: /etc/token
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
+
+    @Test
+    void whenNestedUppercaseSecretKey_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Call
+                  uri:
+                    url: https://example.com
+                    headers:
+                      X-API-SECRET: abc
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
 }
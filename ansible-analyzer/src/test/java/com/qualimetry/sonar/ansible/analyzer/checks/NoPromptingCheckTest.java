@@ -47,4 +47,20 @@ class NoPromptingCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenVarsPrompt_reportsOneFileIssue() {
+        String yaml = """
+            - hosts: all
+              vars_prompt:
+                - name: user
+              tasks: []
+            - vars_prompt :
+                - name: password
+              hosts: db
+            """;
+        AnsibleContext context = runCheck(yaml);
+        assertThat(context.getIssues()).singleElement()
+                .satisfies(issue -> assertThat(issue.ruleKey()).isEqualTo("qa-no-vars-prompt"));
+    }
 }
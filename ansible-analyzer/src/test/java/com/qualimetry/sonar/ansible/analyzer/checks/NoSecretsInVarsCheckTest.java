@@ -47,4 +47,75 @@ class NoSecretsInVarsCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenPlainSecretInTaskVars_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Connect
+                  ansible.builtin.debug:
+                    msg: connecting
+                  vars:
+                    db_password: supersecret123
+                    db_user: app
+            """;
+        AnsibleContext context = runCheck(yaml);
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).ruleKey()).isEqualTo("qa-secrets-not-in-vars");
+    }
+
+    @Test
+    void whenPlainSecretInSetFact_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Set key
+                  set_fact:
+                    API_KEY: key-abc
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
+
+    @Test
+    void whenSecretIsTemplated_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Set key
+                  ansible.builtin.set_fact:
+                    api_key: "{{ lookup('env', 'API_KEY') }}"
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
+
+    @Test
+    void whenSecretWordIsNotTheEndOfTheName_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Configure
+                  ansible.builtin.set_fact:
+                    token_url: https://auth.example.com/token
+                    secret_name: app-tls
+                    password_min_length: "12"
+                    vault_password_file: /etc/ansible/vault-pass
+                    tokens: three
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
+
+    @Test
+    void whenSecretWordEndsTheName_reportsIssuePerName() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Configure
+                  ansible.builtin.set_fact:
+                    DB_PASSWORD: hunter2
+                    aws_secret_access_key: abc
+                    token: xyz
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(3);
+    }
 }
@@ -77,4 +77,46 @@ class NoWorldWritableCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenQualifiedModuleWithMode0666_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Touch
+                  ansible.builtin.file:
+                    path: /tmp/a
+                    state: touch
+                    mode: "0666"
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
+
+    @Test
+    void whenLegacyQualifiedModule_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Copy
+                  ansible.legacy.copy:
+                    src: a
+                    dest: /tmp/a
+                    mode: "0666"
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
+
+    @Test
+    void whenCollectionModuleSharesTheShortName_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Copy
+                  acme.tools.copy:
+                    src: a
+                    dest: /tmp/a
+                    mode: "0666"
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
 }
@@ -63,4 +63,30 @@ class OnlyBuiltinsCheckTest {
         assertThat(context.getIssues()).hasSize(1);
         assertThat(context.getIssues().get(0).ruleKey()).isEqualTo("qa-builtin-modules-only");
     }
+
+    @Test
+    void whenShortNameRunsCollectionModule_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Run
+                  docker_container:
+                    name: web
+            """;
+        AnsibleContext context = runCheck(yaml);
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).message()).contains("community.docker.docker_container");
+    }
+
+    @Test
+    void whenUnknownShortName_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Custom
+                  my_module:
+                    a: 1
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
 }
@@ -47,4 +47,61 @@ class RestrictSudoNopasswdCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenSudoersLineGrantsNopasswd_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Allow wheel
+                  lineinfile:
+                    path: /etc/sudoers
+                    line: "%wheel ALL=(ALL) NOPASSWD: ALL"
+            """;
+        AnsibleContext context = runCheck(yaml);
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).line()).isEqualTo(6);
+        assertThat(context.getIssues().get(0).ruleKey()).isEqualTo("qa-sudo-nopasswd-limit");
+    }
+
+    @Test
+    void whenNopasswdOnlyInComment_reportsNoIssue() {
+        String yaml = """
+            # Do not use NOPASSWD here
+            - hosts: all
+              tasks:
+                - name: Ping host
+                  ping:
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
+
+    @Test
+    void whenNopasswdIsLimitedToCommands_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Allow deploy to restart nginx
+                  lineinfile:
+                    path: /etc/sudoers.d/deploy
+                    line: "deploy ALL=(root) NOPASSWD: /usr/bin/systemctl restart nginx, /usr/bin/systemctl reload nginx"
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
+
+    @Test
+    void whenNopasswdCommandListIsEmptyOrHasAll_reportsIssues() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Sudoers
+                  copy:
+                    dest: /etc/sudoers.d/ops
+                    content: |
+                      ops ALL=(ALL) NOPASSWD:
+                      ci ALL=(ALL) NOPASSWD: SETENV: ALL  # all commands
+                      app ALL=(root) NOPASSWD: /usr/bin/id, (root) ALL
+            """;
+        assertThat(runCheck(yaml).getIssues()).extracting(issue -> issue.line()).containsExactly(7, 8, 9);
+    }
 }
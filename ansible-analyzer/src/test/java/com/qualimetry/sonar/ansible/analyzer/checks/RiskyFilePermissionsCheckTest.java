@@ -77,4 +77,32 @@ class RiskyFilePermissionsCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenQualifiedModuleWithMode0666_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Touch
+                  ansible.builtin.file:
+                    path: /tmp/a
+                    state: touch
+                    mode: "0666"
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
+
+    @Test
+    void whenCollectionModuleSharesTheShortName_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Copy
+                  acme.tools.copy:
+                    src: a
+                    dest: /tmp/a
+                    mode: "0777"
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
 }
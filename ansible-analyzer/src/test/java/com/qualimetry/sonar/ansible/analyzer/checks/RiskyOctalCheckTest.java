@@ -78,4 +78,46 @@ class RiskyOctalCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void whenQualifiedModuleWithMode0777_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Touch
+                  ansible.builtin.file:
+                    path: /tmp/a
+                    state: touch
+                    mode: "0777"
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
+
+    @Test
+    void whenLegacyQualifiedModule_reportsIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Copy
+                  ansible.legacy.copy:
+                    src: a
+                    dest: /tmp/a
+                    mode: "0777"
+            """;
+        assertThat(runCheck(yaml).getIssues()).hasSize(1);
+    }
+
+    @Test
+    void whenCollectionModuleSharesTheShortName_reportsNoIssue() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Copy
+                  acme.tools.copy:
+                    src: a
+                    dest: /tmp/a
+                    mode: "0777"
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
 }
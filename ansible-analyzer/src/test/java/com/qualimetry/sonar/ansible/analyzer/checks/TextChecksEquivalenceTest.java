@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.checks;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleWalker;
+import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The raw-text checks run on the fused text-rule engine must report exactly what the former
+ * split/regex implementations reported, alone and when sharing a single pass.
+ */
+class TextChecksEquivalenceTest {
+
+    private static final Pattern JINJA_NO_SPACE_AFTER_OPEN = Pattern.compile("\\{\\{[^ \\t}]|\\{%[^ %]");
+    private static final Pattern JINJA_NO_SPACE_BEFORE_CLOSE = Pattern.compile("[^ \\t]\\}\\}|[^ %]%\\}");
+
+    private record Rule(Supplier<BaseCheck> check, Function<String, List<String>> reference) {
+    }
+
+    private static final List<Rule> RULES = List.of(
+            new Rule(LineLengthCheck::new, TextChecksEquivalenceTest::lineLength),
+            new Rule(NoTabsCheck::new, TextChecksEquivalenceTest::noTabs),
+            new Rule(NoTrailingWhitespaceCheck::new, TextChecksEquivalenceTest::trailingWhitespace),
+            new Rule(ConsistentIndentationCheck::new, TextChecksEquivalenceTest::indentation),
+            new Rule(JinjaCheck::new, TextChecksEquivalenceTest::jinja),
+            new Rule(NewlineAtEndOfFileCheck::new, TextChecksEquivalenceTest::newlineAtEnd),
+            new Rule(NoPromptingCheck::new, TextChecksEquivalenceTest::noPrompting));
+
+    @Test
+    void edgeCases_matchReference() {
+        List<String> contents = List.of(
+                "", "\n", "a", "a\n", "a\r\n", "a\r", "\r", "\r\r\n", " \n", "\t\n", "x \r\n",
+                "{{x}}", "{{ x }}", "{{}}", "{%x%}", "{% x %}", "{%%}", "a}}", " }}", "\t}}", "%%}", " %}",
+                "{{\tx\t}}", "{\n{x", "}}", "x}\n}",
+                "vars_prompt:", "  vars_prompt  :  ", "vars_prompt\n:", "vars_prompt\r\n:\r\n", "vars_prompt :x",
+                "vvars_prompt:", "vars_promp:", " \t\n vars_prompt\n\n :", "x vars_prompt :",
+                "   a\n     b\n  #c\n      d\n", "    a\n  b\n      c\n", "\u00a0a\n \u2003b\n",
+                "x".repeat(160) + "\n" + "y".repeat(161) + "\r\n" + "z".repeat(161));
+        for (String content : contents) {
+            assertMatchesReference(content);
+        }
+    }
+
+    @Test
+    void randomContent_matchesReference() {
+        Random random = new Random(42);
+        String alphabet = "{}% \t\r\n#:-vars_prompt";
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(60);
+            for (int i = 0; i < length; i++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (random.nextInt(10) == 0) {
+                sb.insert(random.nextInt(sb.length() + 1), random.nextBoolean() ? "vars_prompt:" : " vars_prompt :");
+            }
+            assertMatchesReference(sb.toString());
+        }
+    }
+
+    @Test
+    void fixtures_matchReference() throws IOException, URISyntaxException {
+        Path root = Path.of(getClass().getResource("/checks").toURI());
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                assertMatchesReference(Files.readString(file, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void assertMatchesReference(String content) {
+        PlaybookFile file = new PlaybookFile(List.of(), "file:///test.yml");
+
+        List<BaseCheck> shared = new ArrayList<>();
+        AnsibleContext sharedContext = new AnsibleContext(file, null, content);
+        for (Rule rule : RULES) {
+            BaseCheck check = rule.check().get();
+            check.setContext(sharedContext);
+            shared.add(check);
+        }
+        AnsibleWalker.walk(file, shared);
+        // A second file on the same instances must not see state from the first one.
+        sharedContext = new AnsibleContext(file, null, content);
+        for (BaseCheck check : shared) {
+            check.setContext(sharedContext);
+        }
+        AnsibleWalker.walk(file, shared);
+
+        for (int i = 0; i < RULES.size(); i++) {
+            Rule rule = RULES.get(i);
+            BaseCheck check = rule.check().get();
+            AnsibleContext alone = new AnsibleContext(file, null, content);
+            check.setContext(alone);
+            AnsibleWalker.walk(file, check);
+
+            List<String> expected = rule.reference().apply(content);
+            String ruleKey = check.getClass().getAnnotation(org.sonar.check.Rule.class).key();
+            assertThat(describe(alone.getIssues(), ruleKey)).as("%s on %s", ruleKey, quoted(content))
+                    .containsExactlyElementsOf(expected);
+            assertThat(describe(sharedContext.getIssues(), ruleKey)).as("%s (fused) on %s", ruleKey, quoted(content))
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static List<String> describe(List<Issue> issues, String ruleKey) {
+        return issues.stream()
+                .filter(issue -> issue.ruleKey().equals(ruleKey))
+                .map(issue -> issue.line() + ":" + issue.message())
+                .toList();
+    }
+
+    private static String quoted(String content) {
+        return "\"" + content.replace("\r", "\\r").replace("\n", "\\n").replace("\t", "\\t") + "\"";
+    }
+
+    // Reference implementations: the former split/regex bodies of each check.
+
+    private static List<String> lineLength(String content) {
+        List<String> issues = new ArrayList<>();
+        String[] lines = content.split("\\r?\\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].length() > 160) {
+                issues.add((i + 1) + ":Line length exceeds 160 characters.");
+            }
+        }
+        return issues;
+    }
+
+    private static List<String> noTabs(String content) {
+        List<String> issues = new ArrayList<>();
+        String[] lines = content.split("\\r?\\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].indexOf('\t') >= 0) {
+                issues.add((i + 1) + ":Use spaces for indentation instead of tabs.");
+            }
+        }
+        return issues;
+    }
+
+    private static List<String> trailingWhitespace(String content) {
+        List<String> issues = new ArrayList<>();
+        String[] lines = content.split("\\r?\\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            if (!line.isEmpty() && (line.endsWith(" ") || line.endsWith("\t"))) {
+                issues.add((i + 1) + ":Remove trailing whitespace.");
+            }
+        }
+        return issues;
+    }
+
+    private static List<String> indentation(String content) {
+        List<String> issues = new ArrayList<>();
+        String[] lines = content.split("\\r?\\n", -1);
+        Integer indentWidth = null;
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            String trimmed = line.stripLeading();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+            int spaces = line.length() - trimmed.length();
+            if (spaces == 0) continue;
+            if (spaces % 2 != 0) {
+                issues.add((i + 1) + ":Use an even number of spaces for indentation (2 or 4).");
+                continue;
+            }
+            if (indentWidth == null) {
+                indentWidth = (spaces >= 4 && spaces % 4 == 0) ? 4 : 2;
+            }
+            if (spaces % indentWidth != 0) {
+                issues.add((i + 1) + ":Keep indentation consistent (this file uses " + indentWidth + "-space indent).");
+            }
+        }
+        return issues;
+    }
+
+    private static List<String> jinja(String content) {
+        List<String> issues = new ArrayList<>();
+        String[] lines = content.split("\\r?\\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            if (JINJA_NO_SPACE_AFTER_OPEN.matcher(line).find() || JINJA_NO_SPACE_BEFORE_CLOSE.matcher(line).find()) {
+                issues.add((i + 1) + ":Use spaces inside Jinja delimiters (e.g. {{ expr }} not {{expr}}).");
+            }
+        }
+        return issues;
+    }
+
+    private static List<String> newlineAtEnd(String content) {
+        if (content.isEmpty() || content.endsWith("\n") || content.endsWith("\r\n")) {
+            return List.of();
+        }
+        return List.of("null:Add a newline at the end of this file.");
+    }
+
+    private static List<String> noPrompting(String content) {
+        if (content.contains("vars_prompt:") || content.matches("(?m)^\\s*vars_prompt\\s*:")) {
+            return List.of("null:Avoid vars_prompt; use extra vars or inventory instead.");
+        }
+        return List.of();
+    }
+}
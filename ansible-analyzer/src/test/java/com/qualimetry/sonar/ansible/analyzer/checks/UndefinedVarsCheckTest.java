@@ -15,6 +15,7 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
 import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
 import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
@@ -29,8 +30,16 @@ class UndefinedVarsCheckTest {
     private final AnsibleParser parser = new AnsibleParser();
 
     private AnsibleContext runCheck(String yaml) {
+        return runCheck(yaml, null);
+    }
+
+    /** Runs the check with an index of the playbook itself (as play.yml) and the other files. */
+    private AnsibleContext runCheck(String yaml, SymbolIndex.Builder project) {
         PlaybookFile file = parser.parse(URI, yaml);
         AnsibleContext context = new AnsibleContext(file, null, yaml);
+        if (project != null) {
+            context.setProjectSymbols(project.add("play.yml", yaml).build().forFile("play.yml"));
+        }
         UndefinedVarsCheck check = new UndefinedVarsCheck();
         check.setContext(context);
         AnsibleWalker.walk(file, check);
@@ -47,4 +56,62 @@ class UndefinedVarsCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void variableDefinedNowhere_isReported() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Show port
+                  debug:
+                    msg: "Port {{ app_port }} on {{ inventory_hostname }}"
+            """;
+        AnsibleContext context = runCheck(yaml, SymbolIndex.builder());
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).line()).isEqualTo(3);
+        assertThat(context.getIssues().get(0).message()).contains("\"app_port\"");
+    }
+
+    @Test
+    void variableDefinedInAnotherFile_isNotReported() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Show port
+                  debug:
+                    msg: "Port {{ app_port }}"
+            """;
+        SymbolIndex.Builder project = SymbolIndex.builder().add("roles/app/defaults/main.yml", "app_port: 8080\n");
+        assertThat(runCheck(yaml, project).getIssues()).isEmpty();
+    }
+
+    @Test
+    void registeredFactsAndGuardedReferences_areNotReported() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Run
+                  command: whoami
+                  register: who
+                - name: Show
+                  debug:
+                    msg: "{{ who.stdout }} {{ ansible_facts.hostname }} {{ extra | default('none') }}"
+                - name: Optional
+                  debug:
+                    msg: "{{ maybe if maybe is defined else '' }}"
+            """;
+        assertThat(runCheck(yaml, SymbolIndex.builder()).getIssues()).isEmpty();
+    }
+
+    @Test
+    void withoutProjectIndex_reportsNothing() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Show port
+                  debug:
+                    msg: "{{ app_port }}"
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.qualimetry.sonar.ansible.analyzer.checks;
 
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
 import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
 import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
@@ -29,8 +30,16 @@ class UnusedVarsCheckTest {
     private final AnsibleParser parser = new AnsibleParser();
 
     private AnsibleContext runCheck(String yaml) {
+        return runCheck(yaml, null);
+    }
+
+    /** Runs the check with an index of the playbook itself (as play.yml) and the other files. */
+    private AnsibleContext runCheck(String yaml, SymbolIndex.Builder project) {
         PlaybookFile file = parser.parse(URI, yaml);
         AnsibleContext context = new AnsibleContext(file, null, yaml);
+        if (project != null) {
+            context.setProjectSymbols(project.add("play.yml", yaml).build().forFile("play.yml"));
+        }
         UnusedVarsCheck check = new UnusedVarsCheck();
         check.setContext(context);
         AnsibleWalker.walk(file, check);
@@ -47,4 +56,55 @@ class UnusedVarsCheckTest {
             """;
         assertThat(runCheck(yaml).getIssues()).isEmpty();
     }
+
+    @Test
+    void registeredButNeverRead_isReported() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Run
+                  command: whoami
+                  register: unused_result
+            """;
+        AnsibleContext context = runCheck(yaml, SymbolIndex.builder());
+        assertThat(context.getIssues()).hasSize(1);
+        assertThat(context.getIssues().get(0).line()).isEqualTo(3);
+        assertThat(context.getIssues().get(0).message()).contains("\"unused_result\"");
+    }
+
+    @Test
+    void variablesReadInAnotherFileOrCondition_areNotReported() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Run
+                  command: whoami
+                  register: who
+                - name: Set
+                  set_fact:
+                    cacheable: true
+                    greeting: hello
+                  vars:
+                    ansible_become: true
+                - name: Show
+                  debug:
+                    msg: done
+                  when: who.rc == 0
+            """;
+        SymbolIndex.Builder project = SymbolIndex.builder()
+                .add("roles/app/templates/motd.j2", "{{ greeting }}\n");
+        assertThat(runCheck(yaml, project).getIssues()).isEmpty();
+    }
+
+    @Test
+    void withoutProjectIndex_reportsNothing() {
+        String yaml = """
+            - hosts: all
+              tasks:
+                - name: Run
+                  command: whoami
+                  register: unused_result
+            """;
+        assertThat(runCheck(yaml).getIssues()).isEmpty();
+    }
 }
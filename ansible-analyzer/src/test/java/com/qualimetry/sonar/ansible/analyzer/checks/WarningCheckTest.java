@@ -60,4 +60,18 @@ class WarningCheckTest {
         assertThat(context.getIssues().get(0).ruleKey()).isEqualTo("qa-diagnostic-warning");
         assertThat(context.getIssues().get(0).message()).isEqualTo("Custom diagnostic message.");
     }
+
+    @Test
+    void reportSkippedFile_reportsWithoutMessageParam() {
+        PlaybookFile file = parser.parse(URI, "- hosts: all\n  tasks: []");
+        AnsibleContext context = new AnsibleContext(file, null, null);
+        WarningCheck check = new WarningCheck();
+        check.setContext(context);
+        check.reportSkippedFile("Skipped: over the time budget.");
+        assertThat(context.getIssues()).singleElement()
+                .satisfies(issue -> {
+                    assertThat(issue.message()).isEqualTo("Skipped: over the time budget.");
+                    assertThat(issue.line()).isNull();
+                });
+    }
 }
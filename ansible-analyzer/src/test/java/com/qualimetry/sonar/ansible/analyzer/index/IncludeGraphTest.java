@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlLimits;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncludeGraphTest {
+
+    private static final String SITE = """
+        - import_playbook: playbooks/web.yml
+        - hosts: db
+          become: true
+          roles:
+            - role: database
+              tags: [db]
+          tasks:
+            - name: Ping
+              ping:
+        """;
+    private static final String WEB = """
+        - hosts: web
+          tags: web
+          tasks:
+            - include_tasks: ../tasks/common.yml
+            - include_tasks: ../tasks/common.yml
+            - block:
+                - name: One
+                  debug:
+                - import_role:
+                    name: database
+                    tasks_from: backup
+        """;
+    private static final String COMMON = """
+        - name: Update cache
+          apt:
+            update_cache: true
+        - name: Install tools
+          package:
+            name: tools
+          tags: [packages, common]
+        """;
+
+    private static SymbolIndex project() {
+        return SymbolIndex.builder()
+                .add("site.yml", SITE)
+                .add("playbooks/web.yml", WEB)
+                .add("tasks/common.yml", COMMON)
+                .add("roles/database/tasks/main.yml", "- name: Install\n  package:\n    name: db\n")
+                .add("roles/database/tasks/backup.yml", "- name: Dump\n  command: dump\n- name: Copy\n  copy:\n    src: a\n    dest: b\n")
+                .add("roles/database/meta/main.yml", "dependencies:\n  - role: base\n")
+                .add("roles/base/tasks/main.yml", "- name: Base\n  become: yes\n  ping:\n")
+                .build();
+    }
+
+    @Test
+    void fileScan_recordsIncludesTasksTagsAndBecome() {
+        FileIncludes includes = FileSymbols.scan("playbooks/web.yml", WEB, YamlLimits.defaults()).includes();
+
+        assertThat(includes.includes()).containsExactly(
+                new Include(Include.Type.TASKS, "../tasks/common.yml", null),
+                new Include(Include.Type.TASKS, "../tasks/common.yml", null),
+                new Include(Include.Type.ROLE_TASKS, "database", "backup"));
+        assertThat(includes.tasks()).isEqualTo(1);
+        assertThat(includes.tags()).containsExactly("web");
+        assertThat(includes.become()).isFalse();
+    }
+
+    @Test
+    void summary_followsIncludesRolesAndMetaDependencies() {
+        IncludeGraph graph = project().includes();
+
+        assertThat(graph.summary("tasks/common.yml")).isEqualTo(
+                new IncludeSummary(2, List.of("common", "packages"), false, false));
+        // common.yml twice, one task, database tasks_from backup
+        assertThat(graph.summary("playbooks/web.yml").tasks()).isEqualTo(7);
+        // web.yml, ping, role database (main and base dependency)
+        IncludeSummary site = graph.summary("site.yml");
+        assertThat(site.tasks()).isEqualTo(10);
+        assertThat(site.tags()).containsExactly("common", "db", "packages", "web");
+        assertThat(site.become()).isTrue();
+        assertThat(site.cyclic()).isFalse();
+        assertThat(graph.cycles()).isZero();
+    }
+
+    @Test
+    void summary_ofAnIncludeResolvesRelativeToTheIncludingFile() {
+        IncludeGraph graph = project().includes();
+
+        IncludeSummary common = graph.summary("playbooks/web.yml",
+                new Include(Include.Type.TASKS, "../tasks/common.yml", null));
+        IncludeSummary role = graph.summary("site.yml", new Include(Include.Type.ROLE, "database", null));
+
+        assertThat(common.tasks()).isEqualTo(2);
+        assertThat(role.tasks()).isEqualTo(2);
+        assertThat(role.become()).isTrue();
+        assertThat(graph.summary("site.yml", new Include(Include.Type.TASKS, "tasks/missing.yml", null))).isNull();
+        assertThat(graph.summary("site.yml", new Include(Include.Type.TASKS, "{{ file }}", null))).isNull();
+    }
+
+    @Test
+    void unresolvedTaskIncludes_countAsOneTask() {
+        IncludeGraph graph = SymbolIndex.builder()
+                .add("play.yml", """
+                    - hosts: all
+                      roles:
+                        - missing_role
+                      tasks:
+                        - include_tasks: "{{ os }}.yml"
+                        - include_role:
+                            name: missing_role
+                    """)
+                .build().includes();
+
+        assertThat(graph.summary("play.yml").tasks()).isEqualTo(2);
+    }
+
+    @Test
+    void cycles_areFoundAndSummarizedOnce() {
+        SymbolIndex index = SymbolIndex.builder()
+                .add("play.yml", "- hosts: all\n  tasks:\n    - include_tasks: a.yml\n")
+                .add("a.yml", "- name: A\n  ping:\n- include_tasks: b.yml\n")
+                .add("b.yml", "- name: B\n  ping:\n- import_tasks: a.yml\n")
+                .add("self.yml", "- include_tasks: self.yml\n")
+                .build();
+        IncludeGraph graph = index.includes();
+
+        assertThat(graph.summary("a.yml")).isEqualTo(new IncludeSummary(2, List.of(), false, true));
+        assertThat(graph.summary("b.yml")).isEqualTo(graph.summary("a.yml"));
+        assertThat(graph.summary("play.yml")).isEqualTo(new IncludeSummary(2, List.of(), false, false));
+        assertThat(graph.cycles()).isEqualTo(2);
+        assertThat(graph.cycle("play.yml", new Include(Include.Type.TASKS, "a.yml", null)))
+                .containsExactly("a.yml", "b.yml", "a.yml");
+        assertThat(graph.cycle("a.yml", new Include(Include.Type.TASKS, "b.yml", null)))
+                .containsExactly("b.yml", "a.yml", "b.yml");
+        assertThat(graph.cycle("self.yml", new Include(Include.Type.TASKS, "self.yml", null)))
+                .containsExactly("self.yml", "self.yml");
+        assertThat(graph.cycle("site.yml", new Include(Include.Type.TASKS, "play.yml", null))).isEmpty();
+        assertThat(index.forFile("other/site.yml").includeCycle(new Include(Include.Type.TASKS, "../a.yml", null)))
+                .containsExactly("a.yml", "b.yml", "a.yml");
+    }
+
+    @Test
+    void longIncludeChain_isSummarizedWithoutRecursion() {
+        SymbolIndex.Builder builder = SymbolIndex.builder();
+        int length = 20_000;
+        for (int i = 0; i < length; i++) {
+            builder.add("chain/" + i + ".yml", "- name: Step\n  ping:\n- include_tasks: " + (i + 1) + ".yml\n");
+        }
+
+        IncludeGraph graph = builder.build().includes();
+
+        assertThat(graph.summary("chain/0.yml").tasks()).isEqualTo(length + 1);
+    }
+
+    @Test
+    void includeOfTask_readsPlainAndMappingForms() {
+        assertThat(Include.ofTask(Map.of("include_tasks", " setup.yml ")))
+                .isEqualTo(new Include(Include.Type.TASKS, "setup.yml", null));
+        assertThat(Include.ofTask(Map.of("ansible.builtin.import_tasks", Map.of("file", "x.yml"))))
+                .isEqualTo(new Include(Include.Type.TASKS, "x.yml", null));
+        assertThat(Include.ofTask(Map.of("include_role", Map.of("name", "web", "tasks_from", "install"))))
+                .isEqualTo(new Include(Include.Type.ROLE_TASKS, "web", "install"));
+        assertThat(Include.ofTask(Map.of("debug", Map.of("msg", "x")))).isNull();
+    }
+}
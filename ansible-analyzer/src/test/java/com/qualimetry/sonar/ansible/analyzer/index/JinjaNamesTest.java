@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JinjaNamesTest {
+
+    @Test
+    void forEachReference_readsExpressionsStatementsAndIdentifierLiterals() {
+        List<String> names = new ArrayList<>();
+        JinjaNames.forEachReference("{% for h in hosts %}{{ hostvars[h]['ip_addr'] }}{% endfor %} plain_text",
+                names::add);
+
+        assertThat(names).contains("h", "hosts", "hostvars", "ip_addr").doesNotContain("plain_text");
+    }
+}
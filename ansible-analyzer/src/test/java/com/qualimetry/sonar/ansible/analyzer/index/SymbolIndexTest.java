@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.index;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlLimits;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnalysisCancelledException;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CancellationToken;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SymbolIndexTest {
+
+    private static final String PLAYBOOK = """
+        - hosts: all
+          vars:
+            app_port: 80
+          vars_prompt:
+            - name: admin_password
+          roles:
+            - role: web
+              web_user: bob
+          tasks:
+            - name: Compute
+              set_fact:
+                next_port: "{{ app_port + 1 }}"
+            - name: Run
+              command: echo {{ next_port }}
+              register: echo_result
+              when: echo_enabled and other_result is defined
+              loop_control:
+                loop_var: host
+          handlers:
+            - name: Restart app
+              listen: app changed
+              service:
+                name: app
+        """;
+
+    @Test
+    void playbook_definesVarsPromptsFactsRegisteredAndRoleParameters() {
+        SymbolIndex index = SymbolIndex.builder().add("site.yml", PLAYBOOK).build();
+
+        assertThat(index.isVariableDefined("app_port")).isTrue();
+        assertThat(index.isVariableDefined("admin_password")).isTrue();
+        assertThat(index.isVariableDefined("web_user")).isTrue();
+        assertThat(index.isVariableDefined("next_port")).isTrue();
+        assertThat(index.isVariableDefined("echo_result")).isTrue();
+        assertThat(index.isVariableDefined("host")).isTrue();
+        assertThat(index.isVariableDefined("role")).isFalse();
+        assertThat(index.isVariableDefined("echo_enabled")).isFalse();
+    }
+
+    @Test
+    void playbook_referencesJinjaAndBareConditionNames() {
+        SymbolIndex index = SymbolIndex.builder().add("site.yml", PLAYBOOK).build();
+
+        assertThat(index.isVariableReferenced("app_port")).isTrue();
+        assertThat(index.isVariableReferenced("next_port")).isTrue();
+        assertThat(index.isVariableReferenced("echo_enabled")).isTrue();
+        assertThat(index.isVariableReferenced("other_result")).isTrue();
+        assertThat(index.isVariableReferenced("echo_result")).isFalse();
+    }
+
+    @Test
+    void handlers_comeFromHandlerSectionsAndHandlerFiles() {
+        SymbolIndex index = SymbolIndex.builder()
+                .add("site.yml", PLAYBOOK)
+                .add("roles/web/handlers/main.yml", """
+                    - name: Reload web
+                      service:
+                        name: nginx
+                    - block:
+                        - name: Flush cache
+                          command: flush
+                    """)
+                .build();
+
+        assertThat(index.isHandlerDefined("Restart app")).isTrue();
+        assertThat(index.isHandlerDefined("app changed")).isTrue();
+        assertThat(index.isHandlerDefined("Reload web")).isTrue();
+        assertThat(index.isHandlerDefined("Flush cache")).isTrue();
+        assertThat(index.isHandlerDefined("Compute")).isFalse();
+    }
+
+    @Test
+    void varsFilesInventoriesAndTemplates_areIndexed() {
+        SymbolIndex index = SymbolIndex.builder()
+                .add("roles/web/defaults/main.yml", "web_port: 8080\n")
+                .add("group_vars/all", "ntp_server: pool.ntp.org\n")
+                .add("inventory/hosts", "[web]\nh1 ansible_host=10.0.0.1 rack=a1\n\n[web:vars]\nzone = eu\n")
+                .add("roles/web/templates/site.conf.j2", "listen {{ web_port }};\n{% if tls_enabled %}ssl on;{% endif %}\n")
+                .build();
+
+        assertThat(index.isVariableDefined("web_port")).isTrue();
+        assertThat(index.isVariableDefined("ntp_server")).isTrue();
+        assertThat(index.isVariableDefined("rack")).isTrue();
+        assertThat(index.isVariableDefined("zone")).isTrue();
+        assertThat(index.isVariableReferenced("web_port")).isTrue();
+        assertThat(index.isVariableReferenced("tls_enabled")).isTrue();
+        assertThat(index.isRoleDefined("web")).isTrue();
+        assertThat(index.isRoleDefined("db")).isFalse();
+        assertThat(index.files()).isEqualTo(4);
+    }
+
+    @Test
+    void topLevelKeysOutsideVariableLocations_areNotDefinitions() {
+        SymbolIndex index = SymbolIndex.builder()
+                .add(".gitlab-ci.yml", "stages: [test]\nvariables:\n  GIT_DEPTH: 1\n")
+                .add("docker-compose.yml", "services:\n  web:\n    image: nginx\n")
+                .add("roles/web/meta/main.yml", "galaxy_info:\n  author: me\ndependencies: []\n")
+                .add("vars/unused.yml", "orphan_var: 1\n")
+                .build();
+
+        assertThat(index.isVariableDefined("stages")).isFalse();
+        assertThat(index.isVariableDefined("services")).isFalse();
+        assertThat(index.isVariableDefined("galaxy_info")).isFalse();
+        assertThat(index.isVariableDefined("orphan_var")).isFalse();
+    }
+
+    @Test
+    void filesLoadedWithVarsFilesOrIncludeVars_defineTheirTopLevelKeys() {
+        SymbolIndex index = SymbolIndex.builder()
+                .add("playbooks/site.yml", """
+                    - hosts: all
+                      vars_files:
+                        - ../vars/common.yml
+                        - [ "vars/{{ ansible_os_family }}.yml", vars/default.yml ]
+                    """)
+                .add("roles/web/tasks/main.yml", """
+                    - name: Load settings
+                      include_vars:
+                        file: settings.yml
+                    """)
+                .add("vars/common.yml", "ntp_server: pool.ntp.org\n")
+                .add("playbooks/vars/Debian.yml", "apt_mirror: deb.example\n")
+                .add("playbooks/vars/default.yml", "fallback_mirror: mirror.example\n")
+                .add("roles/web/vars/settings.yml", "web_workers: 4\n")
+                .add("config/other.yml", "other_var: 1\n")
+                .build();
+
+        assertThat(index.isVariableDefined("ntp_server")).isTrue();
+        assertThat(index.isVariableDefined("apt_mirror")).isTrue();
+        assertThat(index.isVariableDefined("fallback_mirror")).isTrue();
+        assertThat(index.isVariableDefined("web_workers")).isTrue();
+        assertThat(index.isVariableDefined("other_var")).isFalse();
+    }
+
+    @Test
+    void roleVarsShadowInventory_onlyWhenInventorySetsARoleVar() {
+        SymbolIndex index = SymbolIndex.builder()
+                .add("roles/web/vars/main.yml", "web_port: 8080\n")
+                .add("roles/db/vars/main.yml", "db_engine: pg\n")
+                .add("roles/db/defaults/main.yml", "db_port: 5432\n")
+                .add("host_vars/db1.yml", "db_port: 5433\n")
+                .add("group_vars/web.yml", "web_port: 9090\n")
+                .build();
+
+        assertThat(index.roleVarsShadowInventory("web")).isTrue();
+        assertThat(index.roleVarsShadowInventory("db")).isFalse();
+    }
+
+    @Test
+    void isIndexed_coversYamlTemplatesAndInventories() {
+        assertThat(FileSymbols.isIndexed("site.yml")).isTrue();
+        assertThat(FileSymbols.isIndexed("roles/web/templates/a.conf.j2")).isTrue();
+        assertThat(FileSymbols.isIndexed("group_vars/all")).isTrue();
+        assertThat(FileSymbols.isIndexed("host_vars/h1.json")).isTrue();
+        assertThat(FileSymbols.isIndexed("inventories/prod/hosts")).isTrue();
+        assertThat(FileSymbols.isIndexed("README.md")).isFalse();
+        assertThat(FileSymbols.isIndexed("files/script.sh")).isFalse();
+    }
+
+    @Test
+    void yamlOverNestingLimit_keepsWhatWasReadBeforeIt() {
+        YamlLimits limits = new YamlLimits(50, 3, YamlLimits.DEFAULT_MAX_CODE_POINTS, true);
+        String content = "first_var: 1\ndeep:\n  a:\n    b:\n      c:\n        d: 1\nlast_var: 2\n";
+
+        SymbolIndex index = SymbolIndex.builder().add(FileSymbols.scan("group_vars/all.yml", content, limits)).build();
+
+        assertThat(index.isVariableDefined("first_var")).isTrue();
+        assertThat(index.isVariableDefined("last_var")).isFalse();
+    }
+
+    @Test
+    void invalidYaml_keepsWhatWasReadBeforeTheError() {
+        SymbolIndex index = SymbolIndex.builder().add("group_vars/all.yml", "good_var: 1\nbad: [unclosed\n").build();
+
+        assertThat(index.isVariableDefined("good_var")).isTrue();
+    }
+
+    @Test
+    void scanPastTheTimeBudget_isAbandoned() {
+        CancellationToken expired = CancellationToken.of(1, () -> false);
+
+        assertThatThrownBy(() -> FileSymbols.scan("vars/main.yml", "app_port: 1\n", YamlLimits.defaults(), expired))
+                .isInstanceOfSatisfying(AnalysisCancelledException.class, e -> assertThat(e.timedOut()).isTrue());
+    }
+
+    @Test
+    void build_closesTheBuilder() {
+        SymbolIndex.Builder builder = SymbolIndex.builder();
+        builder.build();
+
+        assertThatThrownBy(() -> builder.add("site.yml", PLAYBOOK)).isInstanceOf(IllegalStateException.class);
+    }
+}
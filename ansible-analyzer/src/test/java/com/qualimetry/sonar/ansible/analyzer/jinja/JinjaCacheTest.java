@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JinjaCacheTest {
+
+    @Test
+    void sameText_isParsedOnce() {
+        JinjaCache cache = new JinjaCache();
+
+        JinjaTemplate first = cache.template("{{ item.name }}");
+        JinjaTemplate second = cache.template("{{ item.name }}");
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.expression(" item.name ")).isSameAs(first.expressions().get(0));
+        assertThat(cache.hits()).isEqualTo(2);
+    }
+
+    @Test
+    void plainAndLongTexts_areNotKept() {
+        JinjaCache cache = new JinjaCache(100, 10);
+
+        cache.template("no markup here");
+        cache.expression("a_very_long_variable_name");
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.expression("short")).isSameAs(cache.expression("short"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntries_areEvicted() {
+        JinjaCache cache = new JinjaCache(32, 100);
+        for (int i = 0; i < 1_000; i++) {
+            cache.expression("v" + i);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(32);
+    }
+
+    @Test
+    void none_keepsNothing() {
+        assertThat(JinjaCache.none().expression("x")).isNotSameAs(JinjaCache.none().expression("x"));
+        assertThat(JinjaCache.none().size()).isZero();
+    }
+
+    @Test
+    void condition_readsBareAndTemplatedConditions() {
+        JinjaCache cache = new JinjaCache();
+
+        assertThat(cache.condition("x == 1")).extracting(JinjaExpression::text).containsExactly("x == 1");
+        assertThat(cache.condition("{{ x }}")).extracting(JinjaExpression::text).containsExactly(" x ");
+        assertThat(cache.condition(" ")).isEmpty();
+    }
+
+    @Test
+    void concurrentLookups_returnOneInstancePerText() throws Exception {
+        JinjaCache cache = new JinjaCache();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<JinjaExpression>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> cache.expression("shared | default(1)")));
+            }
+            JinjaExpression expected = cache.expression("shared | default(1)");
+            for (Future<JinjaExpression> future : futures) {
+                assertThat(future.get()).isSameAs(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Compare;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Filter;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Literal;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaNode.Name;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JinjaExpressionTest {
+
+    @Test
+    void variables_skipAttributesFiltersTestsCallsKeywordArgumentsAndKeywords() {
+        assertThat(JinjaExpression.parse(
+                " user.name | default(fallback) if enabled is defined and not done else lookup('env', 'HOME') ")
+                .variables()).containsExactly("user", "fallback", "enabled", "done");
+        assertThat(JinjaExpression.parse("items | selectattr('state', 'equalto', wanted) | map(attribute=key) | list")
+                .variables()).containsExactly("items", "wanted", "key");
+        assertThat(JinjaExpression.parse("count == 1 or flag is not none").variables())
+                .containsExactly("count", "flag");
+    }
+
+    @Test
+    void filtersAndTests_areCollected() {
+        JinjaExpression expression = JinjaExpression.parse("x | d('') | ansible.builtin.bool or y is not defined");
+
+        assertThat(expression.filters()).containsExactlyInAnyOrder("d", "ansible.builtin.bool");
+        assertThat(expression.tests()).containsExactly("defined");
+    }
+
+    @Test
+    void operatorsFollowJinjaPrecedence() {
+        JinjaExpression expression = JinjaExpression.parse("a + b * c == d and not e");
+
+        assertThat(expression.comparisons()).hasSize(1);
+        Compare compare = expression.comparisons().get(0);
+        assertThat(compare.operator()).isEqualTo("==");
+        assertThat(compare.right()).isEqualTo(new Name("d"));
+        assertThat(JinjaExpression.parse("-x | abs").root()).isInstanceOf(JinjaNode.Unary.class);
+        assertThat(JinjaExpression.parse("x not in y").comparisons().get(0).operator()).isEqualTo("not in");
+    }
+
+    @Test
+    void literals() {
+        assertThat(JinjaExpression.parse("'a' \"b\"").root()).isEqualTo(new Literal("ab"));
+        assertThat(JinjaExpression.parse("True").root()).isEqualTo(new Literal(true));
+        assertThat(JinjaExpression.parse("none").root()).isEqualTo(new Literal(null));
+        assertThat(JinjaExpression.parse("1_000").root()).isEqualTo(new Literal(1000L));
+        assertThat(JinjaExpression.parse("{'a': [1, 2.5,], 'b': (x,)}").variables()).containsExactly("x");
+    }
+
+    @Test
+    void bareVariable_onlyForASingleName() {
+        assertThat(JinjaExpression.parse(" my_var ").bareVariable()).isEqualTo("my_var");
+        assertThat(JinjaExpression.parse("my_var | bool").bareVariable()).isNull();
+        assertThat(JinjaExpression.parse("my_var.attr").bareVariable()).isNull();
+        assertThat(JinjaExpression.parse("true").bareVariable()).isNull();
+        assertThat(JinjaExpression.parse("my_var | bool").root()).isInstanceOf(Filter.class);
+    }
+
+    @Test
+    void invalidExpression_keepsTextAndError() {
+        JinjaExpression expression = JinjaExpression.parse("foo(");
+
+        assertThat(expression.isValid()).isFalse();
+        assertThat(expression.root()).isNull();
+        assertThat(expression.error()).contains("end of expression");
+        assertThat(expression.text()).isEqualTo("foo(");
+        assertThat(expression.variables()).isEmpty();
+        assertThat(JinjaExpression.parse("a $ b").isValid()).isFalse();
+        assertThat(JinjaExpression.parse("'open").isValid()).isFalse();
+    }
+
+    @Test
+    void deepNesting_isRejectedWithoutOverflowingTheStack() {
+        assertThat(JinjaExpression.parse("(".repeat(100_000)).isValid()).isFalse();
+        assertThat(JinjaExpression.parse("a + ".repeat(100_000) + "b").isValid()).isFalse();
+        assertThat(JinjaExpression.parse("x" + " | f".repeat(100_000)).isValid()).isFalse();
+        assertThat(JinjaExpression.parse("a and ".repeat(50) + "b").isValid()).isTrue();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.jinja;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JinjaTemplateTest {
+
+    @Test
+    void expressions_areReturnedInOrder() {
+        JinjaTemplate template = JinjaTemplate.parse("a {{ x }} b {{y|int}} c {{ open");
+
+        assertThat(template.expressions()).extracting(JinjaExpression::text).containsExactly(" x ", "y|int", " open");
+        assertThat(template.variables()).containsExactly("x", "y", "open");
+        assertThat(template.isSingleExpression()).isFalse();
+    }
+
+    @Test
+    void bareVariable_onlyForOneNameWithWhitespaceAround() {
+        assertThat(JinjaTemplate.parse(" {{ my_var }} ").bareVariable()).isEqualTo("my_var");
+        assertThat(JinjaTemplate.parse("{{- my_var -}}").bareVariable()).isEqualTo("my_var");
+        assertThat(JinjaTemplate.parse("{{ my_var | bool }}").bareVariable()).isNull();
+        assertThat(JinjaTemplate.parse("x{{ my_var }}").bareVariable()).isNull();
+        assertThat(JinjaTemplate.parse("{{ a }}{{ b }}").bareVariable()).isNull();
+    }
+
+    @Test
+    void bracesInsideLiterals_doNotCloseTheExpression() {
+        assertThat(JinjaTemplate.parse("{{ {'a': 1}}}").expressions().get(0).isValid()).isTrue();
+        assertThat(JinjaTemplate.parse("{{ '}}' ~ x }}").variables()).containsExactly("x");
+    }
+
+    @Test
+    void statementsCommentsAndRawBlocks() {
+        JinjaTemplate statement = JinjaTemplate.parse("{% if x %}y{% endif %}");
+        assertThat(statement.isTemplated()).isTrue();
+        assertThat(statement.expressions()).isEmpty();
+
+        assertThat(JinjaTemplate.parse("{# {{ hidden }} #}{{ shown }}").variables()).containsExactly("shown");
+        assertThat(JinjaTemplate.parse("{% raw %}{{ hidden }}{% endraw %}").expressions()).isEmpty();
+    }
+
+    @Test
+    void plainText_isNotTemplated() {
+        JinjaTemplate template = JinjaTemplate.parse("files/app.conf");
+
+        assertThat(template.isTemplated()).isFalse();
+        assertThat(template.expressions()).isEmpty();
+        assertThat(JinjaTemplate.parse("/tmp/{{ dir }}").isTemplated()).isTrue();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.modules;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModuleCatalogTest {
+
+    private final ModuleCatalog catalog = ModuleCatalog.get();
+
+    @Test
+    void everyListedName_isFound() throws Exception {
+        List<ModuleCatalog.Entry> entries;
+        try (InputStream text = ModuleCatalog.class.getResourceAsStream("modules.txt")) {
+            entries = ModuleCatalogCompiler.parse(new InputStreamReader(text, StandardCharsets.UTF_8));
+        }
+
+        assertThat(catalog.size()).isEqualTo(entries.size());
+        for (ModuleCatalog.Entry entry : entries) {
+            assertThat(catalog.lookup(entry.fqcn())).isEqualTo(entry);
+        }
+    }
+
+    @Test
+    void unlistedName_isNotFound() {
+        assertThat(catalog.lookup("ansible.builtin.no_such_module")).isNull();
+        assertThat(catalog.lookup("copy")).isNull();
+        assertThat(catalog.resolve("acme.tools.widget")).isNull();
+        assertThat(catalog.deprecation(null)).isNull();
+    }
+
+    @Test
+    void resolve_followsRedirects() {
+        assertThat(catalog.resolve("ansible.builtin.copy").fqcn()).isEqualTo("ansible.builtin.copy");
+        assertThat(catalog.resolve("ansible.builtin.docker_container").fqcn())
+                .isEqualTo("community.docker.docker_container");
+        assertThat(catalog.resolve("community.kubernetes.k8s").fqcn()).isEqualTo("kubernetes.core.k8s");
+    }
+
+    @Test
+    void deprecation_findsFirstDeprecatedNameOnRoute() {
+        ModuleCatalog.Entry include = catalog.deprecation("ansible.builtin.include");
+        assertThat(include.status()).isEqualTo(ModuleCatalog.Status.REMOVED);
+        assertThat(include.message()).contains("import_playbook");
+
+        assertThat(catalog.deprecation("community.kubernetes.k8s").status())
+                .isEqualTo(ModuleCatalog.Status.DEPRECATED);
+        assertThat(catalog.deprecation("ansible.builtin.copy")).isNull();
+        assertThat(catalog.deprecation("ansible.builtin.docker_container")).isNull();
+    }
+
+    @Test
+    void compiledTable_readsBackTheText() throws Exception {
+        List<ModuleCatalog.Entry> entries = ModuleCatalogCompiler.parse(new StringReader("""
+                # comment
+                acme.a.one
+                acme.a.two -> acme.a.one deprecated 2.0.0 : Use acme.a.one.
+                acme.a.three removed 3.0.0
+                """));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ModuleCatalogCompiler.write(entries, out);
+
+        ModuleCatalog read = ModuleCatalog.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(read.size()).isEqualTo(3);
+        assertThat(read.lookup("acme.a.two")).isEqualTo(new ModuleCatalog.Entry(
+                "acme.a.two", "acme.a.one", ModuleCatalog.Status.DEPRECATED, "2.0.0", "Use acme.a.one."));
+        assertThat(read.resolve("acme.a.two").fqcn()).isEqualTo("acme.a.one");
+        assertThat(read.lookup("acme.a.three").version()).isEqualTo("3.0.0");
+        assertThat(read.lookup("acme.a.four")).isNull();
+    }
+
+    @Test
+    void compiler_rejectsBrokenRoutes() {
+        assertThatThrownBy(() -> ModuleCatalogCompiler.parse(new StringReader("acme.a.one -> acme.a.two\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("acme.a.two");
+        assertThatThrownBy(() -> ModuleCatalogCompiler.parse(new StringReader("""
+                acme.a.one -> acme.a.two
+                acme.a.two -> acme.a.one
+                """)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cycle");
+        assertThatThrownBy(() -> ModuleCatalogCompiler.parse(new StringReader("acme.a.one\nacme.a.one\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ModuleCatalogCompiler.parse(new StringReader("\nacme.a.one retired 1.0\n")))
+                .hasMessageContaining("line 2");
+    }
+}
@@ -20,7 +20,8 @@ import com.qualimetry.sonar.ansible.analyzer.parser.model.Play;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleRef;
 import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -28,32 +29,38 @@ class AnsibleParserTest {
 
     private static final String URI = "file:///repo/playbook.yml";
 
-    private final AnsibleParser parser = new AnsibleParser();
-
-    @Test
-    void emptyContent_returnsEmptyPlays() {
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void emptyContent_returnsEmptyPlays(AnsibleParser.Mode mode) {
+        AnsibleParser parser = new AnsibleParser(mode);
         PlaybookFile result = parser.parse(URI, "");
         assertThat(result.plays()).isEmpty();
         assertThat(result.uri()).isEqualTo(URI);
         assertThat(result.parseError()).isNull();
     }
 
-    @Test
-    void blankContent_returnsEmptyPlays() {
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void blankContent_returnsEmptyPlays(AnsibleParser.Mode mode) {
+        AnsibleParser parser = new AnsibleParser(mode);
         PlaybookFile result = parser.parse(URI, "   \n\t  ");
         assertThat(result.plays()).isEmpty();
         assertThat(result.parseError()).isNull();
     }
 
-    @Test
-    void nullContent_returnsEmptyPlays() {
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void nullContent_returnsEmptyPlays(AnsibleParser.Mode mode) {
+        AnsibleParser parser = new AnsibleParser(mode);
         PlaybookFile result = parser.parse(URI, null);
         assertThat(result.plays()).isEmpty();
         assertThat(result.parseError()).isNull();
     }
 
-    @Test
-    void invalidYaml_returnsParseErrorAndNoCrash() {
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void invalidYaml_returnsParseErrorAndNoCrash(AnsibleParser.Mode mode) {
+        AnsibleParser parser = new AnsibleParser(mode);
         String invalid = "key: [ unclosed";
         PlaybookFile result = parser.parse(URI, invalid);
         assertThat(result.plays()).isEmpty();
@@ -62,16 +69,20 @@ class AnsibleParserTest {
         assertThat(result.parseError().line()).isGreaterThanOrEqualTo(0);
     }
 
-    @Test
-    void invalidYaml_syntaxError_hasReasonableMessage() {
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void invalidYaml_syntaxError_hasReasonableMessage(AnsibleParser.Mode mode) {
+        AnsibleParser parser = new AnsibleParser(mode);
         String invalid = "key: [ unclosed";
         PlaybookFile result = parser.parse(URI, invalid);
         assertThat(result.parseError()).isNotNull();
         assertThat(result.parseError().message()).isNotBlank();
     }
 
-    @Test
-    void validMinimalPlaybook_returnsOnePlayWithTasks() {
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void validMinimalPlaybook_returnsOnePlayWithTasks(AnsibleParser.Mode mode) {
+        AnsibleParser parser = new AnsibleParser(mode);
         String yaml = """
             - name: Test play
               hosts: localhost
@@ -101,8 +112,10 @@ class AnsibleParserTest {
         assertThat(second.line()).isPositive();
     }
 
-    @Test
-    void validPlaybookWithRoles_returnsRoles() {
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void validPlaybookWithRoles_returnsRoles(AnsibleParser.Mode mode) {
+        AnsibleParser parser = new AnsibleParser(mode);
         String yaml = """
             - hosts: all
               roles:
@@ -118,8 +131,10 @@ class AnsibleParserTest {
         assertThat(play.roles().get(1).roleName()).isEqualTo("app_role");
     }
 
-    @Test
-    void validPlaybookWithBlock_flattensTasks() {
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void validPlaybookWithBlock_flattensTasks(AnsibleParser.Mode mode) {
+        AnsibleParser parser = new AnsibleParser(mode);
         String yaml = """
             - hosts: localhost
               tasks:
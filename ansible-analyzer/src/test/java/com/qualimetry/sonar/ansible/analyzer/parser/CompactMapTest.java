@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactMapTest {
+
+    /** Builds the same entries, with a repeated key and a null value, into both maps. */
+    private static void fill(int size, CompactMap.Builder<String, Object> builder, Map<String, Object> reference) {
+        for (int i = 0; i < size; i++) {
+            Object value = i == 1 ? null : "v" + i;
+            builder.put("k" + i, value);
+            reference.put("k" + i, value);
+        }
+        if (size > 0) {
+            builder.put("k0", "again");
+            reference.put("k0", "again");
+        }
+    }
+
+    private static CompactMap<String, Object> map(int size, Map<String, Object> reference) {
+        CompactMap.Builder<String, Object> builder = CompactMap.builder();
+        fill(size, builder, reference);
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, CompactMap.LINEAR_MAX, CompactMap.LINEAR_MAX + 1, 100})
+    void behavesLikeLinkedHashMap(int size) {
+        Map<String, Object> reference = new LinkedHashMap<>();
+        CompactMap<String, Object> map = map(size, reference);
+
+        assertThat(map.size()).isEqualTo(reference.size());
+        assertThat(map.isEmpty()).isEqualTo(reference.isEmpty());
+        for (String key : reference.keySet()) {
+            assertThat(map.get(key)).isEqualTo(reference.get(key));
+            assertThat(map.containsKey(key)).isTrue();
+        }
+        assertThat(map.get("missing")).isNull();
+        assertThat(map.get(null)).isNull();
+        assertThat(map.get(42)).isNull();
+        assertThat(map.containsKey("missing")).isFalse();
+        assertThat(map.containsKey(null)).isFalse();
+        assertThat(map.containsValue(null)).isEqualTo(reference.containsValue(null));
+        assertThat(map.containsValue("again")).isEqualTo(reference.containsValue("again"));
+        assertThat(map.containsValue("nope")).isFalse();
+        assertThat(map.getOrDefault("missing", "d")).isEqualTo("d");
+
+        assertThat(new ArrayList<>(map.keySet())).containsExactlyElementsOf(reference.keySet());
+        assertThat(new ArrayList<>(map.values())).containsExactlyElementsOf(reference.values());
+        assertThat(new ArrayList<>(map.entrySet())).containsExactlyElementsOf(reference.entrySet());
+        assertThat(map.keySet()).isEqualTo(reference.keySet());
+        assertThat(map.entrySet()).isEqualTo(reference.entrySet());
+
+        assertThat(map).isEqualTo(reference);
+        assertThat(reference).isEqualTo(map);
+        assertThat(map.hashCode()).isEqualTo(reference.hashCode());
+        assertThat(map.toString()).isEqualTo(reference.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 3, 20})
+    void iteratorsEndWithNoSuchElement(int size) {
+        CompactMap<String, Object> map = map(size, new LinkedHashMap<>());
+        Iterator<Map.Entry<String, Object>> entries = map.entrySet().iterator();
+        for (int i = 0; i < size; i++) {
+            entries.next();
+        }
+        assertThat(entries.hasNext()).isFalse();
+        assertThatThrownBy(entries::next).isInstanceOf(NoSuchElementException.class);
+        Iterator<String> keys = map.keySet().iterator();
+        keys.forEachRemaining(k -> { });
+        assertThatThrownBy(keys::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 3, 20})
+    void isImmutable(int size) {
+        CompactMap<String, Object> map = map(size, new LinkedHashMap<>());
+        assertThatThrownBy(() -> map.put("x", "y")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> map.putAll(Map.of("x", "y"))).isInstanceOf(UnsupportedOperationException.class);
+        if (size > 0) {
+            assertThatThrownBy(() -> map.remove("k0")).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(map::clear).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> map.entrySet().iterator().next().setValue("z"))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> map.keySet().remove("k0")).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> {
+                Iterator<Object> values = map.values().iterator();
+                values.next();
+                values.remove();
+            }).isInstanceOf(UnsupportedOperationException.class);
+        }
+        assertThat(map).hasSize(size);
+    }
+
+    @Test
+    void findsCollidingKeysAboveThreshold() {
+        // "Aa" and "BB" have the same hash code, as do their concatenations.
+        List<String> keys = List.of("AaAa", "AaBB", "BBAa", "BBBB", "Aa", "BB", "AaAaAa", "AaAaBB", "BBBBBB", "x");
+        CompactMap.Builder<String, Object> builder = CompactMap.builder();
+        for (String key : keys) {
+            builder.put(key, key.length());
+        }
+        builder.put("BB", "replaced");
+        CompactMap<String, Object> map = builder.build();
+        assertThat(map.keySet()).containsExactlyElementsOf(keys);
+        for (String key : keys) {
+            assertThat(map.get(key)).isEqualTo(key.equals("BB") ? "replaced" : key.length());
+        }
+        assertThat(map.get("BBAaAa")).isNull();
+        assertThat(map.entrySet()).contains(new SimpleImmutableEntry<>("BB", "replaced"));
+    }
+
+    @Test
+    void builderRejectsNullKeysAndReuse() {
+        CompactMap.Builder<String, Object> builder = CompactMap.builder();
+        assertThatThrownBy(() -> builder.put(null, "v")).isInstanceOf(NullPointerException.class);
+        builder.put("a", "b").build();
+        assertThatThrownBy(() -> builder.put("c", "d")).isInstanceOf(IllegalStateException.class);
+    }
+}
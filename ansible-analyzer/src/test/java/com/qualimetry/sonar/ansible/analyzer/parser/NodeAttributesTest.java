@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.MappingNode;
+
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NodeAttributesTest {
+
+    private static NodeAttributes attributes(String yaml) {
+        return new NodeAttributes((MappingNode) new Yaml().compose(new StringReader(yaml)), SymbolTable.none());
+    }
+
+    @Test
+    void keepsDocumentOrderAndConvertsValues() {
+        NodeAttributes map = attributes("when: x\nname: a\nvars: {b: [1, 2]}\n");
+        assertThat(map.keySet()).containsExactly("when", "name", "vars");
+        assertThat(map.get("vars")).isEqualTo(Map.of("b", List.of("1", "2")));
+        assertThat(map).hasSize(3).containsKey("when").doesNotContainKey("missing");
+    }
+
+    @Test
+    void repeatedKeyKeepsFirstPositionAndLastValue() {
+        NodeAttributes map = attributes("a: 1\nb: 2\na: 3\n");
+        assertThat(map.keySet()).containsExactly("a", "b");
+        assertThat(map.get("a")).isEqualTo("3");
+    }
+
+    @Test
+    void dropsNonScalarKeys() {
+        NodeAttributes map = attributes("? [x]\n: y\nz: w\n");
+        assertThat(map).containsOnlyKeys("z");
+    }
+
+    @Test
+    void convertsEachValueOnce() {
+        NodeAttributes map = attributes("loop: [a, b]\n");
+        assertThat(map.get("loop")).isSameAs(map.get("loop"));
+        assertThat(map.entrySet().iterator().next().getValue()).isSameAs(map.get("loop"));
+    }
+
+    @Test
+    void equalsEagerMap() {
+        NodeAttributes map = attributes("name: a\nshell: b\nargs: {chdir: /tmp}\n");
+        Map<String, Object> eager = new LinkedHashMap<>();
+        eager.put("name", "a");
+        eager.put("shell", "b");
+        eager.put("args", Map.of("chdir", "/tmp"));
+        assertThat(map).isEqualTo(eager);
+        assertThat(eager).isEqualTo(map);
+        assertThat(map.hashCode()).isEqualTo(eager.hashCode());
+    }
+
+    @Test
+    void isReadOnly() {
+        NodeAttributes map = attributes("name: a\n");
+        assertThatThrownBy(() -> map.put("b", "c")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> map.remove("name")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> map.entrySet().iterator().next().setValue("x"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Play;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.testing.SyntheticCorpus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the streaming mode builds exactly what the tree mode builds, parse errors included.
+ */
+class StreamingPlaybookParserTest {
+
+    private static final String URI = "file:///repo/playbook.yml";
+
+    private final AnsibleParser tree = new AnsibleParser(AnsibleParser.Mode.TREE);
+    private final AnsibleParser streaming = new AnsibleParser(AnsibleParser.Mode.STREAMING);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "- hosts: all\n  tasks:\n    - name: a\n      debug: {msg: x}\n",
+            "- hosts: all\n  vars: {a: [1, {b: c}]}\n  tasks: &t\n    - name: a\n      shell: x\n- hosts: db\n  tasks: *t\n",
+            "- hosts: all\n  tasks:\n    - &task\n      name: a\n      copy: {src: a, dest: b}\n    - *task\n    - block:\n        - *task\n",
+            "- hosts: all\n  tasks:\n    - name: a\n      apt: &opts {name: x, state: present}\n    - name: b\n      apt:\n        <<: *opts\n        state: absent\n",
+            "- hosts: all\n  tasks:\n    - name: a\n      command: &c x\n    - name: *c\n      command: *c\n",
+            "- hosts: all\n  name: first\n  name: second\n  tasks:\n    - debug: {msg: 1}\n      debug: {msg: 2}\n",
+            "- hosts: all\n  tasks:\n    - name: a\n      block:\n        - name: b\n          command: x\n      rescue:\n        - command: y\n      block:\n        - command: z\n",
+            "- hosts: all\n  tasks:\n    - include: other.yml\n    - import_playbook: site.yml\n    - include_tasks: t.yml\n    - name: only name\n",
+            "- hosts: all\n  roles:\n    - common\n    - role: web\n      role: ignored\n    - {name: nope}\n    - [list]\n",
+            "- hosts: all\n  tags: one\n- hosts: all\n  tags: [a, '', {b: c}, d]\n- hosts: all\n  tags: {a: b}\n",
+            "- hosts: all\n  tasks:\n    - ? [complex, key]\n      : value\n      shell: x\n      empty:\n",
+            "- hosts: all\n  tasks: not-a-list\n  roles: {a: b}\n",
+            "- just a scalar\n- {nothing: here}\n- [a, b]\n",
+            "root: mapping\n",
+            "plain scalar\n",
+            "---\n",
+            "# only a comment\n",
+            "- hosts: all\n  tasks:\n    - name: !!str tagged\n      shell: !custom x\n",
+            "- hosts: all\n---\n- hosts: other\n",
+            "- hosts: all\n  tasks:\n    - name: a\n      shell: *missing\n",
+            "- hosts: all\n  tasks:\n    - name: a\n      shell: !!python/object:os.system x\n",
+            "- hosts: all\n  tasks:\n    - name: a\n      shell: !<tag:example.com,2000:app/foo> x\n",
+            "- hosts: all\n  tasks: [ unclosed\n",
+            "- hosts: all\n  tasks:\n\t- name: tab\n",
+            "key: value\n  bad: indent\n"
+    })
+    void sameResultAsTree(String content) {
+        assertSame(content);
+    }
+
+    @Test
+    void sameErrorWhenAliasLimitIsExceeded() {
+        StringBuilder content = new StringBuilder("- hosts: all\n  vars: &v {a: b}\n  tasks:\n");
+        for (int i = 0; i < 60; i++) {
+            content.append("    - name: t").append(i).append("\n      apt: *v\n");
+        }
+        PlaybookFile result = streaming.parse(URI, content.toString());
+        assertThat(result.parseError()).isNotNull();
+        assertSame(content.toString());
+    }
+
+    @Test
+    void sameErrorWhenNestingIsTooDeep() {
+        String content = "- hosts: all\n  vars: " + "[".repeat(60) + "]".repeat(60) + "\n";
+        PlaybookFile result = streaming.parse(URI, content);
+        assertThat(result.parseError()).isNotNull();
+        assertSame(content);
+    }
+
+    @Test
+    void dropsRecursiveAlias() {
+        Task task = streaming.parse(URI, "- hosts: all\n  tasks:\n    - &r\n      name: a\n      loop: *r\n")
+                .plays().get(0).tasks().get(0);
+        assertThat(task.name()).isEqualTo("a");
+        assertThat(task.attributes()).containsOnlyKeys("name");
+    }
+
+    @Test
+    void keepsAttributeOrder() {
+        Task task = streaming.parse(URI, "- hosts: all\n  tasks:\n    - when: x\n      name: a\n      shell: y\n")
+                .plays().get(0).tasks().get(0);
+        assertThat(task.attributes().keySet()).containsExactly("when", "name", "shell");
+        assertThat(task.moduleKey()).isEqualTo("when");
+        assertThat(task.line()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @MethodSource("corpusFiles")
+    void sameResultOnSyntheticCorpus(String content) {
+        assertSame(content);
+    }
+
+    @Test
+    void sameResultOnCheckFixtures() throws IOException {
+        List<Path> fixtures;
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources"))) {
+            fixtures = files.filter(p -> p.toString().endsWith(".yml") || p.toString().endsWith(".yaml")).toList();
+        }
+        assertThat(fixtures).isNotEmpty();
+        for (Path fixture : fixtures) {
+            assertSame(Files.readString(fixture, StandardCharsets.UTF_8));
+        }
+    }
+
+    static Stream<String> corpusFiles() {
+        Map<String, String> files = SyntheticCorpus.builder().seed(12).roles(6).blockDepth(3).anchorRatio(1.0)
+                .violationDensity(0.5).build().files();
+        return new ArrayList<>(files.values()).stream();
+    }
+
+    private void assertSame(String content) {
+        PlaybookFile expected = tree.parse(URI, content);
+        PlaybookFile actual = streaming.parse(URI, content);
+        assertThat(actual).isEqualTo(expected);
+        for (int i = 0; i < expected.plays().size(); i++) {
+            Play play = expected.plays().get(i);
+            for (int j = 0; j < play.tasks().size(); j++) {
+                assertThat(actual.plays().get(i).tasks().get(j).attributes().keySet())
+                        .containsExactlyElementsOf(play.tasks().get(j).attributes().keySet());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.ModuleRef;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolTableTest {
+
+    @Test
+    void returnsOneInstancePerString() {
+        SymbolTable table = new SymbolTable();
+        String first = table.intern(new String("when"));
+        assertThat(table.intern(new String("when"))).isSameAs(first);
+        assertThat(table.intern(null)).isNull();
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsLongStrings() {
+        SymbolTable table = new SymbolTable(10, 4);
+        String longValue = new String("abcde");
+        assertThat(table.intern(longValue)).isSameAs(longValue);
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    void stopsGrowingAtCapacity() {
+        SymbolTable table = new SymbolTable(2, 32);
+        String a = table.intern(new String("a"));
+        table.intern("b");
+        String c = new String("c");
+        assertThat(table.intern(c)).isSameAs(c);
+        assertThat(table.intern(new String("a"))).isSameAs(a);
+        assertThat(table.size()).isEqualTo(2);
+    }
+
+    @Test
+    void noneInternsNothing() {
+        String value = new String("name");
+        assertThat(SymbolTable.none().intern(value)).isSameAs(value);
+    }
+
+    @Test
+    void threadsShareCanonicalInstances() throws Exception {
+        SymbolTable table = new SymbolTable();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> table.intern(new String("ansible.builtin.copy"))));
+            }
+            String expected = results.get(0).get();
+            for (Future<String> result : results) {
+                assertThat(result.get()).isSameAs(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void returnsOneModuleReferencePerKey() {
+        SymbolTable table = new SymbolTable();
+        ModuleRef first = table.module(new String("ansible.builtin.copy"));
+
+        assertThat(table.module(new String("ansible.builtin.copy"))).isSameAs(first);
+        assertThat(first.key()).isSameAs(table.intern("ansible.builtin.copy"));
+        assertThat(table.module(null)).isNull();
+        assertThat(SymbolTable.none().module("copy")).isNotSameAs(SymbolTable.none().module("copy"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void parsersShareKeysAndModuleKeys(AnsibleParser.Mode mode) {
+        SymbolTable table = new SymbolTable();
+        AnsibleParser parser = new AnsibleParser(mode, table);
+        String content = "- hosts: all\n  tasks:\n    - name: a\n      ansible.builtin.copy: {src: a, dest: b}\n      become: \"yes\"\n";
+        Task first = parser.parse("file:///a.yml", content).plays().get(0).tasks().get(0);
+        Task second = parser.parse("file:///b.yml", content).plays().get(0).tasks().get(0);
+        assertThat(second.moduleKey()).isSameAs(first.moduleKey());
+        assertThat(second.module()).isSameAs(first.module());
+        assertThat(second.attributes().get("become")).isSameAs(first.attributes().get("become"));
+        assertThat(List.copyOf(second.attributes().keySet()).get(1))
+                .isSameAs(List.copyOf(first.attributes().keySet()).get(1));
+    }
+}
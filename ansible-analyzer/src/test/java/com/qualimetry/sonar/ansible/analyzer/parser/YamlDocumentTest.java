@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class YamlDocumentTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "- hosts: all\n  tasks:\n    - name: Ping\n      ping:\n",
+            "a: 1\nb: 2.5\nc: true\nd: null\ne: ~\nf: 0o17\ng: 0x1F\nh: 2024-01-01\ni: '1'\nj: [1, two, 3.0]\n",
+            "key: value\nkey: other\nnext: 1\n",
+            "base: &base {a: 1, b: 2}\nchild:\n  <<: *base\n  b: 3\n  c: 4\n",
+            "one: &one {a: 1, x: 1}\ntwo: &two {a: 2, y: 2}\nboth:\n  c: 0\n  <<: [*one, *two]\n  a: 9\n",
+            "base: &base {a: 1}\nmid: &mid {<<: *base, b: 2}\nleaf: {<<: *mid, c: 3}\n",
+            "dup: {a: 1, <<: {a: 5, z: 6}, a: 2}\n",
+            "shared: &s [1, 2]\nuse: *s\n",
+            "set: !!set {a, b}\n",
+            "galaxy_info:\n  author: me\n  min_ansible_version: 2.9\n  galaxy_tags: [web, db]\ndependencies: []\n",
+            "? [complex, key]\n: value\n",
+            "plain scalar",
+            "",
+            "   \n",
+            "---\n...\n"
+    })
+    void data_matchesYamlLoad(String content) {
+        YamlDocument document = YamlDocument.parse(content);
+
+        assertThat(document.parseError()).isNull();
+        assertThat(document.data()).isEqualTo(content.isBlank() ? null : new Yaml().load(content));
+    }
+
+    @Test
+    void data_preservesMappingOrderOfYamlLoad() {
+        String content = "z: 1\na: 2\nz: 3\nbase: &b {q: 1, a: 0}\nm: {x: 1, <<: *b, y: 2}\n";
+        Map<?, ?> expected = new Yaml().load(content);
+        Map<?, ?> actual = (Map<?, ?>) YamlDocument.parse(content).data();
+
+        assertThat(List.copyOf(actual.keySet())).isEqualTo(List.copyOf(expected.keySet()));
+        assertThat(List.copyOf(((Map<?, ?>) actual.get("m")).keySet()))
+                .isEqualTo(List.copyOf(((Map<?, ?>) expected.get("m")).keySet()));
+    }
+
+    @Test
+    void data_sharesObjectsForAliases() {
+        Map<?, ?> data = (Map<?, ?>) YamlDocument.parse("a: &x [1]\nb: *x\n").data();
+
+        assertThat(data.get("a")).isSameAs(data.get("b"));
+    }
+
+    @Test
+    void data_doesNotModifyNodeTree() {
+        String content = "base: &base {a: 1}\nm:\n  <<: *base\n  b: 2\n  b: 3\n";
+        YamlDocument document = YamlDocument.parse(content);
+        MappingNode m = (MappingNode) ((MappingNode) document.root()).getValue().get(1).getValueNode();
+        int tuples = m.getValue().size();
+
+        document.data();
+
+        assertThat(m.getValue()).hasSize(tuples);
+    }
+
+    @Test
+    void playbookModel_isSameBeforeAndAfterData() {
+        String content = "- hosts: all\n  tasks:\n    - name: A\n      debug: {msg: 1, msg: 2}\n";
+        YamlDocument document = YamlDocument.parse(content);
+        AnsibleParser parser = new AnsibleParser();
+        document.data();
+
+        PlaybookFile fromDocument = parser.parseDocument("file:///p.yml", document);
+        PlaybookFile fromContent = parser.parse("file:///p.yml", content);
+
+        assertThat(fromDocument).isEqualTo(fromContent);
+    }
+
+    @Test
+    void syntaxError_isReportedWithLine() {
+        YamlDocument document = YamlDocument.parse("a: [1, 2\nb: 3\n");
+
+        assertThat(document.root()).isNull();
+        assertThat(document.parseError()).isNotNull();
+        assertThat(document.parseError().line()).isPositive();
+        assertThat(document.data()).isNull();
+    }
+
+    @Test
+    void unknownTag_composesButDataThrows() {
+        YamlDocument document = YamlDocument.parse("password: !vault |\n  $ANSIBLE_VAULT;1.1;AES256\n");
+
+        assertThat(document.parseError()).isNull();
+        assertThat(document.root()).isNotNull();
+        assertThatThrownBy(document::data).isInstanceOf(YAMLException.class);
+        assertThatThrownBy(() -> new Yaml().load("password: !vault |\n  $ANSIBLE_VAULT;1.1;AES256\n"))
+                .isInstanceOf(YAMLException.class);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.model.ParseError;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class YamlLimitsTest {
+
+    private static final String URI = "file:///repo/playbook.yml";
+
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void aliasBomb_isLimitError(AnsibleParser.Mode mode) {
+        StringBuilder content = new StringBuilder("a: &a [x, x, x, x, x, x, x, x, x]\n");
+        for (char c = 'b'; c <= 'i'; c++) {
+            char prev = (char) (c - 1);
+            content.append(c).append(": &").append(c).append(" [");
+            content.append(("*" + prev + ", ").repeat(8)).append('*').append(prev).append("]\n");
+        }
+        ParseError error = parse(mode, YamlLimits.defaults(), content.toString());
+
+        assertThat(error).isNotNull();
+        assertThat(error.limitExceeded()).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void deepNesting_isLimitError(AnsibleParser.Mode mode) {
+        String content = "- hosts: all\n  vars: " + "[".repeat(200) + "]".repeat(200) + "\n";
+        ParseError error = parse(mode, YamlLimits.defaults(), content);
+
+        assertThat(error).isNotNull();
+        assertThat(error.limitExceeded()).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void oversizedFile_isLimitError(AnsibleParser.Mode mode) {
+        YamlLimits limits = new YamlLimits(50, 50, 64, true);
+        String content = "- hosts: all\n  tasks:\n" + "    - name: ping\n      ping:\n".repeat(10);
+        ParseError error = parse(mode, limits, content);
+
+        assertThat(error).isNotNull();
+        assertThat(error.limitExceeded()).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void customNestingLimit_isHonoured(AnsibleParser.Mode mode) {
+        String content = "- hosts: all\n  vars: {a: {b: {c: {d: 1}}}}\n";
+
+        assertThat(parse(mode, YamlLimits.defaults(), content)).isNull();
+        assertThat(parse(mode, new YamlLimits(50, 4, YamlLimits.DEFAULT_MAX_CODE_POINTS, true), content).limitExceeded())
+                .isTrue();
+    }
+
+    @Test
+    void syntaxError_isNotLimitError() {
+        ParseError error = parse(AnsibleParser.Mode.TREE, YamlLimits.defaults(), "a: [1, 2\nb: 3\n");
+
+        assertThat(error).isNotNull();
+        assertThat(error.limitExceeded()).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(AnsibleParser.Mode.class)
+    void duplicateKeys_areAllowedByDefault(AnsibleParser.Mode mode) {
+        assertThat(parse(mode, YamlLimits.defaults(), "- hosts: all\n  name: a\n  name: b\n")).isNull();
+    }
+
+    @Test
+    void duplicateKeys_giveSameErrorInBothModesWhenDisallowed() {
+        YamlLimits limits = new YamlLimits(50, 50, YamlLimits.DEFAULT_MAX_CODE_POINTS, false);
+        String content = "- hosts: all\n  tasks:\n    - name: a\n      shell: x\n      vars: {b: 1, b: 2}\n";
+
+        ParseError tree = parse(AnsibleParser.Mode.TREE, limits, content);
+        ParseError streaming = parse(AnsibleParser.Mode.STREAMING, limits, content);
+
+        assertThat(tree).isNotNull();
+        assertThat(tree.limitExceeded()).isFalse();
+        assertThat(tree.line()).isEqualTo(5);
+        assertThat(streaming).isEqualTo(tree);
+    }
+
+    @Test
+    void mergeKey_isNotADuplicate() {
+        YamlLimits limits = new YamlLimits(50, 50, YamlLimits.DEFAULT_MAX_CODE_POINTS, false);
+        String content = "- hosts: all\n  vars:\n    a: &a {x: 1}\n    b: &b {y: 1}\n    c:\n      <<: *a\n      <<: *b\n";
+
+        assertThat(parse(AnsibleParser.Mode.TREE, limits, content)).isNull();
+        assertThat(parse(AnsibleParser.Mode.STREAMING, limits, content)).isNull();
+    }
+
+    @Test
+    void toString_coversEveryLimit() {
+        assertThat(YamlLimits.defaults().toString())
+                .isEqualTo("aliases=50,depth=50,codePoints=3145728,duplicateKeys=true");
+    }
+
+    private static ParseError parse(AnsibleParser.Mode mode, YamlLimits limits, String content) {
+        PlaybookFile file = new AnsibleParser(mode, SymbolTable.none(), limits).parse(URI, content);
+        return file.parseError();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.parser.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModuleRefTest {
+
+    @Test
+    void shortName_resolvesToBuiltin() {
+        ModuleRef module = ModuleRef.of("copy");
+
+        assertThat(module.name()).isEqualTo("copy");
+        assertThat(module.collection()).isNull();
+        assertThat(module.shortName()).isEqualTo("copy");
+        assertThat(module.fqcn()).isEqualTo("ansible.builtin.copy");
+        assertThat(module.isQualified()).isFalse();
+        assertThat(module.isBuiltin()).isTrue();
+        assertThat(module.includeTarget()).isNull();
+    }
+
+    @Test
+    void shortNameOutsideTheBuiltinCatalog_isNotBuiltin() {
+        assertThat(ModuleRef.of("docker_container").isBuiltin()).isFalse();
+        assertThat(ModuleRef.of("ufw").isBuiltin()).isFalse();
+        assertThat(ModuleRef.of("mount").isBuiltin()).isFalse();
+        assertThat(ModuleRef.of("ansible.builtin.file").isBuiltin()).isTrue();
+        assertThat(ModuleRef.of("ansible.legacy.file").isBuiltin()).isTrue();
+    }
+
+    @Test
+    void qualifiedName_keepsItsCollection() {
+        ModuleRef module = ModuleRef.of("community.general.ufw");
+
+        assertThat(module.collection()).isEqualTo("community.general");
+        assertThat(module.shortName()).isEqualTo("ufw");
+        assertThat(module.fqcn()).isEqualTo("community.general.ufw");
+        assertThat(module.isBuiltin()).isFalse();
+        assertThat(ModuleRef.of("ansible.legacy.command").fqcn()).isEqualTo("ansible.builtin.command");
+    }
+
+    @Test
+    void include_splitsItsTarget() {
+        ModuleRef module = ModuleRef.of("include:tasks/setup.yml");
+
+        assertThat(module.key()).isEqualTo("include:tasks/setup.yml");
+        assertThat(module.name()).isEqualTo("include");
+        assertThat(module.includeTarget()).isEqualTo("tasks/setup.yml");
+        assertThat(ModuleRef.of("import_playbook:site.yml").includeTarget()).isEqualTo("site.yml");
+    }
+
+    @Test
+    void args_areTheModuleArgumentMap() {
+        ModuleRef module = ModuleRef.of("ansible.builtin.file");
+
+        assertThat(module.args(Map.of("name", "x", "ansible.builtin.file", Map.of("mode", "0644"))))
+                .containsEntry("mode", "0644");
+        assertThat(ModuleRef.of("command").args(Map.of("command", "ls"))).isNull();
+        assertThat(module.args(null)).isNull();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.testing;
+
+import com.qualimetry.sonar.ansible.analyzer.checks.CheckList;
+import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.RoleMetaParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlDocument;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleWalker;
+import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CompositeVisitor;
+import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
+import com.qualimetry.sonar.ansible.analyzer.visitor.RoleMetaDetector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every check over synthetic corpora of growing size. The largest corpus has
+ * {@code -Dansible.scaling.roles} roles (default 200, about 1,300 files); set it to 2000 or
+ * more to reproduce a 10k+ file monorepo.
+ */
+class CorpusScalingTest {
+
+    private static final int LARGE_ROLES = Integer.getInteger("ansible.scaling.roles", 200);
+
+    @Test
+    void issuesOfAFile_doNotDependOnCorpusSize() {
+        Map<String, List<Issue>> small = analyze(SyntheticCorpus.builder().roles(10).build().files());
+        Map<String, List<Issue>> large = analyze(SyntheticCorpus.builder().roles(40).build().files());
+
+        small.forEach((path, issues) -> {
+            if (path.startsWith("roles/")) {
+                assertThat(large.get(path)).as(path).isEqualTo(issues);
+            }
+        });
+    }
+
+    @Test
+    void issueCount_growsLinearlyWithCorpusSize() {
+        int quarter = Math.max(1, LARGE_ROLES / 4);
+        long smallIssues = countIssues(analyze(SyntheticCorpus.builder().roles(quarter).build().files()));
+        Map<String, String> largeCorpus = SyntheticCorpus.builder().roles(quarter * 4).build().files();
+        Map<String, List<Issue>> large = analyze(largeCorpus);
+
+        assertThat(large).hasSize(largeCorpus.size());
+        assertThat((double) countIssues(large)).isBetween(smallIssues * 4 * 0.8, smallIssues * 4 * 1.2);
+    }
+
+    @Test
+    void issueCount_followsViolationDensity() {
+        SyntheticCorpus.Builder corpus = SyntheticCorpus.builder().roles(20);
+        long clean = countIssues(analyze(corpus.violationDensity(0).build().files()));
+        long some = countIssues(analyze(corpus.violationDensity(0.2).build().files()));
+        long many = countIssues(analyze(corpus.violationDensity(0.8).build().files()));
+
+        assertThat(clean).isLessThan(some);
+        assertThat(some).isLessThan(many);
+    }
+
+    @Test
+    void deepCorpus_parsesWithoutErrors() {
+        Map<String, String> files = SyntheticCorpus.builder()
+                .roles(20).includeDepth(8).blockDepth(8).anchorRatio(1).build().files();
+
+        analyze(files).forEach((path, issues) ->
+                assertThat(issues).as(path).noneMatch(issue -> "qa-valid-yaml".equals(issue.ruleKey())));
+    }
+
+    private static long countIssues(Map<String, List<Issue>> issues) {
+        return issues.values().stream().mapToLong(List::size).sum();
+    }
+
+    /** Analyzes every file with one instance of every check, as the sensor does. */
+    private static Map<String, List<Issue>> analyze(Map<String, String> files) {
+        List<BaseCheck> checks = new ArrayList<>();
+        for (Class<? extends BaseCheck> clazz : CheckList.getAllChecks()) {
+            try {
+                checks.add(clazz.getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        CompositeVisitor dispatcher = new CompositeVisitor(checks);
+        AnsibleParser parser = new AnsibleParser();
+        RoleMetaParser roleMetaParser = new RoleMetaParser();
+        Map<String, List<Issue>> issues = new LinkedHashMap<>();
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            String uri = "file:///corpus/" + file.getKey();
+            YamlDocument document = YamlDocument.parse(file.getValue());
+            PlaybookFile playbookFile = parser.parseDocument(uri, document);
+            AnsibleContext context = new AnsibleContext(playbookFile, null, file.getValue(), document);
+            checks.forEach(check -> check.setContext(context));
+            if (RoleMetaDetector.isRoleMetaFile(file.getKey())) {
+                dispatcher.visitRoleMeta(roleMetaParser.parseDocument(uri, document));
+            } else {
+                AnsibleWalker.walk(playbookFile, dispatcher);
+            }
+            issues.put(file.getKey(), List.copyOf(context.getIssues()));
+        }
+        return issues;
+    }
+}
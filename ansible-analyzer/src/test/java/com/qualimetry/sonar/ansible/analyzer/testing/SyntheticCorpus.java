@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.testing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded generator of synthetic Ansible monorepos for scale tests and benchmarks.
+ * <p>
+ * A corpus has {@code roles} roles (each with {@code tasks/}, {@code handlers/},
+ * {@code defaults/} and {@code meta/main.yml}, and a chain of {@code includeDepth} task files
+ * included from {@code tasks/main.yml}), one {@code group_vars} file per ten roles, and one
+ * playbook per five roles whose tasks are nested {@code blockDepth} blocks deep, plus a
+ * {@code site.yml} importing every playbook. {@code anchorRatio} is the share of variable groups
+ * written with a YAML anchor and merge key, {@code violationDensity} the share of tasks taken
+ * from a pool of rule violations.
+ * <p>
+ * Each file is generated from its own seed derived from the corpus seed and its index, so the
+ * same options always give the same bytes, and a larger corpus starts with the files of a
+ * smaller one.
+ */
+public final class SyntheticCorpus {
+
+    private static final String[] COMPLIANT_TASKS = {
+            "- name: Install {0} packages\n  ansible.builtin.package:\n    name: \"{{ {0}_packages }}\"\n    state: present\n",
+            "- name: Render {0} configuration\n  ansible.builtin.template:\n    src: {0}.conf.j2\n    dest: /etc/{0}/{0}.conf\n    owner: root\n    group: root\n    mode: \"0644\"\n  notify: Restart {0}\n",
+            "- name: Create {0} directory\n  ansible.builtin.file:\n    path: /opt/{0}\n    state: directory\n    owner: root\n    group: root\n    mode: \"0755\"\n",
+            "- name: Set {0} facts\n  ansible.builtin.set_fact:\n    {0}_ready: true\n",
+            "- name: Check {0} service status\n  ansible.builtin.command: systemctl is-active {0}\n  register: {0}_status\n  changed_when: false\n",
+    };
+
+    private static final String[] VIOLATING_TASKS = {
+            "- shell: echo {{ {0}_port }}\n",
+            "- name: install\n  yum: name={0} state=latest\n",
+            "- name: Fetch {0} archive   \n  get_url:\n    url: http://example.com/{0}.tar.gz\n    dest: /tmp/{0}.tar.gz\n",
+            "- name: Run {0} command\n  command: ls /opt/{0}\n  when: \"{{ {0}_ready }}\"\n",
+            "- name: Copy {0} file\n  copy:\n    src: {0}.txt\n    dest: /tmp/{0}.txt\n    mode: 0777\n",
+    };
+
+    private final long seed;
+    private final int roles;
+    private final int tasksPerFile;
+    private final int includeDepth;
+    private final int blockDepth;
+    private final double anchorRatio;
+    private final double violationDensity;
+
+    private SyntheticCorpus(Builder builder) {
+        this.seed = builder.seed;
+        this.roles = builder.roles;
+        this.tasksPerFile = builder.tasksPerFile;
+        this.includeDepth = builder.includeDepth;
+        this.blockDepth = builder.blockDepth;
+        this.anchorRatio = builder.anchorRatio;
+        this.violationDensity = builder.violationDensity;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Returns every file of the corpus, by relative path, in generation order. */
+    public Map<String, String> files() {
+        Map<String, String> files = new LinkedHashMap<>();
+        for (int r = 0; r < roles; r++) {
+            addRole(files, r);
+        }
+        for (int g = 0; g * 10 < roles; g++) {
+            files.put("inventory/group_vars/group_" + g + ".yml", groupVars(g));
+        }
+        StringBuilder site = new StringBuilder("---\n");
+        for (int p = 0; p * 5 < roles; p++) {
+            String name = "playbook_" + p + ".yml";
+            files.put("playbooks/" + name, playbook(p));
+            site.append("- name: Import ").append(name).append('\n')
+                    .append("  ansible.builtin.import_playbook: playbooks/").append(name).append('\n');
+        }
+        files.put("site.yml", site.toString());
+        return Collections.unmodifiableMap(files);
+    }
+
+    /** Writes the corpus under {@code root} and returns the number of files written. */
+    public int writeTo(Path root) throws IOException {
+        Map<String, String> files = files();
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            Path path = root.resolve(file.getKey());
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file.getValue(), StandardCharsets.UTF_8);
+        }
+        return files.size();
+    }
+
+    private void addRole(Map<String, String> files, int r) {
+        String role = "role_" + r;
+        String dir = "roles/" + role + "/";
+        Random random = random(1, r);
+
+        StringBuilder main = new StringBuilder("---\n");
+        appendTasks(main, random, role, "");
+        if (includeDepth > 0) {
+            main.append("- name: Include ").append(role).append(" step 1\n")
+                    .append("  ansible.builtin.include_tasks: step_1.yml\n");
+        }
+        files.put(dir + "tasks/main.yml", main.toString());
+        for (int d = 1; d <= includeDepth; d++) {
+            StringBuilder step = new StringBuilder("---\n");
+            appendTasks(step, random, role, "");
+            if (d < includeDepth) {
+                step.append("- name: Include ").append(role).append(" step ").append(d + 1).append('\n')
+                        .append("  ansible.builtin.include_tasks: step_").append(d + 1).append(".yml\n");
+            }
+            files.put(dir + "tasks/step_" + d + ".yml", step.toString());
+        }
+
+        files.put(dir + "handlers/main.yml", "---\n- name: Restart " + role + "\n  ansible.builtin.service:\n    name: "
+                + role + "\n    state: restarted\n");
+
+        StringBuilder defaults = new StringBuilder("---\n")
+                .append(role).append("_port: ").append(8000 + r).append('\n')
+                .append(role).append("_ready: false\n")
+                .append(role).append("_packages:\n  - ").append(role).append("-server\n  - ").append(role).append("-client\n");
+        appendVarGroup(defaults, random, role + "_settings");
+        files.put(dir + "defaults/main.yml", defaults.toString());
+
+        StringBuilder meta = new StringBuilder("---\n")
+                .append("galaxy_info:\n")
+                .append("  author: synthetic\n")
+                .append("  description: Synthetic role ").append(r).append('\n')
+                .append("  license: Apache-2.0\n")
+                .append("  min_ansible_version: \"2.14\"\n")
+                .append("  platforms:\n    - name: EL\n      versions:\n        - \"9\"\n")
+                .append("  galaxy_tags:\n    - synthetic\n")
+                .append("dependencies:");
+        if (r == 0) {
+            meta.append(" []\n");
+        } else {
+            meta.append("\n  - role: role_").append(random.nextInt(r)).append('\n');
+        }
+        files.put(dir + "meta/main.yml", meta.toString());
+    }
+
+    private String groupVars(int g) {
+        Random random = random(2, g);
+        StringBuilder sb = new StringBuilder("---\n");
+        for (int i = 0; i < 3; i++) {
+            appendVarGroup(sb, random, "group_" + g + "_" + i);
+        }
+        return sb.toString();
+    }
+
+    private String playbook(int p) {
+        Random random = random(3, p);
+        StringBuilder sb = new StringBuilder("---\n")
+                .append("- name: Configure tier ").append(p).append('\n')
+                .append("  hosts: group_").append(p / 2).append('\n')
+                .append("  become: true\n")
+                .append("  tags: [tier_").append(p).append("]\n")
+                .append("  roles:\n");
+        for (int r = p * 5; r < Math.min(roles, p * 5 + 5); r++) {
+            sb.append("    - role_").append(r).append('\n');
+        }
+        sb.append("  tasks:\n");
+        String indent = "    ";
+        for (int d = 0; d < blockDepth; d++) {
+            sb.append(indent).append("- name: Tier ").append(p).append(" block ").append(d).append('\n')
+                    .append(indent).append("  block:\n");
+            indent += "    ";
+        }
+        appendTasks(sb, random, "tier_" + p, indent);
+        return sb.toString();
+    }
+
+    private void appendTasks(StringBuilder sb, Random random, String subject, String indent) {
+        for (int t = 0; t < tasksPerFile; t++) {
+            String[] pool = random.nextDouble() < violationDensity ? VIOLATING_TASKS : COMPLIANT_TASKS;
+            String task = pool[random.nextInt(pool.length)].replace("{0}", subject);
+            appendIndented(sb, task, indent);
+        }
+    }
+
+    private void appendVarGroup(StringBuilder sb, Random random, String name) {
+        if (random.nextDouble() < anchorRatio) {
+            sb.append(name).append("_base: &").append(name).append("_base\n")
+                    .append("  owner: root\n  group: root\n")
+                    .append(name).append(":\n")
+                    .append("  <<: *").append(name).append("_base\n")
+                    .append("  mode: \"0640\"\n");
+        } else {
+            sb.append(name).append(":\n  owner: root\n  group: root\n  mode: \"0640\"\n");
+        }
+    }
+
+    private static void appendIndented(StringBuilder sb, String lines, String indent) {
+        int start = 0;
+        while (start < lines.length()) {
+            int end = lines.indexOf('\n', start) + 1;
+            sb.append(indent).append(lines, start, end);
+            start = end;
+        }
+    }
+
+    private Random random(int kind, int index) {
+        return new Random(seed * 1_000_003L + kind * 7_919L * 1_000_003L + index);
+    }
+
+    /** Corpus options; every option has a small default. */
+    public static final class Builder {
+        private long seed = 42;
+        private int roles = 10;
+        private int tasksPerFile = 8;
+        private int includeDepth = 2;
+        private int blockDepth = 1;
+        private double anchorRatio = 0.3;
+        private double violationDensity = 0.2;
+
+        private Builder() {
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /** Number of roles; playbooks and group_vars files scale with it. */
+        public Builder roles(int roles) {
+            this.roles = roles;
+            return this;
+        }
+
+        public Builder tasksPerFile(int tasksPerFile) {
+            this.tasksPerFile = tasksPerFile;
+            return this;
+        }
+
+        /** Length of the include_tasks chain below each role's {@code tasks/main.yml}. */
+        public Builder includeDepth(int includeDepth) {
+            this.includeDepth = includeDepth;
+            return this;
+        }
+
+        /** Number of nested blocks around each playbook's tasks. */
+        public Builder blockDepth(int blockDepth) {
+            this.blockDepth = blockDepth;
+            return this;
+        }
+
+        /** Share (0 to 1) of variable groups written with an anchor and a merge key. */
+        public Builder anchorRatio(double anchorRatio) {
+            this.anchorRatio = anchorRatio;
+            return this;
+        }
+
+        /** Share (0 to 1) of tasks taken from the rule violation pool. */
+        public Builder violationDensity(double violationDensity) {
+            this.violationDensity = violationDensity;
+            return this;
+        }
+
+        public SyntheticCorpus build() {
+            if (roles < 0 || tasksPerFile < 0 || includeDepth < 0 || blockDepth < 0) {
+                throw new IllegalArgumentException("Corpus sizes must not be negative");
+            }
+            return new SyntheticCorpus(this);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.testing;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticCorpusTest {
+
+    @Test
+    void sameOptions_giveSameFiles() {
+        SyntheticCorpus corpus = SyntheticCorpus.builder().seed(7).roles(12).build();
+
+        assertThat(corpus.files()).isEqualTo(SyntheticCorpus.builder().seed(7).roles(12).build().files());
+        assertThat(corpus.files()).isNotEqualTo(SyntheticCorpus.builder().seed(8).roles(12).build().files());
+    }
+
+    @Test
+    void largerCorpus_startsWithTheRolesOfASmallerOne() {
+        Map<String, String> small = SyntheticCorpus.builder().roles(5).build().files();
+        Map<String, String> large = SyntheticCorpus.builder().roles(20).build().files();
+
+        small.forEach((path, content) -> {
+            if (path.startsWith("roles/")) {
+                assertThat(large).containsEntry(path, content);
+            }
+        });
+    }
+
+    @Test
+    void roles_haveStandardLayoutAndIncludeChain() {
+        Map<String, String> files = SyntheticCorpus.builder().roles(2).includeDepth(3).build().files();
+
+        assertThat(files).containsKeys(
+                "roles/role_1/tasks/main.yml",
+                "roles/role_1/tasks/step_1.yml",
+                "roles/role_1/tasks/step_3.yml",
+                "roles/role_1/handlers/main.yml",
+                "roles/role_1/defaults/main.yml",
+                "roles/role_1/meta/main.yml",
+                "inventory/group_vars/group_0.yml",
+                "playbooks/playbook_0.yml",
+                "site.yml");
+        assertThat(files.get("roles/role_1/tasks/main.yml")).contains("include_tasks: step_1.yml");
+        assertThat(files.get("roles/role_1/tasks/step_2.yml")).contains("include_tasks: step_3.yml");
+        assertThat(files.get("roles/role_1/tasks/step_3.yml")).doesNotContain("include_tasks");
+    }
+
+    @Test
+    void allFiles_areValidYamlAtAnyDepthAndAnchorRatio() {
+        Map<String, String> files = SyntheticCorpus.builder()
+                .roles(15).includeDepth(4).blockDepth(5).anchorRatio(1).violationDensity(0.5).build().files();
+
+        files.forEach((path, content) ->
+                assertThat(YamlDocument.parse(content).parseError()).as(path).isNull());
+        assertThat(files.values()).anyMatch(content -> content.contains("<<: *"));
+    }
+
+    @Test
+    void anchorRatioZero_writesNoAnchors() {
+        Map<String, String> files = SyntheticCorpus.builder().roles(15).anchorRatio(0).build().files();
+
+        assertThat(files.values()).noneMatch(content -> content.contains("<<: *"));
+    }
+
+    @Test
+    void writeTo_writesEveryFile(@TempDir Path root) throws Exception {
+        SyntheticCorpus corpus = SyntheticCorpus.builder().roles(3).build();
+
+        int written = corpus.writeTo(root);
+
+        assertThat(written).isEqualTo(corpus.files().size());
+        assertThat(Files.readString(root.resolve("roles/role_2/meta/main.yml")))
+                .isEqualTo(corpus.files().get("roles/role_2/meta/main.yml"));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeywordMatcherTest {
+
+    @Test
+    void find_returnsKeywordEndingFirst() {
+        KeywordMatcher matcher = KeywordMatcher.of("he", "she", "his", "hers");
+
+        assertThat(matcher.find("ushers")).isEqualTo(1);
+        assertThat(matcher.find("xhisx")).isEqualTo(2);
+        assertThat(matcher.find("nothing")).isEqualTo(KeywordMatcher.NONE);
+        assertThat(matcher.find(null)).isEqualTo(KeywordMatcher.NONE);
+    }
+
+    @Test
+    void matching_ignoresCase() {
+        KeywordMatcher matcher = KeywordMatcher.of("Password", "ünï");
+
+        assertThat(matcher.containsAny("DB_PASSWORD")).isTrue();
+        assertThat(matcher.containsAny("aÜNÏ")).isTrue();
+        assertThat(matcher.keyword(0)).isEqualTo("password");
+    }
+
+    @Test
+    void wholeKeyword_onlyMatchesWholeRange() {
+        KeywordMatcher matcher = KeywordMatcher.builder().add("secret").addWhole("token").build();
+
+        assertThat(matcher.find("Token")).isEqualTo(1);
+        assertThat(matcher.find("token_file")).isEqualTo(KeywordMatcher.NONE);
+        assertThat(matcher.find("my_token")).isEqualTo(KeywordMatcher.NONE);
+        assertThat(matcher.find("(token)", 1, 6)).isEqualTo(1);
+        assertThat(matcher.find("token_secret")).isEqualTo(0);
+    }
+
+    @Test
+    void prefix_returnsLongestKeywordAtOffset() {
+        KeywordMatcher matcher = KeywordMatcher.of("ln ", "ln -s ", "rm ");
+
+        assertThat(matcher.prefix("  LN -s a b", 2)).isEqualTo(1);
+        assertThat(matcher.prefix("ln a b", 0)).isEqualTo(0);
+        assertThat(matcher.prefix("echo rm x", 0)).isEqualTo(KeywordMatcher.NONE);
+    }
+
+    @Test
+    void stream_reportsKeywordAtEachState() {
+        KeywordMatcher matcher = KeywordMatcher.of("nopasswd");
+        int state = matcher.start();
+        int matches = 0;
+        for (char c : "a NOPASSWD: b nopasswd".toCharArray()) {
+            state = matcher.next(state, c);
+            if (matcher.matchAt(state) != KeywordMatcher.NONE) {
+                matches++;
+            }
+        }
+
+        assertThat(matches).isEqualTo(2);
+    }
+
+    @Test
+    void find_agreesWithSubstringSearch() {
+        Random random = new Random(42);
+        String alphabet = "abAB c";
+        for (int round = 0; round < 5_000; round++) {
+            List<String> keywords = random.ints(1 + random.nextInt(4), 0, Integer.MAX_VALUE)
+                    .mapToObj(i -> randomText(random, alphabet, 1 + random.nextInt(3)))
+                    .map(k -> k.toLowerCase(Locale.ROOT))
+                    .distinct()
+                    .toList();
+            KeywordMatcher matcher = KeywordMatcher.of(keywords.toArray(new String[0]));
+            String text = randomText(random, alphabet, random.nextInt(12));
+            String lower = text.toLowerCase(Locale.ROOT);
+
+            boolean expected = keywords.stream().anyMatch(lower::contains);
+            assertThat(matcher.containsAny(text)).as("%s in %s", keywords, text).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void emptyOrRepeatedKeyword_isRejected() {
+        assertThatThrownBy(() -> KeywordMatcher.of("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeywordMatcher.of("a", "A")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LineIndexTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "a\n", "a\nb", "a\r\nb\r\n", "\n\n", "a\rb\nc", "\r\r\n", "x\r", "\r\n\r\n", "- hosts: all\n  tasks:\n\t- ping:   \r\n"})
+    void lines_matchSplitSemantics(String content) {
+        String[] expected = content.split("\\r?\\n", -1);
+        LineIndex index = new LineIndex(content);
+
+        assertThat(index.lineCount()).isEqualTo(expected.length);
+        for (int line = 1; line <= expected.length; line++) {
+            assertThat(index.line(line).toString()).isEqualTo(expected[line - 1]);
+            assertThat(index.lineLength(line)).isEqualTo(expected[line - 1].length());
+        }
+    }
+
+    @Test
+    void lineOfOffset_and_offsetOf_roundTrip() {
+        String content = "ab\r\ncde\n\nf";
+        LineIndex index = new LineIndex(content);
+
+        assertThat(index.lineOfOffset(0)).isEqualTo(1);
+        assertThat(index.lineOfOffset(3)).isEqualTo(1);
+        assertThat(index.lineOfOffset(4)).isEqualTo(2);
+        assertThat(index.lineOfOffset(8)).isEqualTo(3);
+        assertThat(index.lineOfOffset(9)).isEqualTo(4);
+        assertThat(index.lineOfOffset(content.length())).isEqualTo(4);
+        assertThat(index.offsetOf(2, 1)).isEqualTo(5);
+        assertThat(content.charAt(index.offsetOf(4, 0))).isEqualTo('f');
+    }
+
+    @Test
+    void indexOf_searchesWithinLineOnly() {
+        LineIndex index = new LineIndex("- listen: x\n  name: y\n");
+
+        assertThat(index.indexOf(1, "name:")).isEqualTo(-1);
+        assertThat(index.indexOf(2, "name:")).isEqualTo(2);
+    }
+
+    @Test
+    void outOfRange_throws() {
+        LineIndex index = new LineIndex("a\nb");
+
+        assertThatThrownBy(() -> index.line(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> index.line(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> index.lineOfOffset(4)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> index.offsetOf(1, 2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.visitor;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlDocument;
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlLimits;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnsibleContextTest {
+
+    private static final String NESTED = "a:\n  b:\n    c:\n      d: 1\n";
+
+    @Test
+    void getDocument_withoutLimits_composesWithTheDefaults() {
+        YamlDocument document = context().getDocument();
+
+        assertThat(document.parseError()).isNull();
+        assertThat(document.root()).isNotNull();
+    }
+
+    @Test
+    void getDocument_composesWithinTheConfiguredLimits() {
+        AnsibleContext context = context();
+        context.setYamlLimits(new YamlLimits(YamlLimits.DEFAULT_MAX_ALIASES, 2,
+                YamlLimits.DEFAULT_MAX_CODE_POINTS, true));
+
+        YamlDocument document = context.getDocument();
+
+        assertThat(document.root()).isNull();
+        assertThat(document.parseError()).isNotNull();
+        assertThat(document.parseError().limitExceeded()).isTrue();
+    }
+
+    private static AnsibleContext context() {
+        return new AnsibleContext(new PlaybookFile(List.of(), "file:///nested.yml", null), null, NESTED);
+    }
+}
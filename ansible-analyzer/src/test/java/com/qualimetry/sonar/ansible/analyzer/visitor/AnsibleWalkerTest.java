@@ -22,7 +22,9 @@ import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -88,4 +90,144 @@ class AnsibleWalkerTest {
                 "leavePlaybookFile"
         );
     }
+
+    @Test
+    void walkWithVisitorList_deliversSameSequenceToEachVisitorAsSeparateWalks() {
+        PlaybookFile file = new PlaybookFile(List.of(
+                new Play("P1", List.of(new Task("T1", "ping", 5, java.util.Map.of())),
+                        List.of(new RoleRef("common", 3)), 2, List.of()),
+                new Play("P2", List.of(new Task(null, "debug", 12, java.util.Map.of())), List.of(), 10, List.of())
+        ), "file:///test.yml");
+
+        Recorder expectedA = new Recorder("a");
+        Recorder expectedB = new Recorder("b");
+        AnsibleWalker.walk(file, expectedA);
+        AnsibleWalker.walk(file, expectedB);
+
+        List<String> interleaved = new ArrayList<>();
+        Recorder a = new Recorder("a", interleaved);
+        Recorder b = new Recorder("b", interleaved);
+        AnsibleWalker.walk(file, List.of(a, b));
+
+        assertThat(a.visited).containsExactlyElementsOf(expectedA.visited);
+        assertThat(b.visited).containsExactlyElementsOf(expectedB.visited);
+        assertThat(interleaved).startsWith("a:playbookFile", "b:playbookFile", "a:play:P1", "b:play:P1");
+    }
+
+    @Test
+    void walk_visitsEveryNestedAttributeOnceBetweenTaskAndLeaveTask() {
+        List<String> visited = new ArrayList<>();
+        AnsibleVisitor recorder = new AnsibleVisitor() {
+            @Override
+            public void visitTask(Task task) {
+                visited.add("task:" + task.name());
+            }
+
+            @Override
+            public void visitAttribute(AttributePath path, String key, Object value, int line) {
+                visited.add(path + "=" + (value instanceof String ? value : key == null ? "element" : "node") + "@" + line);
+            }
+
+            @Override
+            public void leaveTask(Task task) {
+                visited.add("leaveTask:" + task.name());
+            }
+        };
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("uri", new LinkedHashMap<>(Map.of("url", "https://example.com")));
+        attributes.put("loop", List.of(Map.of("name", "a"), "b"));
+        PlaybookFile file = new PlaybookFile(List.of(
+                new Play("P1", List.of(new Task("T1", "uri", 5, attributes)), List.of(), 2, List.of())
+        ), "file:///test.yml");
+
+        AnsibleWalker.walk(file, recorder);
+
+        assertThat(visited).containsExactly(
+                "task:T1",
+                "uri=node@5",
+                "uri.url=https://example.com@5",
+                "loop=node@5",
+                "loop[0]=element@5",
+                "loop[0].name=a@5",
+                "loop[1]=b@5",
+                "leaveTask:T1");
+    }
+
+    @Test
+    void walk_stopsAtMaximumAttributeDepth() {
+        List<Object> cyclic = new ArrayList<>();
+        cyclic.add(cyclic);
+        int[] attributes = {0};
+        AnsibleVisitor counter = new AnsibleVisitor() {
+            @Override
+            public void visitAttribute(AttributePath path, String key, Object value, int line) {
+                attributes[0]++;
+            }
+        };
+        PlaybookFile file = new PlaybookFile(List.of(
+                new Play("P1", List.of(new Task("T1", "debug", 5, Map.of("vars", cyclic))), List.of(), 2, List.of())
+        ), "file:///test.yml");
+
+        AnsibleWalker.walk(file, counter);
+
+        assertThat(attributes[0]).isEqualTo(AnsibleWalker.MAX_ATTRIBUTE_DEPTH);
+    }
+
+    private static final class Recorder implements AnsibleVisitor {
+        private final String id;
+        private final List<String> visited = new ArrayList<>();
+        private final List<String> shared;
+
+        Recorder(String id) {
+            this(id, null);
+        }
+
+        Recorder(String id, List<String> shared) {
+            this.id = id;
+            this.shared = shared;
+        }
+
+        private void record(String event) {
+            String entry = id + ":" + event;
+            visited.add(entry);
+            if (shared != null) {
+                shared.add(entry);
+            }
+        }
+
+        @Override
+        public void visitPlaybookFile(PlaybookFile file) {
+            record("playbookFile");
+        }
+
+        @Override
+        public void visitPlay(Play play) {
+            record("play:" + play.name());
+        }
+
+        @Override
+        public void visitTask(Task task) {
+            record("task:" + task.moduleKey());
+        }
+
+        @Override
+        public void visitRoleRef(RoleRef roleRef) {
+            record("role:" + roleRef.roleName());
+        }
+
+        @Override
+        public void leavePlaybookFile(PlaybookFile file) {
+            record("leavePlaybookFile");
+        }
+
+        @Override
+        public void leavePlay(Play play) {
+            record("leavePlay:" + play.name());
+        }
+
+        @Override
+        public void leaveRoleRef(RoleRef roleRef) {
+            record("leaveRoleRef:" + roleRef.roleName());
+        }
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.visitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CancellationTokenTest {
+
+    @Test
+    void none_isNeverCancelled() {
+        assertThat(CancellationToken.NONE.isCancelled()).isFalse();
+        assertThatCode(CancellationToken.NONE::throwIfCancelled).doesNotThrowAnyException();
+    }
+
+    @Test
+    void noBudget_neverExpires() {
+        CancellationToken token = CancellationToken.of(0, () -> false);
+
+        assertThat(token.isExpired()).isFalse();
+        assertThat(token.isCancelled()).isFalse();
+    }
+
+    @Test
+    void spentBudget_throwsTimedOut() throws InterruptedException {
+        CancellationToken token = CancellationToken.of(TimeUnit.MILLISECONDS.toNanos(1), () -> false);
+        Thread.sleep(5);
+
+        assertThat(token.isExpired()).isTrue();
+        assertThatThrownBy(token::throwIfCancelled)
+                .isInstanceOfSatisfying(AnalysisCancelledException.class, e -> assertThat(e.timedOut()).isTrue());
+    }
+
+    @Test
+    void cancelledAnalysis_throwsNotTimedOut() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CancellationToken token = CancellationToken.of(TimeUnit.MINUTES.toNanos(1), cancelled::get);
+        assertThatCode(token::throwIfCancelled).doesNotThrowAnyException();
+
+        cancelled.set(true);
+
+        assertThat(token.isExpired()).isFalse();
+        assertThat(token.isCancelled()).isTrue();
+        assertThatThrownBy(token::throwIfCancelled)
+                .isInstanceOfSatisfying(AnalysisCancelledException.class, e -> assertThat(e.timedOut()).isFalse());
+    }
+}
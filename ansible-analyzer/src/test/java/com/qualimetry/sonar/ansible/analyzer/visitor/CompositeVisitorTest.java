@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.analyzer.visitor;
+
+import com.qualimetry.sonar.ansible.analyzer.checks.ComplexityCheck;
+import com.qualimetry.sonar.ansible.analyzer.checks.FqcnCheck;
+import com.qualimetry.sonar.ansible.analyzer.checks.RequiredTagsCheck;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Play;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CompositeVisitor.Callback;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompositeVisitorTest {
+
+    @Test
+    void overriddenCallbacks_areFoundPerClass() {
+        assertThat(CompositeVisitor.overriddenCallbacks(FqcnCheck.class)).containsExactly(Callback.VISIT_TASK);
+        assertThat(CompositeVisitor.overriddenCallbacks(RequiredTagsCheck.class)).containsExactly(Callback.VISIT_PLAY);
+        assertThat(CompositeVisitor.overriddenCallbacks(BaseCheck.class)).isEmpty();
+        assertThat(CompositeVisitor.overriddenCallbacks(CompositeVisitor.class)).containsExactly(Callback.values());
+    }
+
+    @Test
+    void overriddenCallbacks_includeInheritedOverrides() {
+        assertThat(CompositeVisitor.overriddenCallbacks(TaskVisitor.class)).containsExactly(Callback.VISIT_TASK);
+        assertThat(CompositeVisitor.overriddenCallbacks(TaskAndPlayVisitor.class))
+                .containsExactlyInAnyOrder(Callback.VISIT_TASK, Callback.LEAVE_PLAY);
+    }
+
+    @Test
+    void attributeCallbacks_areFoundAndDelivered() {
+        assertThat(CompositeVisitor.overriddenCallbacks(ComplexityCheck.class))
+                .containsExactlyInAnyOrder(Callback.VISIT_TASK, Callback.VISIT_ATTRIBUTE, Callback.LEAVE_TASK);
+        List<String> events = new ArrayList<>();
+        TaskVisitor tasks = new TaskVisitor("tasks", events);
+        AnsibleVisitor attributes = new AnsibleVisitor() {
+            @Override
+            public void visitAttribute(AttributePath path, String key, Object value, int line) {
+                events.add("attributes:" + path);
+            }
+
+            @Override
+            public void leaveTask(Task task) {
+                events.add("attributes:leaveTask:" + task.name());
+            }
+        };
+        PlaybookFile file = new PlaybookFile(List.of(
+                new Play("P1", List.of(new Task("T1", "ping", 3, Map.of("ping", Map.of("data", "x")))), List.of(), 1, List.of())
+        ), "file:///test.yml");
+
+        AnsibleWalker.walk(file, List.of(tasks, attributes));
+
+        assertThat(events).containsExactly("tasks:task:T1", "attributes:ping", "attributes:ping.data", "attributes:leaveTask:T1");
+    }
+
+    @Test
+    void callbacks_areDeliveredOnlyToSubscribersInListOrder() {
+        List<String> events = new ArrayList<>();
+        TaskVisitor first = new TaskVisitor("first", events);
+        TaskAndPlayVisitor second = new TaskAndPlayVisitor("second", events);
+        PlaybookFile file = new PlaybookFile(List.of(
+                new Play("P1", List.of(new Task("T1", "ping", 3, Map.of())), List.of(), 1, List.of())
+        ), "file:///test.yml");
+
+        AnsibleWalker.walk(file, List.of(first, second));
+
+        assertThat(events).containsExactly("first:task:T1", "second:task:T1", "second:leavePlay:P1");
+    }
+
+    @Test
+    void timedDispatch_keepsCallbackOrderAndTimesEachSubscriber() {
+        List<String> events = new ArrayList<>();
+        TaskVisitor first = new TaskVisitor("first", events);
+        TaskAndPlayVisitor second = new TaskAndPlayVisitor("second", events);
+        AnsibleVisitor idle = new AnsibleVisitor() { };
+        PlaybookFile file = new PlaybookFile(List.of(
+                new Play("P1", List.of(new Task("T1", "ping", 3, Map.of())), List.of(), 1, List.of())
+        ), "file:///test.yml");
+        RuleTimings timings = new RuleTimings(3);
+
+        AnsibleWalker.walk(file, new CompositeVisitor(List.of(first, second, idle), timings));
+
+        assertThat(events).containsExactly("first:task:T1", "second:task:T1", "second:leavePlay:P1");
+        assertThat(timings.nanos(0)).isPositive();
+        assertThat(timings.nanos(1)).isPositive();
+        assertThat(timings.nanos(2)).isZero();
+    }
+
+    @Test
+    void cancellation_stopsTheWalkBeforeTheNextCallback() {
+        List<String> events = new ArrayList<>();
+        boolean[] cancelled = {false};
+        TaskVisitor first = new TaskVisitor("first", events) {
+            @Override
+            public void visitTask(Task task) {
+                super.visitTask(task);
+                cancelled[0] = true;
+            }
+        };
+        PlaybookFile file = new PlaybookFile(List.of(
+                new Play("P1", List.of(new Task("T1", "ping", 3, Map.of()), new Task("T2", "ping", 5, Map.of())),
+                        List.of(), 1, List.of())
+        ), "file:///test.yml");
+        CompositeVisitor composite = new CompositeVisitor(List.of(first));
+        composite.setCancellation(CancellationToken.of(0, () -> cancelled[0]));
+
+        assertThatThrownBy(() -> AnsibleWalker.walk(file, composite))
+                .isInstanceOfSatisfying(AnalysisCancelledException.class, e -> assertThat(e.timedOut()).isFalse());
+        assertThat(events).containsExactly("first:task:T1");
+    }
+
+    private static class TaskVisitor implements AnsibleVisitor {
+        final String id;
+        final List<String> events;
+
+        TaskVisitor(String id, List<String> events) {
+            this.id = id;
+            this.events = events;
+        }
+
+        @Override
+        public void visitTask(Task task) {
+            events.add(id + ":task:" + task.name());
+        }
+    }
+
+    private static final class TaskAndPlayVisitor extends TaskVisitor {
+        TaskAndPlayVisitor(String id, List<String> events) {
+            super(id, events);
+        }
+
+        @Override
+        public void leavePlay(Play play) {
+            events.add(id + ":leavePlay:" + play.name());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.benchmarks;
+
+import com.qualimetry.sonar.ansible.analyzer.checks.CheckList;
+import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Playbook fixtures and check instances shared by the benchmarks.
+ */
+final class BenchmarkPlaybooks {
+
+    private static final String[] TASKS = {
+            "    - name: Install packages\n      ansible.builtin.package:\n        name: \"{{ item }}\"\n        state: present\n      loop: \"{{ packages }}\"\n",
+            "    - name: Render config\n      ansible.builtin.template:\n        src: app.conf.j2\n        dest: /etc/app/app.conf\n        mode: \"0644\"\n      notify: Restart app\n",
+            "    - shell: cat /etc/hosts | grep localhost\n",
+            "    - name: Fetch page\n      get_url:\n        url: http://example.com/file\n        dest: /tmp/file\n",
+            "    - name: Run command\n      command: ls -la\n      when: \"{{ run_it }}\"\n",
+            "    - name: Set fact\n      ansible.builtin.set_fact:\n        app_port: 8080\n",
+    };
+
+    private BenchmarkPlaybooks() {
+    }
+
+    /** Builds a playbook with the given number of plays, each with {@code tasksPerPlay} tasks. */
+    static String playbook(int plays, int tasksPerPlay) {
+        return playbook(plays, tasksPerPlay, 0);
+    }
+
+    /**
+     * Builds a playbook with the given number of plays, each with {@code tasksPerPlay} tasks
+     * nested {@code depth} blocks deep.
+     */
+    static String playbook(int plays, int tasksPerPlay, int depth) {
+        StringBuilder sb = new StringBuilder("---\n");
+        for (int p = 0; p < plays; p++) {
+            sb.append("- name: Play ").append(p).append('\n')
+                    .append("  hosts: all\n")
+                    .append("  become: true\n")
+                    .append("  tags: [bench]\n")
+                    .append("  roles:\n    - common\n")
+                    .append("  tasks:\n");
+            String indent = "";
+            for (int d = 0; d < depth; d++) {
+                sb.append(indent).append("    - name: Block ").append(d).append('\n')
+                        .append(indent).append("      block:\n");
+                indent += "    ";
+            }
+            for (int t = 0; t < tasksPerPlay; t++) {
+                appendIndented(sb, TASKS[(p + t) % TASKS.length], indent);
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Builds a single play whose {@code vars} hold the given number of nested entries, then a few tasks. */
+    static String varsPlaybook(int entries) {
+        StringBuilder sb = new StringBuilder("---\n- name: Vars\n  hosts: all\n  vars:\n");
+        for (int i = 0; i < entries; i++) {
+            sb.append("    service_").append(i).append(":\n")
+                    .append("      port: ").append(8000 + i).append('\n')
+                    .append("      hosts: [web").append(i).append(", db").append(i).append("]\n")
+                    .append("      settings: {enabled: true, weight: ").append(i % 10).append("}\n");
+        }
+        sb.append("  tasks:\n");
+        for (String task : TASKS) {
+            sb.append(task);
+        }
+        return sb.toString();
+    }
+
+    /** Builds a play of tasks that each carry an inline {@code vars} mapping and a {@code loop} list. */
+    static String inlineVarsPlaybook(int tasks, int entries) {
+        StringBuilder sb = new StringBuilder("---\n- name: Inline vars\n  hosts: all\n  tasks:\n");
+        for (int t = 0; t < tasks; t++) {
+            sb.append("    - name: Task ").append(t).append('\n')
+                    .append("      ansible.builtin.template:\n        src: t").append(t).append(".j2\n        dest: /etc/t")
+                    .append(t).append('\n')
+                    .append("      when: enabled\n")
+                    .append("      vars:\n");
+            for (int i = 0; i < entries; i++) {
+                sb.append("        var_").append(i).append(": {value: ").append(i).append(", list: [a, b, c]}\n");
+            }
+            sb.append("      loop:\n");
+            for (int i = 0; i < entries; i++) {
+                sb.append("        - item_").append(i).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Builds a role {@code meta/main.yml} with the given number of dependencies and platforms. */
+    static String roleMeta(int entries) {
+        StringBuilder sb = new StringBuilder("---\n")
+                .append("galaxy_info:\n")
+                .append("  author: bench\n")
+                .append("  description: Benchmark role\n")
+                .append("  license: Apache-2.0\n")
+                .append("  min_ansible_version: \"2.14\"\n")
+                .append("  platforms:\n");
+        for (int i = 0; i < entries; i++) {
+            sb.append("    - name: Platform").append(i).append("\n      versions:\n        - all\n");
+        }
+        sb.append("  galaxy_tags:\n    - bench\n");
+        sb.append("dependencies:\n");
+        for (int i = 0; i < entries; i++) {
+            sb.append("  - role: dep").append(i).append("\n    vars:\n      port: ").append(8000 + i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void appendIndented(StringBuilder sb, String lines, String indent) {
+        if (indent.isEmpty()) {
+            sb.append(lines);
+            return;
+        }
+        int start = 0;
+        while (start < lines.length()) {
+            int end = lines.indexOf('\n', start) + 1;
+            sb.append(indent).append(lines, start, end);
+            start = end;
+        }
+    }
+
+    /** Creates one instance of every check, with default parameters. */
+    static List<BaseCheck> allChecks() {
+        List<BaseCheck> checks = new ArrayList<>();
+        for (Class<? extends BaseCheck> clazz : CheckList.getAllChecks()) {
+            try {
+                checks.add(clazz.getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot instantiate " + clazz.getName(), e);
+            }
+        }
+        return checks;
+    }
+}
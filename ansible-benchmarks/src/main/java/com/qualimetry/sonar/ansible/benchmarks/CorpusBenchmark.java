@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.benchmarks;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.RoleMetaParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlDocument;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.testing.SyntheticCorpus;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleWalker;
+import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CompositeVisitor;
+import com.qualimetry.sonar.ansible.analyzer.visitor.RoleMetaDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analyzes a whole {@link SyntheticCorpus} monorepo with every check, file by file as the
+ * sensor does, by number of roles, include/block depth and anchor use. Run with
+ * {@code -prof gc} for bytes allocated per corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CorpusBenchmark {
+
+    @Param({"50", "500"})
+    public int roles;
+
+    @Param({"1", "6"})
+    public int depth;
+
+    @Param({"0.0", "1.0"})
+    public double anchorRatio;
+
+    @Param({"42"})
+    public long seed;
+
+    private Map<String, String> files;
+    private List<BaseCheck> checks;
+    private CompositeVisitor dispatcher;
+    private final AnsibleParser parser = new AnsibleParser();
+    private final RoleMetaParser roleMetaParser = new RoleMetaParser();
+
+    @Setup
+    public void setUp() {
+        files = SyntheticCorpus.builder()
+                .seed(seed)
+                .roles(roles)
+                .includeDepth(depth)
+                .blockDepth(depth)
+                .anchorRatio(anchorRatio)
+                .build()
+                .files();
+        checks = BenchmarkPlaybooks.allChecks();
+        dispatcher = new CompositeVisitor(checks);
+    }
+
+    @Benchmark
+    public int analyzeCorpus() {
+        int issues = 0;
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            String uri = "file:///corpus/" + file.getKey();
+            YamlDocument document = YamlDocument.parse(file.getValue());
+            PlaybookFile playbookFile = parser.parseDocument(uri, document);
+            AnsibleContext context = new AnsibleContext(playbookFile, null, file.getValue(), document);
+            for (BaseCheck check : checks) {
+                check.setContext(context);
+            }
+            if (RoleMetaDetector.isRoleMetaFile(file.getKey())) {
+                dispatcher.visitRoleMeta(roleMetaParser.parseDocument(uri, document));
+            } else {
+                AnsibleWalker.walk(playbookFile, dispatcher);
+            }
+            issues += context.getIssues().size();
+        }
+        return issues;
+    }
+}
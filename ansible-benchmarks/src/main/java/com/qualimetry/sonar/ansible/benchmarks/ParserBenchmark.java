@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.benchmarks;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.RoleMetaParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse cost of {@link AnsibleParser} and {@link RoleMetaParser} by file size (tasks per play,
+ * role meta entries) and block nesting depth, in tree and streaming mode. Run with {@code -prof gc}
+ * for allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"10", "200", "2000"})
+    public int size;
+
+    @Param({"0", "4"})
+    public int depth;
+
+    @Param({"TREE", "STREAMING"})
+    public AnsibleParser.Mode parserMode;
+
+    private final RoleMetaParser roleMetaParser = new RoleMetaParser();
+    private AnsibleParser parser;
+    private String playbook;
+    private String varsPlaybook;
+    private String roleMeta;
+
+    @Setup
+    public void setUp() {
+        parser = new AnsibleParser(parserMode);
+        playbook = BenchmarkPlaybooks.playbook(4, size, depth);
+        varsPlaybook = BenchmarkPlaybooks.varsPlaybook(size * 10);
+        roleMeta = BenchmarkPlaybooks.roleMeta(size);
+    }
+
+    @Benchmark
+    public PlaybookFile parsePlaybook() {
+        return parser.parse("file:///bench/site.yml", playbook);
+    }
+
+    @Benchmark
+    public PlaybookFile parseVarsPlaybook() {
+        return parser.parse("file:///bench/group_play.yml", varsPlaybook);
+    }
+
+    @Benchmark
+    public RoleMeta parseRoleMeta() {
+        return roleMetaParser.parse("file:///bench/roles/app/meta/main.yml", roleMeta);
+    }
+}
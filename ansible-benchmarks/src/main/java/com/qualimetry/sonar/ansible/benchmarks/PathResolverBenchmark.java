@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.benchmarks;
+
+import com.qualimetry.sonar.ansible.plugin.ProjectPathIndex;
+import com.qualimetry.sonar.ansible.plugin.SensorPathResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonar.api.batch.fs.FilePredicates;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link SensorPathResolver#existsInProject} for one analyzed file doing a handful of
+ * include lookups, by project size and directory depth. {@code sharedIndex} looks up in a
+ * {@link ProjectPathIndex} built once per analysis; {@code ownIndex} lets the resolver index the
+ * file system itself, as a resolver created without a shared index does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathResolverBenchmark {
+
+    @Param({"100", "10000"})
+    public int projectFiles;
+
+    @Param({"1", "6"})
+    public int depth;
+
+    private FileSystem fileSystem;
+    private ProjectPathIndex index;
+    private InputFile currentFile;
+    private String[] lookups;
+
+    @Setup
+    public void setUp() {
+        List<InputFile> files = new ArrayList<>(projectFiles);
+        for (int i = 0; i < projectFiles; i++) {
+            files.add(inputFile(directory(i) + "tasks/main" + i + ".yml"));
+        }
+        fileSystem = fileSystem(files);
+        index = ProjectPathIndex.build(fileSystem);
+        currentFile = inputFile(directory(0) + "playbooks/site.yml");
+        lookups = new String[] {
+                "../tasks/main0.yml",
+                "../tasks/missing.yml",
+                "./../tasks/main0.yml",
+                "../../d" + (depth - 1) + "_0/tasks/main0.yml",
+        };
+    }
+
+    @Benchmark
+    public int sharedIndex() {
+        SensorPathResolver resolver = new SensorPathResolver(index, currentFile);
+        return lookUp(resolver);
+    }
+
+    @Benchmark
+    public int ownIndex() {
+        SensorPathResolver resolver = new SensorPathResolver(fileSystem, currentFile);
+        return lookUp(resolver);
+    }
+
+    private int lookUp(SensorPathResolver resolver) {
+        int found = 0;
+        for (String path : lookups) {
+            if (resolver.existsInProject(path)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /** Directory prefix of the i-th file: {@code depth} levels, spreading files over 16 dirs per level. */
+    private String directory(int i) {
+        StringBuilder sb = new StringBuilder();
+        int n = i;
+        for (int d = 0; d < depth; d++) {
+            sb.append("d").append(d).append('_').append(n % 16).append('/');
+            n /= 16;
+        }
+        return sb.toString();
+    }
+
+    private static InputFile inputFile(String relativePath) {
+        return (InputFile) Proxy.newProxyInstance(InputFile.class.getClassLoader(), new Class<?>[] {InputFile.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "relativePath", "toString" -> relativePath;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static FileSystem fileSystem(List<InputFile> files) {
+        FilePredicates predicates = (FilePredicates) Proxy.newProxyInstance(FilePredicates.class.getClassLoader(),
+                new Class<?>[] {FilePredicates.class}, (proxy, method, args) -> null);
+        return (FileSystem) Proxy.newProxyInstance(FileSystem.class.getClassLoader(), new Class<?>[] {FileSystem.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "predicates" -> predicates;
+                    case "inputFiles" -> files;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.benchmarks;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of task attributes for tasks with large inline {@code vars} and {@code loop} values.
+ * {@code readFewKeys} is what most checks do (a couple of top-level keys per task);
+ * {@code readAllValues} converts every value, which is what the parser used to do for every
+ * task up front. Run with {@code -prof gc} for allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskAttributesBenchmark {
+
+    @Param({"200"})
+    public int tasks;
+
+    @Param({"5", "50"})
+    public int entries;
+
+    private final AnsibleParser parser = new AnsibleParser();
+    private String playbook;
+
+    @Setup
+    public void setUp() {
+        playbook = BenchmarkPlaybooks.inlineVarsPlaybook(tasks, entries);
+    }
+
+    @Benchmark
+    public void readFewKeys(Blackhole bh) {
+        PlaybookFile file = parser.parse("file:///bench/site.yml", playbook);
+        for (Task task : file.plays().get(0).tasks()) {
+            bh.consume(task.attributes().get("when"));
+            bh.consume(task.attributes().get(task.moduleKey()));
+        }
+    }
+
+    @Benchmark
+    public void readAllValues(Blackhole bh) {
+        PlaybookFile file = parser.parse("file:///bench/site.yml", playbook);
+        for (Task task : file.plays().get(0).tasks()) {
+            for (Map.Entry<String, Object> e : task.attributes().entrySet()) {
+                bh.consume(e.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.benchmarks;
+
+import com.qualimetry.sonar.ansible.analyzer.checks.ConsistentIndentationCheck;
+import com.qualimetry.sonar.ansible.analyzer.checks.HandlerNamingCheck;
+import com.qualimetry.sonar.ansible.analyzer.checks.JinjaCheck;
+import com.qualimetry.sonar.ansible.analyzer.checks.LineLengthCheck;
+import com.qualimetry.sonar.ansible.analyzer.checks.NoTabsCheck;
+import com.qualimetry.sonar.ansible.analyzer.checks.NoTrailingWhitespaceCheck;
+import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.text.LineIndex;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleWalker;
+import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-file cost of line access for the raw-text checks. {@code splitPerCheck} reproduces the
+ * former approach (one {@code split("\\r?\\n")} per check), {@code sharedLineIndex} builds one
+ * {@link LineIndex} for all of them, and {@code textChecks} runs the checks themselves.
+ * Run with {@code -prof gc} to compare bytes allocated per file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextChecksBenchmark {
+
+    private static final int TEXT_CHECKS = 6;
+
+    @Param({"50", "2000"})
+    public int tasksPerPlay;
+
+    private String content;
+    private PlaybookFile playbookFile;
+    private List<BaseCheck> checks;
+
+    @Setup
+    public void setUp() {
+        content = BenchmarkPlaybooks.playbook(4, tasksPerPlay);
+        playbookFile = new AnsibleParser().parse("file:///bench/site.yml", content);
+        checks = List.of(new LineLengthCheck(), new NoTabsCheck(), new NoTrailingWhitespaceCheck(),
+                new ConsistentIndentationCheck(), new JinjaCheck(), new HandlerNamingCheck());
+    }
+
+    @Benchmark
+    public void splitPerCheck(Blackhole bh) {
+        for (int c = 0; c < TEXT_CHECKS; c++) {
+            String[] lines = content.split("\\r?\\n", -1);
+            for (String line : lines) {
+                bh.consume(line.length());
+            }
+        }
+    }
+
+    @Benchmark
+    public void sharedLineIndex(Blackhole bh) {
+        LineIndex lines = new LineIndex(content);
+        for (int c = 0; c < TEXT_CHECKS; c++) {
+            for (int line = 1; line <= lines.lineCount(); line++) {
+                bh.consume(lines.lineLength(line));
+            }
+        }
+    }
+
+    @Benchmark
+    public int textChecks() {
+        AnsibleContext context = new AnsibleContext(playbookFile, null, content);
+        for (BaseCheck check : checks) {
+            check.setContext(context);
+        }
+        AnsibleWalker.walk(playbookFile, checks);
+        return context.getIssues().size();
+    }
+}
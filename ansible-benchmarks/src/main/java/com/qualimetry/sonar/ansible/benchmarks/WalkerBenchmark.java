@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.benchmarks;
+
+import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleWalker;
+import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CompositeVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every check of {@code CheckList.getAllChecks()} over a parsed playbook, comparing one
+ * {@link AnsibleWalker} walk per check with a single walk through a {@link CompositeVisitor}
+ * delivering every callback to all checks. Tasks are nested {@code depth} blocks deep.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalkerBenchmark {
+
+    @Param({"10", "200"})
+    public int tasksPerPlay;
+
+    @Param({"0", "4"})
+    public int depth;
+
+    private String content;
+    private PlaybookFile playbookFile;
+    private List<BaseCheck> checks;
+    private CompositeVisitor composite;
+
+    @Setup
+    public void setUp() {
+        content = BenchmarkPlaybooks.playbook(4, tasksPerPlay, depth);
+        playbookFile = new AnsibleParser().parse("file:///bench/site.yml", content);
+        checks = BenchmarkPlaybooks.allChecks();
+        composite = new CompositeVisitor(checks);
+    }
+
+    @Benchmark
+    public int walkPerCheck() {
+        AnsibleContext context = newContext();
+        for (BaseCheck check : checks) {
+            AnsibleWalker.walk(playbookFile, check);
+        }
+        return context.getIssues().size();
+    }
+
+    @Benchmark
+    public int walkComposite() {
+        AnsibleContext context = newContext();
+        AnsibleWalker.walk(playbookFile, composite);
+        return context.getIssues().size();
+    }
+
+    private AnsibleContext newContext() {
+        AnsibleContext context = new AnsibleContext(playbookFile, null, content);
+        for (BaseCheck check : checks) {
+            check.setContext(context);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import com.qualimetry.sonar.ansible.analyzer.checks.CheckList;
+import com.qualimetry.sonar.ansible.analyzer.index.FileIncludes;
+import com.qualimetry.sonar.ansible.analyzer.index.FileSymbols;
+import com.qualimetry.sonar.ansible.analyzer.index.Include;
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.TextPosition;
+import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.rule.ActiveRule;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.cache.ReadCache;
+import org.sonar.api.batch.sensor.cache.WriteCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Per-file issue cache backed by the SonarQube sensor cache. An entry is keyed by the file
+ * path, its content hash, a hash of the active rules and their parameters, a hash of the
+ * analysis settings that change results, and the plugin version, so any change to one of
+ * them is a miss. Entries also record the project paths
+ * the checks looked up and the project index questions they asked; a hit is only replayed
+ * when those lookups still give the same result. The file's analysis warnings are replayed with
+ * its issues, so a file over a YAML limit is still warned about on an unchanged re-run.
+ * <p>
+ * The {@link FileSymbols} each file contributes to the project index are cached separately,
+ * keyed without the rules, so the index of an unchanged file is rebuilt without reading it.
+ * <p>
+ * Only used from the sensor thread.
+ */
+final class AnalysisCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AnalysisCache.class);
+    private static final String KEY_PREFIX = "qualimetry-ansible:issues:";
+    private static final String SYMBOLS_KEY_PREFIX = "qualimetry-ansible:symbols:";
+    private static final int FORMAT_VERSION = 3;
+    private static final int SYMBOLS_FORMAT_VERSION = 3;
+
+    private final ReadCache previous;
+    private final WriteCache next;
+    private final String keyPrefix;
+    private final String symbolsKeyPrefix;
+
+    private AnalysisCache(ReadCache previous, WriteCache next, String keyPrefix, String symbolsKeyPrefix) {
+        this.previous = previous;
+        this.next = next;
+        this.keyPrefix = keyPrefix;
+        this.symbolsKeyPrefix = symbolsKeyPrefix;
+    }
+
+    /**
+     * Returns the cache for this analysis, or null when the sensor cache is disabled.
+     *
+     * @param settings analysis settings, other than rules, that change the issues of a file
+     */
+    static AnalysisCache create(SensorContext context, String settings) {
+        if (!context.isCacheEnabled()) {
+            return null;
+        }
+        String settingsHash = sha256(settings).substring(0, 8);
+        String prefix = KEY_PREFIX + pluginVersion() + ":" + rulesHash(context) + ":" + settingsHash + ":";
+        String symbolsPrefix = SYMBOLS_KEY_PREFIX + pluginVersion() + ":" + settingsHash + ":";
+        return new AnalysisCache(context.previousCache(), context.nextCache(), prefix, symbolsPrefix);
+    }
+
+    /**
+     * Returns the cached result for the file, or null on a miss. A hit is carried over to the
+     * next analysis.
+     *
+     * @param symbolIndex the project index, or null when no active rule uses it
+     */
+    FileResult replay(InputFile inputFile, ProjectPathIndex pathIndex, SymbolIndex symbolIndex) {
+        String key = key(keyPrefix, inputFile);
+        if (key == null || previous == null || !previous.contains(key)) {
+            return null;
+        }
+        FileResult result;
+        try (InputStream in = previous.read(key)) {
+            result = decode(in.readAllBytes());
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Ignoring unreadable cache entry for {}", inputFile, e);
+            return null;
+        }
+        if (result == null) {
+            return null;
+        }
+        for (Map.Entry<String, Boolean> lookup : result.pathLookups().entrySet()) {
+            if (pathIndex.contains(lookup.getKey()) != lookup.getValue()) {
+                return null;
+            }
+        }
+        for (Map.Entry<String, Boolean> lookup : result.symbolLookups().entrySet()) {
+            if (symbolIndex == null || SensorProjectSymbols.answer(symbolIndex, inputFile.relativePath(),
+                    lookup.getKey()) != lookup.getValue()) {
+                return null;
+            }
+        }
+        next.copyFromPrevious(key);
+        return result;
+    }
+
+    /** Stores the result of a freshly analyzed file for the next analysis, unless it is incomplete. */
+    void store(InputFile inputFile, FileResult result) {
+        if (result.incomplete()) {
+            return;
+        }
+        String key = key(keyPrefix, inputFile);
+        if (key == null) {
+            return;
+        }
+        try {
+            next.write(key, encode(result));
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Cannot cache issues of {}", inputFile, e);
+        }
+    }
+
+    /**
+     * Returns the cached index symbols of the file, or null on a miss. A hit is carried over to
+     * the next analysis.
+     */
+    FileSymbols replaySymbols(InputFile inputFile) {
+        String key = key(symbolsKeyPrefix, inputFile);
+        if (key == null || previous == null || !previous.contains(key)) {
+            return null;
+        }
+        FileSymbols symbols;
+        try (InputStream in = previous.read(key)) {
+            symbols = decodeSymbols(in.readAllBytes(), inputFile.relativePath());
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Ignoring unreadable cached symbols of {}", inputFile, e);
+            return null;
+        }
+        if (symbols != null) {
+            next.copyFromPrevious(key);
+        }
+        return symbols;
+    }
+
+    /** Stores the index symbols of a freshly scanned file for the next analysis. */
+    void storeSymbols(InputFile inputFile, FileSymbols symbols) {
+        String key = key(symbolsKeyPrefix, inputFile);
+        if (key == null) {
+            return;
+        }
+        try {
+            next.write(key, encodeSymbols(symbols));
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Cannot cache symbols of {}", inputFile, e);
+        }
+    }
+
+    private static String key(String prefix, InputFile inputFile) {
+        String hash = inputFile.md5Hash();
+        String path = inputFile.relativePath();
+        if (hash == null || path == null) {
+            return null;
+        }
+        return prefix + hash + ":" + path;
+    }
+
+    static byte[] encode(FileResult result) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            writeLookups(out, result.pathLookups());
+            writeLookups(out, result.symbolLookups());
+            out.writeInt(result.issues().size());
+            for (Issue issue : result.issues()) {
+                out.writeUTF(issue.ruleKey());
+                writeNullableString(out, issue.message());
+                out.writeBoolean(issue.position() != null);
+                if (issue.position() != null) {
+                    out.writeInt(issue.position().line());
+                    out.writeInt(issue.position().column());
+                }
+                writeNullableInt(out, issue.line());
+                out.writeBoolean(issue.cost() != null);
+                if (issue.cost() != null) {
+                    out.writeDouble(issue.cost());
+                }
+                writeNullableInt(out, issue.endColumn());
+            }
+            out.writeInt(result.warnings().size());
+            for (String warning : result.warnings()) {
+                out.writeUTF(warning);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Decodes an entry; returns null for an entry written in another format. */
+    static FileResult decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        Map<String, Boolean> lookups = readLookups(in);
+        Map<String, Boolean> symbolLookups = readLookups(in);
+        int issueCount = in.readInt();
+        List<Issue> issues = new ArrayList<>(issueCount);
+        for (int i = 0; i < issueCount; i++) {
+            String ruleKey = in.readUTF();
+            String message = readNullableString(in);
+            TextPosition position = in.readBoolean() ? new TextPosition(in.readInt(), in.readInt()) : null;
+            Integer line = readNullableInt(in);
+            Double cost = in.readBoolean() ? in.readDouble() : null;
+            Integer endColumn = readNullableInt(in);
+            issues.add(new Issue(ruleKey, message, position, line, cost, endColumn));
+        }
+        int warningCount = in.readInt();
+        List<String> warnings = new ArrayList<>(warningCount);
+        for (int i = 0; i < warningCount; i++) {
+            warnings.add(in.readUTF());
+        }
+        return new FileResult(List.copyOf(issues), lookups, symbolLookups, List.copyOf(warnings), false);
+    }
+
+    static byte[] encodeSymbols(FileSymbols symbols) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(SYMBOLS_FORMAT_VERSION);
+            writeHashes(out, symbols.variables());
+            writeHashes(out, symbols.references());
+            writeHashes(out, symbols.handlers());
+            FileIncludes includes = symbols.includes();
+            out.writeInt(includes.includes().size());
+            for (Include include : includes.includes()) {
+                out.writeByte(include.type().ordinal());
+                out.writeUTF(include.target());
+                writeNullableString(out, include.tasksFrom());
+            }
+            out.writeInt(includes.tasks());
+            out.writeInt(includes.tags().size());
+            for (String tag : includes.tags()) {
+                out.writeUTF(tag);
+            }
+            out.writeBoolean(includes.become());
+            writeHashes(out, symbols.fileVariables());
+            out.writeInt(symbols.varsFiles().size());
+            for (String varsFile : symbols.varsFiles()) {
+                out.writeUTF(varsFile);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Decodes cached symbols of the file at the given path; returns null for another format. */
+    static FileSymbols decodeSymbols(byte[] data, String path) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != SYMBOLS_FORMAT_VERSION) {
+            return null;
+        }
+        long[] variables = readHashes(in);
+        long[] references = readHashes(in);
+        long[] handlers = readHashes(in);
+        int includeCount = in.readInt();
+        List<Include> includes = new ArrayList<>(includeCount);
+        for (int i = 0; i < includeCount; i++) {
+            includes.add(new Include(Include.Type.values()[in.readByte()], in.readUTF(), readNullableString(in)));
+        }
+        int tasks = in.readInt();
+        int tagCount = in.readInt();
+        List<String> tags = new ArrayList<>(tagCount);
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(in.readUTF());
+        }
+        boolean become = in.readBoolean();
+        long[] fileVariables = readHashes(in);
+        int varsFileCount = in.readInt();
+        List<String> varsFiles = new ArrayList<>(varsFileCount);
+        for (int i = 0; i < varsFileCount; i++) {
+            varsFiles.add(in.readUTF());
+        }
+        return new FileSymbols(path, variables, references, handlers, new FileIncludes(includes, tasks, tags, become),
+                fileVariables, varsFiles);
+    }
+
+    private static void writeLookups(DataOutputStream out, Map<String, Boolean> lookups) throws IOException {
+        out.writeInt(lookups.size());
+        for (Map.Entry<String, Boolean> lookup : new TreeMap<>(lookups).entrySet()) {
+            out.writeUTF(lookup.getKey());
+            out.writeBoolean(lookup.getValue());
+        }
+    }
+
+    private static Map<String, Boolean> readLookups(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Map<String, Boolean> lookups = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            lookups.put(in.readUTF(), in.readBoolean());
+        }
+        return Map.copyOf(lookups);
+    }
+
+    private static void writeHashes(DataOutputStream out, long[] hashes) throws IOException {
+        out.writeInt(hashes.length);
+        for (long hash : hashes) {
+            out.writeLong(hash);
+        }
+    }
+
+    private static long[] readHashes(DataInputStream in) throws IOException {
+        long[] hashes = new long[in.readInt()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = in.readLong();
+        }
+        return hashes;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readNullableInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    /** Hash of the active rules of this repository with their parameters, in a stable order. */
+    static String rulesHash(SensorContext context) {
+        List<ActiveRule> rules = new ArrayList<>(context.activeRules().findByRepository(CheckList.REPOSITORY_KEY));
+        rules.sort(Comparator.comparing(rule -> rule.ruleKey().toString()));
+        StringBuilder sb = new StringBuilder();
+        for (ActiveRule rule : rules) {
+            sb.append(rule.ruleKey()).append('{');
+            new TreeMap<>(rule.params()).forEach((k, v) -> sb.append(k).append('=').append(v).append(';'));
+            sb.append("}\n");
+        }
+        return sha256(sb.toString()).substring(0, 16);
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String pluginVersion() {
+        try (InputStream in = AnalysisCache.class.getResourceAsStream("plugin.properties")) {
+            if (in != null) {
+                Properties properties = new Properties();
+                properties.load(in);
+                return properties.getProperty("version", "unknown");
+            }
+        } catch (IOException e) {
+            // fall through
+        }
+        return "unknown";
+    }
+}
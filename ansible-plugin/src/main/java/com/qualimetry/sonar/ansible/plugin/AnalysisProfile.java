@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.visitor.RuleTimings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.check.Rule;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Where the sensor spends its time: cumulative nanoseconds per phase and per file, and, when
+ * {@value AnsiblePluginConstants#PROFILE_KEY} is set, per rule. Phases and files may be recorded
+ * from analysis threads; rule timings are merged from the workers once analysis is done.
+ */
+final class AnalysisProfile {
+
+    static final String FILE_NAME = "ansible-profile.json";
+    private static final Logger LOG = LoggerFactory.getLogger(AnalysisProfile.class);
+    private static final int TOP = 10;
+
+    enum Phase {
+        INDEX, READ, PARSE, WALK, REPORT;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final boolean detailed;
+    private final LongAdder[] phases = new LongAdder[Phase.values().length];
+    private final Map<String, long[]> files = new ConcurrentHashMap<>();
+    private final Map<String, Long> rules = new HashMap<>();
+    private long textPass;
+
+    /** @param detailed whether per-rule timings are collected and the profile is written */
+    AnalysisProfile(boolean detailed) {
+        this.detailed = detailed;
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LongAdder();
+        }
+    }
+
+    boolean isDetailed() {
+        return detailed;
+    }
+
+    /** Adds time spent on a file in a phase. A file is only recorded by one thread at a time. */
+    void add(String file, Phase phase, long nanos) {
+        phases[phase.ordinal()].add(nanos);
+        files.computeIfAbsent(file, k -> new long[Phase.values().length])[phase.ordinal()] += nanos;
+    }
+
+    /** Merges the callback timings of a worker's checks, by rule key. */
+    void addRules(List<BaseCheck> checks, RuleTimings timings) {
+        for (int i = 0; i < checks.size(); i++) {
+            Rule rule = checks.get(i).getClass().getAnnotation(Rule.class);
+            String key = rule != null ? rule.key() : checks.get(i).getClass().getSimpleName();
+            rules.merge(key, timings.nanos(i), Long::sum);
+        }
+        textPass += timings.textPassNanos();
+    }
+
+    long phaseNanos(Phase phase) {
+        return phases[phase.ordinal()].sum();
+    }
+
+    Map<String, Long> ruleNanos() {
+        return rules;
+    }
+
+    /** Logs phase totals and the slowest files and rules; at info level when detailed. */
+    void log() {
+        if (!(detailed ? LOG.isInfoEnabled() : LOG.isDebugEnabled())) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder("Ansible analysis time of ").append(files.size()).append(" files:");
+        for (Phase phase : Phase.values()) {
+            sb.append(' ').append(phase.label()).append(' ').append(millis(phaseNanos(phase))).append(" ms");
+        }
+        sb.append("\n  Slowest files:");
+        for (Map.Entry<String, long[]> file : top(files, AnalysisProfile::total)) {
+            sb.append(' ').append(file.getKey()).append(" (").append(millis(total(file.getValue()))).append(" ms)");
+        }
+        if (detailed) {
+            sb.append("\n  Slowest rules:");
+            for (Map.Entry<String, Long> rule : top(rules, Long::longValue)) {
+                sb.append(' ').append(rule.getKey()).append(" (").append(millis(rule.getValue())).append(" ms)");
+            }
+            sb.append("\n  Raw-text pass: ").append(millis(textPass)).append(" ms");
+        }
+        if (detailed) {
+            LOG.info(sb.toString());
+        } else {
+            LOG.debug(sb.toString());
+        }
+    }
+
+    /** Writes the whole profile as JSON into the given directory and returns the file. */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path path = directory.resolve(FILE_NAME);
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("{\n  \"phases\": {");
+            String sep = "";
+            for (Phase phase : Phase.values()) {
+                out.write(sep + "\"" + phase.label() + "\": " + phaseNanos(phase));
+                sep = ", ";
+            }
+            out.write("},\n  \"textPass\": " + textPass + ",\n  \"rules\": {");
+            sep = "\n    ";
+            for (Map.Entry<String, Long> rule : sorted(rules, Long::longValue)) {
+                out.write(sep + quote(rule.getKey()) + ": " + rule.getValue());
+                sep = ",\n    ";
+            }
+            out.write("\n  },\n  \"files\": {");
+            sep = "\n    ";
+            for (Map.Entry<String, long[]> file : sorted(files, AnalysisProfile::total)) {
+                out.write(sep + quote(file.getKey()) + ": {\"total\": " + total(file.getValue()));
+                for (Phase phase : Phase.values()) {
+                    out.write(", \"" + phase.label() + "\": " + file.getValue()[phase.ordinal()]);
+                }
+                out.write("}");
+                sep = ",\n    ";
+            }
+            out.write("\n  }\n}\n");
+        }
+        return path;
+    }
+
+    /** Key under which a file is recorded: its relative path, or its URI when it has none. */
+    static String fileKey(InputFile inputFile) {
+        String relativePath = inputFile.relativePath();
+        return relativePath != null ? relativePath : String.valueOf(inputFile.uri());
+    }
+
+    private static long total(long[] phaseNanos) {
+        long total = 0;
+        for (long nanos : phaseNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    private static <V> List<Map.Entry<String, V>> sorted(Map<String, V> map, ToLongFunction<V> nanos) {
+        List<Map.Entry<String, V>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Comparator.<Map.Entry<String, V>>comparingLong(e -> nanos.applyAsLong(e.getValue())).reversed()
+                .thenComparing(Map.Entry::getKey));
+        return entries;
+    }
+
+    private static <V> List<Map.Entry<String, V>> top(Map<String, V> map, ToLongFunction<V> nanos) {
+        List<Map.Entry<String, V>> entries = sorted(map, nanos);
+        return entries.subList(0, Math.min(TOP, entries.size()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import com.qualimetry.sonar.ansible.analyzer.checks.WarningCheck;
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaCache;
+import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.RoleMetaParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.SymbolTable;
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlDocument;
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlLimits;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.ParseError;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleMeta;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnalysisCancelledException;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleWalker;
+import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CancellationToken;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CompositeVisitor;
+import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
+import com.qualimetry.sonar.ansible.analyzer.visitor.RoleMetaDetector;
+import com.qualimetry.sonar.ansible.analyzer.visitor.RuleTimings;
+import com.qualimetry.sonar.ansible.plugin.AnalysisProfile.Phase;
+import org.sonar.api.batch.fs.InputFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Analyzes one file at a time with its own check instances and parsers.
+ * A worker is confined to a single thread while it analyzes a file; the sensor
+ * hands out one worker per analysis thread so checks never share state.
+ * <p>
+ * Each file gets a fresh {@link CancellationToken}, polled between parsing and walking, by the
+ * walk between callbacks and by checks with input-sized loops. A file that runs over its time
+ * budget is skipped: its issues so far are dropped and {@link WarningCheck}, when active,
+ * reports the skip instead.
+ * <p>
+ * When the sensor built a project {@link SymbolIndex}, each file's checks query it through a
+ * {@link SensorProjectSymbols} that records the answers for the cache.
+ */
+final class AnalysisWorker {
+
+    private final ProjectPathIndex pathIndex;
+    private final SymbolIndex symbolIndex;
+    private final List<BaseCheck> checks;
+    private final AnalysisProfile profile;
+    private final RuleTimings ruleTimings;
+    private final CompositeVisitor dispatcher;
+    private final AnsibleParser parser;
+    private final AnsibleParser streamingParser;
+    private final boolean composeDocument;
+    private final RoleMetaParser roleMetaParser;
+    private final JinjaCache jinja;
+    private final YamlLimits limits;
+    private final Supplier<CancellationToken> cancellation;
+    private final WarningCheck warningCheck;
+
+    /**
+     * @param symbolIndex  project-wide names, or null when no check uses them
+     * @param jinja        parsed Jinja expressions shared by every worker of the analysis
+     * @param cancellation gives the token for each file, with the file's time budget starting
+     */
+    AnalysisWorker(ProjectPathIndex pathIndex, SymbolIndex symbolIndex, List<BaseCheck> checks,
+                   AnalysisProfile profile, SymbolTable symbols, JinjaCache jinja, YamlLimits limits,
+                   Supplier<CancellationToken> cancellation) {
+        this.pathIndex = pathIndex;
+        this.symbolIndex = symbolIndex;
+        this.checks = checks;
+        this.profile = profile;
+        this.ruleTimings = profile.isDetailed() ? new RuleTimings(checks.size()) : null;
+        this.dispatcher = new CompositeVisitor(checks, ruleTimings);
+        this.composeDocument = checks.stream().anyMatch(BaseCheck::usesDocument);
+        this.jinja = jinja;
+        this.limits = limits;
+        this.parser = new AnsibleParser(AnsibleParser.Mode.TREE, symbols, limits);
+        this.streamingParser = new AnsibleParser(AnsibleParser.Mode.STREAMING, symbols, limits);
+        this.roleMetaParser = new RoleMetaParser(symbols, limits);
+        this.cancellation = cancellation;
+        this.warningCheck = checks.stream().filter(WarningCheck.class::isInstance).map(WarningCheck.class::cast)
+                .findFirst().orElse(null);
+    }
+
+    /** Adds the per-rule timings of this worker to the profile; call once analysis is done. */
+    void reportRuleTimings() {
+        if (ruleTimings != null) {
+            profile.addRules(checks, ruleTimings);
+        }
+    }
+
+    /**
+     * Reads and parses the given file, then walks it once for all checks of this worker.
+     *
+     * @return the issues raised on the file, in the order they were reported, and the project
+     *         paths looked up; empty when the file cannot be read or contains nothing to analyze;
+     *         {@link FileResult#CANCELLED} when the whole analysis was cancelled
+     */
+    FileResult analyze(InputFile inputFile) {
+        return analyze(inputFile, null);
+    }
+
+    /**
+     * Same as {@link #analyze(InputFile)}, with the content already read by the sensor.
+     *
+     * @param content the file content, or null to read the file
+     */
+    FileResult analyze(InputFile inputFile, String content) {
+        CancellationToken token = cancellation.get();
+        long start = System.nanoTime();
+        try {
+            return analyze(inputFile, content, token, start);
+        } catch (AnalysisCancelledException e) {
+            if (!e.timedOut()) {
+                return FileResult.CANCELLED;
+            }
+            return skipped(inputFile, System.nanoTime() - start);
+        } finally {
+            dispatcher.setCancellation(CancellationToken.NONE);
+        }
+    }
+
+    private FileResult analyze(InputFile inputFile, String content, CancellationToken token, long start) {
+        String uri = inputFile.uri().toString();
+        String fileKey = AnalysisProfile.fileKey(inputFile);
+        String rawContent = content;
+        if (rawContent == null) {
+            try (InputStream is = inputFile.inputStream()) {
+                rawContent = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                return FileResult.EMPTY;
+            }
+        }
+        long read = System.nanoTime();
+        profile.add(fileKey, Phase.READ, read - start);
+
+        AnsibleContext ansibleContext;
+        SensorPathResolver pathResolver = new SensorPathResolver(pathIndex, inputFile);
+        String relativePath = inputFile.relativePath();
+        SensorProjectSymbols projectSymbols = symbolIndex != null
+                ? new SensorProjectSymbols(symbolIndex, relativePath) : null;
+        long parsed;
+        dispatcher.setCancellation(token);
+        if (RoleMetaDetector.isRoleMetaFile(relativePath)) {
+            YamlDocument document = YamlDocument.parse(rawContent, limits);
+            RoleMeta roleMeta = roleMetaParser.parseDocument(uri, document);
+            PlaybookFile playbookFile = parser.parseDocument(uri, document);
+            parsed = System.nanoTime();
+            token.throwIfCancelled();
+            ansibleContext = new AnsibleContext(playbookFile, inputFile, rawContent, document);
+            ansibleContext.setPathResolver(pathResolver);
+            ansibleContext.setProjectSymbols(projectSymbols);
+            ansibleContext.setJinja(jinja);
+            ansibleContext.setYamlLimits(limits);
+            ansibleContext.setCancellation(token);
+            setContext(ansibleContext);
+            dispatcher.visitRoleMeta(roleMeta);
+        } else {
+            // Without a check that reads the node tree, build the model from YAML events only.
+            YamlDocument document = composeDocument ? YamlDocument.parse(rawContent, limits) : null;
+            PlaybookFile playbookFile = document != null
+                    ? parser.parseDocument(uri, document)
+                    : streamingParser.parse(uri, rawContent);
+            parsed = System.nanoTime();
+            if (playbookFile.plays().isEmpty() && playbookFile.parseError() == null) {
+                profile.add(fileKey, Phase.PARSE, parsed - read);
+                return FileResult.EMPTY;
+            }
+            token.throwIfCancelled();
+            ansibleContext = new AnsibleContext(playbookFile, inputFile, rawContent, document);
+            ansibleContext.setPathResolver(pathResolver);
+            ansibleContext.setProjectSymbols(projectSymbols);
+            ansibleContext.setJinja(jinja);
+            ansibleContext.setYamlLimits(limits);
+            ansibleContext.setCancellation(token);
+            setContext(ansibleContext);
+            AnsibleWalker.walk(playbookFile, dispatcher);
+        }
+        ansibleContext.releaseDocument();
+        profile.add(fileKey, Phase.PARSE, parsed - read);
+        profile.add(fileKey, Phase.WALK, System.nanoTime() - parsed);
+        return new FileResult(List.copyOf(ansibleContext.getIssues()), Map.copyOf(pathResolver.lookups()),
+                projectSymbols != null ? Map.copyOf(projectSymbols.lookups()) : Map.of(),
+                limitWarnings(relativePath, ansibleContext.getPlaybookFile().parseError()), false);
+    }
+
+    /** Result for a file that ran over its time budget: only the skip is reported. */
+    private FileResult skipped(InputFile inputFile, long elapsed) {
+        String relativePath = inputFile.relativePath();
+        String reason = "Analysis of " + relativePath + " was stopped after " + elapsed / 1_000_000
+                + " ms, over the time budget set with " + AnsiblePluginConstants.FILE_TIMEOUT_KEY
+                + "; the file was not analyzed.";
+        List<Issue> issues = List.of();
+        if (warningCheck != null) {
+            AnsibleContext context = new AnsibleContext(
+                    new PlaybookFile(List.of(), inputFile.uri().toString(), null), inputFile, null);
+            warningCheck.setContext(context);
+            warningCheck.reportSkippedFile(reason);
+            issues = List.copyOf(context.getIssues());
+        }
+        return new FileResult(issues, Map.of(), Map.of(), List.of(reason), true);
+    }
+
+    private static List<String> limitWarnings(String relativePath, ParseError error) {
+        if (error == null || !error.limitExceeded()) {
+            return List.of();
+        }
+        return List.of("YAML of " + relativePath + " exceeds an analysis limit and was not analyzed: "
+                + error.message().strip() + ". Limits are set with the sonar.ansible.yaml.* properties.");
+    }
+
+    private void setContext(AnsibleContext ansibleContext) {
+        for (BaseCheck check : checks) {
+            check.setContext(ansibleContext);
+        }
+    }
+}
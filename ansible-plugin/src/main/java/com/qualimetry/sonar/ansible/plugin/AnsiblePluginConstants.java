@@ -21,6 +21,36 @@ public final class AnsiblePluginConstants {
     /** SonarQube Ansible language key. */
     public static final String ANSIBLE_LANGUAGE_KEY = "ansible";
 
+    /** Number of threads used to analyze files in parallel (default 1, i.e. sequential). */
+    public static final String ANALYSIS_THREADS_KEY = "sonar.ansible.analysis.threads";
+
+    /**
+     * Milliseconds allowed to parse and check one file before it is skipped (default 0, i.e. no
+     * limit; 0 or less for no limit).
+     */
+    public static final String FILE_TIMEOUT_KEY = "sonar.ansible.analysis.fileTimeoutMillis";
+
+    /** When true, times every rule and writes a JSON profile to the scanner work directory. */
+    public static final String PROFILE_KEY = "sonar.ansible.profile";
+
+    /**
+     * Issues one rule reports on one file before further hits are grouped into a single issue
+     * (default 100; 0 reports every issue).
+     */
+    public static final String MAX_ISSUES_PER_RULE_KEY = "sonar.ansible.issues.maxPerRule";
+
+    /** Aliases to collections allowed per YAML file (default 50). */
+    public static final String YAML_MAX_ALIASES_KEY = "sonar.ansible.yaml.maxAliases";
+
+    /** Collection nesting depth allowed per YAML file (default 50). */
+    public static final String YAML_MAX_NESTING_DEPTH_KEY = "sonar.ansible.yaml.maxNestingDepth";
+
+    /** Code points read per YAML file (default 3 MiB). */
+    public static final String YAML_MAX_CODE_POINTS_KEY = "sonar.ansible.yaml.maxCodePoints";
+
+    /** When false, a mapping that repeats a key is reported as a parse error (default true). */
+    public static final String YAML_ALLOW_DUPLICATE_KEYS_KEY = "sonar.ansible.yaml.allowDuplicateKeys";
+
     private AnsiblePluginConstants() {
     }
 }
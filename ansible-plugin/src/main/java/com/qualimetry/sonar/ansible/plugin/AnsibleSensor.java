@@ -16,15 +16,17 @@
 package com.qualimetry.sonar.ansible.plugin;
 
 import com.qualimetry.sonar.ansible.analyzer.checks.CheckList;
-import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
-import com.qualimetry.sonar.ansible.analyzer.parser.RoleMetaParser;
-import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
-import com.qualimetry.sonar.ansible.analyzer.parser.model.RoleMeta;
-import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
-import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleWalker;
+import com.qualimetry.sonar.ansible.analyzer.index.FileSymbols;
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
+import com.qualimetry.sonar.ansible.analyzer.jinja.JinjaCache;
+import com.qualimetry.sonar.ansible.analyzer.parser.SymbolTable;
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlLimits;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnalysisCancelledException;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CancellationToken;
 import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
 import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
-import com.qualimetry.sonar.ansible.analyzer.visitor.RoleMetaDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.rule.CheckFactory;
@@ -34,26 +36,85 @@ import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.SensorDescriptor;
 import org.sonar.api.batch.sensor.issue.NewIssue;
 import org.sonar.api.batch.sensor.issue.NewIssueLocation;
+import org.sonar.api.config.Configuration;
+import org.sonar.api.notifications.AnalysisWarnings;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.check.Rule;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
-/** Sensor that runs Ansible analysis on files classified as Ansible. */
+/**
+ * Sensor that runs Ansible analysis on files classified as Ansible.
+ * Files are analyzed on {@value AnsiblePluginConstants#ANALYSIS_THREADS_KEY} threads
+ * (one set of check instances per thread); issues are always saved in file order.
+ * Unchanged files are not re-analyzed when the SonarQube sensor cache holds their issues.
+ * Time spent per phase and file is logged at the end; {@value AnsiblePluginConstants#PROFILE_KEY}
+ * adds per-rule timings and a JSON profile in the work directory. A rule reports at most
+ * {@value AnsiblePluginConstants#MAX_ISSUES_PER_RULE_KEY} issues per file; further hits are
+ * grouped into one issue. YAML is read within the {@code sonar.ansible.yaml.*} limits; a file that
+ * exceeds one is reported as a parse error, logged, and counted in one analysis warning. A file
+ * that runs longer than {@value AnsiblePluginConstants#FILE_TIMEOUT_KEY}, when set, is skipped the same way;
+ * when the analysis is cancelled, no further file is analyzed or saved.
+ * <p>
+ * When an active check asks project-wide questions (undefined or unused variables, missing
+ * handlers), a pre-pass first sweeps every YAML file, template and inventory of the project once,
+ * on the same threads and within the same per-file time budget, into a {@link SymbolIndex} that
+ * all analysis threads share.
+ */
 public class AnsibleSensor implements Sensor {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AnsibleSensor.class);
+
+    /**
+     * Default of {@value AnsiblePluginConstants#FILE_TIMEOUT_KEY}: no limit, so a slow file is never
+     * dropped from an analysis unless the user asks for a budget.
+     */
+    static final long DEFAULT_FILE_TIMEOUT_MILLIS = 0;
+
+    /** Per-thread number of analyzed files whose issues may wait to be saved. */
+    private static final int PENDING_FILES_PER_THREAD = 4;
+
     private final FileSystem fileSystem;
     private final CheckFactory checkFactory;
+    private final AnalysisWarnings analysisWarnings;
 
     public AnsibleSensor(FileSystem fileSystem, CheckFactory checkFactory) {
+        this(fileSystem, checkFactory, null);
+    }
+
+    /**
+     * @param analysisWarnings where to report files skipped for exceeding a YAML limit or the time
+     *                         budget; may be null
+     */
+    public AnsibleSensor(FileSystem fileSystem, CheckFactory checkFactory, AnalysisWarnings analysisWarnings) {
         this.fileSystem = fileSystem;
         this.checkFactory = checkFactory;
+        this.analysisWarnings = analysisWarnings;
     }
 
     @Override
@@ -65,8 +126,7 @@ public class AnsibleSensor implements Sensor {
 
     @Override
     public void execute(SensorContext context) {
-        Checks<BaseCheck> checks = checkFactory.<BaseCheck>create(CheckList.REPOSITORY_KEY)
-                .addAnnotatedChecks((Iterable<?>) CheckList.getAllChecks());
+        Checks<BaseCheck> checks = createChecks();
 
         List<BaseCheck> activeChecks = new ArrayList<>(checks.all());
         if (activeChecks.isEmpty()) {
@@ -84,57 +144,404 @@ public class AnsibleSensor implements Sensor {
             }
         }
 
-        AnsibleParser parser = new AnsibleParser();
-        RoleMetaParser roleMetaParser = new RoleMetaParser();
-
+        List<InputFile> inputFiles = new ArrayList<>();
         for (InputFile inputFile : fileSystem.inputFiles(
                 fileSystem.predicates().and(
                         fileSystem.predicates().hasType(InputFile.Type.MAIN),
                         fileSystem.predicates().hasLanguage(AnsiblePluginConstants.ANSIBLE_LANGUAGE_KEY)))) {
+            inputFiles.add(inputFile);
+        }
 
-            String uri = inputFile.uri().toString();
-            String rawContent;
-            try (InputStream is = inputFile.inputStream()) {
-                rawContent = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-            } catch (IOException e) {
-                continue;
+        if (inputFiles.isEmpty()) {
+            return;
+        }
+        ProjectPathIndex pathIndex = ProjectPathIndex.build(fileSystem);
+        YamlLimits limits = yamlLimits(context);
+        AnalysisCache cache = AnalysisCache.create(context, limits.toString());
+        AnalysisProfile profile = new AnalysisProfile(profileEnabled(context));
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(fileTimeoutMillis(context));
+        Supplier<CancellationToken> cancellation = () -> CancellationToken.of(budgetNanos, context::isCancelled);
+        SymbolIndex symbolIndex = null;
+        Map<InputFile, String> contents = new HashMap<>();
+        if (activeChecks.stream().anyMatch(BaseCheck::usesProjectSymbols)) {
+            symbolIndex = buildSymbolIndex(context, limits, cache, profile, cancellation, new HashSet<>(inputFiles),
+                    contents);
+            if (symbolIndex == null) {
+                LOG.info("Ansible analysis cancelled");
+                return;
             }
+        }
+        SymbolTable symbols = new SymbolTable();
+        JinjaCache jinja = new JinjaCache();
+        IssueCap issueCap = new IssueCap(maxIssuesPerRule(context));
+        List<String> warnings = new ArrayList<>();
 
-            AnsibleContext ansibleContext;
+        int threads = Math.min(analysisThreads(context), inputFiles.size());
+        if (threads <= 1) {
+            AnalysisWorker worker = new AnalysisWorker(pathIndex, symbolIndex, activeChecks, profile, symbols, jinja,
+                    limits, cancellation);
+            for (InputFile inputFile : inputFiles) {
+                if (context.isCancelled()) {
+                    LOG.info("Ansible analysis cancelled");
+                    break;
+                }
+                String content = contents.remove(inputFile);
+                FileResult result = cache != null ? cache.replay(inputFile, pathIndex, symbolIndex) : null;
+                if (result == null) {
+                    result = worker.analyze(inputFile, content);
+                    if (result == FileResult.CANCELLED) {
+                        LOG.info("Ansible analysis cancelled");
+                        break;
+                    }
+                    if (cache != null) {
+                        cache.store(inputFile, result);
+                    }
+                }
+                saveIssues(context, inputFile, result, ruleKeyMap, issueCap, profile, warnings);
+            }
+            worker.reportRuleTimings();
+            finishProfile(profile);
+            reportWarnings(warnings);
+            return;
+        }
+
+        BlockingQueue<AnalysisWorker> workers = new ArrayBlockingQueue<>(threads);
+        workers.add(new AnalysisWorker(pathIndex, symbolIndex, activeChecks, profile, symbols, jinja, limits,
+                cancellation));
+        for (int i = 1; i < threads; i++) {
+            workers.add(new AnalysisWorker(pathIndex, symbolIndex, new ArrayList<>(createChecks().all()), profile,
+                    symbols, jinja, limits, cancellation));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new AnalysisThreadFactory());
+        try {
+            analyzeInParallel(context, inputFiles, contents, workers, executor, ruleKeyMap, issueCap, cache,
+                    pathIndex, symbolIndex, profile, warnings);
+        } finally {
+            executor.shutdownNow();
+        }
+        for (AnalysisWorker worker : workers) {
+            worker.reportRuleTimings();
+        }
+        finishProfile(profile);
+        reportWarnings(warnings);
+    }
+
+    /**
+     * Sweeps every indexed project file once into the project index, replaying the symbols of
+     * unchanged files from the cache. The other files are read and scanned on
+     * {@value AnsiblePluginConstants#ANALYSIS_THREADS_KEY} threads, each within the file time
+     * budget; files that cannot be read or run over the budget are left out. The content read
+     * for a file that is analyzed afterwards is kept in {@code contents}, so it is not read twice.
+     *
+     * @param analyzed files the sensor analyzes after the sweep
+     * @param contents receives the content read for files in {@code analyzed}
+     * @return the index, or null when the analysis was cancelled during the sweep
+     */
+    private SymbolIndex buildSymbolIndex(SensorContext context, YamlLimits limits, AnalysisCache cache,
+                                         AnalysisProfile profile, Supplier<CancellationToken> cancellation,
+                                         Set<InputFile> analyzed, Map<InputFile, String> contents) {
+        List<InputFile> indexed = new ArrayList<>();
+        for (InputFile inputFile : fileSystem.inputFiles(fileSystem.predicates().all())) {
             String relativePath = inputFile.relativePath();
-            if (RoleMetaDetector.isRoleMetaFile(relativePath)) {
-                RoleMeta roleMeta = roleMetaParser.parse(uri, rawContent);
-                PlaybookFile playbookFile = parser.parse(uri, rawContent);
-                ansibleContext = new AnsibleContext(playbookFile, inputFile, rawContent);
-                ansibleContext.setPathResolver(new SensorPathResolver(fileSystem, inputFile));
-                for (BaseCheck check : activeChecks) {
-                    check.setContext(ansibleContext);
-                    check.visitRoleMeta(roleMeta);
+            if (relativePath != null && FileSymbols.isIndexed(relativePath)) {
+                indexed.add(inputFile);
+            }
+        }
+        Map<InputFile, FileSymbols> symbolsByFile = new HashMap<>();
+        List<InputFile> toScan = new ArrayList<>();
+        for (InputFile inputFile : indexed) {
+            long start = System.nanoTime();
+            FileSymbols fileSymbols = cache != null ? cache.replaySymbols(inputFile) : null;
+            if (fileSymbols == null) {
+                toScan.add(inputFile);
+                continue;
+            }
+            symbolsByFile.put(inputFile, fileSymbols);
+            profile.add(AnalysisProfile.fileKey(inputFile), AnalysisProfile.Phase.INDEX, System.nanoTime() - start);
+        }
+
+        int threads = Math.min(analysisThreads(context), toScan.size());
+        ExecutorService executor = threads > 1
+                ? Executors.newFixedThreadPool(threads, new AnalysisThreadFactory()) : null;
+        int maxPending = Math.max(1, threads) * PENDING_FILES_PER_THREAD;
+        Deque<Future<ScannedFile>> pending = new ArrayDeque<>();
+        int next = 0;
+        try {
+            for (InputFile inputFile : toScan) {
+                if (context.isCancelled()) {
+                    return null;
+                }
+                while (next < toScan.size() && pending.size() < maxPending) {
+                    InputFile file = toScan.get(next++);
+                    Callable<ScannedFile> scan = () -> scanSymbols(file, limits, profile, cancellation.get());
+                    if (executor != null) {
+                        pending.add(executor.submit(scan));
+                    } else {
+                        FutureTask<ScannedFile> task = new FutureTask<>(scan);
+                        task.run();
+                        pending.add(task);
+                    }
+                }
+                ScannedFile scanned;
+                try {
+                    scanned = pending.remove().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof AnalysisCancelledException) {
+                        return null;
+                    }
+                    if (cause instanceof RuntimeException re) {
+                        throw re;
+                    }
+                    if (cause instanceof Error err) {
+                        throw err;
+                    }
+                    throw new IllegalStateException("Ansible project indexing failed", cause);
+                }
+                if (scanned.content() != null && analyzed.contains(inputFile)) {
+                    contents.put(inputFile, scanned.content());
+                }
+                if (scanned.symbols() != null) {
+                    symbolsByFile.put(inputFile, scanned.symbols());
+                    if (cache != null) {
+                        cache.storeSymbols(inputFile, scanned.symbols());
+                    }
                 }
-            } else {
-                PlaybookFile playbookFile = parser.parse(uri, rawContent);
-                if (playbookFile.plays().isEmpty() && playbookFile.parseError() == null) {
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        SymbolIndex.Builder builder = SymbolIndex.builder();
+        for (InputFile inputFile : indexed) {
+            FileSymbols fileSymbols = symbolsByFile.get(inputFile);
+            if (fileSymbols != null) {
+                builder.add(fileSymbols);
+            }
+        }
+        SymbolIndex index = builder.build();
+        LOG.debug("Ansible project index: {}", index);
+        return index;
+    }
+
+    /**
+     * Reads and scans one file for the project index; runs on an analysis thread.
+     *
+     * @throws AnalysisCancelledException when the whole analysis was cancelled
+     */
+    private static ScannedFile scanSymbols(InputFile inputFile, YamlLimits limits, AnalysisProfile profile,
+                                           CancellationToken token) {
+        long start = System.nanoTime();
+        String content;
+        try (InputStream is = inputFile.inputStream()) {
+            content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.debug("Cannot read {} for the Ansible project index", inputFile, e);
+            return new ScannedFile(null, null);
+        }
+        try {
+            return new ScannedFile(FileSymbols.scan(inputFile.relativePath(), content, limits, token), content);
+        } catch (AnalysisCancelledException e) {
+            if (!e.timedOut()) {
+                throw e;
+            }
+            LOG.warn("Indexing of {} was stopped after the time budget set with {}; its variables and handlers"
+                    + " are left out of the project index.", inputFile.relativePath(),
+                    AnsiblePluginConstants.FILE_TIMEOUT_KEY);
+            return new ScannedFile(null, content);
+        } finally {
+            profile.add(AnalysisProfile.fileKey(inputFile), AnalysisProfile.Phase.INDEX, System.nanoTime() - start);
+        }
+    }
+
+    /** Index symbols of a file, null when it could not be scanned, and its content, null when unreadable. */
+    private record ScannedFile(FileSymbols symbols, String content) {}
+
+    /** Shows one analysis warning for all files that exceeded an analysis limit; each was logged when saved. */
+    private void reportWarnings(List<String> warnings) {
+        if (warnings.isEmpty() || analysisWarnings == null) {
+            return;
+        }
+        analysisWarnings.addUnique(warnings.size() + " Ansible file(s) exceed an analysis limit and could not"
+                + " be analyzed. See the analysis log for details.");
+    }
+
+    /** Logs the timing summary and, when profiling is enabled, writes the JSON profile. */
+    private void finishProfile(AnalysisProfile profile) {
+        profile.log();
+        if (!profile.isDetailed()) {
+            return;
+        }
+        File workDir = fileSystem.workDir();
+        if (workDir == null) {
+            return;
+        }
+        try {
+            Path path = profile.write(workDir.toPath());
+            LOG.info("Ansible analysis profile written to {}", path);
+        } catch (IOException e) {
+            LOG.warn("Cannot write Ansible analysis profile to {}", workDir, e);
+        }
+    }
+
+    private Checks<BaseCheck> createChecks() {
+        return checkFactory.<BaseCheck>create(CheckList.REPOSITORY_KEY)
+                .addAnnotatedChecks((Iterable<?>) CheckList.getAllChecks());
+    }
+
+    /**
+     * Analyzes files on the executor, borrowing a worker per file, and saves issues on the
+     * calling thread in input order so the result matches a sequential run. At most
+     * {@code workers * PENDING_FILES_PER_THREAD} results are held in memory at a time.
+     * Cached files are replayed on the calling thread and never reach the executor. Stops
+     * saving at the first file analyzed after the analysis was cancelled.
+     *
+     * @param contents content already read by the project index sweep, taken out as files are analyzed
+     */
+    private void analyzeInParallel(SensorContext context, List<InputFile> inputFiles,
+                                   Map<InputFile, String> contents, BlockingQueue<AnalysisWorker> workers,
+                                   ExecutorService executor, Map<String, RuleKey> ruleKeyMap, IssueCap issueCap,
+                                   AnalysisCache cache, ProjectPathIndex pathIndex, SymbolIndex symbolIndex,
+                                   AnalysisProfile profile, List<String> warnings) {
+        int maxPending = workers.size() * PENDING_FILES_PER_THREAD;
+        Deque<Future<FileResult>> pending = new ArrayDeque<>();
+        Deque<Boolean> replayed = new ArrayDeque<>();
+        int next = 0;
+        int saved = 0;
+        while (saved < inputFiles.size()) {
+            while (next < inputFiles.size() && pending.size() < maxPending) {
+                InputFile inputFile = inputFiles.get(next++);
+                String content = contents.remove(inputFile);
+                FileResult cached = cache != null ? cache.replay(inputFile, pathIndex, symbolIndex) : null;
+                replayed.add(cached != null);
+                if (cached != null) {
+                    pending.add(CompletableFuture.completedFuture(cached));
                     continue;
                 }
-                ansibleContext = new AnsibleContext(playbookFile, inputFile, rawContent);
-                ansibleContext.setPathResolver(new SensorPathResolver(fileSystem, inputFile));
-                for (BaseCheck check : activeChecks) {
-                    check.setContext(ansibleContext);
-                    AnsibleWalker.walk(playbookFile, check);
+                pending.add(executor.submit(() -> {
+                    AnalysisWorker worker = workers.take();
+                    try {
+                        return worker.analyze(inputFile, content);
+                    } finally {
+                        workers.add(worker);
+                    }
+                }));
+            }
+            FileResult result;
+            boolean fromCache = replayed.remove();
+            try {
+                result = pending.remove().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                }
+                if (cause instanceof Error err) {
+                    throw err;
                 }
+                throw new IllegalStateException("Ansible analysis failed", cause);
+            }
+            if (result == FileResult.CANCELLED || context.isCancelled()) {
+                LOG.info("Ansible analysis cancelled");
+                return;
             }
+            InputFile inputFile = inputFiles.get(saved++);
+            if (cache != null && !fromCache) {
+                cache.store(inputFile, result);
+            }
+            saveIssues(context, inputFile, result, ruleKeyMap, issueCap, profile, warnings);
+        }
+    }
+
+    private static int analysisThreads(SensorContext context) {
+        Configuration config = context.config();
+        if (config == null) {
+            return 1;
+        }
+        return Math.max(1, config.getInt(AnsiblePluginConstants.ANALYSIS_THREADS_KEY).orElse(1));
+    }
+
+    private static boolean profileEnabled(SensorContext context) {
+        Configuration config = context.config();
+        return config != null && config.getBoolean(AnsiblePluginConstants.PROFILE_KEY).orElse(false);
+    }
+
+    private static long fileTimeoutMillis(SensorContext context) {
+        Configuration config = context.config();
+        if (config == null) {
+            return DEFAULT_FILE_TIMEOUT_MILLIS;
+        }
+        return config.getLong(AnsiblePluginConstants.FILE_TIMEOUT_KEY).orElse(DEFAULT_FILE_TIMEOUT_MILLIS);
+    }
+
+    private static int maxIssuesPerRule(SensorContext context) {
+        Configuration config = context.config();
+        if (config == null) {
+            return IssueCap.DEFAULT_MAX_PER_RULE;
+        }
+        return config.getInt(AnsiblePluginConstants.MAX_ISSUES_PER_RULE_KEY).orElse(IssueCap.DEFAULT_MAX_PER_RULE);
+    }
+
+    private static YamlLimits yamlLimits(SensorContext context) {
+        Configuration config = context.config();
+        if (config == null) {
+            return YamlLimits.defaults();
+        }
+        return new YamlLimits(
+                config.getInt(AnsiblePluginConstants.YAML_MAX_ALIASES_KEY).orElse(YamlLimits.DEFAULT_MAX_ALIASES),
+                config.getInt(AnsiblePluginConstants.YAML_MAX_NESTING_DEPTH_KEY).orElse(YamlLimits.DEFAULT_MAX_NESTING_DEPTH),
+                config.getInt(AnsiblePluginConstants.YAML_MAX_CODE_POINTS_KEY).orElse(YamlLimits.DEFAULT_MAX_CODE_POINTS),
+                config.getBoolean(AnsiblePluginConstants.YAML_ALLOW_DUPLICATE_KEYS_KEY).orElse(true));
+    }
 
-            for (Issue issue : ansibleContext.getIssues()) {
-                RuleKey ruleKey = ruleKeyMap.get(issue.ruleKey());
-                if (ruleKey == null) continue;
-                NewIssue newIssue = context.newIssue().forRule(ruleKey);
-                NewIssueLocation loc = newIssue.newLocation().on(inputFile).message(issue.message());
-                if (issue.line() != null && issue.line() > 0) {
-                    loc.at(inputFile.selectLine(issue.line()));
+    private static void saveIssues(SensorContext context, InputFile inputFile, FileResult result,
+                                   Map<String, RuleKey> ruleKeyMap, IssueCap issueCap, AnalysisProfile profile,
+                                   List<String> warnings) {
+        long start = System.nanoTime();
+        for (String warning : result.warnings()) {
+            LOG.warn(warning);
+            warnings.add(warning);
+        }
+        for (IssueCap.Report report : issueCap.apply(result.issues())) {
+            Issue issue = report.issue();
+            RuleKey ruleKey = ruleKeyMap.get(issue.ruleKey());
+            if (ruleKey == null) continue;
+            NewIssue newIssue = context.newIssue().forRule(ruleKey);
+            NewIssueLocation loc = newIssue.newLocation().on(inputFile).message(report.message());
+            if (issue.line() != null && issue.line() > 0) {
+                loc.at(inputFile.selectLine(issue.line()));
+            }
+            newIssue.at(loc);
+            for (Issue hit : report.secondary()) {
+                if (hit.line() != null && hit.line() > 0) {
+                    newIssue.addLocation(newIssue.newLocation().on(inputFile)
+                            .at(inputFile.selectLine(hit.line())).message(hit.message()));
                 }
-                newIssue.at(loc);
-                newIssue.save();
             }
+            newIssue.save();
+            if (report.folded() > 0) {
+                LOG.debug("Grouped {} issues of rule {} in {}", report.folded(), issue.ruleKey(), inputFile);
+            }
+        }
+        profile.add(AnalysisProfile.fileKey(inputFile), AnalysisProfile.Phase.REPORT, System.nanoTime() - start);
+    }
+
+    private static final class AnalysisThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "ansible-analysis-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
         }
     }
 }
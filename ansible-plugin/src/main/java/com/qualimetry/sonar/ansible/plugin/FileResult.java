@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of analyzing one file.
+ *
+ * @param issues        issues to save, in report order
+ * @param pathLookups   project paths the checks looked up, with their result; the issues
+ *                      are only valid while every lookup still gives the same result
+ * @param symbolLookups project index questions the checks asked, with their answer; same rule
+ * @param warnings      problems to log and show as analysis warnings; cached and replayed with the issues
+ * @param incomplete    the analysis of the file was stopped early, so the result must not be cached
+ */
+record FileResult(List<Issue> issues, Map<String, Boolean> pathLookups, Map<String, Boolean> symbolLookups,
+                  List<String> warnings, boolean incomplete) {
+
+    static final FileResult EMPTY = new FileResult(List.of(), Map.of());
+
+    /** The analysis was cancelled before the file was done; nothing is saved or cached. */
+    static final FileResult CANCELLED = new FileResult(List.of(), Map.of(), Map.of(), List.of(), true);
+
+    FileResult(List<Issue> issues, Map<String, Boolean> pathLookups) {
+        this(issues, pathLookups, Map.of(), List.of(), false);
+    }
+
+    FileResult(List<Issue> issues, Map<String, Boolean> pathLookups, Map<String, Boolean> symbolLookups) {
+        this(issues, pathLookups, symbolLookups, List.of(), false);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limits how many issues one rule reports on one file. The first issues of a rule, up to the
+ * cap, are reported as they are; the rest of that rule's hits are folded into one issue at the
+ * first of them, with the others as secondary locations and their count in the message. This
+ * keeps a generated or minified file from sending thousands of issues to the server.
+ */
+final class IssueCap {
+
+    /** Default for {@value AnsiblePluginConstants#MAX_ISSUES_PER_RULE_KEY}. */
+    static final int DEFAULT_MAX_PER_RULE = 100;
+
+    /** Secondary locations kept on a folded issue; further hits are only counted. */
+    static final int MAX_SECONDARY_LOCATIONS = 100;
+
+    private final int maxPerRule;
+
+    /** @param maxPerRule issues reported per rule and file before folding; 0 or less disables the cap */
+    IssueCap(int maxPerRule) {
+        this.maxPerRule = maxPerRule;
+    }
+
+    /** An issue to report, with the hits folded into it (empty unless it is a folded issue). */
+    record Report(Issue issue, String message, List<Issue> secondary, int folded) {
+    }
+
+    /**
+     * @return the issues to report: those within the cap in their original order, then one
+     *         folded issue per rule that went over it
+     */
+    List<Report> apply(List<Issue> issues) {
+        List<Report> reports = new ArrayList<>(Math.min(issues.size(), 1024));
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, List<Issue>> over = new LinkedHashMap<>();
+        for (Issue issue : issues) {
+            int count = counts.merge(issue.ruleKey(), 1, Integer::sum);
+            if (maxPerRule <= 0 || count <= maxPerRule) {
+                reports.add(new Report(issue, issue.message(), List.of(), 0));
+            } else {
+                over.computeIfAbsent(issue.ruleKey(), k -> new ArrayList<>()).add(issue);
+            }
+        }
+        for (List<Issue> hits : over.values()) {
+            Issue first = hits.get(0);
+            List<Issue> secondary = List.copyOf(hits.subList(1, Math.min(hits.size(), MAX_SECONDARY_LOCATIONS + 1)));
+            String message = first.message() + " (" + hits.size() + " more issues of this rule in this file,"
+                    + " over the limit of " + maxPerRule + ", are grouped here)";
+            reports.add(new Report(first, message, secondary, hits.size()));
+        }
+        return reports;
+    }
+}
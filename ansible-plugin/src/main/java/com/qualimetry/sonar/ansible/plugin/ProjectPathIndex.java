@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable set of the normalized relative paths of all project files, built once per
+ * sensor run and shared by every {@link SensorPathResolver}. Lookups are exact
+ * (case-sensitive, as Ansible resolves paths on the controller).
+ */
+public final class ProjectPathIndex {
+
+    private final Set<String> paths;
+
+    private ProjectPathIndex(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    /** Indexes every file of the file system (main and test, any language). */
+    public static ProjectPathIndex build(FileSystem fileSystem) {
+        Set<String> paths = new HashSet<>();
+        for (InputFile f : fileSystem.inputFiles(fileSystem.predicates().all())) {
+            String relativePath = f.relativePath();
+            if (relativePath != null && !relativePath.isEmpty()) {
+                paths.add(normalize(relativePath.replace('\\', '/')));
+            }
+        }
+        return new ProjectPathIndex(Set.copyOf(paths));
+    }
+
+    /** Returns true if the given normalized relative path is a project file. */
+    public boolean contains(String normalizedPath) {
+        return normalizedPath != null && paths.contains(normalizedPath);
+    }
+
+    public int size() {
+        return paths.size();
+    }
+
+    /** Removes "." segments and resolves ".." segments; ".." above the root is dropped. */
+    static String normalize(String path) {
+        if (path == null || path.isEmpty()) return path;
+        Path p = Paths.get(path);
+        List<String> parts = new ArrayList<>();
+        for (Path name : p) {
+            String s = name.toString();
+            if (".".equals(s)) continue;
+            if ("..".equals(s)) {
+                if (!parts.isEmpty()) parts.remove(parts.size() - 1);
+                continue;
+            }
+            parts.add(s);
+        }
+        return String.join("/", parts);
+    }
+}
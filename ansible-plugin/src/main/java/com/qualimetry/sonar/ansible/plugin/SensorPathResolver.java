@@ -19,10 +19,9 @@ import com.qualimetry.sonar.ansible.analyzer.visitor.PathResolver;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputFile;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Resolves paths relative to the current file using Sonar FileSystem.
@@ -31,12 +30,22 @@ public class SensorPathResolver implements PathResolver {
 
     private final FileSystem fileSystem;
     private final String currentFileRelativePath;
+    private ProjectPathIndex index;
+    private final Map<String, Boolean> lookups = new LinkedHashMap<>();
 
+    /** Resolver with its own index of the file system, built on first lookup. */
     public SensorPathResolver(FileSystem fileSystem, InputFile currentFile) {
         this.fileSystem = fileSystem;
         this.currentFileRelativePath = currentFile.relativePath();
     }
 
+    /** Resolver looking up paths in a shared project index. */
+    public SensorPathResolver(ProjectPathIndex index, InputFile currentFile) {
+        this.fileSystem = null;
+        this.index = index;
+        this.currentFileRelativePath = currentFile.relativePath();
+    }
+
     @Override
     public boolean existsInProject(String pathRelativeToCurrentFile) {
         if (pathRelativeToCurrentFile == null || pathRelativeToCurrentFile.isBlank()) {
@@ -44,12 +53,17 @@ public class SensorPathResolver implements PathResolver {
         }
         String resolved = resolveRelative(pathRelativeToCurrentFile);
         if (resolved == null) return false;
-        for (InputFile f : fileSystem.inputFiles(fileSystem.predicates().all())) {
-            if (resolved.equals(f.relativePath())) {
-                return true;
-            }
+        if (index == null) {
+            index = ProjectPathIndex.build(fileSystem);
         }
-        return false;
+        boolean exists = index.contains(resolved);
+        lookups.put(resolved, exists);
+        return exists;
+    }
+
+    /** Resolved project paths looked up so far, with their result. */
+    Map<String, Boolean> lookups() {
+        return Collections.unmodifiableMap(lookups);
     }
 
     private String resolveRelative(String pathRelativeToCurrentFile) {
@@ -57,7 +71,7 @@ public class SensorPathResolver implements PathResolver {
         String combined = baseDir.isEmpty()
                 ? pathRelativeToCurrentFile.replace('\\', '/')
                 : baseDir + "/" + pathRelativeToCurrentFile.replace('\\', '/');
-        return normalizePath(combined);
+        return ProjectPathIndex.normalize(combined);
     }
 
     private static String baseDirOf(String relativePath) {
@@ -66,20 +80,4 @@ public class SensorPathResolver implements PathResolver {
         if (last <= 0) return "";
         return relativePath.substring(0, last);
     }
-
-    private static String normalizePath(String path) {
-        if (path == null || path.isEmpty()) return path;
-        Path p = Paths.get(path);
-        List<String> parts = new ArrayList<>();
-        for (Path name : p) {
-            String s = name.toString();
-            if (".".equals(s)) continue;
-            if ("..".equals(s)) {
-                if (!parts.isEmpty()) parts.remove(parts.size() - 1);
-                continue;
-            }
-            parts.add(s);
-        }
-        return String.join("/", parts);
-    }
 }
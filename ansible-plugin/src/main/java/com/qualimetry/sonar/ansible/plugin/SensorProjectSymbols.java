@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import com.qualimetry.sonar.ansible.analyzer.index.Include;
+import com.qualimetry.sonar.ansible.analyzer.index.IncludeSummary;
+import com.qualimetry.sonar.ansible.analyzer.index.ProjectSymbols;
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers one file's project-wide questions from the shared {@link SymbolIndex} and records
+ * each question with its answer, so cached issues are only replayed while every answer holds.
+ * Questions about includes have no yes-or-no answer; they are recorded with the answer in the
+ * key, and hold while the index gives the same answer.
+ */
+final class SensorProjectSymbols implements ProjectSymbols {
+
+    private static final String VARIABLE = "variable:";
+    private static final String REFERENCE = "reference:";
+    private static final String HANDLER = "handler:";
+    private static final String ROLE = "role:";
+    private static final String ROLE_VARS = "role-vars:";
+    private static final String INCLUDE_SUMMARY = "include-summary:";
+    private static final String INCLUDE_CYCLE = "include-cycle:";
+    /** Separates the parts of an include question; include targets and answers hold no line break. */
+    private static final char SEPARATOR = '\n';
+
+    private final SymbolIndex index;
+    private final ProjectSymbols file;
+    private final Map<String, Boolean> lookups = new LinkedHashMap<>();
+
+    SensorProjectSymbols(SymbolIndex index, String relativePath) {
+        this.index = index;
+        this.file = index.forFile(relativePath);
+    }
+
+    @Override
+    public boolean isVariableDefined(String name) {
+        return record(VARIABLE, name);
+    }
+
+    @Override
+    public boolean isVariableReferenced(String name) {
+        return record(REFERENCE, name);
+    }
+
+    @Override
+    public boolean isHandlerDefined(String nameOrTopic) {
+        return record(HANDLER, nameOrTopic);
+    }
+
+    @Override
+    public boolean isRoleDefined(String role) {
+        return record(ROLE, role);
+    }
+
+    @Override
+    public boolean roleVarsShadowInventory(String role) {
+        return record(ROLE_VARS, role);
+    }
+
+    @Override
+    public IncludeSummary includeSummary(Include include) {
+        IncludeSummary summary = file.includeSummary(include);
+        lookups.put(INCLUDE_SUMMARY + question(include) + SEPARATOR + summary, true);
+        return summary;
+    }
+
+    @Override
+    public List<String> includeCycle(Include include) {
+        List<String> cycle = file.includeCycle(include);
+        lookups.put(INCLUDE_CYCLE + question(include) + SEPARATOR + cycle, true);
+        return cycle;
+    }
+
+    /** Questions asked so far, keyed by kind and name, with their answer. */
+    Map<String, Boolean> lookups() {
+        return Collections.unmodifiableMap(lookups);
+    }
+
+    /**
+     * Asks the index a question recorded for the file at the given path again; false for a
+     * question it does not understand.
+     */
+    static boolean answer(SymbolIndex index, String relativePath, String lookup) {
+        int colon = lookup.indexOf(':');
+        String name = lookup.substring(colon + 1);
+        return switch (lookup.substring(0, colon + 1)) {
+            case VARIABLE -> index.isVariableDefined(name);
+            case REFERENCE -> index.isVariableReferenced(name);
+            case HANDLER -> index.isHandlerDefined(name);
+            case ROLE -> index.isRoleDefined(name);
+            case ROLE_VARS -> index.roleVarsShadowInventory(name);
+            case INCLUDE_SUMMARY, INCLUDE_CYCLE -> {
+                int answer = name.lastIndexOf(SEPARATOR);
+                Include include = answer < 0 ? null : include(name.substring(0, answer));
+                if (include == null) {
+                    yield false;
+                }
+                ProjectSymbols file = index.forFile(relativePath);
+                Object current = lookup.startsWith(INCLUDE_SUMMARY)
+                        ? file.includeSummary(include) : file.includeCycle(include);
+                yield String.valueOf(current).equals(name.substring(answer + 1));
+            }
+            default -> false;
+        };
+    }
+
+    private static String question(Include include) {
+        return include.type().name() + SEPARATOR + include.target() + SEPARATOR
+                + (include.tasksFrom() != null ? include.tasksFrom() : "");
+    }
+
+    private static Include include(String question) {
+        String[] parts = question.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new Include(Include.Type.valueOf(parts[0]), parts[1], parts[2].isEmpty() ? null : parts[2]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean record(String kind, String name) {
+        if (name == null) {
+            return false;
+        }
+        String lookup = kind + name;
+        boolean result = answer(index, null, lookup);
+        lookups.put(lookup, result);
+        return result;
+    }
+}
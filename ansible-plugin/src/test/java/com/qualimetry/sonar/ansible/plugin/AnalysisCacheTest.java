@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import com.qualimetry.sonar.ansible.analyzer.checks.CheckList;
+import com.qualimetry.sonar.ansible.analyzer.index.FileSymbols;
+import com.qualimetry.sonar.ansible.analyzer.index.Include;
+import com.qualimetry.sonar.ansible.analyzer.index.SymbolIndex;
+import com.qualimetry.sonar.ansible.analyzer.parser.YamlLimits;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.TextPosition;
+import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.rule.ActiveRule;
+import org.sonar.api.batch.rule.ActiveRules;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.rule.RuleKey;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalysisCacheTest {
+
+    @Test
+    void encodeDecode_roundTripsIssuesAndLookups() throws Exception {
+        FileResult result = new FileResult(List.of(
+                new Issue("qa-a", "message", new TextPosition(3, 5), 3, 2.5, 9),
+                new Issue("qa-b", null, null, null, null, null)),
+                Map.of("roles/x/tasks/main.yml", true, "missing.yml", false),
+                Map.of("variable:app_port", true, "handler:Restart app", false));
+
+        FileResult decoded = AnalysisCache.decode(AnalysisCache.encode(result));
+
+        assertThat(decoded).isEqualTo(result);
+    }
+
+    @Test
+    void encodeDecode_roundTripsWarnings() throws Exception {
+        FileResult result = new FileResult(List.of(new Issue("qa-valid-yaml", "too deep", null, 1, null, null)),
+                Map.of(), Map.of(), List.of("YAML of deep.yml exceeds an analysis limit"), false);
+
+        assertThat(AnalysisCache.decode(AnalysisCache.encode(result))).isEqualTo(result);
+    }
+
+    @Test
+    void encodeDecodeSymbols_keepsWhatTheIndexAnswers() throws Exception {
+        FileSymbols symbols = FileSymbols.scan("roles/app/handlers/main.yml",
+                "- name: Restart app\n  service:\n    name: \"{{ app_service }}\"\n  register: restarted\n",
+                YamlLimits.defaults());
+
+        FileSymbols decoded = AnalysisCache.decodeSymbols(AnalysisCache.encodeSymbols(symbols), symbols.path());
+        SymbolIndex index = SymbolIndex.builder().add(decoded).build();
+
+        assertThat(index.isHandlerDefined("Restart app")).isTrue();
+        assertThat(index.isVariableReferenced("app_service")).isTrue();
+        assertThat(index.isVariableDefined("restarted")).isTrue();
+        assertThat(index.isRoleDefined("app")).isTrue();
+    }
+
+    @Test
+    void encodeDecodeSymbols_keepsIncludes() throws Exception {
+        FileSymbols symbols = FileSymbols.scan("site.yml",
+                "- hosts: all\n  become: true\n  tags: [web]\n  tasks:\n    - include_role:\n        name: app\n"
+                        + "        tasks_from: install\n    - name: Ping\n      ping:\n",
+                YamlLimits.defaults());
+
+        FileSymbols decoded = AnalysisCache.decodeSymbols(AnalysisCache.encodeSymbols(symbols), symbols.path());
+
+        assertThat(decoded.includes()).isEqualTo(symbols.includes());
+        assertThat(decoded.includes().includes()).containsExactly(
+                new Include(Include.Type.ROLE_TASKS, "app", "install"));
+        assertThat(decoded.includes().tasks()).isEqualTo(1);
+    }
+
+    @Test
+    void encodeDecodeSymbols_keepsVarsFilesAndTheirKeys() throws Exception {
+        FileSymbols playbook = FileSymbols.scan("site.yml",
+                "- hosts: all\n  vars_files:\n    - vars/common.yml\n", YamlLimits.defaults());
+        FileSymbols varsFile = FileSymbols.scan("vars/common.yml", "ntp_server: pool\n", YamlLimits.defaults());
+
+        SymbolIndex index = SymbolIndex.builder()
+                .add(AnalysisCache.decodeSymbols(AnalysisCache.encodeSymbols(playbook), playbook.path()))
+                .add(AnalysisCache.decodeSymbols(AnalysisCache.encodeSymbols(varsFile), varsFile.path()))
+                .build();
+
+        assertThat(index.isVariableDefined("ntp_server")).isTrue();
+    }
+
+    @Test
+    void recordedSymbolLookups_areAnsweredAgainByTheIndex() {
+        SymbolIndex index = SymbolIndex.builder().add("group_vars/all.yml", "app_port: 80\n").build();
+        SensorProjectSymbols symbols = new SensorProjectSymbols(index, "site.yml");
+
+        symbols.isVariableDefined("app_port");
+        symbols.isHandlerDefined("Restart app");
+
+        assertThat(symbols.lookups()).containsExactly(
+                Map.entry("variable:app_port", true), Map.entry("handler:Restart app", false));
+        symbols.lookups().forEach((lookup, answer) ->
+                assertThat(SensorProjectSymbols.answer(index, "site.yml", lookup)).isEqualTo(answer));
+    }
+
+    @Test
+    void recordedIncludeSummaries_onlyHoldWhileTheIncludedFilesAreUnchanged() {
+        String site = "- hosts: all\n  tasks:\n    - include_tasks: tasks/setup.yml\n";
+        SymbolIndex index = SymbolIndex.builder()
+                .add("site.yml", site)
+                .add("tasks/setup.yml", "- name: One\n  ping:\n")
+                .build();
+        SensorProjectSymbols symbols = new SensorProjectSymbols(index, "site.yml");
+        Include include = new Include(Include.Type.TASKS, "tasks/setup.yml", null);
+
+        assertThat(symbols.includeSummary(include).tasks()).isEqualTo(1);
+        assertThat(symbols.includeCycle(include)).isEmpty();
+
+        SymbolIndex changed = SymbolIndex.builder()
+                .add("site.yml", site)
+                .add("tasks/setup.yml", "- name: One\n  ping:\n- name: Two\n  ping:\n")
+                .build();
+        symbols.lookups().forEach((lookup, answer) -> {
+            assertThat(SensorProjectSymbols.answer(index, "site.yml", lookup)).isTrue();
+            assertThat(SensorProjectSymbols.answer(changed, "site.yml", lookup))
+                    .isEqualTo(lookup.startsWith("include-cycle:"));
+        });
+    }
+
+    @Test
+    void rulesHash_dependsOnRuleParametersButNotOrder() {
+        ActiveRule a = rule("qa-a", Map.of("max", "120"));
+        ActiveRule b = rule("qa-b", Map.of());
+
+        String hash = AnalysisCache.rulesHash(context(List.of(a, b)));
+
+        assertThat(AnalysisCache.rulesHash(context(List.of(b, a)))).isEqualTo(hash);
+        assertThat(AnalysisCache.rulesHash(context(List.of(rule("qa-a", Map.of("max", "80")), b))))
+                .isNotEqualTo(hash);
+        assertThat(AnalysisCache.rulesHash(context(List.of(a)))).isNotEqualTo(hash);
+    }
+
+    @Test
+    void pluginVersion_isFilteredAtBuildTime() {
+        assertThat(AnalysisCache.pluginVersion()).isNotEqualTo("unknown").doesNotContain("${");
+    }
+
+    private static ActiveRule rule(String key, Map<String, String> params) {
+        ActiveRule rule = mock(ActiveRule.class);
+        when(rule.ruleKey()).thenReturn(RuleKey.of(CheckList.REPOSITORY_KEY, key));
+        when(rule.params()).thenReturn(params);
+        return rule;
+    }
+
+    private static SensorContext context(List<ActiveRule> rules) {
+        ActiveRules activeRules = mock(ActiveRules.class);
+        when(activeRules.findByRepository(CheckList.REPOSITORY_KEY))
+                .thenReturn(rules);
+        SensorContext context = mock(SensorContext.class);
+        when(context.activeRules()).thenReturn(activeRules);
+        return context;
+    }
+}
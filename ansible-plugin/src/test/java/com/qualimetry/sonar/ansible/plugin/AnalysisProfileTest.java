@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import com.qualimetry.sonar.ansible.analyzer.checks.FqcnCheck;
+import com.qualimetry.sonar.ansible.analyzer.checks.NoTabsCheck;
+import com.qualimetry.sonar.ansible.analyzer.parser.AnsibleParser;
+import com.qualimetry.sonar.ansible.analyzer.parser.model.PlaybookFile;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleContext;
+import com.qualimetry.sonar.ansible.analyzer.visitor.AnsibleWalker;
+import com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck;
+import com.qualimetry.sonar.ansible.analyzer.visitor.CompositeVisitor;
+import com.qualimetry.sonar.ansible.analyzer.visitor.RuleTimings;
+import com.qualimetry.sonar.ansible.plugin.AnalysisProfile.Phase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisProfileTest {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void phases_accumulateAcrossFiles() {
+        AnalysisProfile profile = new AnalysisProfile(false);
+        profile.add("a.yml", Phase.PARSE, 10);
+        profile.add("b.yml", Phase.PARSE, 5);
+        profile.add("a.yml", Phase.WALK, 7);
+
+        assertThat(profile.phaseNanos(Phase.PARSE)).isEqualTo(15);
+        assertThat(profile.phaseNanos(Phase.WALK)).isEqualTo(7);
+        assertThat(profile.phaseNanos(Phase.READ)).isZero();
+    }
+
+    @Test
+    void addRules_mergesWorkersByRuleKey() {
+        AnalysisProfile profile = new AnalysisProfile(true);
+        List<BaseCheck> checks = List.of(new FqcnCheck(), new NoTabsCheck());
+        RuleTimings first = walk(checks);
+        RuleTimings second = walk(checks);
+        profile.addRules(checks, first);
+        profile.addRules(checks, second);
+
+        assertThat(profile.ruleNanos())
+                .containsEntry("qa-full-module-name", first.nanos(0) + second.nanos(0))
+                .containsEntry("qa-spaces-not-tabs", 0L);
+        assertThat(first.nanos(0)).isPositive();
+    }
+
+    @Test
+    void write_producesJsonSortedBySlowest() throws Exception {
+        AnalysisProfile profile = new AnalysisProfile(true);
+        profile.add("fast.yml", Phase.READ, 1);
+        profile.add("dir/\"slow\".yml", Phase.WALK, 100);
+
+        Path path = profile.write(workDir.resolve("sub"));
+
+        String json = Files.readString(path, StandardCharsets.UTF_8);
+        assertThat(path.getFileName()).hasToString(AnalysisProfile.FILE_NAME);
+        assertThat(json).contains("\"phases\": {\"index\": 0, \"read\": 1, \"parse\": 0, \"walk\": 100, \"report\": 0}");
+        assertThat(json.indexOf("dir/\\\"slow\\\".yml")).isPositive().isLessThan(json.indexOf("fast.yml"));
+    }
+
+    private static RuleTimings walk(List<BaseCheck> checks) {
+        String content = "- hosts: all\n  tasks:\n    - ping:\n";
+        PlaybookFile file = new AnsibleParser().parse("file:///a.yml", content);
+        AnsibleContext context = new AnsibleContext(file, null, content);
+        checks.forEach(check -> check.setContext(context));
+        RuleTimings timings = new RuleTimings(checks.size());
+        AnsibleWalker.walk(file, new CompositeVisitor(checks, timings));
+        return timings;
+    }
+}
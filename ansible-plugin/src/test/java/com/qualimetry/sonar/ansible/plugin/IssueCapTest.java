@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 SHAZAM Analytics Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.qualimetry.sonar.ansible.plugin;
+
+import com.qualimetry.sonar.ansible.analyzer.visitor.Issue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IssueCapTest {
+
+    private static Issue issue(String rule, int line) {
+        return new Issue(rule, rule + " at " + line, null, line, null, null);
+    }
+
+    @Test
+    void keepsIssuesWithinTheCapInOrder() {
+        List<Issue> issues = List.of(issue("a", 1), issue("b", 2), issue("a", 3));
+        List<IssueCap.Report> reports = new IssueCap(2).apply(issues);
+        assertThat(reports).extracting(IssueCap.Report::issue).containsExactlyElementsOf(issues);
+        assertThat(reports).allMatch(r -> r.folded() == 0 && r.secondary().isEmpty());
+    }
+
+    @Test
+    void foldsHitsOverTheCapPerRule() {
+        List<Issue> issues = new ArrayList<>();
+        for (int line = 1; line <= 6; line++) {
+            issues.add(issue("a", line));
+        }
+        issues.add(issue("b", 10));
+        List<IssueCap.Report> reports = new IssueCap(2).apply(issues);
+
+        assertThat(reports).extracting(r -> r.issue().line()).containsExactly(1, 2, 10, 3);
+        IssueCap.Report folded = reports.get(3);
+        assertThat(folded.folded()).isEqualTo(4);
+        assertThat(folded.secondary()).extracting(Issue::line).containsExactly(4, 5, 6);
+        assertThat(folded.message()).startsWith("a at 3").contains("4 more issues", "limit of 2");
+    }
+
+    @Test
+    void boundsSecondaryLocations() {
+        List<Issue> issues = new ArrayList<>();
+        for (int line = 1; line <= 500; line++) {
+            issues.add(issue("a", line));
+        }
+        IssueCap.Report folded = new IssueCap(1).apply(issues).get(1);
+        assertThat(folded.folded()).isEqualTo(499);
+        assertThat(folded.secondary()).hasSize(IssueCap.MAX_SECONDARY_LOCATIONS);
+    }
+
+    @Test
+    void zeroDisablesTheCap() {
+        List<Issue> issues = new ArrayList<>();
+        for (int line = 1; line <= 300; line++) {
+            issues.add(issue("a", line));
+        }
+        assertThat(new IssueCap(0).apply(issues)).hasSize(300);
+    }
+}
@@ -22,7 +22,9 @@ import org.sonar.api.batch.fs.FilePredicates;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputFile;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -120,4 +122,65 @@ class SensorPathResolverTest {
         SensorPathResolver r = resolver("roles/tasks/main.yml", List.of(target));
         assertThat(r.existsInProject("../../handlers/main.yml")).isTrue();
     }
+
+    @Test
+    void sharedIndex_resolvesLikeFileSystemLookup() {
+        List<InputFile> projectFiles = List.of(
+                mockFile("roles/web/tasks/install.yml"), mockFile("./site.yml"), mockFile("Playbook.yml"));
+        when(fileSystem.inputFiles(any())).thenReturn(projectFiles);
+        ProjectPathIndex index = ProjectPathIndex.build(fileSystem);
+
+        SensorPathResolver r = new SensorPathResolver(index, mockFile("roles/web/tasks/main.yml"));
+        assertThat(r.existsInProject("install.yml")).isTrue();
+        assertThat(r.existsInProject("./install.yml")).isTrue();
+        assertThat(r.existsInProject("../../../site.yml")).isTrue();
+        assertThat(r.existsInProject("missing.yml")).isFalse();
+        assertThat(new SensorPathResolver(index, mockFile("site.yml")).existsInProject("playbook.yml")).isFalse();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void sharedIndex_lookupCostDoesNotGrowWithProjectSize() {
+        int lookups = 2_000;
+        for (int projectSize : new int[] {1_000, 10_000}) {
+            AtomicInteger relativePathCalls = new AtomicInteger();
+            AtomicInteger listings = new AtomicInteger();
+            List<InputFile> files = new ArrayList<>(projectSize);
+            for (int i = 0; i < projectSize; i++) {
+                files.add(countingFile("roles/r" + (i % 100) + "/tasks/t" + i + ".yml", relativePathCalls));
+            }
+            FileSystem fs = mock(FileSystem.class);
+            when(fs.predicates()).thenReturn(predicates);
+            when(fs.inputFiles(any())).thenAnswer(inv -> {
+                listings.incrementAndGet();
+                return files;
+            });
+
+            ProjectPathIndex index = ProjectPathIndex.build(fs);
+            int callsAfterBuild = relativePathCalls.get();
+            InputFile current = mockFile("roles/r1/tasks/main.yml");
+            int found = 0;
+            for (int i = 0; i < lookups; i++) {
+                if (new SensorPathResolver(index, current).existsInProject("t" + (i * 7 % projectSize) + ".yml")) {
+                    found++;
+                }
+            }
+
+            assertThat(listings.get()).as("file system listings for %d files", projectSize).isEqualTo(1);
+            assertThat(callsAfterBuild).isEqualTo(projectSize);
+            assertThat(relativePathCalls.get() - callsAfterBuild)
+                    .as("project files touched by %d lookups in %d files", lookups, projectSize).isZero();
+            assertThat(found).isPositive();
+        }
+    }
+
+    private static InputFile countingFile(String relativePath, AtomicInteger relativePathCalls) {
+        return mock(InputFile.class, invocation -> {
+            if ("relativePath".equals(invocation.getMethod().getName())) {
+                relativePathCalls.incrementAndGet();
+                return relativePath;
+            }
+            return null;
+        });
+    }
 }
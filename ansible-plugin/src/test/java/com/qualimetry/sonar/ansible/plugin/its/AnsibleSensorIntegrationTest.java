@@ -20,6 +20,7 @@ import com.qualimetry.sonar.ansible.plugin.AnsiblePluginConstants;
 import com.qualimetry.sonar.ansible.plugin.AnsibleSensor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.sonar.api.batch.fs.FilePredicate;
 import org.sonar.api.batch.fs.FilePredicates;
 import org.sonar.api.batch.fs.FileSystem;
@@ -27,9 +28,14 @@ import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.TextRange;
 import org.sonar.api.batch.rule.CheckFactory;
 import org.sonar.api.batch.rule.Checks;
+import org.sonar.api.batch.rule.ActiveRules;
 import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.cache.ReadCache;
+import org.sonar.api.batch.sensor.cache.WriteCache;
 import org.sonar.api.batch.sensor.issue.NewIssue;
 import org.sonar.api.batch.sensor.issue.NewIssueLocation;
+import org.sonar.api.config.Configuration;
+import org.sonar.api.notifications.AnalysisWarnings;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.check.Rule;
 
@@ -37,18 +43,27 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -60,6 +75,7 @@ class AnsibleSensorIntegrationTest {
     private static final String REPO_KEY = CheckList.REPOSITORY_KEY;
 
     private final List<SavedIssue> savedIssues = new ArrayList<>();
+    private final Configuration configuration = mock(Configuration.class);
     private SensorContext context;
     private FileSystem fileSystem;
     private CheckFactory checkFactory;
@@ -139,32 +155,324 @@ class AnsibleSensorIntegrationTest {
         assertThat(savedIssues).isEmpty();
     }
 
+    @Test
+    void parallelAnalysis_savesSameIssuesInSameOrderAsSequential() throws Exception {
+        List<String> contents = List.of(
+                "- hosts: all\n\t  tasks:\n  - name: Ping\n    ping:\n",
+                "- hosts: all\n  tasks:\n  - name: Bad\n    copy: \"src=foo\n",
+                "- hosts: all\n  tasks:\n    - shell: echo hi   \n    - command: ls\n",
+                "- hosts: all\n  tags: [test]\n  tasks:\n    - name: Ping hosts\n      ansible.builtin.ping:\n",
+                "- hosts: all\n  tasks:\n    - name: install\n      yum: name=httpd state=latest\n");
+        int fileCount = 40;
+
+        List<InputFile> sequentialFiles = mockInputFiles(contents, fileCount);
+        List<InputFile> parallelFiles = mockInputFiles(contents, fileCount);
+
+        when(configuration.getInt(AnsiblePluginConstants.ANALYSIS_THREADS_KEY)).thenReturn(Optional.empty());
+        when(fileSystem.inputFiles(any())).thenReturn(sequentialFiles);
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+        List<SavedIssue> sequential = new ArrayList<>(savedIssues);
+
+        savedIssues.clear();
+        when(configuration.getInt(AnsiblePluginConstants.ANALYSIS_THREADS_KEY)).thenReturn(Optional.of(4));
+        when(fileSystem.inputFiles(any())).thenReturn(parallelFiles);
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        assertThat(sequential).isNotEmpty();
+        assertThat(savedIssues).containsExactlyElementsOf(sequential);
+    }
+
+    @Test
+    void unchangedFile_replaysCachedIssuesWithoutReading() throws Exception {
+        String content = "- hosts: all\n\t  tasks:\n  - name: Ping\n    ping:\n";
+        InputFile first = mockInputFile("cached.yml", content);
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(first));
+        Map<String, byte[]> previous = new HashMap<>();
+        Map<String, byte[]> next = enableCache(previous);
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+        List<SavedIssue> analyzed = new ArrayList<>(savedIssues);
+
+        savedIssues.clear();
+        previous.putAll(next);
+        next = enableCache(previous);
+        InputFile second = mockInputFile("cached.yml", content);
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(second));
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        assertThat(analyzed).isNotEmpty();
+        assertThat(savedIssues).containsExactlyElementsOf(analyzed);
+        verify(second, never()).inputStream();
+        assertThat(next).containsOnlyKeys(previous.keySet());
+    }
+
+    @Test
+    void changedIncludeTarget_invalidatesCachedIssues() throws Exception {
+        String content = "- hosts: all\n  tasks:\n    - name: Include\n      include_tasks: extra.yml\n";
+        Map<String, byte[]> previous = new HashMap<>();
+        Map<String, byte[]> next = enableCache(previous);
+        InputFile first = mockInputFile("site.yml", content);
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(first));
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+        assertThat(savedIssues).anyMatch(i -> "qa-includes-resolve".equals(i.ruleKey().rule()));
+
+        savedIssues.clear();
+        previous.putAll(next);
+        enableCache(previous);
+        InputFile second = mockInputFile("site.yml", content);
+        InputFile extra = mockInputFile("extra.yml", "- name: Ping\n  ansible.builtin.ping:\n");
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(second, extra));
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        verify(second, times(1)).inputStream();
+        assertThat(savedIssues).noneMatch(i -> "qa-includes-resolve".equals(i.ruleKey().rule()));
+    }
+
+    @Test
+    void profileEnabled_writesJsonProfileToWorkDir(@TempDir Path workDir) throws Exception {
+        InputFile inputFile = mockInputFile("profiled.yml", "- hosts: all\n  tasks:\n    - shell: echo hi\n");
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(inputFile));
+        when(fileSystem.workDir()).thenReturn(workDir.toFile());
+        when(configuration.getBoolean(AnsiblePluginConstants.PROFILE_KEY)).thenReturn(Optional.of(true));
+
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        String json = Files.readString(workDir.resolve("ansible-profile.json"));
+        assertThat(json).contains("\"phases\"", "\"profiled.yml\"", "\"qa-full-module-name\"");
+    }
+
+    @Test
+    void profileDisabled_writesNoProfile(@TempDir Path workDir) throws Exception {
+        InputFile inputFile = mockInputFile("unprofiled.yml", "- hosts: all\n  tasks:\n    - shell: echo hi\n");
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(inputFile));
+        when(fileSystem.workDir()).thenReturn(workDir.toFile());
+
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        assertThat(workDir.resolve("ansible-profile.json")).doesNotExist();
+    }
+
+    @Test
+    void manyHitsOfOneRule_areGroupedAboveTheCap() throws Exception {
+        StringBuilder content = new StringBuilder("- hosts: all\n  tasks:\n");
+        for (int i = 0; i < 10; i++) {
+            content.append("\t- name: Ping ").append(i).append("\n    ansible.builtin.ping:\n");
+        }
+        InputFile inputFile = mockInputFile("tabs.yml", content.toString());
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(inputFile));
+        when(configuration.getInt(AnsiblePluginConstants.MAX_ISSUES_PER_RULE_KEY)).thenReturn(Optional.of(3));
+
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        List<SavedIssue> tabs = savedIssues.stream().filter(i -> "qa-spaces-not-tabs".equals(i.ruleKey().rule())).toList();
+        assertThat(tabs).hasSize(4);
+        assertThat(tabs.subList(0, 3)).extracting(SavedIssue::line).containsExactly(3, 5, 7);
+        assertThat(tabs.subList(0, 3)).allMatch(i -> i.secondaryLines().isEmpty());
+        SavedIssue grouped = tabs.get(3);
+        assertThat(grouped.line()).isEqualTo(9);
+        assertThat(grouped.message()).contains("7 more issues");
+        assertThat(grouped.secondaryLines()).containsExactly(11, 13, 15, 17, 19, 21);
+    }
+
+    @Test
+    void capZero_reportsEveryHit() throws Exception {
+        StringBuilder content = new StringBuilder("- hosts: all\n  tasks:\n");
+        for (int i = 0; i < 10; i++) {
+            content.append("\t- name: Ping ").append(i).append("\n    ansible.builtin.ping:\n");
+        }
+        InputFile inputFile = mockInputFile("tabs.yml", content.toString());
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(inputFile));
+        when(configuration.getInt(AnsiblePluginConstants.MAX_ISSUES_PER_RULE_KEY)).thenReturn(Optional.of(0));
+
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        assertThat(savedIssues.stream().filter(i -> "qa-spaces-not-tabs".equals(i.ruleKey().rule()))).hasSize(10);
+    }
+
+    @Test
+    void fileOverNestingLimit_reportsParseErrorAndAnalysisWarning() throws Exception {
+        String content = "- hosts: all\n  vars: {a: {b: {c: {d: 1}}}}\n  tasks:\n    - name: Ping\n      ping:\n";
+        InputFile inputFile = mockInputFile("deep.yml", content);
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(inputFile));
+        when(configuration.getInt(AnsiblePluginConstants.YAML_MAX_NESTING_DEPTH_KEY)).thenReturn(Optional.of(4));
+        AnalysisWarnings warnings = mock(AnalysisWarnings.class);
+
+        new AnsibleSensor(fileSystem, checkFactory, warnings).execute(context);
+
+        assertThat(savedIssues).extracting(i -> i.ruleKey().rule()).contains("qa-valid-yaml");
+        verify(warnings).addUnique(contains("1 Ansible file(s) exceed an analysis limit"));
+    }
+
+    @Test
+    void fileWithinLimits_addsNoAnalysisWarning() throws Exception {
+        InputFile inputFile = mockInputFile("shallow.yml", "- hosts: all\n  tasks:\n    - shell: echo hi\n");
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(inputFile));
+        AnalysisWarnings warnings = mock(AnalysisWarnings.class);
+
+        new AnsibleSensor(fileSystem, checkFactory, warnings).execute(context);
+
+        verify(warnings, never()).addUnique(any());
+    }
+
+    @Test
+    void changedYamlLimits_invalidateCachedIssues() throws Exception {
+        String content = "- hosts: all\n  vars: {a: {b: {c: {d: 1}}}}\n  tasks:\n    - shell: echo hi\n";
+        Map<String, byte[]> previous = new HashMap<>();
+        Map<String, byte[]> next = enableCache(previous);
+        InputFile first = mockInputFile("limits.yml", content);
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(first));
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+        assertThat(savedIssues).noneMatch(i -> "qa-valid-yaml".equals(i.ruleKey().rule()));
+
+        savedIssues.clear();
+        previous.putAll(next);
+        enableCache(previous);
+        InputFile second = mockInputFile("limits.yml", content);
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(second));
+        when(configuration.getInt(AnsiblePluginConstants.YAML_MAX_NESTING_DEPTH_KEY)).thenReturn(Optional.of(4));
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        verify(second, times(1)).inputStream();
+        assertThat(savedIssues).anyMatch(i -> "qa-valid-yaml".equals(i.ruleKey().rule()));
+    }
+
+    @Test
+    void unchangedFileOverALimit_isStillWarnedAboutWhenReplayed() throws Exception {
+        String content = "- hosts: all\n  vars: {a: {b: {c: {d: 1}}}}\n  tasks:\n    - shell: echo hi\n";
+        when(configuration.getInt(AnsiblePluginConstants.YAML_MAX_NESTING_DEPTH_KEY)).thenReturn(Optional.of(4));
+        Map<String, byte[]> previous = new HashMap<>();
+        Map<String, byte[]> next = enableCache(previous);
+        InputFile first = mockInputFile("deep.yml", content);
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(first));
+        new AnsibleSensor(fileSystem, checkFactory, mock(AnalysisWarnings.class)).execute(context);
+
+        savedIssues.clear();
+        previous.putAll(next);
+        enableCache(previous);
+        InputFile second = mockInputFile("deep.yml", content);
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(second));
+        AnalysisWarnings warnings = mock(AnalysisWarnings.class);
+        new AnsibleSensor(fileSystem, checkFactory, warnings).execute(context);
+
+        verify(second, never()).inputStream();
+        assertThat(savedIssues).anyMatch(i -> "qa-valid-yaml".equals(i.ruleKey().rule()));
+        verify(warnings).addUnique(contains("1 Ansible file(s) exceed an analysis limit"));
+    }
+
+    @Test
+    void fileOverTimeBudget_isSkippedWithDiagnosticIssueAndWarning() throws Exception {
+        StringBuilder content = new StringBuilder("- hosts: all\n  tasks:\n");
+        for (int i = 0; i < 5000; i++) {
+            content.append("    - name: Run ").append(i).append("\n      shell: echo {{item}}   \n");
+        }
+        InputFile inputFile = mockInputFile("slow.yml", content.toString());
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(inputFile));
+        when(configuration.getLong(AnsiblePluginConstants.FILE_TIMEOUT_KEY)).thenReturn(Optional.of(1L));
+        Map<String, byte[]> next = enableCache(new HashMap<>());
+        AnalysisWarnings warnings = mock(AnalysisWarnings.class);
+
+        new AnsibleSensor(fileSystem, mockCheckFactory("qa-diagnostic-warning"), warnings).execute(context);
+
+        assertThat(savedIssues).singleElement().satisfies(issue -> {
+            assertThat(issue.ruleKey().rule()).isEqualTo("qa-diagnostic-warning");
+            assertThat(issue.message()).contains("slow.yml", AnsiblePluginConstants.FILE_TIMEOUT_KEY);
+        });
+        verify(warnings).addUnique(contains("1 Ansible file(s) exceed an analysis limit"));
+        assertThat(next.keySet()).noneMatch(key -> key.startsWith("qualimetry-ansible:issues:"));
+    }
+
+    @Test
+    void cancelledAnalysis_savesNoIssues() throws Exception {
+        InputFile inputFile = mockInputFile("cancelled.yml", "- hosts: all\n\t  tasks:\n  - name: Ping\n    ping:\n");
+        InputFile other = mockInputFile("other.yml", "- hosts: all\n  tasks:\n    - shell: echo hi\n");
+        when(fileSystem.inputFiles(any())).thenReturn(List.of(inputFile, other));
+        when(context.isCancelled()).thenReturn(true);
+
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        assertThat(savedIssues).isEmpty();
+    }
+
+    @Test
+    void cancelledParallelAnalysis_savesNoIssues() throws Exception {
+        List<InputFile> files = mockInputFiles(List.of("- hosts: all\n\t  tasks:\n  - name: Ping\n    ping:\n"), 8);
+        when(fileSystem.inputFiles(any())).thenReturn(files);
+        when(configuration.getInt(AnsiblePluginConstants.ANALYSIS_THREADS_KEY)).thenReturn(Optional.of(4));
+        when(context.isCancelled()).thenReturn(true);
+
+        new AnsibleSensor(fileSystem, checkFactory).execute(context);
+
+        assertThat(savedIssues).isEmpty();
+    }
+
+    /** Enables the sensor cache, reading from {@code previous}; returns the map written to. */
+    private Map<String, byte[]> enableCache(Map<String, byte[]> previous) {
+        Map<String, byte[]> next = new HashMap<>();
+        ReadCache readCache = mock(ReadCache.class);
+        when(readCache.contains(any())).thenAnswer(inv -> previous.containsKey(inv.<String>getArgument(0)));
+        when(readCache.read(any())).thenAnswer(inv -> new ByteArrayInputStream(previous.get(inv.<String>getArgument(0))));
+        WriteCache writeCache = mock(WriteCache.class);
+        doAnswer(inv -> next.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(writeCache).write(any(String.class), any(byte[].class));
+        doAnswer(inv -> next.put(inv.getArgument(0), previous.get(inv.<String>getArgument(0))))
+                .when(writeCache).copyFromPrevious(any());
+        when(context.isCacheEnabled()).thenReturn(true);
+        when(context.previousCache()).thenReturn(readCache);
+        when(context.nextCache()).thenReturn(writeCache);
+        when(context.activeRules()).thenReturn(mock(ActiveRules.class));
+        return next;
+    }
+
+    private static List<InputFile> mockInputFiles(List<String> contents, int count) throws IOException {
+        List<InputFile> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(mockInputFile("playbook-" + i + ".yml", contents.get(i % contents.size())));
+        }
+        return files;
+    }
+
     private SensorContext mockContext() {
         SensorContext ctx = mock(SensorContext.class);
+        when(ctx.config()).thenReturn(configuration);
         when(ctx.newIssue()).thenAnswer(inv -> {
             final RuleKey[] ruleKey = new RuleKey[1];
-            final String[] message = new String[1];
-            final Integer[] line = new Integer[1];
+            final MockLocation[] primary = new MockLocation[1];
+            final List<Integer> secondaryLines = new ArrayList<>();
             NewIssue newIssue = mock(NewIssue.class);
             when(newIssue.forRule(any(RuleKey.class))).thenAnswer(inv2 -> {
                 ruleKey[0] = inv2.getArgument(0);
                 return newIssue;
             });
-            NewIssueLocation loc = mock(NewIssueLocation.class);
-            when(newIssue.newLocation()).thenReturn(loc);
-            when(loc.on(any(InputFile.class))).thenReturn(loc);
-            when(loc.message(any())).thenAnswer(inv2 -> {
-                message[0] = inv2.getArgument(0);
+            Map<NewIssueLocation, MockLocation> locations = new HashMap<>();
+            when(newIssue.newLocation()).thenAnswer(inv2 -> {
+                MockLocation state = new MockLocation();
+                NewIssueLocation loc = mock(NewIssueLocation.class);
+                locations.put(loc, state);
+                when(loc.on(any(InputFile.class))).thenAnswer(inv3 -> {
+                    state.file = inv3.<InputFile>getArgument(0).uri();
+                    return loc;
+                });
+                when(loc.message(any())).thenAnswer(inv3 -> {
+                    state.message = inv3.getArgument(0);
+                    return loc;
+                });
+                when(loc.at(any(TextRange.class))).thenAnswer(inv3 -> {
+                    TextRange r = inv3.getArgument(0);
+                    state.line = r != null ? r.start().line() : null;
+                    return loc;
+                });
                 return loc;
             });
-            when(loc.at(any(TextRange.class))).thenAnswer(inv2 -> {
-                TextRange r = inv2.getArgument(0);
-                line[0] = r != null ? r.start().line() : null;
-                return loc;
+            when(newIssue.at(any(NewIssueLocation.class))).thenAnswer(inv2 -> {
+                primary[0] = locations.get(inv2.<NewIssueLocation>getArgument(0));
+                return newIssue;
+            });
+            when(newIssue.addLocation(any(NewIssueLocation.class))).thenAnswer(inv2 -> {
+                secondaryLines.add(locations.get(inv2.<NewIssueLocation>getArgument(0)).line);
+                return newIssue;
             });
-            when(newIssue.at(any(NewIssueLocation.class))).thenReturn(newIssue);
             doAnswer(inv2 -> {
-                savedIssues.add(new SavedIssue(ruleKey[0], message[0], line[0]));
+                savedIssues.add(new SavedIssue(primary[0].file, ruleKey[0], primary[0].message, primary[0].line,
+                        List.copyOf(secondaryLines)));
                 return null;
             }).when(newIssue).save();
             return newIssue;
@@ -183,9 +491,18 @@ class AnsibleSensorIntegrationTest {
         return fs;
     }
 
+    /** Activates the rules of the default profile and the given extra rules. */
+    private CheckFactory mockCheckFactory(String... extraRuleKeys) {
+        CheckFactory cf = mock(CheckFactory.class);
+        when(cf.<com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck>create(REPO_KEY))
+                .thenAnswer(inv -> mockChecks(extraRuleKeys));
+        return cf;
+    }
+
     @SuppressWarnings("unchecked")
-    private CheckFactory mockCheckFactory() {
+    private static Checks<com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck> mockChecks(String... extraRuleKeys) {
         Set<String> defaultKeys = new HashSet<>(CheckList.getDefaultRuleKeys());
+        defaultKeys.addAll(List.of(extraRuleKeys));
         List<com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck> checkInstances = CheckList.getAllChecks().stream()
                 .filter(clazz -> {
                     Rule r = clazz.getAnnotation(Rule.class);
@@ -208,18 +525,24 @@ class AnsibleSensorIntegrationTest {
             return RuleKey.of(REPO_KEY, key);
         });
         doReturn(checks).when(checks).addAnnotatedChecks(any(Iterable.class));
-        CheckFactory cf = mock(CheckFactory.class);
-        when(cf.<com.qualimetry.sonar.ansible.analyzer.visitor.BaseCheck>create(REPO_KEY)).thenReturn(checks);
-        return cf;
+        return checks;
     }
 
-    private record SavedIssue(RuleKey ruleKey, String message, Integer line) {}
+    private record SavedIssue(URI file, RuleKey ruleKey, String message, Integer line, List<Integer> secondaryLines) {}
+
+    private static final class MockLocation {
+        URI file;
+        String message;
+        Integer line;
+    }
 
     private static InputFile mockInputFile(String filename, String content) throws IOException {
         InputFile inputFile = mock(InputFile.class);
         URI uri = URI.create("file:///its/" + filename);
         when(inputFile.uri()).thenReturn(uri);
-        when(inputFile.inputStream()).thenReturn(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        when(inputFile.relativePath()).thenReturn(filename);
+        when(inputFile.md5Hash()).thenReturn(Integer.toHexString(content.hashCode()));
+        when(inputFile.inputStream()).thenAnswer(inv -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
         when(inputFile.language()).thenReturn(AnsiblePluginConstants.ANSIBLE_LANGUAGE_KEY);
         when(inputFile.type()).thenReturn(InputFile.Type.MAIN);
         when(inputFile.selectLine(anyInt())).thenAnswer(inv -> {